@@ -0,0 +1,7 @@
+-- Extra schemas for running Zenvest with ZENVEST_SHARDING_ENABLED=true against the local MySQL.
+-- The `zenvest` database is shard 0; point ZENVEST_SHARDING_SHARDS_<n>_URL at these for shards 1 and 2.
+CREATE DATABASE IF NOT EXISTS zenvest_shard_1;
+CREATE DATABASE IF NOT EXISTS zenvest_shard_2;
+GRANT ALL PRIVILEGES ON zenvest_shard_1.* TO 'zenvest_user'@'%';
+GRANT ALL PRIVILEGES ON zenvest_shard_2.* TO 'zenvest_user'@'%';
+FLUSH PRIVILEGES;
@@ -0,0 +1,40 @@
+package com.zenvest.devx.archive;
+
+import com.zenvest.devx.constants.TransactionType;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.time.LocalDateTime;
+
+/**
+ * A transaction row moved out of the database into an archive segment.
+ */
+public record ArchivedTransaction(long id,
+                                  long accountId,
+                                  double amount,
+                                  TransactionType transactionType,
+                                  String description,
+                                  LocalDateTime timestamp) {
+
+    private static final TransactionType[] TYPES = TransactionType.values();
+
+    public void writeTo(DataOutput out) throws IOException {
+        out.writeLong(id);
+        out.writeLong(accountId);
+        out.writeDouble(amount);
+        out.writeByte(transactionType == null ? -1 : transactionType.ordinal());
+        ArchiveCodec.writeNullableString(out, description);
+        ArchiveCodec.writeTimestamp(out, timestamp);
+    }
+
+    public static ArchivedTransaction readFrom(DataInput in) throws IOException {
+        long id = in.readLong();
+        long accountId = in.readLong();
+        double amount = in.readDouble();
+        byte type = in.readByte();
+        String description = ArchiveCodec.readNullableString(in);
+        LocalDateTime timestamp = ArchiveCodec.readTimestamp(in);
+        return new ArchivedTransaction(id, accountId, amount, type < 0 ? null : TYPES[type], description, timestamp);
+    }
+}
@@ -0,0 +1,63 @@
+package com.zenvest.devx.archive;
+
+import com.zenvest.devx.constants.TransferStatus;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.time.LocalDateTime;
+
+/**
+ * A transfer row moved out of the database into an archive segment.
+ * Segments of version 1 predate currencies; their transfers read back as same-currency.
+ */
+public record ArchivedTransfer(long id,
+                               long fromAccountId,
+                               long toAccountId,
+                               double amount,
+                               String description,
+                               LocalDateTime timestamp,
+                               TransferStatus status,
+                               String failureReason,
+                               double creditedAmount,
+                               double fxRate,
+                               Long fxSnapshotId) {
+
+    private static final TransferStatus[] STATUSES = TransferStatus.values();
+
+    public void writeTo(DataOutput out) throws IOException {
+        out.writeLong(id);
+        out.writeLong(fromAccountId);
+        out.writeLong(toAccountId);
+        out.writeDouble(amount);
+        ArchiveCodec.writeNullableString(out, description);
+        ArchiveCodec.writeTimestamp(out, timestamp);
+        out.writeByte(status == null ? -1 : status.ordinal());
+        ArchiveCodec.writeNullableString(out, failureReason);
+        out.writeDouble(creditedAmount);
+        out.writeDouble(fxRate);
+        out.writeLong(fxSnapshotId == null ? -1 : fxSnapshotId);
+    }
+
+    public static ArchivedTransfer readFrom(DataInput in, int version) throws IOException {
+        long id = in.readLong();
+        long fromAccountId = in.readLong();
+        long toAccountId = in.readLong();
+        double amount = in.readDouble();
+        String description = ArchiveCodec.readNullableString(in);
+        LocalDateTime timestamp = ArchiveCodec.readTimestamp(in);
+        byte status = in.readByte();
+        String failureReason = ArchiveCodec.readNullableString(in);
+        double creditedAmount = amount;
+        double fxRate = 1.0;
+        Long fxSnapshotId = null;
+        if (version >= 2) {
+            creditedAmount = in.readDouble();
+            fxRate = in.readDouble();
+            long snapshotId = in.readLong();
+            fxSnapshotId = snapshotId < 0 ? null : snapshotId;
+        }
+        return new ArchivedTransfer(id, fromAccountId, toAccountId, amount, description, timestamp,
+                status < 0 ? null : STATUSES[status], failureReason, creditedAmount, fxRate, fxSnapshotId);
+    }
+}
@@ -0,0 +1,125 @@
+package com.zenvest.devx.archive;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+/**
+ * A read-only archive segment written by {@link SegmentWriter}.
+ * Both files are memory-mapped once; a lookup is a binary search over the mapped index followed by
+ * inflating a single block, so reads go through the page cache without copying whole files onto the heap.
+ * Only absolute reads are used on the shared buffers, which keeps the segment safe for concurrent readers.
+ */
+public class Segment {
+
+    static final int MAGIC = 0x5A415243;
+    static final int VERSION = 2;
+    static final int HEADER_SIZE = 32;
+    static final int ENTRY_SIZE = 24;
+
+    private final Path dataPath;
+    private final MappedByteBuffer index;
+    private final MappedByteBuffer data;
+    private final int version;
+    private final long entries;
+    private final long lowerEpochDay;
+    private final long upperEpochDay;
+
+    private Segment(Path dataPath, MappedByteBuffer index, MappedByteBuffer data) throws IOException {
+        this.dataPath = dataPath;
+        this.index = index;
+        this.data = data;
+        if (index.getInt(0) != MAGIC || index.getInt(4) < 1 || index.getInt(4) > VERSION) {
+            throw new IOException("Not an archive segment index: " + dataPath);
+        }
+        this.version = index.getInt(4);
+        this.entries = index.getLong(8);
+        this.lowerEpochDay = index.getLong(16);
+        this.upperEpochDay = index.getLong(24);
+    }
+
+    /**
+     * Maps a segment from disk.
+     *
+     * @param dataPath  the data file
+     * @param indexPath the index file
+     * @return the opened segment
+     */
+    public static Segment open(Path dataPath, Path indexPath) throws IOException {
+        try (FileChannel indexChannel = FileChannel.open(indexPath, StandardOpenOption.READ);
+             FileChannel dataChannel = FileChannel.open(dataPath, StandardOpenOption.READ)) {
+            MappedByteBuffer index = indexChannel.map(FileChannel.MapMode.READ_ONLY, 0, indexChannel.size());
+            MappedByteBuffer data = dataChannel.map(FileChannel.MapMode.READ_ONLY, 0, dataChannel.size());
+            return new Segment(dataPath, index, data);
+        }
+    }
+
+    public Path path() {
+        return dataPath;
+    }
+
+    /** Format version the segment was written with; records of older versions lack the fields added since. */
+    public int version() {
+        return version;
+    }
+
+    /** First day covered by the segment, as an epoch day. */
+    public long lowerEpochDay() {
+        return lowerEpochDay;
+    }
+
+    /** First day after the segment, as an epoch day. */
+    public long upperEpochDay() {
+        return upperEpochDay;
+    }
+
+    /**
+     * Returns the uncompressed records of a key.
+     *
+     * @param key the key to look up
+     * @return the block, or null when the segment has no records for the key
+     */
+    public byte[] read(long key) throws IOException {
+        long low = 0;
+        long high = entries - 1;
+        while (low <= high) {
+            long mid = (low + high) >>> 1;
+            int position = (int) (HEADER_SIZE + mid * ENTRY_SIZE);
+            long midKey = index.getLong(position);
+            if (midKey < key) {
+                low = mid + 1;
+            } else if (midKey > key) {
+                high = mid - 1;
+            } else {
+                return inflate(index.getLong(position + 8), index.getInt(position + 16), index.getInt(position + 20));
+            }
+        }
+        return null;
+    }
+
+    private byte[] inflate(long offset, int compressedLength, int length) throws IOException {
+        ByteBuffer compressed = data.slice((int) offset, compressedLength);
+        byte[] result = new byte[length];
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(compressed);
+            int read = 0;
+            while (read < length && !inflater.finished()) {
+                read += inflater.inflate(result, read, length - read);
+            }
+            if (read != length) {
+                throw new IOException("Truncated archive block in " + dataPath);
+            }
+            return result;
+        } catch (DataFormatException e) {
+            throw new IOException("Corrupt archive block in " + dataPath, e);
+        } finally {
+            inflater.end();
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package com.zenvest.devx.archive;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.zip.Deflater;
+
+/**
+ * Writes one immutable archive segment: a data file of deflate-compressed blocks, one block per key,
+ * and an index file of fixed-size entries sorted by key.
+ * Records must be appended in ascending key order. Both files are written under temporary names and
+ * moved into place by {@link #commit()}, so a segment is either complete or absent.
+ *
+ * <p>Index layout: a {@value Segment#HEADER_SIZE}-byte header (magic, version, entry count, lower and upper
+ * bound as epoch days) followed by {@value Segment#ENTRY_SIZE}-byte entries
+ * (key, data offset, compressed length, uncompressed length).</p>
+ */
+public class SegmentWriter implements AutoCloseable {
+
+    private final Path dataPath;
+    private final Path indexPath;
+    private final Path dataTemp;
+    private final Path indexTemp;
+    private final OutputStream data;
+    private final ByteArrayOutputStream index = new ByteArrayOutputStream();
+    private final DataOutputStream indexOut = new DataOutputStream(index);
+    private final ByteArrayOutputStream block = new ByteArrayOutputStream();
+    private final DataOutputStream blockOut = new DataOutputStream(block);
+    private final Deflater deflater = new Deflater(Deflater.BEST_COMPRESSION);
+    private final byte[] buffer = new byte[64 * 1024];
+    private final long lowerEpochDay;
+    private final long upperEpochDay;
+
+    private long currentKey;
+    private boolean hasBlock;
+    private long offset;
+    private int entries;
+    private long records;
+
+    public SegmentWriter(Path dataPath, Path indexPath, long lowerEpochDay, long upperEpochDay) throws IOException {
+        this.dataPath = dataPath;
+        this.indexPath = indexPath;
+        this.dataTemp = dataPath.resolveSibling(dataPath.getFileName() + ".tmp");
+        this.indexTemp = indexPath.resolveSibling(indexPath.getFileName() + ".tmp");
+        this.lowerEpochDay = lowerEpochDay;
+        this.upperEpochDay = upperEpochDay;
+        Files.createDirectories(dataPath.getParent());
+        this.data = new BufferedOutputStream(Files.newOutputStream(dataTemp));
+    }
+
+    /**
+     * Returns the stream to write the next record of the given key to.
+     *
+     * @param key the key of the record, not lower than the previous one
+     * @return the output to write the record fields to
+     */
+    public DataOutputStream record(long key) throws IOException {
+        if (hasBlock && key != currentKey) {
+            if (key < currentKey) {
+                throw new IllegalArgumentException("Segment keys must be ascending");
+            }
+            flushBlock();
+        }
+        currentKey = key;
+        hasBlock = true;
+        records++;
+        return blockOut;
+    }
+
+    public long records() {
+        return records;
+    }
+
+    /**
+     * Writes the last block and the index, then moves both files into place.
+     */
+    public void commit() throws IOException {
+        if (hasBlock) {
+            flushBlock();
+        }
+        data.close();
+
+        ByteArrayOutputStream header = new ByteArrayOutputStream(Segment.HEADER_SIZE);
+        DataOutputStream headerOut = new DataOutputStream(header);
+        headerOut.writeInt(Segment.MAGIC);
+        headerOut.writeInt(Segment.VERSION);
+        headerOut.writeLong(entries);
+        headerOut.writeLong(lowerEpochDay);
+        headerOut.writeLong(upperEpochDay);
+        try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(indexTemp))) {
+            header.writeTo(out);
+            index.writeTo(out);
+        }
+
+        Files.move(dataTemp, dataPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        Files.move(indexTemp, indexPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    @Override
+    public void close() throws IOException {
+        deflater.end();
+        data.close();
+        Files.deleteIfExists(dataTemp);
+        Files.deleteIfExists(indexTemp);
+    }
+
+    private void flushBlock() throws IOException {
+        blockOut.flush();
+        byte[] raw = block.toByteArray();
+        deflater.reset();
+        deflater.setInput(raw);
+        deflater.finish();
+        int compressed = 0;
+        while (!deflater.finished()) {
+            int n = deflater.deflate(buffer);
+            data.write(buffer, 0, n);
+            compressed += n;
+        }
+
+        indexOut.writeLong(currentKey);
+        indexOut.writeLong(offset);
+        indexOut.writeInt(compressed);
+        indexOut.writeInt(raw.length);
+        offset += compressed;
+        entries++;
+        block.reset();
+    }
+}
@@ -0,0 +1,7 @@
+package com.zenvest.devx.batch;
+
+/**
+ * An account as read by a batch chunk. The balance includes the hot-mode slots.
+ */
+public record AccountSnapshot(long id, long userId, double balance, boolean hot, boolean active) {
+}
@@ -0,0 +1,33 @@
+package com.zenvest.devx.batch;
+
+import java.time.LocalDate;
+
+/**
+ * A job run over every account by the {@link BatchJobRunner}.
+ * Implementations only compute postings; reading, applying and checkpointing are done by the runner.
+ */
+public interface BatchJob {
+
+    /**
+     * @return the unique name of the job, used for checkpoints and metrics
+     */
+    String name();
+
+    /**
+     * Identifies one run of the job, e.g. the business date of a daily job.
+     * A run whose checkpoints are complete is never repeated.
+     *
+     * @param businessDate the date the job runs for
+     * @return the run key
+     */
+    String runKey(LocalDate businessDate);
+
+    /**
+     * Computes the posting of one account.
+     *
+     * @param account      the account
+     * @param businessDate the date the job runs for
+     * @return the posting, or null when nothing is posted to the account
+     */
+    Posting compute(AccountSnapshot account, LocalDate businessDate);
+}
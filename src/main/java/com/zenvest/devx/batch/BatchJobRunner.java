@@ -0,0 +1,275 @@
+package com.zenvest.devx.batch;
+
+import com.zenvest.devx.configs.BatchProperties;
+import com.zenvest.devx.events.OutboxWriter;
+import com.zenvest.devx.events.TransactionRecordedEvent;
+import com.zenvest.devx.sharding.ShardContext;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * BatchJobRunner runs a {@link BatchJob} over every account.
+ * The account-id space is split into lanes when a run starts; the lanes are stored with the run so a resumed
+ * run uses the same split. Each lane reads its accounts in keyset-ordered chunks locked for update, computes the
+ * postings, applies them with batched balance updates, transaction inserts and outbox inserts, and moves its
+ * checkpoint, all in one transaction. A crash therefore loses at most the chunk in flight, which is redone on the
+ * next start.
+ * A run covers the accounts of the caller's shard; the lanes run on that shard too.
+ */
+@Slf4j
+@Component
+public class BatchJobRunner {
+
+    private static final String SELECT_CHUNK = """
+            select a.id, coalesce(a.balance, 0), a.hot_slots, a.active,
+                   (select coalesce(sum(s.balance), 0) from account_balance_slots s where s.account_id = a.id), a.user_id
+            from accounts a
+            where a.id > ? and a.id < ?
+            order by a.id
+            limit ?
+            for update""";
+
+    private static final String INSERT_TRANSACTION =
+            "insert into transactions (amount, transaction_type, description, timestamp, account_id) values (?, ?, ?, ?, ?)";
+
+    private final BatchProperties properties;
+    private final OutboxWriter outboxWriter;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry meterRegistry;
+
+    @Autowired
+    public BatchJobRunner(BatchProperties properties,
+                          OutboxWriter outboxWriter,
+                          JdbcTemplate jdbcTemplate,
+                          PlatformTransactionManager transactionManager,
+                          MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.outboxWriter = outboxWriter;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Runs a job for a business date, resuming it if an earlier attempt did not complete.
+     *
+     * @param job          the job to run
+     * @param businessDate the date the job runs for
+     */
+    public void run(BatchJob job, LocalDate businessDate) {
+        String runKey = job.runKey(businessDate);
+        List<Lane> lanes = lanes(job, runKey);
+        List<Lane> pending = lanes.stream().filter(lane -> !lane.completed()).toList();
+        if (pending.isEmpty()) {
+            log.info("Batch job {} run {} is already complete", job.name(), runKey);
+            return;
+        }
+
+        Counter accounts = Counter.builder("zenvest.batch.accounts").tag("job", job.name()).register(meterRegistry);
+        Counter postings = Counter.builder("zenvest.batch.postings").tag("job", job.name()).register(meterRegistry);
+        Timer chunks = Timer.builder("zenvest.batch.chunk").tag("job", job.name()).register(meterRegistry);
+
+        long start = System.nanoTime();
+        long accountsBefore = (long) accounts.count();
+        ExecutorService executor = Executors.newFixedThreadPool(pending.size());
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (Lane lane : pending) {
+                futures.add(executor.submit(ShardContext.wrap(() -> runLane(job, runKey, businessDate, lane, accounts, postings, chunks))));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Batch job " + job.name() + " was interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Batch job " + job.name() + " run " + runKey + " failed; it resumes on the next run", e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+
+        double seconds = Math.max(1e-3, (System.nanoTime() - start) / 1e9);
+        long processed = (long) accounts.count() - accountsBefore;
+        log.info("Batch job {} run {} processed {} accounts in {} s ({} accounts/s)",
+                job.name(), runKey, processed, String.format("%.1f", seconds), Math.round(processed / seconds));
+    }
+
+    private void runLane(BatchJob job, String runKey, LocalDate businessDate, Lane lane,
+                         Counter accounts, Counter postings, Timer chunks) {
+        LocalDateTime postedAt = LocalDateTime.now();
+        while (true) {
+            ChunkResult result = chunks.record(() ->
+                    transactionTemplate.execute(status -> applyChunk(job, runKey, businessDate, lane, postedAt)));
+            if (result == null || result.accounts() == 0) {
+                return;
+            }
+            accounts.increment(result.accounts());
+            postings.increment(result.postings());
+        }
+    }
+
+    /**
+     * Processes the next chunk of a lane.
+     * The checkpoint row is locked first, so two instances running the same job cannot post a chunk twice.
+     *
+     * @return the number of accounts read and postings applied; no accounts means the lane is complete
+     */
+    private ChunkResult applyChunk(BatchJob job, String runKey, LocalDate businessDate, Lane lane, LocalDateTime postedAt) {
+        List<Long> checkpoint = jdbcTemplate.queryForList("select last_id from batch_job_checkpoints"
+                        + " where job_name = ? and run_key = ? and lane = ? and completed = false for update",
+                Long.class, job.name(), runKey, lane.lane());
+        if (checkpoint.isEmpty()) {
+            return new ChunkResult(0, 0);
+        }
+        long afterId = checkpoint.get(0);
+
+        List<AccountSnapshot> chunk = jdbcTemplate.query(SELECT_CHUNK,
+                (rs, rowNum) -> {
+                    int hotSlots = rs.getInt(3);
+                    boolean hot = !rs.wasNull() && hotSlots > 0;
+                    return new AccountSnapshot(rs.getLong(1), rs.getLong(6), rs.getDouble(2) + rs.getDouble(5), hot,
+                            rs.getBoolean(4));
+                },
+                afterId, lane.endId(), properties.getChunkSize());
+
+        if (chunk.isEmpty()) {
+            jdbcTemplate.update("update batch_job_checkpoints set completed = true, updated_at = now(6)"
+                    + " where job_name = ? and run_key = ? and lane = ?", job.name(), runKey, lane.lane());
+            return new ChunkResult(0, 0);
+        }
+
+        List<Object[]> plainUpdates = new ArrayList<>();
+        List<Object[]> slotUpdates = new ArrayList<>();
+        List<Posting> inserts = new ArrayList<>();
+        for (AccountSnapshot account : chunk) {
+            Posting posting = job.compute(account, businessDate);
+            if (posting == null) {
+                continue;
+            }
+            Object[] update = {posting.signedAmount(), account.id()};
+            (account.hot() ? slotUpdates : plainUpdates).add(update);
+            inserts.add(posting);
+        }
+
+        if (!plainUpdates.isEmpty()) {
+            jdbcTemplate.batchUpdate("update accounts set balance = balance + ? where id = ?", plainUpdates);
+        }
+        if (!slotUpdates.isEmpty()) {
+            jdbcTemplate.batchUpdate("update account_balance_slots set balance = balance + ? where account_id = ? and slot = 0",
+                    slotUpdates);
+        }
+        if (!inserts.isEmpty()) {
+            insertTransactions(inserts, postedAt);
+        }
+
+        jdbcTemplate.update("update batch_job_checkpoints set last_id = ?, processed = processed + ?, updated_at = now(6)"
+                        + " where job_name = ? and run_key = ? and lane = ?",
+                chunk.get(chunk.size() - 1).id(), chunk.size(), job.name(), runKey, lane.lane());
+        return new ChunkResult(chunk.size(), inserts.size());
+    }
+
+    /**
+     * Inserts the transactions of a chunk and their outbox events, each with one batched statement.
+     * The generated transaction ids are read back from the insert batch for the events.
+     */
+    private void insertTransactions(List<Posting> inserts, LocalDateTime postedAt) {
+        Timestamp timestamp = Timestamp.valueOf(postedAt);
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+        jdbcTemplate.batchUpdate(connection -> connection.prepareStatement(INSERT_TRANSACTION, Statement.RETURN_GENERATED_KEYS),
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement statement, int i) throws SQLException {
+                        Posting posting = inserts.get(i);
+                        statement.setDouble(1, posting.amount());
+                        statement.setInt(2, posting.transactionType().ordinal());
+                        statement.setString(3, posting.description());
+                        statement.setTimestamp(4, timestamp);
+                        statement.setLong(5, posting.account().id());
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return inserts.size();
+                    }
+                }, keyHolder);
+
+        List<Map<String, Object>> keys = keyHolder.getKeyList();
+        List<TransactionRecordedEvent> events = new ArrayList<>(inserts.size());
+        for (int i = 0; i < inserts.size(); i++) {
+            Posting posting = inserts.get(i);
+            AccountSnapshot account = posting.account();
+            long transactionId = ((Number) keys.get(i).values().iterator().next()).longValue();
+            events.add(new TransactionRecordedEvent(transactionId, account.id(), account.userId(),
+                    posting.transactionType(), posting.amount(), account.balance() + posting.signedAmount(),
+                    posting.description(), postedAt));
+        }
+        outboxWriter.transactionsRecorded(events);
+    }
+
+    /**
+     * Loads the lanes of a run, creating them on its first start.
+     */
+    private List<Lane> lanes(BatchJob job, String runKey) {
+        List<Lane> lanes = loadLanes(job, runKey);
+        if (!lanes.isEmpty()) {
+            return lanes;
+        }
+
+        Map<String, Object> bounds = jdbcTemplate.queryForMap("select min(id) as lo, max(id) as hi from accounts");
+        long lo = bounds.get("lo") == null ? 0 : ((Number) bounds.get("lo")).longValue();
+        long hi = bounds.get("hi") == null ? 0 : ((Number) bounds.get("hi")).longValue();
+        int count = Math.max(1, properties.getLanes());
+        long width = Math.max(1, (hi - lo + count) / count);
+
+        List<Object[]> rows = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            long laneStart = lo + i * width;
+            // the last lane is open-ended so accounts opened during the run are included
+            long laneEnd = i == count - 1 ? Long.MAX_VALUE : laneStart + width;
+            rows.add(new Object[]{job.name(), runKey, i, laneStart - 1, laneEnd});
+        }
+        jdbcTemplate.batchUpdate("insert ignore into batch_job_checkpoints"
+                + " (job_name, run_key, lane, last_id, end_id, processed, completed, updated_at)"
+                + " values (?, ?, ?, ?, ?, 0, false, now(6))", rows);
+        return loadLanes(job, runKey);
+    }
+
+    private List<Lane> loadLanes(BatchJob job, String runKey) {
+        return jdbcTemplate.query("select lane, end_id, completed from batch_job_checkpoints"
+                        + " where job_name = ? and run_key = ? order by lane",
+                (rs, rowNum) -> new Lane(rs.getInt(1), rs.getLong(2), rs.getBoolean(3)),
+                job.name(), runKey);
+    }
+
+    private record Lane(int lane, long endId, boolean completed) {
+    }
+
+    private record ChunkResult(int accounts, int postings) {
+    }
+}
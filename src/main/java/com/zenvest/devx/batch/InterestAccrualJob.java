@@ -0,0 +1,63 @@
+package com.zenvest.devx.batch;
+
+import com.zenvest.devx.configs.BatchProperties;
+import com.zenvest.devx.constants.TransactionType;
+import com.zenvest.devx.sharding.ShardDirectory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+
+/**
+ * Credits one day of interest to every active account with a positive balance.
+ * Amounts are rounded to cents; an account whose daily interest rounds to zero gets no posting.
+ */
+@Component
+public class InterestAccrualJob implements BatchJob {
+
+    private final BatchProperties properties;
+    private final BatchJobRunner runner;
+    private final ShardDirectory shardDirectory;
+
+    @Autowired
+    public InterestAccrualJob(BatchProperties properties, BatchJobRunner runner, ShardDirectory shardDirectory) {
+        this.properties = properties;
+        this.runner = runner;
+        this.shardDirectory = shardDirectory;
+    }
+
+    @Scheduled(cron = "${zenvest.batch.interest.cron:0 0 1 * * *}")
+    public void runDaily() {
+        if (properties.getInterest().isEnabled()) {
+            LocalDate businessDate = LocalDate.now().minusDays(1);
+            shardDirectory.forEachShard(() -> runner.run(this, businessDate));
+        }
+    }
+
+    @Override
+    public String name() {
+        return "interest-accrual";
+    }
+
+    @Override
+    public String runKey(LocalDate businessDate) {
+        return businessDate.toString();
+    }
+
+    @Override
+    public Posting compute(AccountSnapshot account, LocalDate businessDate) {
+        if (!account.active() || account.balance() <= 0) {
+            return null;
+        }
+        double interest = BigDecimal.valueOf(account.balance() * properties.getInterest().getAnnualRate() / businessDate.lengthOfYear())
+                .setScale(2, RoundingMode.HALF_EVEN)
+                .doubleValue();
+        if (interest <= 0) {
+            return null;
+        }
+        return new Posting(account, TransactionType.DEPOSIT, interest, "Interest for " + businessDate);
+    }
+}
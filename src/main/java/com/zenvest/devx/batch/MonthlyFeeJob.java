@@ -0,0 +1,61 @@
+package com.zenvest.devx.batch;
+
+import com.zenvest.devx.configs.BatchProperties;
+import com.zenvest.devx.constants.TransactionType;
+import com.zenvest.devx.sharding.ShardDirectory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+
+/**
+ * Charges the monthly account fee for the previous month.
+ * Accounts at or above the waiver balance are not charged, and the fee never takes a balance below zero.
+ */
+@Component
+public class MonthlyFeeJob implements BatchJob {
+
+    private final BatchProperties properties;
+    private final BatchJobRunner runner;
+    private final ShardDirectory shardDirectory;
+
+    @Autowired
+    public MonthlyFeeJob(BatchProperties properties, BatchJobRunner runner, ShardDirectory shardDirectory) {
+        this.properties = properties;
+        this.runner = runner;
+        this.shardDirectory = shardDirectory;
+    }
+
+    @Scheduled(cron = "${zenvest.batch.fees.cron:0 0 2 1 * *}")
+    public void runMonthly() {
+        if (properties.getFees().isEnabled()) {
+            LocalDate businessDate = LocalDate.now().minusMonths(1);
+            shardDirectory.forEachShard(() -> runner.run(this, businessDate));
+        }
+    }
+
+    @Override
+    public String name() {
+        return "monthly-fee";
+    }
+
+    @Override
+    public String runKey(LocalDate businessDate) {
+        return YearMonth.from(businessDate).toString();
+    }
+
+    @Override
+    public Posting compute(AccountSnapshot account, LocalDate businessDate) {
+        BatchProperties.Fees fees = properties.getFees();
+        if (!account.active() || account.balance() <= 0 || account.balance() >= fees.getWaiverBalance()) {
+            return null;
+        }
+        double fee = Math.min(fees.getMonthlyFee(), Math.floor(account.balance() * 100) / 100);
+        if (fee <= 0) {
+            return null;
+        }
+        return new Posting(account, TransactionType.WITHDRAWAL, fee, "Account fee for " + YearMonth.from(businessDate));
+    }
+}
@@ -0,0 +1,15 @@
+package com.zenvest.devx.batch;
+
+import com.zenvest.devx.constants.TransactionType;
+
+/**
+ * A balance change computed by a batch job, recorded as a transaction of its account.
+ *
+ * @param amount the positive amount of the transaction
+ */
+public record Posting(AccountSnapshot account, TransactionType transactionType, double amount, String description) {
+
+    double signedAmount() {
+        return transactionType == TransactionType.WITHDRAWAL ? -amount : amount;
+    }
+}
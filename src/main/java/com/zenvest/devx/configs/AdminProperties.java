@@ -0,0 +1,22 @@
+package com.zenvest.devx.configs;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * AdminProperties binds the operators under {@code zenvest.security.admin}.
+ * Users whose email is listed get the {@code ADMIN} role in their tokens, which the operational actuator
+ * endpoints require.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "zenvest.security.admin")
+public class AdminProperties {
+
+    /** Emails of the users with the ADMIN role; emails are unique, unlike usernames. */
+    private List<String> emails = new ArrayList<>();
+}
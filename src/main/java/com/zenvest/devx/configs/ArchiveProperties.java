@@ -0,0 +1,28 @@
+package com.zenvest.devx.configs;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * ArchiveProperties binds the partition maintenance and archival settings under {@code zenvest.archive}.
+ * The transactions and transfers tables are partitioned by month; partitions older than the retention window
+ * are moved into compressed segment files and dropped from the database.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "zenvest.archive")
+public class ArchiveProperties {
+
+    /** Whether the maintenance job creates and archives partitions. Archived segments are read either way. */
+    private boolean enabled = true;
+
+    /** Directory holding the segment files. */
+    private String directory = "archive";
+
+    /** Number of whole months kept in the database before the current one. */
+    private int retentionMonths = 12;
+
+    /** Number of monthly partitions created ahead of the current month. */
+    private int partitionsAhead = 3;
+}
@@ -0,0 +1,49 @@
+package com.zenvest.devx.configs;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * BatchProperties binds the end-of-day batch settings under {@code zenvest.batch}.
+ * Every job splits the account-id space into lanes that run in parallel; each lane walks its accounts
+ * in keyset-ordered chunks, and every chunk is applied and checkpointed in one transaction.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "zenvest.batch")
+public class BatchProperties {
+
+    /** Number of lanes processed in parallel. */
+    private int lanes = 4;
+
+    /** Number of accounts read, posted and checkpointed together. */
+    private int chunkSize = 500;
+
+    private Interest interest = new Interest();
+
+    private Fees fees = new Fees();
+
+    @Getter
+    @Setter
+    public static class Interest {
+
+        private boolean enabled = true;
+
+        /** Yearly interest rate applied to positive balances, accrued daily. */
+        private double annualRate = 0.02;
+    }
+
+    @Getter
+    @Setter
+    public static class Fees {
+
+        private boolean enabled = true;
+
+        /** Fee charged on the first day of every month. */
+        private double monthlyFee = 1.0;
+
+        /** Accounts holding at least this balance are not charged. */
+        private double waiverBalance = 1_000;
+    }
+}
@@ -0,0 +1,31 @@
+package com.zenvest.devx.configs;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+/**
+ * FlightRecorderProperties binds the always-on flight recording settings under {@code zenvest.jfr}.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "zenvest.jfr")
+public class FlightRecorderProperties {
+
+    private boolean enabled = true;
+
+    /** Classpath location of the event settings, applied on top of the JDK default profile. */
+    private String settings = "jfr/zenvest.jfc";
+
+    /** Oldest data kept by the recording; also the largest window a dump can return. */
+    private Duration maxAge = Duration.ofMinutes(15);
+
+    /** Largest amount of recording data kept on disk. */
+    private DataSize maxSize = DataSize.ofMegabytes(256);
+
+    /** Window dumped when the request does not ask for one. */
+    private Duration defaultWindow = Duration.ofMinutes(5);
+}
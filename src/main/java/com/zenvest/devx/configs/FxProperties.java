@@ -0,0 +1,28 @@
+package com.zenvest.devx.configs;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * FxProperties binds the exchange-rate settings under {@code zenvest.fx}.
+ * Rates are quoted as units of a currency per one unit of the base currency. They are read from
+ * {@code rates-file} when it is set, otherwise from the static {@code rates} map.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "zenvest.fx")
+public class FxProperties {
+
+    /** Currency every rate is quoted against, and the default currency of new accounts. */
+    private String baseCurrency = "USD";
+
+    /** Properties file of {@code CURRENCY=rate} lines, re-read on every refresh. */
+    private String ratesFile;
+
+    /** Static rates used when no rates file is configured. */
+    private Map<String, Double> rates = new LinkedHashMap<>(Map.of("USD", 1.0));
+}
@@ -0,0 +1,67 @@
+package com.zenvest.devx.configs;
+
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import com.zenvest.devx.responses.ZenvestResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.ClassPathScanningCandidateComponentProvider;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.ClassUtils;
+
+/**
+ * Jackson configuration for API responses.
+ * - Registers the Blackbird module so DTO getters are invoked through generated lambdas instead of reflection
+ * - Resolves the serializers of every response DTO at startup so the first requests do not pay for introspection
+ * Most of the saving on a large history response comes from gzip, about 13x on 10k rows; Blackbird is within
+ * a few percent of reflective getters on JDK 21 (see JacksonSerializationBenchmarkTest).
+ */
+@Slf4j
+@Configuration
+public class JacksonConfiguration {
+
+    private static final String OUTPUT_DTO_PACKAGE = "com.zenvest.devx.dtos.outputs";
+
+    /**
+     * Blackbird module bean. Spring Boot registers every Module bean with the shared ObjectMapper.
+     */
+    @Bean
+    public BlackbirdModule blackbirdModule() {
+        return new BlackbirdModule();
+    }
+
+    /**
+     * Pre-resolves and caches the serializers of ZenvestResponse and all output DTOs.
+     */
+    @Bean
+    public ApplicationRunner responseSerializerWarmUp(ObjectMapper objectMapper) {
+        return args -> {
+            ClassPathScanningCandidateComponentProvider scanner = new ClassPathScanningCandidateComponentProvider(false);
+            scanner.addIncludeFilter((reader, factory) -> true);
+
+            SerializerProvider provider = objectMapper.getSerializerProviderInstance();
+            int resolved = resolve(provider, ZenvestResponse.class) ? 1 : 0;
+            for (BeanDefinition definition : scanner.findCandidateComponents(OUTPUT_DTO_PACKAGE)) {
+                Class<?> type = ClassUtils.resolveClassName(definition.getBeanClassName(), getClass().getClassLoader());
+                if (resolve(provider, type)) {
+                    resolved++;
+                }
+            }
+            log.info("Pre-resolved {} response serializers", resolved);
+        };
+    }
+
+    private static boolean resolve(SerializerProvider provider, Class<?> type) {
+        try {
+            provider.findValueSerializer(type);
+            return true;
+        } catch (JsonMappingException e) {
+            log.debug("No serializer for {}", type.getName(), e);
+            return false;
+        }
+    }
+}
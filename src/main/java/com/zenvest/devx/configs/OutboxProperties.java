@@ -0,0 +1,43 @@
+package com.zenvest.devx.configs;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * OutboxProperties binds the event outbox relay settings under {@code zenvest.outbox}.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "zenvest.outbox")
+public class OutboxProperties {
+
+    private boolean enabled = true;
+
+    /** Number of events read, delivered and removed together. */
+    private int batchSize = 500;
+
+    /** Maximum number of batches relayed by one poll, so a large backlog does not hold the relay thread. */
+    private int maxBatchesPerPoll = 20;
+
+    /** Number of failed deliveries after which an event is moved to {@code event_outbox_dead_letters}. */
+    private int maxAttempts = 20;
+
+    /** Delay before the first retry of an event a sink rejected, doubled after every further failure. */
+    private long retryBackoffMs = 1000;
+
+    /** Upper bound of the delay between two retries of an event. */
+    private long maxRetryBackoffMs = 300000;
+
+    private File file = new File();
+
+    @Getter
+    @Setter
+    public static class File {
+
+        private boolean enabled = false;
+
+        /** File the events are appended to, one JSON object per line. */
+        private String path = "outbox/events.jsonl";
+    }
+}
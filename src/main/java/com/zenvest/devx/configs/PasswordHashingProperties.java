@@ -0,0 +1,32 @@
+package com.zenvest.devx.configs;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * PasswordHashingProperties binds the BCrypt settings under {@code zenvest.security.bcrypt}.
+ * Hashing runs on its own bounded pool so login bursts cannot take CPU away from money movement.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "zenvest.security.bcrypt")
+public class PasswordHashingProperties {
+
+    /** BCrypt log2 work factor. Each step doubles the cost of a hash. */
+    private int strength = 10;
+
+    /** Number of hashing threads; defaults to the number of available cores. */
+    private int threads = Runtime.getRuntime().availableProcessors();
+
+    /** Number of hashing requests allowed to wait for a thread before new ones are rejected. */
+    private int queueCapacity = 64;
+
+    /** Longest a request waits for its hash before it is answered with 503. */
+    private Duration maxWait = Duration.ofSeconds(2);
+
+    /** Latency budget of a single hash; a warning is logged at startup when the work factor exceeds it. */
+    private Duration targetHashTime = Duration.ofMillis(250);
+}
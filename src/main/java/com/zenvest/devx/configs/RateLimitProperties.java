@@ -0,0 +1,42 @@
+package com.zenvest.devx.configs;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * RateLimitProperties binds the admission control settings under {@code zenvest.rate-limit}.
+ * Each endpoint group has its own per-user token bucket; groups are matched in declaration order.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "zenvest.rate-limit")
+public class RateLimitProperties {
+
+    private boolean enabled = true;
+
+    /** Upper bound of per-user buckets kept in memory for each group. */
+    private long maxTrackedUsers = 100_000;
+
+    /** Buckets that are not touched for this long are evicted. */
+    private Duration idleEviction = Duration.ofMinutes(10);
+
+    /** Maximum number of concurrent balance-changing requests per account. */
+    private int maxInFlightWritesPerAccount = 4;
+
+    private Map<String, Group> groups = new LinkedHashMap<>();
+
+    @Getter
+    @Setter
+    public static class Group {
+        private List<String> pathPatterns = new ArrayList<>();
+        private double requestsPerSecond = 10;
+        private int burst = 20;
+    }
+}
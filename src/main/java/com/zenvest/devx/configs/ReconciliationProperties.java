@@ -0,0 +1,29 @@
+package com.zenvest.devx.configs;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * ReconciliationProperties binds the ledger reconciliation settings under {@code zenvest.reconciliation}.
+ * Memory use is bounded by {@code parallelism * range-size} per-account accumulators, whatever the table sizes.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "zenvest.reconciliation")
+public class ReconciliationProperties {
+
+    private boolean enabled = true;
+
+    /** Number of account ids reconciled together; each range is one consistent snapshot. */
+    private int rangeSize = 10_000;
+
+    /** Number of ranges reconciled in parallel. */
+    private int parallelism = Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+
+    /** Largest difference between stored and computed balance that is still treated as equal. */
+    private double tolerance = 0.01;
+
+    /** Maximum number of mismatches kept in the report; all of them are counted. */
+    private int maxReportedMismatches = 1_000;
+}
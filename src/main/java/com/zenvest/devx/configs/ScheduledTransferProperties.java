@@ -0,0 +1,38 @@
+package com.zenvest.devx.configs;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * ScheduledTransferProperties binds the standing-order scheduler settings under {@code zenvest.transfer.scheduled}.
+ * Orders due within {@code load-window} are read into an in-memory timing wheel every {@code load-interval};
+ * the interval must stay shorter than the window so that no order is loaded after its time.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "zenvest.transfer.scheduled")
+public class ScheduledTransferProperties {
+
+    private boolean enabled = true;
+
+    /** Granularity of the timing wheel; due orders fire at most one tick late. */
+    private Duration tick = Duration.ofMillis(100);
+
+    /** Number of buckets of each ring of the timing wheel. */
+    private int wheelSize = 64;
+
+    /** How far ahead due orders are loaded into the wheel. */
+    private Duration loadWindow = Duration.ofMinutes(10);
+
+    /** How often the next window is loaded. */
+    private Duration loadInterval = Duration.ofMinutes(1);
+
+    /** Number of orders read per keyset page while loading a window. */
+    private int pageSize = 1000;
+
+    /** Number of order groups executed in parallel. */
+    private int threads = 8;
+}
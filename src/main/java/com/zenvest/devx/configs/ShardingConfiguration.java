@@ -0,0 +1,94 @@
+package com.zenvest.devx.configs;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zenvest.devx.sharding.ShardRoutingDataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.flywaydb.core.Flyway;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.flyway.FlywayMigrationStrategy;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * ShardingConfiguration replaces the single data source with a {@link ShardRoutingDataSource} when
+ * {@code zenvest.sharding.enabled} is set.
+ * Every shard gets the full schema. Each shard's sessions use a distinct auto-increment offset, so ids
+ * generated on different shards never collide and an account id identifies one account across all shards.
+ */
+@Slf4j
+@Configuration
+@ConditionalOnProperty(prefix = "zenvest.sharding", name = "enabled", havingValue = "true")
+public class ShardingConfiguration {
+
+    private static final String[] ID_TABLES = {"accounts", "transactions", "transfers", "scheduled_transfers"};
+
+    @Bean
+    public ShardRoutingDataSource dataSource(DataSourceProperties dataSourceProperties,
+                                             ShardingProperties properties,
+                                             Environment environment) {
+        int shardCount = properties.getShards().size() + 1;
+        List<HikariDataSource> shards = new ArrayList<>(shardCount);
+
+        HikariDataSource directory = dataSourceProperties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .build();
+        shards.add(configure(directory, 0, shardCount, environment));
+        for (ShardingProperties.Shard shard : properties.getShards()) {
+            HikariDataSource dataSource = new HikariDataSource();
+            dataSource.setDriverClassName(dataSourceProperties.determineDriverClassName());
+            dataSource.setJdbcUrl(shard.getUrl());
+            dataSource.setUsername(shard.getUsername());
+            dataSource.setPassword(shard.getPassword());
+            configure(dataSource, shards.size(), shardCount, environment);
+            dataSource.setMaximumPoolSize(shard.getMaximumPoolSize());
+            shards.add(dataSource);
+        }
+        log.info("Routing the data source over {} shards", shardCount);
+        return new ShardRoutingDataSource(shards);
+    }
+
+    /**
+     * Migrates every shard with the Flyway settings of {@code spring.flyway}.
+     * A shard that has no accounts yet starts its ids above the largest account id of the directory shard,
+     * so accounts created before sharding was enabled keep unique ids.
+     */
+    @Bean
+    public FlywayMigrationStrategy shardedFlywayMigrationStrategy(ShardRoutingDataSource dataSource) {
+        return flyway -> {
+            for (int shard = 0; shard < dataSource.shardCount(); shard++) {
+                Flyway.configure()
+                        .configuration(flyway.getConfiguration())
+                        .dataSource(dataSource.shard(shard))
+                        .load()
+                        .migrate();
+            }
+
+            JdbcTemplate directory = new JdbcTemplate(dataSource.shard(0));
+            for (int shard = 1; shard < dataSource.shardCount(); shard++) {
+                JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource.shard(shard));
+                for (String table : ID_TABLES) {
+                    if (Boolean.TRUE.equals(jdbcTemplate.queryForObject("select not exists (select 1 from " + table + ")", Boolean.class))) {
+                        Long floor = directory.queryForObject("select coalesce(max(id), 0) + 1 from " + table, Long.class);
+                        jdbcTemplate.execute("alter table " + table + " auto_increment = " + floor);
+                    }
+                }
+            }
+        };
+    }
+
+    private static HikariDataSource configure(HikariDataSource dataSource, int shard, int shardCount, Environment environment) {
+        Binder.get(environment).bind("spring.datasource.hikari", Bindable.ofInstance(dataSource));
+        dataSource.setPoolName("zenvest-shard-" + shard);
+        dataSource.setConnectionInitSql("set @@session.auto_increment_increment = " + shardCount
+                + ", @@session.auto_increment_offset = " + (shard + 1));
+        return dataSource;
+    }
+}
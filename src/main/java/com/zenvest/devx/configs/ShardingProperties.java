@@ -0,0 +1,56 @@
+package com.zenvest.devx.configs;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * ShardingProperties binds the shard-routing settings under {@code zenvest.sharding}.
+ * Shard 0 is always {@code spring.datasource}, which also holds the shard directory; {@code shards} lists
+ * the additional shards 1..N-1 in order.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "zenvest.sharding")
+public class ShardingProperties {
+
+    private boolean enabled = false;
+
+    private List<Shard> shards = new ArrayList<>();
+
+    /** Maximum number of users and accounts whose shard is kept in memory. */
+    private long directoryCacheSize = 100_000;
+
+    private Saga saga = new Saga();
+
+    @Getter
+    @Setter
+    public static class Shard {
+
+        private String url;
+
+        private String username;
+
+        private String password;
+
+        private int maximumPoolSize = 10;
+    }
+
+    @Getter
+    @Setter
+    public static class Saga {
+
+        /** Time after which the recovery worker takes over an unfinished cross-shard transfer. */
+        private Duration staleAfter = Duration.ofSeconds(30);
+
+        /** Number of stalled transfers resumed by one recovery run. */
+        private int batchSize = 100;
+
+        /** Failed credit attempts after which the debit is compensated instead of retried. */
+        private int maxAttempts = 10;
+    }
+}
@@ -0,0 +1,37 @@
+package com.zenvest.devx.configs;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * VelocityProperties binds the compliance velocity rules under {@code zenvest.velocity}.
+ * Count and amount limits apply to outgoing money (withdrawals and transfers) per account over a sliding window.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "zenvest.velocity")
+public class VelocityProperties {
+
+    private boolean enabled = true;
+
+    /** Length of the sliding window for the count and amount rules. */
+    private Duration window = Duration.ofHours(1);
+
+    /** Number of time buckets the window is split into. */
+    private int buckets = 60;
+
+    /** Maximum number of outgoing operations per account within the window. */
+    private int maxCount = 50;
+
+    /** Maximum outgoing amount per account within the window. */
+    private double maxAmount = 10_000;
+
+    /** Maximum number of distinct transfer destinations per account within one hour. */
+    private int maxDistinctDestinations = 10;
+
+    /** Upper bound of accounts whose windows are kept in memory. */
+    private long maxTrackedAccounts = 1_000_000;
+}
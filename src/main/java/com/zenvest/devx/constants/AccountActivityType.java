@@ -0,0 +1,8 @@
+package com.zenvest.devx.constants;
+
+public enum AccountActivityType {
+    DEPOSIT,
+    WITHDRAWAL,
+    TRANSFER_IN,
+    TRANSFER_OUT
+}
@@ -8,18 +8,29 @@ public class ApiEndpoint {
     public static final String AUTH_REGISTER = "/register";
     public static final String AUTH_LOGIN = "/login";
     public static final String AUTH_REFRESH = "/refresh";
+    public static final String AUTH_LOGOUT = "/logout";
+    public static final String AUTH_REVOKE_ALL = "/revoke-all";
 
     // Secured (Account) API endpoints
     public static final String ACCOUNT  = AUTHENTICATE_PATH + "/accounts";
     public static final String ACCOUNTS_RESOURCE_BY_ID = "/{id}";
+    public static final String ACCOUNTS_HOT_MODE = "/{id}/hot-mode";
+    public static final String ACCOUNTS_EVENTS = "/events";
+    public static final String ACCOUNTS_EVENTS_BY_ID = "/{id}/events";
+    public static final String ACCOUNTS_DASHBOARD = "/dashboard";
 
     // Secured (Transaction) API endpoints
     public static final String TRANSACTION = ACCOUNT + "/{accountId}/transactions";
     public static final String TRANSACTION_DEPOSIT = "/deposit";
     public static final String TRANSACTION_WITHDRAW = "/withdraw";
+    public static final String TRANSACTION_SEARCH = "/search";
 
     // Secured (Transfer) API endpoints
     public static final String TRANSFER = "/transfer";
     public static final String TRANSFER_HISTORY = "/history";
+    public static final String TRANSFER_ASYNC = "/async";
+    public static final String TRANSFER_BY_ID = "/{id}";
+    public static final String TRANSFER_SCHEDULED = "/scheduled";
+    public static final String TRANSFER_SCHEDULED_BY_ID = "/scheduled/{id}";
 
 }
@@ -0,0 +1,30 @@
+package com.zenvest.devx.constants;
+
+import lombok.Getter;
+import org.springframework.http.HttpStatus;
+
+/**
+ * Stable error codes of the domain exceptions, returned in the {@code code} field of error responses.
+ * Clients should branch on the code, not on the message.
+ */
+@Getter
+public enum ErrorCode {
+    ACCOUNT_NOT_FOUND(HttpStatus.NOT_FOUND),
+    ACCOUNT_NOT_OWNED(HttpStatus.FORBIDDEN),
+    ACCOUNT_INACTIVE(HttpStatus.CONFLICT),
+    INSUFFICIENT_FUNDS(HttpStatus.UNPROCESSABLE_ENTITY),
+    SAME_ACCOUNT_TRANSFER(HttpStatus.BAD_REQUEST),
+    TRANSFER_NOT_FOUND(HttpStatus.NOT_FOUND),
+    SCHEDULED_TRANSFER_NOT_FOUND(HttpStatus.NOT_FOUND),
+    SCHEDULED_TRANSFER_NOT_ACTIVE(HttpStatus.CONFLICT),
+    CROSS_SHARD_TRANSFER_NOT_SUPPORTED(HttpStatus.UNPROCESSABLE_ENTITY),
+    TRANSFER_REVERSED(HttpStatus.CONFLICT),
+    TRANSFER_OUTCOME_UNKNOWN(HttpStatus.GATEWAY_TIMEOUT),
+    INVALID_CREDENTIALS(HttpStatus.UNAUTHORIZED);
+
+    private final HttpStatus status;
+
+    ErrorCode(HttpStatus status) {
+        this.status = status;
+    }
+}
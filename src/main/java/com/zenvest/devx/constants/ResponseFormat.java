@@ -0,0 +1,8 @@
+package com.zenvest.devx.constants;
+
+public enum ResponseFormat {
+    /** One JSON object per row. */
+    FULL,
+    /** Column names once, then one JSON array per row. */
+    COMPACT
+}
@@ -0,0 +1,8 @@
+package com.zenvest.devx.constants;
+
+public enum ScheduledTransferStatus {
+    ACTIVE,
+    COMPLETED,
+    CANCELLED,
+    FAILED
+}
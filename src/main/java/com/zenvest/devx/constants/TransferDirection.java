@@ -0,0 +1,8 @@
+package com.zenvest.devx.constants;
+
+public enum TransferDirection {
+    /** The user owns the source account. */
+    OUT,
+    /** The user owns the destination account. */
+    IN
+}
@@ -0,0 +1,8 @@
+package com.zenvest.devx.constants;
+
+public enum TransferFrequency {
+    ONCE,
+    DAILY,
+    WEEKLY,
+    MONTHLY
+}
@@ -0,0 +1,17 @@
+package com.zenvest.devx.constants;
+
+/**
+ * Progress of a transfer between accounts on different shards.
+ */
+public enum TransferSagaStatus {
+    STARTED,
+    DEBITED,
+    COMPLETED,
+    COMPENSATING,
+    COMPENSATED,
+    FAILED;
+
+    public boolean isTerminal() {
+        return this == COMPLETED || this == COMPENSATED || this == FAILED;
+    }
+}
@@ -0,0 +1,10 @@
+package com.zenvest.devx.constants;
+
+/**
+ * Balance changes of a cross-shard transfer, each applied at most once on its shard.
+ */
+public enum TransferSagaStep {
+    DEBIT,
+    CREDIT,
+    COMPENSATE
+}
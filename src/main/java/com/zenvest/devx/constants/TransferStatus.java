@@ -0,0 +1,7 @@
+package com.zenvest.devx.constants;
+
+public enum TransferStatus {
+    PENDING,
+    COMPLETED,
+    FAILED
+}
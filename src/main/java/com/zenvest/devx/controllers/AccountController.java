@@ -2,15 +2,20 @@ package com.zenvest.devx.controllers;
 
 import com.zenvest.devx.constants.ApiEndpoint;
 import com.zenvest.devx.dtos.inputs.AccountRequest;
+import com.zenvest.devx.dtos.inputs.HotModeRequest;
 import com.zenvest.devx.dtos.inputs.UpdateAccountRequest;
 import com.zenvest.devx.dtos.outputs.AccountResponse;
+import com.zenvest.devx.dtos.outputs.DashboardAccountResponse;
 import com.zenvest.devx.responses.ZenvestResponse;
 import com.zenvest.devx.services.AccountService;
+import com.zenvest.devx.services.DashboardService;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.List;
 
@@ -23,10 +28,12 @@ import java.util.List;
 @RequestMapping(ApiEndpoint.ACCOUNT)
 public class AccountController {
     private final AccountService accountService;
+    private final DashboardService dashboardService;
 
     @Autowired
-    public AccountController(AccountService accountService) {
+    public AccountController(AccountService accountService, DashboardService dashboardService) {
         this.accountService = accountService;
+        this.dashboardService = dashboardService;
     }
 
     /**
@@ -43,6 +50,22 @@ public class AccountController {
         return ResponseEntity.status(HttpStatus.OK).body(response);
     }
 
+    /**
+     * Fetches all accounts for the current user with their latest transactions and transfers in one request.
+     *
+     * @param recent the number of transactions and of transfers to include per account
+     * @return a ResponseEntity containing a ZenvestResponse with a list of DashboardAccountResponse objects
+     */
+    @GetMapping(ApiEndpoint.ACCOUNTS_DASHBOARD)
+    public ResponseEntity<ZenvestResponse<DashboardAccountResponse>> getDashboard(
+            @RequestParam(defaultValue = "5") int recent) {
+        List<DashboardAccountResponse> dashboard = dashboardService.getDashboardForCurrentUser(recent);
+        ZenvestResponse<DashboardAccountResponse> response = new ZenvestResponse<>();
+        response.setResults(dashboard);
+        response.setMessage("Dashboard fetched successfully");
+        return ResponseEntity.status(HttpStatus.OK).body(response);
+    }
+
     /**
      * Creates a new account for the current user.
      *
@@ -86,4 +109,40 @@ public class AccountController {
         return ResponseEntity.status(HttpStatus.OK).body(response);
     }
 
+    /**
+     * Switches an account to hot mode, spreading its balance over several slots.
+     *
+     * @param id      the ID of the account to switch
+     * @param request the request object containing the number of slots
+     * @return a ResponseEntity containing a ZenvestResponse with the updated AccountResponse object
+     */
+    @PutMapping(ApiEndpoint.ACCOUNTS_HOT_MODE)
+    public ResponseEntity<ZenvestResponse<AccountResponse>> enableHotMode(@PathVariable Long id, @Valid @RequestBody HotModeRequest request){
+        AccountResponse accountResponse = accountService.enableHotMode(id, request);
+        ZenvestResponse<AccountResponse> response = new ZenvestResponse<>(accountResponse);
+        response.setMessage("Account switched to hot mode successfully");
+        return ResponseEntity.status(HttpStatus.OK).body(response);
+    }
+
+    /**
+     * Streams balance and transaction events of all accounts of the current user as Server-Sent Events.
+     *
+     * @return an SseEmitter delivering the events
+     */
+    @GetMapping(value = ApiEndpoint.ACCOUNTS_EVENTS, produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamAccountsEvents() {
+        return accountService.subscribeToUserEvents();
+    }
+
+    /**
+     * Streams balance and transaction events of one account as Server-Sent Events.
+     *
+     * @param id the ID of the account
+     * @return an SseEmitter delivering the events
+     */
+    @GetMapping(value = ApiEndpoint.ACCOUNTS_EVENTS_BY_ID, produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamAccountEvents(@PathVariable Long id) {
+        return accountService.subscribeToAccountEvents(id);
+    }
+
 }
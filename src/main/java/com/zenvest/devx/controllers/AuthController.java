@@ -79,4 +79,30 @@ public class AuthController {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(new ZenvestResponse<>(false, null, e.getMessage()));
         }
     }
+
+    /**
+     * Logs the current user out by revoking the access token of the request.
+     *
+     * @return a ResponseEntity containing a ZenvestResponse confirming the logout
+     */
+    @PostMapping(ApiEndpoint.AUTH_LOGOUT)
+    public ResponseEntity<ZenvestResponse<Void>> logout() {
+        authService.logout();
+        ZenvestResponse<Void> response = new ZenvestResponse<>();
+        response.setMessage("User logged out successfully");
+        return ResponseEntity.status(HttpStatus.OK).body(response);
+    }
+
+    /**
+     * Revokes every access token of the current user.
+     *
+     * @return a ResponseEntity containing a ZenvestResponse confirming the revocation
+     */
+    @PostMapping(ApiEndpoint.AUTH_REVOKE_ALL)
+    public ResponseEntity<ZenvestResponse<Void>> revokeAllTokens() {
+        authService.revokeAllTokens();
+        ZenvestResponse<Void> response = new ZenvestResponse<>();
+        response.setMessage("All tokens revoked successfully");
+        return ResponseEntity.status(HttpStatus.OK).body(response);
+    }
 }
@@ -0,0 +1,68 @@
+package com.zenvest.devx.controllers;
+
+import com.zenvest.devx.monitoring.FlightRecorderService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.web.WebEndpointResponse;
+import org.springframework.boot.actuate.endpoint.web.annotation.WebEndpoint;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * Dumps the last minutes of the always-on flight recording at {@code /actuator/jfr}.
+ * {@code ?seconds=} chooses the window; the response is a {@code .jfr} file for JDK Mission Control or
+ * {@code jfr print}.
+ */
+@Component
+@WebEndpoint(id = "jfr")
+public class FlightRecordingEndpoint {
+
+    private final FlightRecorderService flightRecorderService;
+
+    @Autowired
+    public FlightRecordingEndpoint(FlightRecorderService flightRecorderService) {
+        this.flightRecorderService = flightRecorderService;
+    }
+
+    /**
+     * Fetches a window of the recording.
+     *
+     * @param seconds the length of the window, optional
+     * @return the recording file, deleted once it has been sent
+     */
+    @ReadOperation(produces = "application/octet-stream")
+    public WebEndpointResponse<Resource> dump(@Nullable Integer seconds) throws IOException {
+        Path file;
+        try {
+            file = flightRecorderService.dump(seconds == null ? null : Duration.ofSeconds(seconds));
+        } catch (IllegalArgumentException e) {
+            return new WebEndpointResponse<>(WebEndpointResponse.STATUS_BAD_REQUEST);
+        } catch (IllegalStateException e) {
+            return new WebEndpointResponse<>(WebEndpointResponse.STATUS_SERVICE_UNAVAILABLE);
+        }
+        return new WebEndpointResponse<>(new FileSystemResource(file) {
+            @Override
+            public InputStream getInputStream() throws IOException {
+                return new FilterInputStream(super.getInputStream()) {
+                    @Override
+                    public void close() throws IOException {
+                        try {
+                            super.close();
+                        } finally {
+                            Files.deleteIfExists(file);
+                        }
+                    }
+                };
+            }
+        }, WebEndpointResponse.STATUS_OK);
+    }
+}
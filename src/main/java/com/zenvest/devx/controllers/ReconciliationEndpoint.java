@@ -0,0 +1,35 @@
+package com.zenvest.devx.controllers;
+
+import com.zenvest.devx.dtos.outputs.ReconciliationReport;
+import com.zenvest.devx.services.ReconciliationService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+/**
+ * Exposes the report of the last ledger reconciliation at {@code /actuator/reconciliation}.
+ * Progress of a running reconciliation is published as the {@code zenvest.reconciliation.*} metrics.
+ * The report lists accounts and balances of every user, so the endpoint requires the ADMIN role.
+ */
+@Component
+@Endpoint(id = "reconciliation")
+public class ReconciliationEndpoint {
+
+    private final ReconciliationService reconciliationService;
+
+    @Autowired
+    public ReconciliationEndpoint(ReconciliationService reconciliationService) {
+        this.reconciliationService = reconciliationService;
+    }
+
+    /**
+     * Fetches the report of the last completed reconciliation.
+     *
+     * @return the last report, or null if none has completed yet
+     */
+    @ReadOperation
+    public ReconciliationReport lastReport() {
+        return reconciliationService.getLastReport();
+    }
+}
@@ -1,17 +1,26 @@
 package com.zenvest.devx.controllers;
 
 import com.zenvest.devx.constants.ApiEndpoint;
+import com.zenvest.devx.constants.ResponseFormat;
 import com.zenvest.devx.dtos.inputs.TransactionRequest;
+import com.zenvest.devx.dtos.inputs.TransactionSearchRequest;
 import com.zenvest.devx.dtos.outputs.TransactionResponse;
+import com.zenvest.devx.dtos.outputs.TransactionSearchResponse;
+import com.zenvest.devx.responses.ColumnarResponse;
 import com.zenvest.devx.responses.ZenvestResponse;
+import com.zenvest.devx.security.AccountWriteLimiter;
+import com.zenvest.devx.services.TransactionSearchService;
 import com.zenvest.devx.services.TransactionService;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 
 
 /**
@@ -23,27 +32,73 @@ import java.util.List;
 public class TransactionController {
 
     private final TransactionService transactionService;
+    private final AccountWriteLimiter accountWriteLimiter;
+    private final TransactionSearchService transactionSearchService;
 
     @Autowired
-    public TransactionController(TransactionService transactionService) {
+    public TransactionController(TransactionService transactionService, AccountWriteLimiter accountWriteLimiter,
+                                 TransactionSearchService transactionSearchService) {
         this.transactionService = transactionService;
+        this.accountWriteLimiter = accountWriteLimiter;
+        this.transactionSearchService = transactionSearchService;
     }
 
     /**
-     * Fetches all transactions for a specific account.
+     * Fetches the transactions for a specific account, optionally limited to a date range.
+     * With {@code fields} only the listed fields are loaded and returned; with {@code format=compact} the
+     * response lists the column names once followed by one array of values per transaction.
      *
      * @param accountId the ID of the account
-     * @return a ResponseEntity containing a ZenvestResponse with a list of TransactionResponse objects
+     * @param from      the first instant to include (ISO date-time), optional
+     * @param to        the first instant to exclude (ISO date-time), optional
+     * @param fields    the comma-separated fields to return, optional
+     * @param format    FULL for one object per transaction, COMPACT for row arrays
+     * @return a ResponseEntity containing a ZenvestResponse with the transactions, or a ColumnarResponse when compact
      */
     @GetMapping
-    public ResponseEntity<ZenvestResponse<TransactionResponse>> getTransactions(@PathVariable  Long accountId){
-        List<TransactionResponse> transactions = transactionService.getTransactionsForAccount(accountId);
-        ZenvestResponse<TransactionResponse> response = new ZenvestResponse<>();
-        response.setResults(transactions);
+    public ResponseEntity<?> getTransactions(
+            @PathVariable  Long accountId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) String fields,
+            @RequestParam(defaultValue = "FULL") ResponseFormat format){
+        if (fields == null && format == ResponseFormat.FULL) {
+            List<TransactionResponse> transactions = transactionService.getTransactionsForAccount(accountId, from, to);
+            ZenvestResponse<TransactionResponse> response = new ZenvestResponse<>();
+            response.setResults(transactions);
+            response.setMessage("Transactions fetched successfully");
+            return ResponseEntity.status(HttpStatus.OK).body(response);
+        }
+
+        ColumnarResponse columns = transactionService.getTransactionColumns(accountId, from, to, fields);
+        if (format == ResponseFormat.COMPACT) {
+            columns.setMessage("Transactions fetched successfully");
+            return ResponseEntity.status(HttpStatus.OK).body(columns);
+        }
+        ZenvestResponse<Map<String, Object>> response = new ZenvestResponse<>();
+        response.setResults(columns.toRecords());
         response.setMessage("Transactions fetched successfully");
         return ResponseEntity.status(HttpStatus.OK).body(response);
     }
 
+    /**
+     * Searches the transactions of a specific account by description text, amount range, date range and type.
+     * Results are newest first; pass the returned {@code nextCursor} as {@code cursor} to fetch the next page.
+     *
+     * @param accountId the ID of the account
+     * @param request   the search criteria, bound from the query parameters
+     * @return a ResponseEntity containing a ZenvestResponse with the TransactionSearchResponse object
+     */
+    @GetMapping(ApiEndpoint.TRANSACTION_SEARCH)
+    public ResponseEntity<ZenvestResponse<TransactionSearchResponse>> searchTransactions(
+            @PathVariable Long accountId,
+            @Valid TransactionSearchRequest request) {
+        TransactionSearchResponse result = transactionSearchService.search(accountId, request);
+        ZenvestResponse<TransactionSearchResponse> response = new ZenvestResponse<>(result);
+        response.setMessage("Transactions searched successfully");
+        return ResponseEntity.status(HttpStatus.OK).body(response);
+    }
+
     /**
      * Deposits funds into a specific account.
      *
@@ -56,7 +111,8 @@ public class TransactionController {
             @PathVariable Long accountId,
             @Valid @RequestBody TransactionRequest request) {
 
-        TransactionResponse transactionResponse = transactionService.deposit(accountId, request);
+        TransactionResponse transactionResponse = accountWriteLimiter.execute(accountId,
+                () -> transactionService.deposit(accountId, request));
         ZenvestResponse<TransactionResponse> response = new ZenvestResponse<>(transactionResponse);
         response.setMessage("Deposit successful");
         return ResponseEntity.status(HttpStatus.OK).body(response);
@@ -73,7 +129,8 @@ public class TransactionController {
     public ResponseEntity<ZenvestResponse<TransactionResponse>> withdraw(
             @PathVariable Long accountId,
             @Valid @RequestBody TransactionRequest request) {
-        TransactionResponse transactionResponse = transactionService.withdraw(accountId, request);
+        TransactionResponse transactionResponse = accountWriteLimiter.execute(accountId,
+                () -> transactionService.withdraw(accountId, request));
         ZenvestResponse<TransactionResponse> response = new ZenvestResponse<>(transactionResponse);
         response.setMessage("Withdraw successful");
         return ResponseEntity.status(HttpStatus.OK).body(response);
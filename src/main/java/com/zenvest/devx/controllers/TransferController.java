@@ -1,18 +1,30 @@
 package com.zenvest.devx.controllers;
 
 import com.zenvest.devx.constants.ApiEndpoint;
+import com.zenvest.devx.constants.ResponseFormat;
+import com.zenvest.devx.dtos.inputs.ScheduledTransferRequest;
 import com.zenvest.devx.dtos.inputs.TransferRequest;
+import com.zenvest.devx.dtos.outputs.ScheduledTransferResponse;
 import com.zenvest.devx.dtos.outputs.TransferHistoryResponse;
 import com.zenvest.devx.dtos.outputs.TransferResponse;
+import com.zenvest.devx.dtos.outputs.TransferStatusResponse;
+import com.zenvest.devx.responses.ColumnarResponse;
 import com.zenvest.devx.responses.ZenvestResponse;
+import com.zenvest.devx.security.AccountWriteLimiter;
+import com.zenvest.devx.services.AsyncTransferService;
+import com.zenvest.devx.services.ScheduledTransferService;
+import com.zenvest.devx.services.TransferGroupCommitCoordinator;
 import com.zenvest.devx.services.TransferService;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 
 /**
  * TransferController handles all fund transfer-related operations.
@@ -23,36 +35,146 @@ import java.util.List;
 public class TransferController {
 
     private TransferService transferService;
+    private final AccountWriteLimiter accountWriteLimiter;
+    private final TransferGroupCommitCoordinator groupCommitCoordinator;
+    private final AsyncTransferService asyncTransferService;
+    private final ScheduledTransferService scheduledTransferService;
 
     @Autowired
-    public TransferController(TransferService transferService) {
+    public TransferController(TransferService transferService,
+                              AccountWriteLimiter accountWriteLimiter,
+                              TransferGroupCommitCoordinator groupCommitCoordinator,
+                              AsyncTransferService asyncTransferService,
+                              ScheduledTransferService scheduledTransferService) {
         this.transferService = transferService;
+        this.accountWriteLimiter = accountWriteLimiter;
+        this.groupCommitCoordinator = groupCommitCoordinator;
+        this.asyncTransferService = asyncTransferService;
+        this.scheduledTransferService = scheduledTransferService;
     }
 
     /**
      * Transfers funds between accounts.
+     * When group commit is enabled the transfer is applied together with concurrent transfers in one commit.
      *
      * @param request the request object containing transfer details
      * @return a ResponseEntity containing a ZenvestResponse with the created TransferResponse object
      */
     @PostMapping
     public ResponseEntity<ZenvestResponse<TransferResponse>> transfer(@Valid @RequestBody TransferRequest request) {
-        TransferResponse transfer = transferService.transferFunds(request);
+        TransferResponse transfer = accountWriteLimiter.execute(request.getFromAccountId(),
+                () -> groupCommitCoordinator.isEnabled()
+                        ? groupCommitCoordinator.transfer(request)
+                        : transferService.transferFunds(request));
         ZenvestResponse<TransferResponse> response = new ZenvestResponse<>(transfer);
         response.setMessage("Transfer successful");
         return ResponseEntity.status(HttpStatus.OK).body(response);
     }
 
     /**
-     * Fetches the transfer history for the current user.
+     * Accepts a transfer for asynchronous execution.
+     * The transfer is stored as PENDING and executed in the background; poll its status by ID.
      *
-     * @return a ResponseEntity containing a ZenvestResponse with a list of TransferHistoryResponse objects
+     * @param request the request object containing transfer details
+     * @return a ResponseEntity containing a ZenvestResponse with the pending TransferStatusResponse object
+     */
+    @PostMapping(ApiEndpoint.TRANSFER_ASYNC)
+    public ResponseEntity<ZenvestResponse<TransferStatusResponse>> transferAsync(@Valid @RequestBody TransferRequest request) {
+        TransferStatusResponse transfer = asyncTransferService.submitTransfer(request);
+        ZenvestResponse<TransferStatusResponse> response = new ZenvestResponse<>(transfer);
+        response.setMessage("Transfer accepted");
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(response);
+    }
+
+    /**
+     * Fetches the status of a transfer.
+     *
+     * @param id the ID of the transfer
+     * @return a ResponseEntity containing a ZenvestResponse with the TransferStatusResponse object
+     */
+    @GetMapping(ApiEndpoint.TRANSFER_BY_ID)
+    public ResponseEntity<ZenvestResponse<TransferStatusResponse>> getTransferStatus(@PathVariable Long id) {
+        TransferStatusResponse transfer = asyncTransferService.getTransferStatus(id);
+        ZenvestResponse<TransferStatusResponse> response = new ZenvestResponse<>(transfer);
+        response.setMessage("Transfer status fetched successfully");
+        return ResponseEntity.status(HttpStatus.OK).body(response);
+    }
+
+    /**
+     * Fetches the transfer history for the current user, optionally limited to a date range.
+     * With {@code fields} only the listed fields are loaded and returned; with {@code format=compact} the
+     * response lists the column names once followed by one array of values per transfer.
+     *
+     * @param from   the first instant to include (ISO date-time), optional
+     * @param to     the first instant to exclude (ISO date-time), optional
+     * @param fields the comma-separated fields to return, optional
+     * @param format FULL for one object per transfer, COMPACT for row arrays
+     * @return a ResponseEntity containing a ZenvestResponse with the transfers, or a ColumnarResponse when compact
      */
     @GetMapping(ApiEndpoint.TRANSFER_HISTORY)
-    public ResponseEntity<ZenvestResponse<TransferHistoryResponse>> getTransferHistory() {
-        List<TransferHistoryResponse> transferHistoryResponses = transferService.getTransferHistoryForCurrentUser();
-        ZenvestResponse<TransferHistoryResponse> response = new ZenvestResponse<>();
+    public ResponseEntity<?> getTransferHistory(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) String fields,
+            @RequestParam(defaultValue = "FULL") ResponseFormat format) {
+        if (fields == null && format == ResponseFormat.FULL) {
+            List<TransferHistoryResponse> transferHistoryResponses = transferService.getTransferHistoryForCurrentUser(from, to);
+            ZenvestResponse<TransferHistoryResponse> response = new ZenvestResponse<>();
+            response.setResults(transferHistoryResponses);
+            response.setMessage("Transfers retrieved successfully");
+            return ResponseEntity.status(HttpStatus.OK).body(response);
+        }
+
+        ColumnarResponse columns = transferService.getTransferHistoryColumns(from, to, fields);
+        if (format == ResponseFormat.COMPACT) {
+            columns.setMessage("Transfers retrieved successfully");
+            return ResponseEntity.status(HttpStatus.OK).body(columns);
+        }
+        ZenvestResponse<Map<String, Object>> response = new ZenvestResponse<>();
+        response.setResults(columns.toRecords());
         response.setMessage("Transfers retrieved successfully");
-        return ResponseEntity.status(HttpStatus.NOT_FOUND).body(response);
+        return ResponseEntity.status(HttpStatus.OK).body(response);
+    }
+
+    /**
+     * Schedules a future-dated or recurring transfer.
+     *
+     * @param request the request object containing the order details
+     * @return a ResponseEntity containing a ZenvestResponse with the created ScheduledTransferResponse object
+     */
+    @PostMapping(ApiEndpoint.TRANSFER_SCHEDULED)
+    public ResponseEntity<ZenvestResponse<ScheduledTransferResponse>> scheduleTransfer(@Valid @RequestBody ScheduledTransferRequest request) {
+        ScheduledTransferResponse scheduledTransfer = scheduledTransferService.createScheduledTransfer(request);
+        ZenvestResponse<ScheduledTransferResponse> response = new ZenvestResponse<>(scheduledTransfer);
+        response.setMessage("Transfer scheduled successfully");
+        return ResponseEntity.status(HttpStatus.CREATED).body(response);
+    }
+
+    /**
+     * Fetches the scheduled transfers of the current user.
+     *
+     * @return a ResponseEntity containing a ZenvestResponse with a list of ScheduledTransferResponse objects
+     */
+    @GetMapping(ApiEndpoint.TRANSFER_SCHEDULED)
+    public ResponseEntity<ZenvestResponse<ScheduledTransferResponse>> getScheduledTransfers() {
+        List<ScheduledTransferResponse> scheduledTransfers = scheduledTransferService.getScheduledTransfersForCurrentUser();
+        ZenvestResponse<ScheduledTransferResponse> response = new ZenvestResponse<>();
+        response.setResults(scheduledTransfers);
+        response.setMessage("Scheduled transfers retrieved successfully");
+        return ResponseEntity.status(HttpStatus.OK).body(response);
+    }
+
+    /**
+     * Cancels a scheduled transfer.
+     *
+     * @param id the ID of the scheduled transfer
+     * @return a ResponseEntity containing a ZenvestResponse with the cancelled ScheduledTransferResponse object
+     */
+    @DeleteMapping(ApiEndpoint.TRANSFER_SCHEDULED_BY_ID)
+    public ResponseEntity<ZenvestResponse<ScheduledTransferResponse>> cancelScheduledTransfer(@PathVariable Long id) {
+        ScheduledTransferResponse scheduledTransfer = scheduledTransferService.cancelScheduledTransfer(id);
+        ZenvestResponse<ScheduledTransferResponse> response = new ZenvestResponse<>(scheduledTransfer);
+        response.setMessage("Scheduled transfer cancelled successfully");
+        return ResponseEntity.status(HttpStatus.OK).body(response);
     }
 }
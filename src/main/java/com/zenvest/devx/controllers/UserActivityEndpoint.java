@@ -0,0 +1,35 @@
+package com.zenvest.devx.controllers;
+
+import com.zenvest.devx.dtos.outputs.UserActivityRebuildReport;
+import com.zenvest.devx.services.UserActivityService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.stereotype.Component;
+
+/**
+ * Rebuilds the transfer history read model on {@code POST /actuator/useractivity}.
+ * Its freshness is published as the {@code zenvest.activity.*} metrics.
+ * A rebuild rewrites the history of every user and scans every archived month, so it requires the ADMIN role.
+ */
+@Component
+@Endpoint(id = "useractivity")
+public class UserActivityEndpoint {
+
+    private final UserActivityService userActivityService;
+
+    @Autowired
+    public UserActivityEndpoint(UserActivityService userActivityService) {
+        this.userActivityService = userActivityService;
+    }
+
+    /**
+     * Rewrites the read model from the live and archived transfers.
+     *
+     * @return the report of the rebuild
+     */
+    @WriteOperation
+    public UserActivityRebuildReport rebuild() {
+        return userActivityService.rebuild();
+    }
+}
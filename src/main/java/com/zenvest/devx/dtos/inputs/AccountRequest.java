@@ -14,4 +14,7 @@ public class AccountRequest {
 
     @NotNull(message = "Active status must not be null.")
     private Boolean active;
+
+    @Size(min = 3, max = 3, message = "Currency must be a 3-letter ISO code.")
+    private String currency;
 }
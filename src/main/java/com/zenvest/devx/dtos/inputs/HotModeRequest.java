@@ -0,0 +1,16 @@
+package com.zenvest.devx.dtos.inputs;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import lombok.*;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class HotModeRequest {
+    @NotNull(message = "Slot count is required")
+    @Min(value = 2, message = "Slot count must be at least 2")
+    @Max(value = 64, message = "Slot count must be at most 64")
+    private Integer slots;
+}
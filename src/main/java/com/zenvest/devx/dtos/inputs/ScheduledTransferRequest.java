@@ -0,0 +1,36 @@
+package com.zenvest.devx.dtos.inputs;
+
+import com.zenvest.devx.constants.TransferFrequency;
+import jakarta.validation.constraints.Future;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ScheduledTransferRequest {
+    @NotNull(message = "Source account ID is required")
+    private Long fromAccountId;
+
+    @NotNull(message = "Destination account ID is required")
+    private Long toAccountId;
+
+    @NotNull(message = "Transfer amount is required")
+    @Min(value = 1, message = "Amount must be greater than 0")
+    private Double amount;
+
+    @NotNull(message = "Transfer description field is required")
+    private String description;
+
+    @NotNull(message = "Transfer frequency is required")
+    private TransferFrequency frequency;
+
+    @NotNull(message = "First execution time is required")
+    @Future(message = "First execution time must be in the future")
+    private LocalDateTime firstRunAt;
+
+    private LocalDateTime endAt;
+}
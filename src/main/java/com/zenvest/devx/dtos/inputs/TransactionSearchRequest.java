@@ -0,0 +1,43 @@
+package com.zenvest.devx.dtos.inputs;
+
+import com.zenvest.devx.constants.TransactionType;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.PositiveOrZero;
+import jakarta.validation.constraints.Size;
+import lombok.*;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.time.LocalDateTime;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class TransactionSearchRequest {
+    /** Text the description must contain. */
+    @Size(max = 100, message = "Search text must be at most 100 characters")
+    private String q;
+
+    @PositiveOrZero(message = "Minimum amount must not be negative")
+    private Double minAmount;
+
+    @PositiveOrZero(message = "Maximum amount must not be negative")
+    private Double maxAmount;
+
+    /** First instant to include. */
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime from;
+
+    /** First instant to exclude. */
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime to;
+
+    private TransactionType type;
+
+    /** Opaque position returned as {@code nextCursor} by the previous page. */
+    private String cursor;
+
+    @Min(value = 1, message = "Limit must be at least 1")
+    @Max(value = 100, message = "Limit must be at most 100")
+    private Integer limit;
+}
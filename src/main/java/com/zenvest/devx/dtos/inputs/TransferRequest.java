@@ -2,6 +2,7 @@ package com.zenvest.devx.dtos.inputs;
 
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
 import lombok.*;
 
 @Data
@@ -20,4 +21,8 @@ public class TransferRequest {
 
     @NotNull(message = "Transfer description field is required")
     private String description;
+
+    /** Currency of the amount: the source account currency (default) or the destination account currency. */
+    @Size(min = 3, max = 3, message = "Currency must be a 3-letter ISO code")
+    private String currency;
 }
@@ -0,0 +1,19 @@
+package com.zenvest.devx.dtos.outputs;
+
+import com.zenvest.devx.constants.AccountActivityType;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class AccountActivityResponse {
+    private Long accountId;
+    private AccountActivityType type;
+    private Double amount;
+    private Double balance;
+    private String description;
+    private LocalDateTime timestamp;
+}
@@ -12,5 +12,7 @@ public class AccountResponse {
     private Long id;
     private String ownerName;
     private Double balance;
+    private String currency;
     private Boolean active;
+    private Integer hotSlots;
 }
@@ -0,0 +1,20 @@
+package com.zenvest.devx.dtos.outputs;
+
+import lombok.*;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class DashboardAccountResponse {
+    private Long id;
+    private String ownerName;
+    private Double balance;
+    private String currency;
+    private Boolean active;
+    private Integer hotSlots;
+    private List<TransactionResponse> recentTransactions;
+    private List<TransferHistoryResponse> recentTransfers;
+}
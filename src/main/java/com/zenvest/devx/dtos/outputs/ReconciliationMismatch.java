@@ -0,0 +1,17 @@
+package com.zenvest.devx.dtos.outputs;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class ReconciliationMismatch {
+    private Long accountId;
+    private Double balance;
+    private Double expectedBalance;
+    private Double difference;
+}
@@ -0,0 +1,23 @@
+package com.zenvest.devx.dtos.outputs;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class ReconciliationReport {
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+    private Long accountsChecked;
+    private Long transactionRows;
+    private Long transferRows;
+    private Long mismatchCount;
+    private List<ReconciliationMismatch> mismatches;
+}
@@ -0,0 +1,25 @@
+package com.zenvest.devx.dtos.outputs;
+
+import com.zenvest.devx.constants.ScheduledTransferStatus;
+import com.zenvest.devx.constants.TransferFrequency;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class ScheduledTransferResponse {
+    private Long id;
+    private Long fromAccountId;
+    private Long toAccountId;
+    private Double amount;
+    private String description;
+    private TransferFrequency frequency;
+    private LocalDateTime nextRunAt;
+    private LocalDateTime endAt;
+    private Integer runCount;
+    private ScheduledTransferStatus status;
+    private String lastFailureReason;
+}
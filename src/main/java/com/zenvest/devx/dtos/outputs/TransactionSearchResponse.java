@@ -0,0 +1,15 @@
+package com.zenvest.devx.dtos.outputs;
+
+import lombok.*;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class TransactionSearchResponse {
+    private List<TransactionResponse> transactions;
+    /** Position to continue from, or null when the search is complete. */
+    private String nextCursor;
+}
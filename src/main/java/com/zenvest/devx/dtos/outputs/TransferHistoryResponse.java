@@ -1,5 +1,6 @@
 package com.zenvest.devx.dtos.outputs;
 
+import com.zenvest.devx.constants.TransferStatus;
 import lombok.*;
 
 import java.time.LocalDateTime;
@@ -11,8 +12,10 @@ import java.time.LocalDateTime;
 public class TransferHistoryResponse {
     private Long id;
     private Double amount;
+    private Double creditedAmount;
     private String description;
     private String fromAccountOwnerName;
     private String toAccountOwnerName;
     private LocalDateTime timestamp;
+    private TransferStatus status;
 }
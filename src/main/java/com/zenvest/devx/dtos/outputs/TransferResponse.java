@@ -1,5 +1,6 @@
 package com.zenvest.devx.dtos.outputs;
 
+import com.zenvest.devx.constants.TransferStatus;
 import lombok.*;
 
 import java.time.LocalDateTime;
@@ -12,7 +13,10 @@ public class TransferResponse {
     private Long fromAccountId;
     private Long toAccountId;
     private Double amount;
+    private Double creditedAmount;
+    private Double fxRate;
     private Double accountBalance;
     private String description;
     private LocalDateTime timestamp;
+    private TransferStatus status;
 }
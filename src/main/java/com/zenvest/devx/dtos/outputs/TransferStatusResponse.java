@@ -0,0 +1,22 @@
+package com.zenvest.devx.dtos.outputs;
+
+import com.zenvest.devx.constants.TransferStatus;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class TransferStatusResponse {
+    private Long id;
+    private Long fromAccountId;
+    private Long toAccountId;
+    private Double amount;
+    private Double creditedAmount;
+    private String description;
+    private TransferStatus status;
+    private String failureReason;
+    private LocalDateTime timestamp;
+}
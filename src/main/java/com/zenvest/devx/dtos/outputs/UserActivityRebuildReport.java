@@ -0,0 +1,19 @@
+package com.zenvest.devx.dtos.outputs;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class UserActivityRebuildReport {
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+    private Long maxLiveTransferId;
+    private Long archivedTransfers;
+}
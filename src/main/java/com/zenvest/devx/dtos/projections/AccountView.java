@@ -0,0 +1,21 @@
+package com.zenvest.devx.dtos.projections;
+
+/**
+ * Read-only view of an account, loaded with a constructor query instead of a managed entity.
+ *
+ * @param id        the ID of the account
+ * @param userId    the ID of the owner
+ * @param ownerName the owner name
+ * @param balance   the balance of the account row; a hot account keeps it in slots
+ * @param active    whether the account is active
+ * @param currency  the ISO 4217 currency code
+ * @param hotSlots  the number of balance slots, or null for a regular account
+ */
+public record AccountView(Long id,
+                          Long userId,
+                          String ownerName,
+                          Double balance,
+                          Boolean active,
+                          String currency,
+                          Integer hotSlots) {
+}
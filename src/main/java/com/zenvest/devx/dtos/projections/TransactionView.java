@@ -0,0 +1,21 @@
+package com.zenvest.devx.dtos.projections;
+
+import com.zenvest.devx.constants.TransactionType;
+
+import java.time.LocalDateTime;
+
+/**
+ * Read-only view of a transaction, without its account.
+ *
+ * @param id              the ID of the transaction
+ * @param amount          the amount moved
+ * @param transactionType the kind of transaction
+ * @param description     the transaction description
+ * @param timestamp       the time of the transaction
+ */
+public record TransactionView(Long id,
+                              Double amount,
+                              TransactionType transactionType,
+                              String description,
+                              LocalDateTime timestamp) {
+}
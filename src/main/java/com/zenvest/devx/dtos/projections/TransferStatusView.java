@@ -0,0 +1,33 @@
+package com.zenvest.devx.dtos.projections;
+
+import com.zenvest.devx.constants.TransferStatus;
+
+import java.time.LocalDateTime;
+
+/**
+ * Read-only view of a transfer with the owners of both accounts, for status lookups.
+ *
+ * @param id             the ID of the transfer
+ * @param fromAccountId  the ID of the source account
+ * @param fromUserId     the ID of the source account owner
+ * @param toAccountId    the ID of the destination account
+ * @param toUserId       the ID of the destination account owner
+ * @param amount         the amount debited
+ * @param creditedAmount the amount credited, or null until the transfer completes
+ * @param description    the transfer description
+ * @param status         the transfer status
+ * @param failureReason  why the transfer failed, or null
+ * @param timestamp      the time the transfer was submitted
+ */
+public record TransferStatusView(Long id,
+                                 Long fromAccountId,
+                                 Long fromUserId,
+                                 Long toAccountId,
+                                 Long toUserId,
+                                 Double amount,
+                                 Double creditedAmount,
+                                 String description,
+                                 TransferStatus status,
+                                 String failureReason,
+                                 LocalDateTime timestamp) {
+}
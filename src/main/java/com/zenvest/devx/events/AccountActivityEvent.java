@@ -0,0 +1,13 @@
+package com.zenvest.devx.events;
+
+import com.zenvest.devx.dtos.outputs.AccountActivityResponse;
+
+/**
+ * Published inside the money-movement transaction whenever an account balance changes.
+ * Listeners that push data to clients should react after commit only.
+ *
+ * @param userId   the ID of the account owner
+ * @param activity the activity to deliver
+ */
+public record AccountActivityEvent(Long userId, AccountActivityResponse activity) {
+}
@@ -0,0 +1,47 @@
+package com.zenvest.devx.events;
+
+import com.zenvest.devx.constants.AccountActivityType;
+import com.zenvest.devx.dtos.outputs.AccountActivityResponse;
+import com.zenvest.devx.models.Account;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+
+/**
+ * AccountActivityPublisher turns balance changes into {@link AccountActivityEvent}s.
+ */
+@Component
+public class AccountActivityPublisher {
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    public AccountActivityPublisher(ApplicationEventPublisher eventPublisher) {
+        this.eventPublisher = eventPublisher;
+    }
+
+    /**
+     * Publishes an activity for an account.
+     *
+     * @param account     the account whose balance changed
+     * @param type        the kind of activity
+     * @param amount      the amount moved
+     * @param balance     the account balance after the change
+     * @param description the activity description
+     * @param timestamp   the time of the activity
+     */
+    public void publish(Account account, AccountActivityType type, Double amount, Double balance,
+                        String description, LocalDateTime timestamp) {
+        AccountActivityResponse activity = AccountActivityResponse.builder()
+                .accountId(account.getId())
+                .type(type)
+                .amount(amount)
+                .balance(balance)
+                .description(description)
+                .timestamp(timestamp)
+                .build();
+        eventPublisher.publishEvent(new AccountActivityEvent(account.getUser().getId(), activity));
+    }
+}
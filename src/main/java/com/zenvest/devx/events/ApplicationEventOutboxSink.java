@@ -0,0 +1,43 @@
+package com.zenvest.devx.events;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * ApplicationEventOutboxSink delivers outbox events to in-process listeners.
+ * Each event is published as its {@link TransactionRecordedEvent} or {@link TransferRecordedEvent} payload.
+ * Listeners run on the relay thread; a listener that throws fails the batch, which is then delivered again.
+ */
+@Component
+public class ApplicationEventOutboxSink implements OutboxSink {
+
+    private final ApplicationEventPublisher eventPublisher;
+    private final ObjectMapper objectMapper;
+
+    @Autowired
+    public ApplicationEventOutboxSink(ApplicationEventPublisher eventPublisher, ObjectMapper objectMapper) {
+        this.eventPublisher = eventPublisher;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public String name() {
+        return "listeners";
+    }
+
+    @Override
+    public void deliver(List<OutboxEvent> events) throws IOException {
+        for (OutboxEvent event : events) {
+            Class<?> payloadType = switch (event.type()) {
+                case DEPOSIT, WITHDRAWAL -> TransactionRecordedEvent.class;
+                case TRANSFER -> TransferRecordedEvent.class;
+            };
+            eventPublisher.publishEvent(objectMapper.readValue(event.payload(), payloadType));
+        }
+    }
+}
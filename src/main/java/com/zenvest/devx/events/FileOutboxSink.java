@@ -0,0 +1,78 @@
+package com.zenvest.devx.events;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.zenvest.devx.configs.OutboxProperties;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * FileOutboxSink appends outbox events to a local file, one JSON object per line.
+ * A batch is written with one call and forced to disk before the relay removes it from the outbox.
+ * Enabled with {@code zenvest.outbox.file.enabled}.
+ */
+@Component
+@ConditionalOnProperty(prefix = "zenvest.outbox.file", name = "enabled", havingValue = "true")
+public class FileOutboxSink implements OutboxSink {
+
+    private final OutboxProperties properties;
+    private final ObjectMapper objectMapper;
+    private FileChannel channel;
+
+    @Autowired
+    public FileOutboxSink(OutboxProperties properties, ObjectMapper objectMapper) {
+        this.properties = properties;
+        this.objectMapper = objectMapper;
+    }
+
+    @PostConstruct
+    void open() throws IOException {
+        Path path = Path.of(properties.getFile().getPath());
+        if (path.getParent() != null) {
+            Files.createDirectories(path.getParent());
+        }
+        channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+    }
+
+    @PreDestroy
+    void close() throws IOException {
+        channel.close();
+    }
+
+    @Override
+    public String name() {
+        return "file";
+    }
+
+    @Override
+    public synchronized void deliver(List<OutboxEvent> events) throws IOException {
+        ByteArrayOutputStream lines = new ByteArrayOutputStream(events.size() * 256);
+        for (OutboxEvent event : events) {
+            ObjectNode line = objectMapper.createObjectNode()
+                    .put("id", event.id())
+                    .put("type", event.type().name())
+                    .put("aggregateId", event.aggregateId())
+                    .put("createdAt", event.createdAt().toString());
+            line.set("payload", objectMapper.readTree(event.payload()));
+            lines.write(objectMapper.writeValueAsBytes(line));
+            lines.write('\n');
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(lines.toByteArray());
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        channel.force(false);
+    }
+}
@@ -0,0 +1,17 @@
+package com.zenvest.devx.events;
+
+import com.zenvest.devx.constants.OutboxEventType;
+
+import java.time.LocalDateTime;
+
+/**
+ * A row of the {@code event_outbox} table as handed to the {@link OutboxSink}s.
+ *
+ * @param id          the outbox id, increasing in commit order for a single writer
+ * @param type        the kind of event
+ * @param aggregateId the ID of the transaction or transfer
+ * @param payload     the JSON payload, a {@link TransactionRecordedEvent} or {@link TransferRecordedEvent}
+ * @param createdAt   the time the event was written
+ */
+public record OutboxEvent(long id, OutboxEventType type, long aggregateId, String payload, LocalDateTime createdAt) {
+}
@@ -0,0 +1,25 @@
+package com.zenvest.devx.events;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * A destination of outbox events.
+ * The relay hands every sink each batch in id order and removes the batch from the outbox only after all sinks
+ * returned. A batch that failed in any sink is delivered again to every sink, so sinks must tolerate duplicates.
+ */
+public interface OutboxSink {
+
+    /**
+     * Returns the name used in logs and metrics.
+     */
+    String name();
+
+    /**
+     * Delivers a batch of events. The events are durable in the sink once this method returns.
+     *
+     * @param events the events, in id order
+     * @throws IOException if the batch could not be delivered
+     */
+    void deliver(List<OutboxEvent> events) throws IOException;
+}
@@ -0,0 +1,103 @@
+package com.zenvest.devx.events;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.zenvest.devx.constants.OutboxEventType;
+import com.zenvest.devx.constants.TransactionType;
+import com.zenvest.devx.models.Account;
+import com.zenvest.devx.models.Transaction;
+import com.zenvest.devx.models.Transfer;
+import jakarta.transaction.Transactional;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * OutboxWriter records money movements in the {@code event_outbox} table.
+ * The row is inserted in the transaction that moves the money, so an event exists if and only if the movement
+ * committed; delivery is left to the {@link com.zenvest.devx.services.OutboxRelay}. The write path pays for one
+ * single-row insert and no network call.
+ */
+@Component
+public class OutboxWriter {
+
+    private static final String INSERT = "insert into event_outbox (event_type, aggregate_id, payload, created_at) values (?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+
+    @Autowired
+    public OutboxWriter(JdbcTemplate jdbcTemplate, ObjectMapper objectMapper) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Records a deposit or withdrawal.
+     *
+     * @param transaction the saved transaction
+     * @param balance     the account balance after the transaction
+     */
+    @Transactional(Transactional.TxType.MANDATORY)
+    public void transactionRecorded(Transaction transaction, Double balance) {
+        Account account = transaction.getAccount();
+        OutboxEventType type = transaction.getTransactionType() == TransactionType.DEPOSIT
+                ? OutboxEventType.DEPOSIT
+                : OutboxEventType.WITHDRAWAL;
+        append(type, transaction.getId(), new TransactionRecordedEvent(transaction.getId(), account.getId(),
+                account.getUser().getId(), transaction.getTransactionType(), transaction.getAmount(), balance,
+                transaction.getDescription(), transaction.getTimestamp()));
+    }
+
+    /**
+     * Records deposits and withdrawals posted together, with one batched insert.
+     *
+     * @param events the events of the saved transactions
+     */
+    @Transactional(Transactional.TxType.MANDATORY)
+    public void transactionsRecorded(List<TransactionRecordedEvent> events) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> rows = new ArrayList<>(events.size());
+        for (TransactionRecordedEvent event : events) {
+            OutboxEventType type = event.type() == TransactionType.DEPOSIT
+                    ? OutboxEventType.DEPOSIT
+                    : OutboxEventType.WITHDRAWAL;
+            rows.add(new Object[]{type.name(), event.transactionId(), serialize(type, event.transactionId(), event), now});
+        }
+        jdbcTemplate.batchUpdate(INSERT, rows);
+    }
+
+    /**
+     * Records a transfer that completed or failed.
+     *
+     * @param transfer the transfer in its final status
+     */
+    @Transactional(Transactional.TxType.MANDATORY)
+    public void transferRecorded(Transfer transfer) {
+        Account from = transfer.getFromAccount();
+        Account to = transfer.getToAccount();
+        append(OutboxEventType.TRANSFER, transfer.getId(), new TransferRecordedEvent(transfer.getId(),
+                from.getId(), from.getUser().getId(), from.getOwnerName(),
+                to.getId(), to.getUser().getId(), to.getOwnerName(),
+                transfer.getAmount(), transfer.getCreditedAmount(), transfer.getDescription(), transfer.getTimestamp(),
+                transfer.getStatus()));
+    }
+
+    private void append(OutboxEventType type, long aggregateId, Object payload) {
+        jdbcTemplate.update(INSERT, type.name(), aggregateId, serialize(type, aggregateId, payload),
+                Timestamp.valueOf(LocalDateTime.now()));
+    }
+
+    private String serialize(OutboxEventType type, long aggregateId, Object payload) {
+        try {
+            return objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize " + type + " event " + aggregateId, e);
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.zenvest.devx.events;
+
+import com.zenvest.devx.constants.TransactionType;
+
+import java.time.LocalDateTime;
+
+/**
+ * Payload of the DEPOSIT and WITHDRAWAL outbox events.
+ *
+ * @param transactionId the ID of the transaction
+ * @param accountId     the ID of the account
+ * @param userId        the ID of the account owner
+ * @param type          the kind of transaction
+ * @param amount        the amount moved
+ * @param balance       the account balance after the transaction
+ * @param description   the transaction description
+ * @param timestamp     the time of the transaction
+ */
+public record TransactionRecordedEvent(long transactionId,
+                                       long accountId,
+                                       long userId,
+                                       TransactionType type,
+                                       double amount,
+                                       Double balance,
+                                       String description,
+                                       LocalDateTime timestamp) {
+}
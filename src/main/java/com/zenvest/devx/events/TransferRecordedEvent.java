@@ -0,0 +1,35 @@
+package com.zenvest.devx.events;
+
+import com.zenvest.devx.constants.TransferStatus;
+
+import java.time.LocalDateTime;
+
+/**
+ * Payload of the TRANSFER outbox event, written when a transfer completes or fails.
+ *
+ * @param transferId     the ID of the transfer
+ * @param fromAccountId  the ID of the source account
+ * @param fromUserId     the ID of the source account owner
+ * @param fromOwnerName  the owner name of the source account
+ * @param toAccountId    the ID of the destination account
+ * @param toUserId       the ID of the destination account owner
+ * @param toOwnerName    the owner name of the destination account
+ * @param amount         the amount debited, in the source currency
+ * @param creditedAmount the amount credited, in the destination currency, or null if the transfer failed
+ * @param description    the transfer description
+ * @param timestamp      the time of the transfer
+ * @param status         COMPLETED or FAILED
+ */
+public record TransferRecordedEvent(long transferId,
+                                    long fromAccountId,
+                                    long fromUserId,
+                                    String fromOwnerName,
+                                    long toAccountId,
+                                    long toUserId,
+                                    String toOwnerName,
+                                    double amount,
+                                    Double creditedAmount,
+                                    String description,
+                                    LocalDateTime timestamp,
+                                    TransferStatus status) {
+}
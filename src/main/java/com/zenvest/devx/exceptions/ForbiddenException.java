@@ -0,0 +1,13 @@
+package com.zenvest.devx.exceptions;
+
+import com.zenvest.devx.constants.ErrorCode;
+
+/**
+ * Thrown when a resource exists but belongs to another user.
+ */
+public class ForbiddenException extends ZenvestException {
+
+    public ForbiddenException(ErrorCode errorCode, String message) {
+        super(errorCode, message);
+    }
+}
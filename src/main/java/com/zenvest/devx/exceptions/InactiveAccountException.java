@@ -0,0 +1,13 @@
+package com.zenvest.devx.exceptions;
+
+import com.zenvest.devx.constants.ErrorCode;
+
+/**
+ * Thrown when money is moved in or out of a deactivated account.
+ */
+public class InactiveAccountException extends ZenvestException {
+
+    public InactiveAccountException(String message) {
+        super(ErrorCode.ACCOUNT_INACTIVE, message);
+    }
+}
@@ -0,0 +1,13 @@
+package com.zenvest.devx.exceptions;
+
+import com.zenvest.devx.constants.ErrorCode;
+
+/**
+ * Thrown when an account balance does not cover a debit.
+ */
+public class InsufficientFundsException extends ZenvestException {
+
+    public InsufficientFundsException(String message) {
+        super(ErrorCode.INSUFFICIENT_FUNDS, message);
+    }
+}
@@ -0,0 +1,13 @@
+package com.zenvest.devx.exceptions;
+
+import com.zenvest.devx.constants.ErrorCode;
+
+/**
+ * Thrown when a request is well-formed but the operation is not allowed in the current state.
+ */
+public class InvalidOperationException extends ZenvestException {
+
+    public InvalidOperationException(ErrorCode errorCode, String message) {
+        super(errorCode, message);
+    }
+}
@@ -0,0 +1,13 @@
+package com.zenvest.devx.exceptions;
+
+import com.zenvest.devx.constants.ErrorCode;
+
+/**
+ * Thrown when a requested resource does not exist.
+ */
+public class NotFoundException extends ZenvestException {
+
+    public NotFoundException(ErrorCode errorCode, String message) {
+        super(errorCode, message);
+    }
+}
@@ -0,0 +1,14 @@
+package com.zenvest.devx.exceptions;
+
+import com.zenvest.devx.constants.ErrorCode;
+
+/**
+ * Thrown when the caller stops waiting for an operation that may still complete.
+ * The client must check the result before retrying, or the operation could be applied twice.
+ */
+public class OutcomeUnknownException extends ZenvestException {
+
+    public OutcomeUnknownException(ErrorCode errorCode, String message) {
+        super(errorCode, message);
+    }
+}
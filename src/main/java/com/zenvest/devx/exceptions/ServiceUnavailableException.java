@@ -0,0 +1,18 @@
+package com.zenvest.devx.exceptions;
+
+import lombok.Getter;
+
+/**
+ * Thrown when a request is shed because a bounded resource is saturated.
+ * Carries the number of seconds the client should wait before retrying.
+ */
+@Getter
+public class ServiceUnavailableException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public ServiceUnavailableException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+}
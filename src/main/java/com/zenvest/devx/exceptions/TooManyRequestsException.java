@@ -0,0 +1,18 @@
+package com.zenvest.devx.exceptions;
+
+import lombok.Getter;
+
+/**
+ * Thrown when a request is rejected by admission control.
+ * Carries the number of seconds the client should wait before retrying.
+ */
+@Getter
+public class TooManyRequestsException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public TooManyRequestsException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+}
@@ -0,0 +1,14 @@
+package com.zenvest.devx.exceptions;
+
+import com.zenvest.devx.constants.ErrorCode;
+
+/**
+ * Thrown when the credentials of a request are wrong.
+ * The message must not tell which part was wrong.
+ */
+public class UnauthorizedException extends ZenvestException {
+
+    public UnauthorizedException(ErrorCode errorCode, String message) {
+        super(errorCode, message);
+    }
+}
@@ -0,0 +1,11 @@
+package com.zenvest.devx.exceptions;
+
+/**
+ * Thrown when an outgoing operation would break a velocity rule of the account.
+ */
+public class VelocityLimitExceededException extends TooManyRequestsException {
+
+    public VelocityLimitExceededException(String message, long retryAfterSeconds) {
+        super(message, retryAfterSeconds);
+    }
+}
@@ -0,0 +1,21 @@
+package com.zenvest.devx.exceptions;
+
+import com.zenvest.devx.constants.ErrorCode;
+import lombok.Getter;
+
+/**
+ * Base class of the expected domain failures: a missing or foreign resource, a rule the request breaks.
+ * These are answered with the status of their error code and say nothing about a server fault, so no stack trace is captured and
+ * no suppressed exceptions are recorded; throwing one costs an allocation.
+ * Messages are constant and safe to return to the client.
+ */
+@Getter
+public abstract class ZenvestException extends RuntimeException {
+
+    private final ErrorCode errorCode;
+
+    protected ZenvestException(ErrorCode errorCode, String message) {
+        super(message, null, false, false);
+        this.errorCode = errorCode;
+    }
+}
@@ -1,6 +1,7 @@
 package com.zenvest.devx.exceptions;
 import com.zenvest.devx.responses.ZenvestResponse;
 import org.springframework.context.support.DefaultMessageSourceResolvable;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.converter.HttpMessageNotReadableException;
@@ -35,12 +36,32 @@ public class ZenvestExceptionHandler {
 
     @ExceptionHandler(AuthenticationException.class)
     public ResponseEntity<ZenvestResponse<Object>> handleAuthenticationException(AuthenticationException ex) {
-        return buildResponseEntity("Unauthorized: " + ex.getMessage(), HttpStatus.UNAUTHORIZED);
+        return buildResponseEntity(ex.getMessage(), HttpStatus.UNAUTHORIZED);
+    }
+
+    @ExceptionHandler(TooManyRequestsException.class)
+    public ResponseEntity<ZenvestResponse<Object>> handleTooManyRequests(TooManyRequestsException ex) {
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, Long.toString(ex.getRetryAfterSeconds()))
+                .body(new ZenvestResponse<>(false, null, ex.getMessage()));
+    }
+
+    @ExceptionHandler(ServiceUnavailableException.class)
+    public ResponseEntity<ZenvestResponse<Object>> handleServiceUnavailable(ServiceUnavailableException ex) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, Long.toString(ex.getRetryAfterSeconds()))
+                .body(new ZenvestResponse<>(false, null, ex.getMessage()));
+    }
+
+    @ExceptionHandler(ZenvestException.class)
+    public ResponseEntity<ZenvestResponse<Object>> handleZenvestException(ZenvestException ex) {
+        return ResponseEntity.status(ex.getErrorCode().getStatus())
+                .body(new ZenvestResponse<>(ex.getErrorCode(), ex.getMessage()));
     }
 
     @ExceptionHandler(IllegalArgumentException.class)
     public ResponseEntity<ZenvestResponse<Object>> handleIllegalArgument(IllegalArgumentException ex){
-        return buildResponseEntity("Bad Request: " + ex.getMessage(), HttpStatus.BAD_REQUEST);
+        return buildResponseEntity(ex.getMessage(), HttpStatus.BAD_REQUEST);
     }
 
     @ExceptionHandler(Exception.class)
@@ -4,7 +4,9 @@ import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
 
 @Entity
 @Data
@@ -21,9 +23,22 @@ public class Account {
 
     private Double balance;
 
+    /** Balance before the first ledger row still in the database; archived months are folded into it. */
+    @Builder.Default
+    private Double openingBalance = 0.0;
+
     private Boolean active;
 
-    @ManyToOne
+    /** ISO 4217 code of the currency the balance is kept in. */
+    @Column(length = 3)
+    private String currency;
+
+    /** Number of balance slots when the account runs in hot mode; null for a regular account. */
+    private Integer hotSlots;
+
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id", nullable = false)
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
     private User user;
 }
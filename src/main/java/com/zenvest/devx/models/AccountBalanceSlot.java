@@ -0,0 +1,32 @@
+package com.zenvest.devx.models;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One sub-balance of an account running in hot mode.
+ * The public balance of a hot account is the sum of all its slots.
+ */
+@Entity
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Table(name = "account_balance_slots",
+        uniqueConstraints = @UniqueConstraint(columnNames = {"account_id", "slot"}))
+public class AccountBalanceSlot {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    private Integer slot;
+
+    private Double balance;
+
+    @ManyToOne
+    @JoinColumn(name = "account_id", nullable = false)
+    private Account account;
+}
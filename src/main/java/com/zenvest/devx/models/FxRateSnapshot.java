@@ -0,0 +1,29 @@
+package com.zenvest.devx.models;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@Table(name = "fx_rate_snapshots")
+public class FxRateSnapshot {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    private String baseCurrency;
+
+    /** Rates as sorted {@code CURRENCY=rate} pairs separated by semicolons. */
+    @Column(length = 4000)
+    private String rates;
+
+    private String source;
+
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,51 @@
+package com.zenvest.devx.models;
+
+import com.zenvest.devx.constants.ScheduledTransferStatus;
+import com.zenvest.devx.constants.TransferFrequency;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@Table(name = "scheduled_transfers")
+public class ScheduledTransfer {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    private Double amount;
+
+    private String description;
+
+    @Enumerated(EnumType.STRING)
+    private TransferFrequency frequency;
+
+    private LocalDateTime firstRunAt;
+
+    private LocalDateTime nextRunAt;
+
+    private LocalDateTime endAt;
+
+    private Integer runCount;
+
+    @Enumerated(EnumType.STRING)
+    private ScheduledTransferStatus status;
+
+    private String lastFailureReason;
+
+    private Long lastTransferId;
+
+    @ManyToOne
+    @JoinColumn(name = "from_account_id", nullable = false)
+    private Account fromAccount;
+
+    @ManyToOne
+    @JoinColumn(name = "to_account_id", nullable = false)
+    private Account toAccount;
+}
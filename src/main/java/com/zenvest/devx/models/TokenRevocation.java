@@ -0,0 +1,36 @@
+package com.zenvest.devx.models;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * A revoked token (by jti) or a revoke-all for a subject (tokens issued before notBefore).
+ * Rows are only needed until the tokens they cover expire, and are purged after expiresAt.
+ */
+@Entity
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Table(name = "token_revocations", indexes = @Index(name = "idx_token_revocations_expires_at", columnList = "expiresAt"))
+public class TokenRevocation {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(length = 64)
+    private String jti;
+
+    private String subject;
+
+    private Instant notBefore;
+
+    @Column(nullable = false)
+    private Instant expiresAt;
+}
@@ -1,5 +1,6 @@
 package com.zenvest.devx.models;
 
+import com.zenvest.devx.constants.TransferStatus;
 import jakarta.persistence.*;
 import lombok.*;
 
@@ -17,17 +18,36 @@ public class Transfer {
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
+    /** Amount debited from the source account, in its currency. */
     private Double amount;
 
+    /** Amount credited to the destination account, in its currency. */
+    private Double creditedAmount;
+
+    /** Units of the destination currency per unit of the source currency. */
+    private Double fxRate;
+
+    /** Exchange-rate snapshot the transfer was converted with; null for a same-currency transfer. */
+    private Long fxSnapshotId;
+
     private String description;
 
     private LocalDateTime timestamp;
 
-    @ManyToOne
+    @Enumerated(EnumType.STRING)
+    private TransferStatus status;
+
+    private String failureReason;
+
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "from_account_id", nullable = false)
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
     private Account fromAccount;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "to_account_id", nullable = false)
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
     private Account toAccount;
 }
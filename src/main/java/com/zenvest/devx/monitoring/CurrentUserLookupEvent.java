@@ -0,0 +1,34 @@
+package com.zenvest.devx.monitoring;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight recorder event of the user lookup behind {@code AuthService.getCurrentUser}.
+ */
+@Name("zenvest.CurrentUserLookup")
+@Label("Current User Lookup")
+@Category({"Zenvest", "Security"})
+@Description("Loading the authenticated user by email")
+@StackTrace(false)
+public class CurrentUserLookupEvent extends Event {
+
+    @Label("Found")
+    private boolean found;
+
+    /**
+     * Ends the event.
+     *
+     * @param found whether the user exists
+     */
+    public void end(boolean found) {
+        if (shouldCommit()) {
+            this.found = found;
+            commit();
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package com.zenvest.devx.monitoring;
+
+import com.zenvest.devx.configs.FlightRecorderProperties;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.Configuration;
+import jdk.jfr.FlightRecorder;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordingFile;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * FlightRecorderService keeps an always-on flight recording and dumps recent windows of it on demand.
+ * The recording uses the JDK default profile, whose overhead is around one percent, with the zenvest events
+ * enabled on top. It lives in a bounded disk repository; a dump copies the repository, so the running
+ * recording is never stopped.
+ * Events that copy the environment, system properties, command lines or thread dumps are disabled in the
+ * settings and also left out of dumps, since a snapshot holds the events of every recording in the JVM.
+ */
+@Slf4j
+@Service
+public class FlightRecorderService {
+
+    private static final Set<String> SENSITIVE_EVENTS = Set.of(
+            "jdk.InitialEnvironmentVariable",
+            "jdk.InitialSystemProperty",
+            "jdk.InitialSecurityProperty",
+            "jdk.JVMInformation",
+            "jdk.SystemProcess",
+            "jdk.ProcessStart",
+            "jdk.ThreadDump");
+
+    private final FlightRecorderProperties properties;
+    private volatile Recording recording;
+
+    @Autowired
+    public FlightRecorderService(FlightRecorderProperties properties) {
+        this.properties = properties;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!properties.isEnabled() || !FlightRecorder.isAvailable()) {
+            return;
+        }
+        try {
+            Map<String, String> settings = new HashMap<>(Configuration.getConfiguration("default").getSettings());
+            try (Reader reader = new InputStreamReader(
+                    new ClassPathResource(properties.getSettings()).getInputStream(), StandardCharsets.UTF_8)) {
+                settings.putAll(Configuration.create(reader).getSettings());
+            }
+            Recording started = new Recording(settings);
+            started.setName("zenvest");
+            started.setToDisk(true);
+            started.setMaxAge(properties.getMaxAge());
+            started.setMaxSize(properties.getMaxSize().toBytes());
+            started.start();
+            recording = started;
+            log.info("Started flight recording, keeping {} up to {}", properties.getMaxAge(), properties.getMaxSize());
+        } catch (IOException | ParseException | RuntimeException e) {
+            log.warn("Could not start the flight recording", e);
+        }
+    }
+
+    @PreDestroy
+    void stop() {
+        Recording current = recording;
+        if (current != null) {
+            current.close();
+        }
+    }
+
+    /**
+     * Writes the most recent part of the recording to a temporary file.
+     *
+     * @param window how far back to go, or null for the default window
+     * @return the file, which the caller deletes
+     * @throws IOException if the recording could not be written
+     */
+    public Path dump(Duration window) throws IOException {
+        if (recording == null) {
+            throw new IllegalStateException("Flight recording is not running");
+        }
+        Duration length = window == null ? properties.getDefaultWindow() : window;
+        if (length.isNegative() || length.isZero() || length.compareTo(properties.getMaxAge()) > 0) {
+            throw new IllegalArgumentException("Window must be positive and at most " + properties.getMaxAge());
+        }
+
+        Instant since = Instant.now().minus(length);
+        Path snapshotFile = Files.createTempFile("zenvest-snapshot-", ".jfr");
+        Path dumpFile = Files.createTempFile("zenvest-", ".jfr");
+        try (Recording snapshot = FlightRecorder.getFlightRecorder().takeSnapshot()) {
+            snapshot.dump(snapshotFile);
+            try (RecordingFile file = new RecordingFile(snapshotFile)) {
+                file.write(dumpFile, event -> !event.getEndTime().isBefore(since)
+                        && !SENSITIVE_EVENTS.contains(event.getEventType().getName()));
+            }
+            return dumpFile;
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(dumpFile);
+            throw e;
+        } finally {
+            Files.deleteIfExists(snapshotFile);
+        }
+    }
+}
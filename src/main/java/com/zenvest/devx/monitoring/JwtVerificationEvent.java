@@ -0,0 +1,35 @@
+package com.zenvest.devx.monitoring;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight recorder event of the decoding and validation of a bearer token.
+ */
+@Name("zenvest.JwtVerification")
+@Label("JWT Verification")
+@Category({"Zenvest", "Security"})
+@Description("Signature check and validation of a bearer token, including the revocation check")
+@StackTrace(false)
+public class JwtVerificationEvent extends Event {
+
+    @Label("Outcome")
+    @Description("VALID, REJECTED by a validator, MALFORMED, or ERROR")
+    private String outcome;
+
+    /**
+     * Ends the event.
+     *
+     * @param outcome the outcome of the verification
+     */
+    public void end(String outcome) {
+        if (shouldCommit()) {
+            this.outcome = outcome;
+            commit();
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package com.zenvest.devx.monitoring;
+
+import com.zenvest.devx.exceptions.ZenvestException;
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+import java.security.SecureRandom;
+
+/**
+ * Flight recorder event of a deposit, withdrawal or transfer, with the time spent in each phase.
+ * When the event is disabled in the running recording every method returns after one branch, so the
+ * instrumentation stays in place in production.
+ */
+@Name("zenvest.MoneyMovement")
+@Label("Money Movement")
+@Category({"Zenvest", "Money Movement"})
+@Description("A deposit, withdrawal or transfer and the time spent in each phase")
+@StackTrace(false)
+public class MoneyMovementEvent extends Event {
+
+    public static final String DEPOSIT = "deposit";
+    public static final String WITHDRAW = "withdraw";
+    public static final String TRANSFER = "transfer";
+
+    private static final long SALT = new SecureRandom().nextLong();
+
+    @Label("Operation")
+    private String operation;
+
+    @Label("Account Hash")
+    @Description("Salted hash of the source account id, stable for the life of the process")
+    private int accountHash;
+
+    @Label("Lookup")
+    @Description("Loading and authorizing the accounts")
+    @Timespan(Timespan.NANOSECONDS)
+    private long lookup;
+
+    @Label("Balance Update")
+    @Description("Conversion, velocity check, debit and credit")
+    @Timespan(Timespan.NANOSECONDS)
+    private long balanceUpdate;
+
+    @Label("Persist")
+    @Description("Inserting the transaction or transfer row")
+    @Timespan(Timespan.NANOSECONDS)
+    private long persist;
+
+    @Label("Publish")
+    @Description("Writing the outbox row and publishing the account activity")
+    @Timespan(Timespan.NANOSECONDS)
+    private long publish;
+
+    @Label("Rows Written")
+    private int rowsWritten;
+
+    @Label("Outcome")
+    @Description("COMPLETED, the error code of a domain failure, or the exception type")
+    private String outcome;
+
+    private transient long mark;
+
+    /**
+     * Creates and starts the event of an operation.
+     *
+     * @param operation one of {@link #DEPOSIT}, {@link #WITHDRAW} or {@link #TRANSFER}
+     * @return the started event
+     */
+    public static MoneyMovementEvent start(String operation) {
+        MoneyMovementEvent event = new MoneyMovementEvent();
+        if (event.isEnabled()) {
+            event.operation = operation;
+            event.begin();
+            event.mark = System.nanoTime();
+        }
+        return event;
+    }
+
+    public void account(long accountId) {
+        if (isEnabled()) {
+            long mixed = (accountId ^ SALT) * 0x9E3779B97F4A7C15L;
+            accountHash = Long.hashCode(mixed ^ (mixed >>> 31));
+        }
+    }
+
+    public void lookupDone() {
+        lookup += lap();
+    }
+
+    public void balanceUpdated(int rows) {
+        balanceUpdate += lap();
+        rowsWritten += rows;
+    }
+
+    public void persisted() {
+        persist += lap();
+        rowsWritten++;
+    }
+
+    public void published() {
+        publish += lap();
+        rowsWritten++;
+    }
+
+    /**
+     * Ends the event of an operation that completed.
+     */
+    public void complete() {
+        if (shouldCommit()) {
+            outcome = "COMPLETED";
+            commit();
+        }
+    }
+
+    /**
+     * Ends the event of an operation that failed.
+     *
+     * @param failure the exception the operation ended with
+     */
+    public void fail(RuntimeException failure) {
+        if (shouldCommit()) {
+            outcome = failure instanceof ZenvestException domainFailure
+                    ? domainFailure.getErrorCode().name()
+                    : failure.getClass().getSimpleName();
+            commit();
+        }
+    }
+
+    private long lap() {
+        if (!isEnabled()) {
+            return 0;
+        }
+        long now = System.nanoTime();
+        long elapsed = now - mark;
+        mark = now;
+        return elapsed;
+    }
+}
@@ -0,0 +1,39 @@
+package com.zenvest.devx.monitoring;
+
+import org.springframework.security.oauth2.jwt.BadJwtException;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtException;
+import org.springframework.security.oauth2.jwt.JwtValidationException;
+
+/**
+ * A JwtDecoder that records a {@link JwtVerificationEvent} around every decode.
+ */
+public class RecordingJwtDecoder implements JwtDecoder {
+
+    private final JwtDecoder delegate;
+
+    public RecordingJwtDecoder(JwtDecoder delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public Jwt decode(String token) throws JwtException {
+        JwtVerificationEvent event = new JwtVerificationEvent();
+        event.begin();
+        String outcome = "ERROR";
+        try {
+            Jwt jwt = delegate.decode(token);
+            outcome = "VALID";
+            return jwt;
+        } catch (JwtValidationException e) {
+            outcome = "REJECTED";
+            throw e;
+        } catch (BadJwtException e) {
+            outcome = "MALFORMED";
+            throw e;
+        } finally {
+            event.end(outcome);
+        }
+    }
+}
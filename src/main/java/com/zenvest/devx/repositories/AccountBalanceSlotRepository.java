@@ -0,0 +1,32 @@
+package com.zenvest.devx.repositories;
+
+import com.zenvest.devx.models.AccountBalanceSlot;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+public interface AccountBalanceSlotRepository extends JpaRepository<AccountBalanceSlot, Long> {
+
+    @Query("select coalesce(sum(s.balance), 0) from AccountBalanceSlot s where s.account.id = :accountId")
+    Double sumBalance(@Param("accountId") Long accountId);
+
+    @Query(value = "select coalesce(sum(balance), 0) from account_balance_slots where account_id = :accountId for update",
+            nativeQuery = true)
+    Double lockAndSumBalance(@Param("accountId") Long accountId);
+
+    @Modifying
+    @Query("update AccountBalanceSlot s set s.balance = s.balance + :amount " +
+            "where s.account.id = :accountId and s.slot = :slot")
+    int credit(@Param("accountId") Long accountId, @Param("slot") int slot, @Param("amount") Double amount);
+
+    @Modifying
+    @Query("update AccountBalanceSlot s set s.balance = s.balance - :amount " +
+            "where s.account.id = :accountId and s.slot = :slot and s.balance >= :amount")
+    int debitIfSufficient(@Param("accountId") Long accountId, @Param("slot") int slot, @Param("amount") Double amount);
+
+    @Modifying
+    @Query("update AccountBalanceSlot s set s.balance = case when s.slot = 0 then :total else 0 end " +
+            "where s.account.id = :accountId")
+    int consolidate(@Param("accountId") Long accountId, @Param("total") Double total);
+}
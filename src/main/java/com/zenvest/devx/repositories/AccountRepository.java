@@ -1,10 +1,56 @@
 package com.zenvest.devx.repositories;
 
+import com.zenvest.devx.dtos.projections.AccountView;
 import com.zenvest.devx.models.Account;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 public interface AccountRepository extends JpaRepository<Account, Long> {
     List<Account> findByUserId(Long userId);
+
+    @Query("select new com.zenvest.devx.dtos.projections.AccountView(a.id, a.user.id, a.ownerName, a.balance, a.active,"
+            + " a.currency, a.hotSlots) from Account a where a.user.id = :userId")
+    List<AccountView> findViewsByUserId(@Param("userId") Long userId);
+
+    @Query("select new com.zenvest.devx.dtos.projections.AccountView(a.id, a.user.id, a.ownerName, a.balance, a.active,"
+            + " a.currency, a.hotSlots) from Account a where a.id = :id")
+    Optional<AccountView> findViewById(@Param("id") Long id);
+
+    @Query("select new com.zenvest.devx.dtos.projections.AccountView(a.id, a.user.id, a.ownerName, a.balance, a.active,"
+            + " a.currency, a.hotSlots) from Account a where a.id in :ids")
+    List<AccountView> findViewsByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query("select a.id from Account a where a.user.id = :userId")
+    List<Long> findIdsByUserId(@Param("userId") Long userId);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select a from Account a where a.id = :id")
+    Optional<Account> findByIdForUpdate(@Param("id") Long id);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select a from Account a where a.id in :ids order by a.id")
+    List<Account> findAllByIdInForUpdate(@Param("ids") Collection<Long> ids);
+
+    @Query("select a.balance from Account a where a.id = :id")
+    Double findBalanceById(@Param("id") Long id);
+
+    @Query("select a.hotSlots from Account a where a.id = :id")
+    Integer findHotSlotsById(@Param("id") Long id);
+
+    @Modifying
+    @Query("update Account a set a.balance = a.balance + :amount where a.id = :id and coalesce(a.hotSlots, 0) = 0")
+    int creditUnlessHot(@Param("id") Long id, @Param("amount") Double amount);
+
+    @Modifying
+    @Query("update Account a set a.balance = a.balance - :amount"
+            + " where a.id = :id and a.balance >= :amount and coalesce(a.hotSlots, 0) = 0")
+    int debitIfSufficientUnlessHot(@Param("id") Long id, @Param("amount") Double amount);
 }
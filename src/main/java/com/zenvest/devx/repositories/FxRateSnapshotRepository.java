@@ -0,0 +1,10 @@
+package com.zenvest.devx.repositories;
+
+import com.zenvest.devx.models.FxRateSnapshot;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.Optional;
+
+public interface FxRateSnapshotRepository extends JpaRepository<FxRateSnapshot, Long> {
+    Optional<FxRateSnapshot> findTopByOrderByIdDesc();
+}
@@ -0,0 +1,19 @@
+package com.zenvest.devx.repositories;
+
+import com.zenvest.devx.models.ScheduledTransfer;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface ScheduledTransferRepository extends JpaRepository<ScheduledTransfer, Long> {
+    List<ScheduledTransfer> findByFromAccountUserIdOrderByNextRunAtAsc(Long userId);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select s from ScheduledTransfer s where s.id in :ids order by s.id")
+    List<ScheduledTransfer> findAllByIdInForUpdate(@Param("ids") Collection<Long> ids);
+}
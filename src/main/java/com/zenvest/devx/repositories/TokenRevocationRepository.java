@@ -0,0 +1,18 @@
+package com.zenvest.devx.repositories;
+
+import com.zenvest.devx.models.TokenRevocation;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.Instant;
+import java.util.List;
+
+public interface TokenRevocationRepository extends JpaRepository<TokenRevocation, Long> {
+    List<TokenRevocation> findByIdGreaterThanAndExpiresAtAfterOrderByIdAsc(Long id, Instant expiresAt);
+
+    @Modifying
+    @Query("delete from TokenRevocation r where r.expiresAt < :now")
+    int deleteExpired(@Param("now") Instant now);
+}
@@ -1,10 +1,33 @@
 package com.zenvest.devx.repositories;
 
+import com.zenvest.devx.constants.TransactionType;
+import com.zenvest.devx.dtos.projections.TransactionView;
 import com.zenvest.devx.models.Transaction;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 public interface TransactionRepository extends JpaRepository<Transaction, Long> {
     List<Transaction> findByAccountId(Long accountId);
+
+    @Query("select t from Transaction t where t.account.id = :accountId"
+            + " and (:from is null or t.timestamp >= :from) and (:to is null or t.timestamp < :to)"
+            + " order by t.id")
+    List<Transaction> findByAccountIdInRange(@Param("accountId") Long accountId,
+                                             @Param("from") LocalDateTime from,
+                                             @Param("to") LocalDateTime to);
+
+    @Query("select new com.zenvest.devx.dtos.projections.TransactionView(t.id, t.amount, t.transactionType,"
+            + " t.description, t.timestamp) from Transaction t where t.account.id = :accountId"
+            + " and (:from is null or t.timestamp >= :from) and (:to is null or t.timestamp < :to)"
+            + " order by t.id")
+    List<TransactionView> findViewsByAccountIdInRange(@Param("accountId") Long accountId,
+                                                      @Param("from") LocalDateTime from,
+                                                      @Param("to") LocalDateTime to);
+
+    List<Transaction> findByTransactionTypeAndTimestampAfterOrderByTimestampAsc(TransactionType transactionType,
+                                                                               LocalDateTime timestamp);
 }
@@ -1,13 +1,38 @@
 package com.zenvest.devx.repositories;
 
+import com.zenvest.devx.constants.TransferStatus;
+import com.zenvest.devx.dtos.outputs.TransferHistoryResponse;
+import com.zenvest.devx.dtos.projections.TransferStatusView;
 import com.zenvest.devx.models.Account;
 import com.zenvest.devx.models.Transfer;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 public interface TransferRepository extends JpaRepository<Transfer,Long> {
     List<Transfer> findByFromAccountIn(List<Account> fromAccounts);
 
-    List<Transfer> findAllByFromAccountUserIdOrToAccountUserId(Long fromUserId, Long toUserId);
+    @Query("select new com.zenvest.devx.dtos.outputs.TransferHistoryResponse(t.id, t.amount, t.creditedAmount,"
+            + " t.description, fa.ownerName, ta.ownerName, t.timestamp, t.status)"
+            + " from Transfer t join t.fromAccount fa join t.toAccount ta"
+            + " where (t.fromAccount.id in :accountIds or t.toAccount.id in :accountIds)"
+            + " and (:from is null or t.timestamp >= :from) and (:to is null or t.timestamp < :to)"
+            + " order by t.id")
+    List<TransferHistoryResponse> findHistoryForAccountsInRange(@Param("accountIds") Collection<Long> accountIds,
+                                                                @Param("from") LocalDateTime from,
+                                                                @Param("to") LocalDateTime to);
+
+    @Query("select new com.zenvest.devx.dtos.projections.TransferStatusView(t.id, fa.id, fa.user.id, ta.id, ta.user.id,"
+            + " t.amount, t.creditedAmount, t.description, t.status, t.failureReason, t.timestamp)"
+            + " from Transfer t join t.fromAccount fa join t.toAccount ta where t.id = :id")
+    Optional<TransferStatusView> findStatusViewById(@Param("id") Long id);
+
+    List<Transfer> findByStatusOrderByIdAsc(TransferStatus status);
+
+    List<Transfer> findByTimestampAfterOrderByTimestampAsc(LocalDateTime timestamp);
 }
@@ -7,8 +7,4 @@ import java.util.Optional;
 
 public interface UserRepository extends JpaRepository<User, Long> {
     Optional<User> findByEmail(String email);
-
-    Optional<User> findByUsername(String username);
-
-    Optional<User> findByUsernameOrEmail(String username, String email);
 }
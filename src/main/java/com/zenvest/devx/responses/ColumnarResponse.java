@@ -0,0 +1,52 @@
+package com.zenvest.devx.responses;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * ColumnarResponse is the compact response structure for bulk list endpoints.
+ * Column names are sent once and every row is an array of values in column order, so field names are not
+ * repeated per row.
+ */
+@Getter
+public class ColumnarResponse {
+    private static final String SUCCESS = "successful";
+
+    private final String status;
+
+    @Setter
+    private String message;
+
+    private final List<String> columns;
+
+    private final List<Object[]> rows;
+
+    public ColumnarResponse(List<String> columns, List<Object[]> rows) {
+        this.status = SUCCESS;
+        this.message = "Operation successful";
+        this.columns = columns;
+        this.rows = rows;
+    }
+
+    /**
+     * Converts the rows into one object per row holding only the selected columns.
+     *
+     * @return the rows as field-name-to-value maps
+     */
+    public List<Map<String, Object>> toRecords() {
+        List<Map<String, Object>> records = new ArrayList<>(rows.size());
+        for (Object[] row : rows) {
+            Map<String, Object> record = new LinkedHashMap<>(columns.size() * 2);
+            for (int i = 0; i < columns.size(); i++) {
+                record.put(columns.get(i), row[i]);
+            }
+            records.add(record);
+        }
+        return records;
+    }
+}
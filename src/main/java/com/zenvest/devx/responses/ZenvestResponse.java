@@ -1,5 +1,7 @@
 package com.zenvest.devx.responses;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.zenvest.devx.constants.ErrorCode;
 import lombok.Getter;
 import lombok.Setter;
 
@@ -8,7 +10,7 @@ import java.util.List;
 
 /**
  * ZenvestResponse is a generic class that represents the response structure for API endpoints.
- * It contains a status, a list of results, and a message.
+ * It contains a status, a list of results, and a message; failures of a domain rule also carry a stable error code.
  *
  * @param <T> the type of the results
  */
@@ -25,6 +27,9 @@ public class ZenvestResponse<T> {
     @Setter
     private String message;
 
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private final ErrorCode code;
+
     /**
      * Default constructor, initializes with a "successful" status and an empty results list.
      */
@@ -32,6 +37,7 @@ public class ZenvestResponse<T> {
         this.status = SUCCESS;
         this.results = new ArrayList<>();
         this.message = "Operation successful";
+        this.code = null;
     }
 
     /**
@@ -45,6 +51,20 @@ public class ZenvestResponse<T> {
         this.status = success ? SUCCESS : UNSUCCESSFUL;
         this.results = results != null ? results : new ArrayList<>();
         this.message = message;
+        this.code = null;
+    }
+
+    /**
+     * Constructor to initialize an unsuccessful response with an error code and a message.
+     *
+     * @param code    the error code
+     * @param message the message to be set
+     */
+    public ZenvestResponse(ErrorCode code, String message) {
+        this.status = UNSUCCESSFUL;
+        this.results = new ArrayList<>();
+        this.message = message;
+        this.code = code;
     }
 
     /**
@@ -0,0 +1,77 @@
+package com.zenvest.devx.security;
+
+import com.zenvest.devx.configs.RateLimitProperties;
+import com.zenvest.devx.exceptions.TooManyRequestsException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * AccountWriteLimiter caps the number of concurrent balance-changing requests per account.
+ * Only accounts with writes in flight are tracked, so the map never outgrows the number of active requests.
+ */
+@Component
+public class AccountWriteLimiter {
+
+    private final Map<Long, Integer> inFlight = new ConcurrentHashMap<>();
+    private final RateLimitProperties properties;
+    private final Counter rejected;
+
+    @Autowired
+    public AccountWriteLimiter(RateLimitProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.rejected = Counter.builder("zenvest.admission.requests")
+                .tag("group", "account-write").tag("outcome", "rejected")
+                .register(meterRegistry);
+        Gauge.builder("zenvest.admission.accounts.in-flight", inFlight, Map::size)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Runs a balance-changing operation while holding one of the account's in-flight slots.
+     *
+     * @param accountId the account being written
+     * @param operation the operation to run
+     * @param <T>       the operation result type
+     * @return the operation result
+     * @throws TooManyRequestsException when the account already has the maximum number of writes in flight
+     */
+    public <T> T execute(Long accountId, Supplier<T> operation) {
+        if (!properties.isEnabled() || accountId == null) {
+            return operation.get();
+        }
+        if (!tryAcquire(accountId)) {
+            rejected.increment();
+            throw new TooManyRequestsException("Too many concurrent operations on this account", 1);
+        }
+        try {
+            return operation.get();
+        } finally {
+            release(accountId);
+        }
+    }
+
+    private boolean tryAcquire(Long accountId) {
+        int limit = properties.getMaxInFlightWritesPerAccount();
+        boolean[] acquired = new boolean[1];
+        inFlight.compute(accountId, (id, count) -> {
+            int current = count == null ? 0 : count;
+            if (current >= limit) {
+                return count;
+            }
+            acquired[0] = true;
+            return current + 1;
+        });
+        return acquired[0];
+    }
+
+    private void release(Long accountId) {
+        inFlight.computeIfPresent(accountId, (id, count) -> count > 1 ? count - 1 : null);
+    }
+}
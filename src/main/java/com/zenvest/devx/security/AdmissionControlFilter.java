@@ -0,0 +1,128 @@
+package com.zenvest.devx.security;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.zenvest.devx.configs.RateLimitProperties;
+import com.zenvest.devx.responses.ZenvestResponse;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * AdmissionControlFilter applies per-user token buckets to authenticated requests.
+ * It runs right after JWT authentication so over-limit callers get a 429 with Retry-After before any DB work.
+ * Buckets live in size-bounded caches, one per endpoint group, and are evicted once idle.
+ */
+public class AdmissionControlFilter extends OncePerRequestFilter {
+
+    private static final long NANOS_PER_SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private final List<EndpointGroup> groups = new ArrayList<>();
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+    private final ObjectMapper objectMapper;
+
+    public AdmissionControlFilter(RateLimitProperties properties, MeterRegistry meterRegistry, ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+        for (Map.Entry<String, RateLimitProperties.Group> entry : properties.getGroups().entrySet()) {
+            groups.add(new EndpointGroup(entry.getKey(), entry.getValue(), properties, meterRegistry));
+        }
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication == null || !authentication.isAuthenticated();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        EndpointGroup group = resolveGroup(request.getRequestURI());
+        if (group == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        String user = SecurityContextHolder.getContext().getAuthentication().getName();
+        long waitNanos = group.tryAcquire(user);
+        if (waitNanos == 0) {
+            group.allowed.increment();
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        group.rejected.increment();
+        long retryAfterSeconds = Math.max(1, (waitNanos + NANOS_PER_SECOND - 1) / NANOS_PER_SECOND);
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(),
+                new ZenvestResponse<>(false, null, "Too many requests, please retry later"));
+    }
+
+    private EndpointGroup resolveGroup(String path) {
+        for (EndpointGroup group : groups) {
+            for (String pattern : group.pathPatterns) {
+                if (pathMatcher.match(pattern, path)) {
+                    return group;
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Token buckets and metrics of one endpoint group.
+     */
+    private static final class EndpointGroup {
+        private final List<String> pathPatterns;
+        private final double requestsPerSecond;
+        private final int burst;
+        private final Cache<String, TokenBucket> buckets;
+        private final Counter allowed;
+        private final Counter rejected;
+
+        private EndpointGroup(String name, RateLimitProperties.Group config, RateLimitProperties properties,
+                              MeterRegistry meterRegistry) {
+            this.pathPatterns = List.copyOf(config.getPathPatterns());
+            this.requestsPerSecond = config.getRequestsPerSecond();
+            this.burst = config.getBurst();
+            this.buckets = Caffeine.newBuilder()
+                    .maximumSize(properties.getMaxTrackedUsers())
+                    .expireAfterAccess(properties.getIdleEviction())
+                    .build();
+            this.allowed = Counter.builder("zenvest.admission.requests")
+                    .tag("group", name).tag("outcome", "allowed")
+                    .register(meterRegistry);
+            this.rejected = Counter.builder("zenvest.admission.requests")
+                    .tag("group", name).tag("outcome", "rejected")
+                    .register(meterRegistry);
+            Gauge.builder("zenvest.admission.tracked.users", buckets, Cache::estimatedSize)
+                    .tag("group", name)
+                    .register(meterRegistry);
+        }
+
+        private long tryAcquire(String user) {
+            long now = System.nanoTime();
+            return buckets.get(user, key -> new TokenBucket(requestsPerSecond, burst, now)).tryAcquire(now);
+        }
+    }
+}
@@ -1,8 +1,18 @@
 package com.zenvest.devx.security;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.zenvest.devx.configs.PasswordHashingProperties;
+import com.zenvest.devx.configs.RateLimitProperties;
+import com.zenvest.devx.monitoring.RecordingJwtDecoder;
+import com.zenvest.devx.services.TokenRevocationService;
+import com.zenvest.devx.sharding.ShardDirectory;
+import com.zenvest.devx.utils.JwtService;
+import io.micrometer.core.instrument.MeterRegistry;
 import io.swagger.v3.oas.annotations.enums.SecuritySchemeType;
 import io.swagger.v3.oas.annotations.security.SecurityScheme;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.autoconfigure.security.servlet.EndpointRequest;
+import org.springframework.boot.actuate.health.HealthEndpoint;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
@@ -11,8 +21,13 @@ import org.springframework.security.config.annotation.web.configuration.EnableWe
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
 import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.oauth2.core.DelegatingOAuth2TokenValidator;
 import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtValidators;
 import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationConverter;
+import org.springframework.security.oauth2.server.resource.authentication.JwtGrantedAuthoritiesConverter;
+import org.springframework.security.oauth2.server.resource.web.authentication.BearerTokenAuthenticationFilter;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.header.writers.ReferrerPolicyHeaderWriter;
 import org.springframework.security.web.header.writers.StaticHeadersWriter;
@@ -53,11 +68,18 @@ public class SecurityConfiguration {
      * - Enables stateless session
      * - Disables CSRF (suitable for REST APIs)
      * - Applies JWT-based OAuth2 security
-     * - Configures public and protected routes
+     * - Configures public and protected routes; every actuator endpoint but health requires the ADMIN role
      * - Adds secure headers and CORS support
+     * - Applies per-user admission control right after the bearer token is authenticated
+     * - Routes authenticated requests to the user's home shard when sharding is enabled
      */
     @Bean
-    public SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
+    public SecurityFilterChain filterChain(HttpSecurity http,
+                                           RateLimitProperties rateLimitProperties,
+                                           MeterRegistry meterRegistry,
+                                           ObjectMapper objectMapper,
+                                           JwtDecoder jwtDecoder,
+                                           ShardDirectory shardDirectory) throws Exception {
         http
                 .addFilterBefore(corsFilter(), CorsFilter.class)
                 .csrf(AbstractHttpConfigurer::disable)
@@ -73,12 +95,14 @@ public class SecurityConfiguration {
                                 "/swagger-resources/**",
                                 "/webjars/**"
                         ).permitAll()
+                        .requestMatchers(EndpointRequest.toAnyEndpoint().excluding(HealthEndpoint.class)).hasRole("ADMIN")
                         .anyRequest().authenticated()
                 )
                 .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
                 .oauth2ResourceServer(oauth2 -> oauth2
                         .jwt(jwt -> jwt
-                                .decoder(jwtDecoder())
+                                .decoder(jwtDecoder)
+                                .jwtAuthenticationConverter(jwtAuthenticationConverter())
                         )
                 )
                 .headers(headers -> {
@@ -90,9 +114,29 @@ public class SecurityConfiguration {
                             .referrerPolicy(referrer -> referrer.policy(ReferrerPolicyHeaderWriter.ReferrerPolicy.SAME_ORIGIN));
                 });
 
+        if (rateLimitProperties.isEnabled()) {
+            http.addFilterAfter(new AdmissionControlFilter(rateLimitProperties, meterRegistry, objectMapper),
+                    BearerTokenAuthenticationFilter.class);
+        }
+        if (shardDirectory.isSharded()) {
+            http.addFilterAfter(new ShardRoutingFilter(shardDirectory), BearerTokenAuthenticationFilter.class);
+        }
+
         return http.build();
     }
 
+    /**
+     * Maps the roles claim of a token to {@code ROLE_} authorities, so that {@code hasRole} checks apply to it.
+     */
+    private JwtAuthenticationConverter jwtAuthenticationConverter() {
+        JwtGrantedAuthoritiesConverter authoritiesConverter = new JwtGrantedAuthoritiesConverter();
+        authoritiesConverter.setAuthoritiesClaimName(JwtService.ROLES_CLAIM);
+        authoritiesConverter.setAuthorityPrefix("ROLE_");
+        JwtAuthenticationConverter converter = new JwtAuthenticationConverter();
+        converter.setJwtGrantedAuthoritiesConverter(authoritiesConverter);
+        return converter;
+    }
+
     /**
      * Configures a basic CORS filter allowing all origins, headers, and common methods.
      * NOTE: Allowing all origins ("*") is insecure for production. Restrict origins based on your deployment environment.
@@ -111,20 +155,27 @@ public class SecurityConfiguration {
 
     /**
      * BCrypt password encoder bean for secure password hashing.
+     * The work factor comes from {@code zenvest.security.bcrypt.strength}.
      */
     @Bean
-    public BCryptPasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public BCryptPasswordEncoder passwordEncoder(PasswordHashingProperties passwordHashingProperties) {
+        return new BCryptPasswordEncoder(passwordHashingProperties.getStrength());
     }
 
     /**
      * Configures JWT decoder for HS256 symmetric key.
      * Ensures key length is compliant with HS256 requirement (>= 256 bits).
+     * Besides the default expiry checks, tokens revoked by logout or revoke-all are rejected.
+     * Every decode is recorded as a flight recorder event.
      */
     @Bean
-    public JwtDecoder jwtDecoder() {
+    public JwtDecoder jwtDecoder(TokenRevocationService tokenRevocationService) {
         byte[] keyBytes = jwtSecret.getBytes(StandardCharsets.UTF_8);
         SecretKey key = new SecretKeySpec(keyBytes, "HmacSHA256");
-        return NimbusJwtDecoder.withSecretKey(key).build();
+        NimbusJwtDecoder decoder = NimbusJwtDecoder.withSecretKey(key).build();
+        decoder.setJwtValidator(new DelegatingOAuth2TokenValidator<>(
+                JwtValidators.createDefault(),
+                new TokenRevocationValidator(tokenRevocationService)));
+        return new RecordingJwtDecoder(decoder);
     }
 }
@@ -0,0 +1,45 @@
+package com.zenvest.devx.security;
+
+import com.zenvest.devx.sharding.ShardContext;
+import com.zenvest.devx.sharding.ShardDirectory;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * ShardRoutingFilter routes an authenticated request to the home shard of its user.
+ * It runs after JWT authentication and before any service opens a transaction, so every read and write of the
+ * request goes to the shard holding the user's accounts, transactions and transfers.
+ */
+public class ShardRoutingFilter extends OncePerRequestFilter {
+
+    private final ShardDirectory shardDirectory;
+
+    public ShardRoutingFilter(ShardDirectory shardDirectory) {
+        this.shardDirectory = shardDirectory;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication == null || !authentication.isAuthenticated();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String email = SecurityContextHolder.getContext().getAuthentication().getName();
+        Integer previous = ShardContext.enter(shardDirectory.shardOfEmail(email));
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            ShardContext.restore(previous);
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.zenvest.devx.security;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-free token bucket expressed as a generic cell rate algorithm.
+ * The whole bucket state is a single "theoretical arrival time", so admitting a request is one CAS.
+ */
+final class TokenBucket {
+
+    private final long emissionIntervalNanos;
+    private final long capacityNanos;
+    private final AtomicLong theoreticalArrival;
+
+    TokenBucket(double requestsPerSecond, int burst, long nowNanos) {
+        this.emissionIntervalNanos = Math.max(1L, (long) (1_000_000_000L / requestsPerSecond));
+        this.capacityNanos = emissionIntervalNanos * Math.max(1, burst);
+        this.theoreticalArrival = new AtomicLong(nowNanos);
+    }
+
+    /**
+     * Tries to take one token.
+     *
+     * @param nowNanos the current {@link System#nanoTime()}
+     * @return 0 when the request is admitted, otherwise the nanoseconds until a token becomes available
+     */
+    long tryAcquire(long nowNanos) {
+        while (true) {
+            long tat = theoreticalArrival.get();
+            long newTat = Math.max(tat, nowNanos) + emissionIntervalNanos;
+            long excess = newTat - nowNanos - capacityNanos;
+            if (excess > 0) {
+                return excess;
+            }
+            if (theoreticalArrival.compareAndSet(tat, newTat)) {
+                return 0;
+            }
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.zenvest.devx.security;
+
+import com.zenvest.devx.services.TokenRevocationService;
+import org.springframework.security.oauth2.core.OAuth2Error;
+import org.springframework.security.oauth2.core.OAuth2ErrorCodes;
+import org.springframework.security.oauth2.core.OAuth2TokenValidator;
+import org.springframework.security.oauth2.core.OAuth2TokenValidatorResult;
+import org.springframework.security.oauth2.jwt.Jwt;
+
+/**
+ * Rejects JWTs that were revoked by logout or revoke-all.
+ * The accepted path returns the shared success result, so valid tokens cost no allocation here.
+ */
+public class TokenRevocationValidator implements OAuth2TokenValidator<Jwt> {
+
+    private static final OAuth2TokenValidatorResult REVOKED = OAuth2TokenValidatorResult.failure(
+            new OAuth2Error(OAuth2ErrorCodes.INVALID_TOKEN, "The token has been revoked", null));
+
+    private final TokenRevocationService tokenRevocationService;
+
+    public TokenRevocationValidator(TokenRevocationService tokenRevocationService) {
+        this.tokenRevocationService = tokenRevocationService;
+    }
+
+    @Override
+    public OAuth2TokenValidatorResult validate(Jwt token) {
+        if (tokenRevocationService.isRevoked(token.getId(), token.getSubject(), token.getIssuedAt())) {
+            return REVOKED;
+        }
+        return OAuth2TokenValidatorResult.success();
+    }
+}
@@ -0,0 +1,178 @@
+package com.zenvest.devx.services;
+
+import com.zenvest.devx.constants.ErrorCode;
+import com.zenvest.devx.dtos.projections.AccountView;
+import com.zenvest.devx.exceptions.NotFoundException;
+import com.zenvest.devx.models.Account;
+import com.zenvest.devx.models.AccountBalanceSlot;
+import com.zenvest.devx.repositories.AccountBalanceSlotRepository;
+import com.zenvest.devx.repositories.AccountRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * AccountBalanceService applies credits and debits to account balances.
+ * Regular accounts keep their balance on the account row. Accounts in hot mode spread it over N slot rows:
+ * credits go to a random slot so concurrent credits do not serialize on one row, while debits and reads
+ * aggregate the slots.
+ * Balances only change through single UPDATE statements, so concurrent writers never lose an update and
+ * a debit never overdraws, whether or not the caller locked the account. The updates of the account row
+ * skip accounts in hot mode, so a caller holding an entity loaded before {@link #enableHotMode} falls back
+ * to the slots instead of writing to the zeroed row.
+ * The methods join the caller's transaction and never mark it rollback-only on their own.
+ */
+@Service
+public class AccountBalanceService {
+
+    private final AccountRepository accountRepository;
+    private final AccountBalanceSlotRepository slotRepository;
+
+    @Autowired
+    public AccountBalanceService(AccountRepository accountRepository, AccountBalanceSlotRepository slotRepository) {
+        this.accountRepository = accountRepository;
+        this.slotRepository = slotRepository;
+    }
+
+    /**
+     * Checks if the account runs in hot mode.
+     *
+     * @param account the account to check
+     * @return true if the balance is spread over slot rows
+     */
+    public boolean isHot(Account account) {
+        return account.getHotSlots() != null && account.getHotSlots() > 0;
+    }
+
+    /**
+     * Returns the exact public balance of an account.
+     *
+     * @param account the account
+     * @return the account balance, aggregated over all slots for a hot account
+     */
+    public Double balanceOf(Account account) {
+        return isHot(account) ? slotRepository.sumBalance(account.getId()) : account.getBalance();
+    }
+
+    /**
+     * Returns the exact public balance of an account loaded as a view.
+     *
+     * @param account the account view
+     * @return the account balance, aggregated over all slots for a hot account
+     */
+    public Double balanceOf(AccountView account) {
+        return account.hotSlots() != null && account.hotSlots() > 0
+                ? slotRepository.sumBalance(account.id())
+                : account.balance();
+    }
+
+    /**
+     * Reads the exact public balance of an account from the database, ignoring the loaded entity state.
+     * Use after {@link #creditInPlace} or {@link #tryDebitInPlace}, which leave the entity stale.
+     *
+     * @param account the account
+     * @return the account balance as stored in the database
+     */
+    public Double currentBalanceOf(Account account) {
+        return isHot(account) ? slotRepository.sumBalance(account.getId()) : accountRepository.findBalanceById(account.getId());
+    }
+
+    /**
+     * Adds an amount to the account balance with a single UPDATE statement instead of read-modify-write.
+     * The loaded account entity is left untouched, so its balance field is stale afterwards.
+     *
+     * @param account the account to credit
+     * @param amount  the amount to add
+     */
+    public void creditInPlace(Account account, double amount) {
+        if (isHot(account)) {
+            creditHot(account.getId(), account.getHotSlots(), amount);
+            return;
+        }
+        if (accountRepository.creditUnlessHot(account.getId(), amount) == 0) {
+            // switched to hot mode after the entity was loaded
+            creditHot(account.getId(), hotSlotsOf(account.getId()), amount);
+        }
+    }
+
+    /**
+     * Subtracts an amount from the account balance with a single conditional UPDATE statement
+     * instead of read-modify-write. The loaded account entity is left untouched.
+     * A hot account first tries one random slot; if that slot is short it locks all slots,
+     * borrows across them and consolidates the remainder into slot 0.
+     *
+     * @param account the account to debit
+     * @param amount  the amount to subtract
+     * @return true if the debit was applied, false if the balance is insufficient
+     */
+    public boolean tryDebitInPlace(Account account, double amount) {
+        if (isHot(account)) {
+            return tryDebitHot(account.getId(), account.getHotSlots(), amount);
+        }
+        if (accountRepository.debitIfSufficientUnlessHot(account.getId(), amount) == 1) {
+            return true;
+        }
+        // either the balance is short or the account switched to hot mode after the entity was loaded
+        int hotSlots = hotSlotsOf(account.getId());
+        return hotSlots > 0 && tryDebitHot(account.getId(), hotSlots, amount);
+    }
+
+    private int hotSlotsOf(Long accountId) {
+        Integer hotSlots = accountRepository.findHotSlotsById(accountId);
+        return hotSlots == null ? 0 : hotSlots;
+    }
+
+    private void creditHot(Long accountId, int hotSlots, double amount) {
+        int slot = ThreadLocalRandom.current().nextInt(hotSlots);
+        slotRepository.credit(accountId, slot, amount);
+    }
+
+    private boolean tryDebitHot(Long accountId, int hotSlots, double amount) {
+        int slot = ThreadLocalRandom.current().nextInt(hotSlots);
+        if (slotRepository.debitIfSufficient(accountId, slot, amount) == 1) {
+            return true;
+        }
+
+        double total = slotRepository.lockAndSumBalance(accountId);
+        if (total < amount) {
+            return false;
+        }
+        slotRepository.consolidate(accountId, total - amount);
+        return true;
+    }
+
+    /**
+     * Switches an account to hot mode.
+     * The current balance moves to slot 0 and the account row balance is zeroed, so the slots stay
+     * the single source of truth for the public balance.
+     *
+     * @param accountId the ID of the account to switch
+     * @param slots     the number of slot rows to spread the balance over
+     * @return the updated account
+     */
+    public Account enableHotMode(Long accountId, int slots) {
+        Account account = accountRepository.findByIdForUpdate(accountId)
+                .orElseThrow(() -> new NotFoundException(ErrorCode.ACCOUNT_NOT_FOUND, "Account not found"));
+
+        if (isHot(account)) {
+            throw new IllegalArgumentException("Account is already in hot mode");
+        }
+
+        List<AccountBalanceSlot> slotRows = new ArrayList<>(slots);
+        for (int i = 0; i < slots; i++) {
+            slotRows.add(AccountBalanceSlot.builder()
+                    .account(account)
+                    .slot(i)
+                    .balance(i == 0 ? account.getBalance() : 0.0)
+                    .build());
+        }
+        slotRepository.saveAll(slotRows);
+
+        account.setHotSlots(slots);
+        account.setBalance(0.0);
+        return accountRepository.save(account);
+    }
+}
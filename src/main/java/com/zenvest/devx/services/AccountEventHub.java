@@ -0,0 +1,177 @@
+package com.zenvest.devx.services;
+
+import com.zenvest.devx.dtos.outputs.AccountActivityResponse;
+import com.zenvest.devx.events.AccountActivityEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * AccountEventHub fans committed account activity out to Server-Sent Event subscribers.
+ * Subscribers follow a single account or every account of a user. Each subscriber has a bounded buffer
+ * drained on a virtual thread only while it has pending events, so idle connections cost no thread.
+ * A subscriber whose buffer overflows is too slow to keep up and is disconnected.
+ */
+@Service
+public class AccountEventHub {
+
+    private static final AccountActivityResponse HEARTBEAT = new AccountActivityResponse();
+
+    private final Map<Long, Set<Subscriber>> accountSubscribers = new ConcurrentHashMap<>();
+    private final Map<Long, Set<Subscriber>> userSubscribers = new ConcurrentHashMap<>();
+    private final ExecutorService senders = Executors.newVirtualThreadPerTaskExecutor();
+    private final AtomicInteger subscriberCount = new AtomicInteger();
+    private final Counter evictions;
+
+    @Value("${zenvest.events.buffer-size:64}")
+    private int bufferSize;
+
+    @Value("${zenvest.events.emitter-timeout-ms:1800000}")
+    private long emitterTimeoutMs;
+
+    @Autowired
+    public AccountEventHub(MeterRegistry meterRegistry) {
+        this.evictions = Counter.builder("zenvest.events.subscribers.evicted").register(meterRegistry);
+        Gauge.builder("zenvest.events.subscribers", subscriberCount, AtomicInteger::get).register(meterRegistry);
+    }
+
+    @PreDestroy
+    void stop() {
+        senders.shutdownNow();
+    }
+
+    /**
+     * Subscribes to the activity of one account.
+     *
+     * @param accountId the ID of the account
+     * @return the emitter streaming the events
+     */
+    public SseEmitter subscribeToAccount(Long accountId) {
+        return subscribe(accountSubscribers, accountId);
+    }
+
+    /**
+     * Subscribes to the activity of every account of a user.
+     *
+     * @param userId the ID of the user
+     * @return the emitter streaming the events
+     */
+    public SseEmitter subscribeToUser(Long userId) {
+        return subscribe(userSubscribers, userId);
+    }
+
+    /**
+     * Delivers an activity once the transaction that produced it has committed.
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onAccountActivity(AccountActivityEvent event) {
+        deliver(accountSubscribers.get(event.activity().getAccountId()), event.activity());
+        deliver(userSubscribers.get(event.userId()), event.activity());
+    }
+
+    /**
+     * Sends a comment to every subscriber so that proxies keep the connections open and dead clients are detected.
+     */
+    @Scheduled(fixedDelayString = "${zenvest.events.heartbeat-interval-ms:30000}")
+    public void sendHeartbeats() {
+        accountSubscribers.values().forEach(subscribers -> deliver(subscribers, HEARTBEAT));
+        userSubscribers.values().forEach(subscribers -> deliver(subscribers, HEARTBEAT));
+    }
+
+    private SseEmitter subscribe(Map<Long, Set<Subscriber>> registry, Long key) {
+        SseEmitter emitter = new SseEmitter(emitterTimeoutMs);
+        Subscriber subscriber = new Subscriber(emitter, new ArrayBlockingQueue<>(bufferSize));
+        registry.computeIfAbsent(key, k -> ConcurrentHashMap.newKeySet()).add(subscriber);
+        subscriberCount.incrementAndGet();
+
+        Runnable remove = () -> {
+            if (subscriber.closed.compareAndSet(false, true)) {
+                subscriberCount.decrementAndGet();
+                registry.computeIfPresent(key, (k, subscribers) -> {
+                    subscribers.remove(subscriber);
+                    return subscribers.isEmpty() ? null : subscribers;
+                });
+            }
+        };
+        emitter.onCompletion(remove);
+        emitter.onTimeout(remove);
+        emitter.onError(error -> remove.run());
+        return emitter;
+    }
+
+    private void deliver(Set<Subscriber> subscribers, AccountActivityResponse activity) {
+        if (subscribers == null) {
+            return;
+        }
+        for (Subscriber subscriber : subscribers) {
+            if (subscriber.closed.get()) {
+                continue;
+            }
+            if (!subscriber.buffer.offer(activity)) {
+                evictions.increment();
+                subscriber.emitter.complete();
+                continue;
+            }
+            scheduleDrain(subscriber);
+        }
+    }
+
+    private void scheduleDrain(Subscriber subscriber) {
+        if (subscriber.draining.compareAndSet(false, true)) {
+            senders.execute(() -> drain(subscriber));
+        }
+    }
+
+    private void drain(Subscriber subscriber) {
+        try {
+            AccountActivityResponse activity;
+            while ((activity = subscriber.buffer.poll()) != null) {
+                if (activity == HEARTBEAT) {
+                    subscriber.emitter.send(SseEmitter.event().comment("heartbeat"));
+                } else {
+                    subscriber.emitter.send(SseEmitter.event().name(activity.getType().name()).data(activity));
+                }
+            }
+        } catch (IOException | IllegalStateException e) {
+            subscriber.buffer.clear();
+            subscriber.emitter.completeWithError(e);
+            return;
+        } finally {
+            subscriber.draining.set(false);
+        }
+        if (!subscriber.buffer.isEmpty()) {
+            scheduleDrain(subscriber);
+        }
+    }
+
+    private static final class Subscriber {
+        private final SseEmitter emitter;
+        private final BlockingQueue<AccountActivityResponse> buffer;
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private final AtomicBoolean closed = new AtomicBoolean();
+
+        private Subscriber(SseEmitter emitter, BlockingQueue<AccountActivityResponse> buffer) {
+            this.emitter = emitter;
+            this.buffer = buffer;
+        }
+    }
+}
@@ -1,18 +1,32 @@
 package com.zenvest.devx.services;
 
+import com.zenvest.devx.constants.ErrorCode;
 import com.zenvest.devx.dtos.inputs.AccountRequest;
+import com.zenvest.devx.dtos.inputs.HotModeRequest;
 import com.zenvest.devx.dtos.inputs.UpdateAccountRequest;
 import com.zenvest.devx.dtos.outputs.AccountResponse;
+import com.zenvest.devx.dtos.projections.AccountView;
+import com.zenvest.devx.exceptions.ForbiddenException;
+import com.zenvest.devx.exceptions.NotFoundException;
 import com.zenvest.devx.models.Account;
 import com.zenvest.devx.models.User;
 import com.zenvest.devx.repositories.AccountRepository;
 import com.zenvest.devx.repositories.UserRepository;
+import com.zenvest.devx.sharding.ShardContext;
+import com.zenvest.devx.utils.SingleFlight;
+import io.micrometer.core.instrument.MeterRegistry;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
 import java.util.stream.Collectors;
 
 /**
@@ -24,11 +38,25 @@ public class AccountService {
 
     private final AuthService authService;
     private final AccountRepository accountRepository;
+    private final AccountBalanceService accountBalanceService;
+    private final AccountEventHub accountEventHub;
+    private final FxRateService fxRateService;
+    private final TransactionTemplate readOnlyTemplate;
+    private final SingleFlight<AccountKey, Optional<OwnedAccount>> accountReads;
 
     @Autowired
-    public AccountService(AuthService authService, AccountRepository accountRepository) {
+    public AccountService(AuthService authService, AccountRepository accountRepository,
+                          AccountBalanceService accountBalanceService, AccountEventHub accountEventHub,
+                          FxRateService fxRateService, PlatformTransactionManager transactionManager,
+                          MeterRegistry meterRegistry) {
         this.authService = authService;
         this.accountRepository = accountRepository;
+        this.accountBalanceService = accountBalanceService;
+        this.accountEventHub = accountEventHub;
+        this.fxRateService = fxRateService;
+        this.readOnlyTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTemplate.setReadOnly(true);
+        this.accountReads = new SingleFlight<>("account", meterRegistry);
     }
 
     /**
@@ -38,20 +66,15 @@ public class AccountService {
      *
      * @return a list of AccountResponse objects representing the user's accounts
      */
+    @Transactional(readOnly = true)
     public List<AccountResponse> getAccountsForCurrentUser() {
         User currentUser = authService.getCurrentUser();
-        List<Account> accounts = accountRepository.findByUserId(currentUser.getId());
+        List<AccountView> accounts = accountRepository.findViewsByUserId(currentUser.getId());
 
         List<AccountResponse> accountResponses = new ArrayList<>();
 
-        for (Account account : accounts) {
-            AccountResponse response = new AccountResponse(
-                    account.getId(),
-                    account.getOwnerName(),
-                    account.getBalance(),
-                    account.getActive()
-            );
-            accountResponses.add(new AccountResponse());
+        for (AccountView account : accounts) {
+            accountResponses.add(toAccountResponse(account));
         }
 
         return accountResponses;
@@ -60,86 +83,177 @@ public class AccountService {
     /**
      * Creates a new account for the current user.
      * This method creates a new account with the provided details and associates it with the currently authenticated user.
+     * The account is kept in the requested currency, or in the base currency when none is given.
      *
      * @param accountRequest the request object containing account details
      * @return an AccountResponse object representing the created account
      */
     public AccountResponse createNewAccount(AccountRequest accountRequest) {
         User currentUser = authService.getCurrentUser();
+        String currency = accountRequest.getCurrency() == null
+                ? fxRateService.baseCurrency()
+                : accountRequest.getCurrency().toUpperCase(Locale.ROOT);
+        if (!fxRateService.isSupported(currency)) {
+            throw new IllegalArgumentException("Unsupported currency: " + currency);
+        }
         Account account = new Account();
 
         account.setOwnerName(accountRequest.getOwnerName());
         account.setBalance(accountRequest.getBalance());
+        account.setOpeningBalance(accountRequest.getBalance());
         account.setActive(accountRequest.getActive());
+        account.setCurrency(currency);
         account.setUser(currentUser);
 
-        return AccountResponse.builder()
-                .id(account.getId())
-                .ownerName(account.getOwnerName())
-                .balance(account.getBalance())
-                .active(!account.getActive())
-                .build();
+        account = accountRepository.save(account);
 
+        return toAccountResponse(account);
     }
 
     /**
      * Retrieves an account by its ID.
      * This method fetches an account based on the provided ID and checks if it belongs to the currently authenticated user.
+     * Concurrent lookups of the same account share one query; the ownership check runs for every caller.
+     * The method runs outside of a transaction so that callers waiting for the shared query hold no database
+     * connection; only the caller running it opens a read-only transaction.
      *
      * @param id the ID of the account to retrieve
      * @return an AccountResponse object representing the account details
      */
     public AccountResponse getAccountById(Long id) {
         User currentUser = authService.getCurrentUser();
-        Account account = accountRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("Account not found"));
+        OwnedAccount account = accountReads.execute(new AccountKey(ShardContext.current(), id),
+                        () -> readOnlyTemplate.execute(status -> accountRepository.findViewById(id)
+                                .map(view -> new OwnedAccount(view.userId(), toAccountResponse(view)))))
+                .orElseThrow(() -> new NotFoundException(ErrorCode.ACCOUNT_NOT_FOUND, "Account not found"));
 
-        if(!account.getUser().getId().equals(currentUser.getId())){
-            throw new RuntimeException("Account not owned by current user");
+        if(!account.userId().equals(currentUser.getId())){
+            throw new ForbiddenException(ErrorCode.ACCOUNT_NOT_OWNED, "Account not owned by current user");
         }
 
-        return AccountResponse.builder()
-                .id(account.getId())
-                .ownerName(account.getOwnerName())
-                .balance(account.getBalance())
-                .active(account.getActive())
-                .build();
+        return account.response();
 
     }
 
     /**
      * Updates the details of an existing account.
      * This method updates the account details based on the provided request object and checks if the account belongs to the current user.
+     * The account row is locked while it is updated, so the write does not overwrite a concurrent balance change.
      *
      * @param accountId the ID of the account to update
      * @param request    the request object containing updated account details
      * @return an AccountResponse object representing the updated account
      */
+    @Transactional
     public AccountResponse updateAccountDetails(Long accountId, UpdateAccountRequest request) {
         User currentUser = authService.getCurrentUser();
-        Account account = accountRepository.findById(accountId)
-                .orElseThrow(() -> new RuntimeException("Account not found"));
+        Account account = accountRepository.findByIdForUpdate(accountId)
+                .orElseThrow(() -> new NotFoundException(ErrorCode.ACCOUNT_NOT_FOUND, "Account not found"));
 
-        if (account.getUser().getId().equals(currentUser.getId())) {
-            throw new RuntimeException("You are not authorized to update this account");
+        if (!account.getUser().getId().equals(currentUser.getId())) {
+            throw new ForbiddenException(ErrorCode.ACCOUNT_NOT_OWNED, "You are not authorized to update this account");
         }
 
-        if(request.getOwnerName() != null){
-            account.setOwnerName(account.getOwnerName());
+        if (request.getOwnerName() != null) {
+            account.setOwnerName(request.getOwnerName());
         }
 
-        if (request.getActive() != null ) {
-            account.setActive(true);
+        if (request.getActive() != null) {
+            account.setActive(request.getActive());
+        }
+
+        account = accountRepository.save(account);
+
+        return toAccountResponse(account);
+    }
+
+    /**
+     * Switches an account of the current user to hot mode.
+     * In hot mode the balance is spread over several slot rows so that concurrent incoming transfers
+     * do not serialize on a single account row.
+     *
+     * @param accountId the ID of the account to switch
+     * @param request   the request object containing the number of slots
+     * @return an AccountResponse object representing the updated account
+     */
+    @Transactional
+    public AccountResponse enableHotMode(Long accountId, HotModeRequest request) {
+        User currentUser = authService.getCurrentUser();
+        Account account = accountRepository.findById(accountId)
+                .orElseThrow(() -> new NotFoundException(ErrorCode.ACCOUNT_NOT_FOUND, "Account not found"));
+
+        if (!account.getUser().getId().equals(currentUser.getId())) {
+            throw new ForbiddenException(ErrorCode.ACCOUNT_NOT_OWNED, "You are not authorized to update this account");
+        }
+
+        return toAccountResponse(accountBalanceService.enableHotMode(accountId, request.getSlots()));
+    }
+
+    /**
+     * Subscribes to the live activity of one account of the current user.
+     *
+     * @param accountId the ID of the account
+     * @return the emitter streaming balance and transaction events
+     */
+    public SseEmitter subscribeToAccountEvents(Long accountId) {
+        User currentUser = authService.getCurrentUser();
+        Account account = accountRepository.findById(accountId)
+                .orElseThrow(() -> new NotFoundException(ErrorCode.ACCOUNT_NOT_FOUND, "Account not found"));
+
+        if (!account.getUser().getId().equals(currentUser.getId())) {
+            throw new ForbiddenException(ErrorCode.ACCOUNT_NOT_OWNED, "Account not owned by current user");
         }
+        return accountEventHub.subscribeToAccount(accountId);
+    }
 
-        accountRepository.save(new Account());
+    /**
+     * Subscribes to the live activity of all accounts of the current user.
+     *
+     * @return the emitter streaming balance and transaction events
+     */
+    public SseEmitter subscribeToUserEvents() {
+        return accountEventHub.subscribeToUser(authService.getCurrentUser().getId());
+    }
 
+    /**
+     * Converts an Account object to an AccountResponse object.
+     * The balance of a hot account is aggregated over its slots.
+     *
+     * @param account the Account object to convert
+     * @return an AccountResponse object representing the account details
+     */
+    private AccountResponse toAccountResponse(Account account) {
         return AccountResponse.builder()
                 .id(account.getId())
                 .ownerName(account.getOwnerName())
-                .balance(account.getBalance())
+                .balance(accountBalanceService.balanceOf(account))
+                .currency(account.getCurrency())
                 .active(account.getActive())
+                .hotSlots(account.getHotSlots())
                 .build();
     }
 
+    /**
+     * Converts an AccountView to an AccountResponse object.
+     *
+     * @param account the account view to convert
+     * @return an AccountResponse object representing the account details
+     */
+    private AccountResponse toAccountResponse(AccountView account) {
+        return AccountResponse.builder()
+                .id(account.id())
+                .ownerName(account.ownerName())
+                .balance(accountBalanceService.balanceOf(account))
+                .currency(account.currency())
+                .active(account.active())
+                .hotSlots(account.hotSlots())
+                .build();
+    }
+
+    private record AccountKey(int shard, Long accountId) {
+    }
+
+    private record OwnedAccount(Long userId, AccountResponse response) {
+    }
+
 }
@@ -0,0 +1,377 @@
+package com.zenvest.devx.services;
+
+import com.zenvest.devx.archive.ArchivedTransaction;
+import com.zenvest.devx.archive.ArchivedTransfer;
+import com.zenvest.devx.archive.Segment;
+import com.zenvest.devx.archive.SegmentWriter;
+import com.zenvest.devx.configs.ArchiveProperties;
+import com.zenvest.devx.constants.TransactionType;
+import com.zenvest.devx.constants.TransferStatus;
+import com.zenvest.devx.services.PartitionMaintenanceService.Partition;
+import com.zenvest.devx.sharding.ShardContext;
+import com.zenvest.devx.sharding.ShardDirectory;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Stream;
+
+/**
+ * ArchiveService moves cold monthly partitions out of the database and serves reads from them.
+ * A partition older than the retention window is streamed into immutable segment files indexed by account id,
+ * checked against the row count of the partition, and only then dropped. Transfers are written twice, indexed
+ * by source and by destination account, so both sides of a transfer can find it with a single lookup.
+ * History reads ask this service for the archived rows of the requested date range and merge them with live rows.
+ * The net amount of every archived row is folded into {@code accounts.opening_balance} so the ledger still adds up.
+ * With sharding, every shard is archived through the routed connection; the segments of a shard other than the
+ * directory shard are named after it, and reads look through the segments of every shard.
+ */
+@Slf4j
+@Service
+public class ArchiveService {
+
+    static final String TRANSACTIONS = "transactions";
+    static final String TRANSFERS_OUT = "transfers-out";
+    static final String TRANSFERS_IN = "transfers-in";
+
+    private static final String DATA_SUFFIX = ".seg";
+    private static final String INDEX_SUFFIX = ".idx";
+    private static final TransactionType[] TRANSACTION_TYPES = TransactionType.values();
+
+    private final ArchiveProperties properties;
+    private final PartitionMaintenanceService partitionMaintenanceService;
+    private final ShardDirectory shardDirectory;
+    private final JdbcTemplate jdbcTemplate;
+    private final JdbcTemplate streamingJdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final Map<String, List<Segment>> segments = new ConcurrentHashMap<>();
+
+    @Autowired
+    public ArchiveService(ArchiveProperties properties,
+                          PartitionMaintenanceService partitionMaintenanceService,
+                          ShardDirectory shardDirectory,
+                          JdbcTemplate jdbcTemplate,
+                          PlatformTransactionManager transactionManager) {
+        this.properties = properties;
+        this.partitionMaintenanceService = partitionMaintenanceService;
+        this.shardDirectory = shardDirectory;
+        this.jdbcTemplate = jdbcTemplate;
+        this.streamingJdbcTemplate = new JdbcTemplate(jdbcTemplate.getDataSource());
+        // makes MySQL Connector/J stream rows instead of buffering the whole partition
+        this.streamingJdbcTemplate.setFetchSize(Integer.MIN_VALUE);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        for (String series : List.of(TRANSACTIONS, TRANSFERS_OUT, TRANSFERS_IN)) {
+            segments.put(series, new CopyOnWriteArrayList<>());
+        }
+    }
+
+    /**
+     * Maps the segments already on disk and runs the maintenance once, so new months have partitions
+     * before the first write after a long downtime.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() throws IOException {
+        for (String series : segments.keySet()) {
+            Path directory = directory(series);
+            if (!Files.isDirectory(directory)) {
+                continue;
+            }
+            try (Stream<Path> files = Files.list(directory)) {
+                for (Path index : files.filter(path -> path.toString().endsWith(INDEX_SUFFIX)).toList()) {
+                    String name = index.getFileName().toString();
+                    Path data = index.resolveSibling(name.substring(0, name.length() - INDEX_SUFFIX.length()) + DATA_SUFFIX);
+                    register(series, Segment.open(data, index));
+                }
+            }
+        }
+        log.info("Mapped {} archive segments", segments.values().stream().mapToInt(List::size).sum());
+        runMaintenance();
+    }
+
+    /**
+     * Creates the upcoming monthly partitions and archives the ones past retention.
+     */
+    @Scheduled(cron = "${zenvest.archive.cron:0 30 2 * * *}")
+    public void runMaintenance() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        LocalDate currentMonth = LocalDate.now().withDayOfMonth(1);
+        shardDirectory.forEachShard(() ->
+                partitionMaintenanceService.ensureMonthlyPartitions(currentMonth.plusMonths(properties.getPartitionsAhead())));
+
+        LocalDate cutoff = currentMonth.minusMonths(properties.getRetentionMonths());
+        shardDirectory.forEachShard(() -> archive(cutoff));
+    }
+
+    private void archive(LocalDate cutoff) {
+        try {
+            for (Partition partition : expired(TRANSACTIONS, cutoff)) {
+                archiveTransactions(partition);
+            }
+            for (Partition partition : expired("transfers", cutoff)) {
+                archiveTransfers(partition);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Archival of shard " + ShardContext.current() + " failed", e);
+        }
+    }
+
+    /**
+     * Returns the archived transactions of an account, oldest first.
+     *
+     * @param accountId the ID of the account
+     * @param from      the first instant to include, or null for no lower bound
+     * @param to        the first instant to exclude, or null for no upper bound
+     * @return the archived transactions in the range
+     */
+    public List<ArchivedTransaction> findTransactions(Long accountId, LocalDateTime from, LocalDateTime to) {
+        List<ArchivedTransaction> result = new ArrayList<>();
+        for (Segment segment : overlapping(TRANSACTIONS, from, to)) {
+            readBlock(segment, accountId, in -> {
+                ArchivedTransaction transaction = ArchivedTransaction.readFrom(in);
+                if (inRange(transaction.timestamp(), from, to)) {
+                    result.add(transaction);
+                }
+            });
+        }
+        result.sort(Comparator.comparing(ArchivedTransaction::timestamp).thenComparingLong(ArchivedTransaction::id));
+        return result;
+    }
+
+    /**
+     * Returns the archived transfers sent or received by any of the given accounts, oldest first.
+     *
+     * @param accountIds the IDs of the accounts
+     * @param from       the first instant to include, or null for no lower bound
+     * @param to         the first instant to exclude, or null for no upper bound
+     * @return the archived transfers in the range, each transfer once
+     */
+    public List<ArchivedTransfer> findTransfers(Collection<Long> accountIds, LocalDateTime from, LocalDateTime to) {
+        Map<Long, ArchivedTransfer> result = new LinkedHashMap<>();
+        for (String series : List.of(TRANSFERS_OUT, TRANSFERS_IN)) {
+            for (Segment segment : overlapping(series, from, to)) {
+                for (Long accountId : accountIds) {
+                    readBlock(segment, accountId, in -> {
+                        ArchivedTransfer transfer = ArchivedTransfer.readFrom(in, segment.version());
+                        if (inRange(transfer.timestamp(), from, to)) {
+                            result.putIfAbsent(transfer.id(), transfer);
+                        }
+                    });
+                }
+            }
+        }
+        List<ArchivedTransfer> transfers = new ArrayList<>(result.values());
+        transfers.sort(Comparator.comparing(ArchivedTransfer::timestamp).thenComparingLong(ArchivedTransfer::id));
+        return transfers;
+    }
+
+    private List<Partition> expired(String table, LocalDate cutoff) {
+        return partitionMaintenanceService.partitions(table).stream()
+                .filter(partition -> partition.upperBound() != null && !partition.upperBound().isAfter(cutoff))
+                .toList();
+    }
+
+    private void archiveTransactions(Partition partition) throws IOException {
+        long expected = count(partition, "");
+        try (SegmentWriter writer = writer(TRANSACTIONS, partition)) {
+            streamingJdbcTemplate.query("select id, account_id, amount, transaction_type, description, timestamp from "
+                            + partitionMaintenanceService.from(partition) + " order by account_id, id",
+                    rs -> { write(writer, rs.getLong(2), toArchivedTransaction(rs)); });
+            finish(TRANSACTIONS, partition, writer, expected);
+        }
+        foldIntoOpeningBalances(partition, "select account_id, sum(case transaction_type when "
+                + TransactionType.DEPOSIT.ordinal() + " then amount when " + TransactionType.WITHDRAWAL.ordinal()
+                + " then -amount else 0 end) from " + partitionMaintenanceService.from(partition) + " group by account_id");
+        partitionMaintenanceService.drop(partition);
+        log.info("Archived {} transactions of partition {}", expected, segmentName(partition));
+    }
+
+    private void archiveTransfers(Partition partition) throws IOException {
+        long pending = count(partition, " where status = 'PENDING'");
+        if (pending > 0) {
+            log.warn("Partition {} of transfers still has {} pending transfers, not archiving it", partition.name(), pending);
+            return;
+        }
+        long expected = count(partition, "");
+        String select = "select id, from_account_id, to_account_id, amount, description, timestamp, status, failure_reason,"
+                + " coalesce(credited_amount, amount), coalesce(fx_rate, 1), fx_snapshot_id from "
+                + partitionMaintenanceService.from(partition);
+        try (SegmentWriter writer = writer(TRANSFERS_OUT, partition)) {
+            streamingJdbcTemplate.query(select + " order by from_account_id, id",
+                    rs -> { write(writer, rs.getLong(2), toArchivedTransfer(rs)); });
+            finish(TRANSFERS_OUT, partition, writer, expected);
+        }
+        try (SegmentWriter writer = writer(TRANSFERS_IN, partition)) {
+            streamingJdbcTemplate.query(select + " order by to_account_id, id",
+                    rs -> { write(writer, rs.getLong(3), toArchivedTransfer(rs)); });
+            finish(TRANSFERS_IN, partition, writer, expected);
+        }
+        String completed = " where status = 'COMPLETED' or status is null";
+        foldIntoOpeningBalances(partition, "select account_id, sum(net) from ("
+                + "select from_account_id as account_id, -amount as net from " + partitionMaintenanceService.from(partition) + completed
+                + " union all select to_account_id, coalesce(credited_amount, amount) from " + partitionMaintenanceService.from(partition) + completed
+                + ") legs group by account_id");
+        partitionMaintenanceService.drop(partition);
+        log.info("Archived {} transfers of partition {}", expected, segmentName(partition));
+    }
+
+    /**
+     * Adds the net amount per account of a partition to the opening balances, once per partition.
+     * The partition is recorded in the same transaction, so a run interrupted before the drop does not fold it twice.
+     */
+    private void foldIntoOpeningBalances(Partition partition, String netByAccountSql) {
+        transactionTemplate.executeWithoutResult(status -> {
+            Long folded = jdbcTemplate.queryForObject(
+                    "select count(*) from archived_partitions where table_name = ? and partition_name = ?",
+                    Long.class, partition.table(), partition.name());
+            if (folded != null && folded > 0) {
+                return;
+            }
+            List<Object[]> updates = jdbcTemplate.query(netByAccountSql,
+                    (rs, rowNum) -> new Object[]{rs.getDouble(2), rs.getLong(1)});
+            jdbcTemplate.batchUpdate("update accounts set opening_balance = opening_balance + ? where id = ?", updates);
+            jdbcTemplate.update("insert into archived_partitions (table_name, partition_name, archived_at) values (?, ?, now(6))",
+                    partition.table(), partition.name());
+        });
+    }
+
+    private long count(Partition partition, String where) {
+        Long count = jdbcTemplate.queryForObject(
+                "select count(*) from " + partitionMaintenanceService.from(partition) + where, Long.class);
+        return count == null ? 0 : count;
+    }
+
+    private SegmentWriter writer(String series, Partition partition) throws IOException {
+        long lower = partition.lowerBound() == null ? Long.MIN_VALUE : partition.lowerBound().toEpochDay();
+        return new SegmentWriter(dataPath(series, segmentName(partition)), indexPath(series, segmentName(partition)),
+                lower, partition.upperBound().toEpochDay());
+    }
+
+    private void write(SegmentWriter writer, long key, ArchivedTransaction transaction) {
+        try {
+            transaction.writeTo(writer.record(key));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void write(SegmentWriter writer, long key, ArchivedTransfer transfer) {
+        try {
+            transfer.writeTo(writer.record(key));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Commits a segment only when it holds every row of the partition, then makes it visible to readers
+     * before the partition is dropped.
+     */
+    private void finish(String series, Partition partition, SegmentWriter writer, long expected) throws IOException {
+        if (writer.records() != expected) {
+            throw new IOException("Partition " + partition.name() + " changed while archiving: expected "
+                    + expected + " rows, wrote " + writer.records());
+        }
+        writer.commit();
+        register(series, Segment.open(dataPath(series, segmentName(partition)), indexPath(series, segmentName(partition))));
+    }
+
+    private void register(String series, Segment segment) {
+        List<Segment> list = segments.get(series);
+        list.removeIf(existing -> existing.path().equals(segment.path()));
+        list.add(segment);
+    }
+
+    private List<Segment> overlapping(String series, LocalDateTime from, LocalDateTime to) {
+        long fromDay = from == null ? Long.MIN_VALUE : from.toLocalDate().toEpochDay();
+        long toDay = to == null ? Long.MAX_VALUE : to.toLocalDate().toEpochDay();
+        return segments.get(series).stream()
+                .filter(segment -> segment.upperEpochDay() > fromDay && segment.lowerEpochDay() <= toDay)
+                .toList();
+    }
+
+    private void readBlock(Segment segment, long key, RecordReader reader) {
+        try {
+            byte[] block = segment.read(key);
+            if (block == null) {
+                return;
+            }
+            DataInputStream in = new DataInputStream(new ByteArrayInputStream(block));
+            while (in.available() > 0) {
+                reader.read(in);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot read archive segment " + segment.path(), e);
+        }
+    }
+
+    private static boolean inRange(LocalDateTime timestamp, LocalDateTime from, LocalDateTime to) {
+        return (from == null || !timestamp.isBefore(from)) && (to == null || timestamp.isBefore(to));
+    }
+
+    private static ArchivedTransaction toArchivedTransaction(ResultSet rs) throws SQLException {
+        int type = rs.getInt(4);
+        TransactionType transactionType = rs.wasNull() ? null : TRANSACTION_TYPES[type];
+        return new ArchivedTransaction(rs.getLong(1), rs.getLong(2), rs.getDouble(3), transactionType,
+                rs.getString(5), rs.getObject(6, LocalDateTime.class));
+    }
+
+    private static ArchivedTransfer toArchivedTransfer(ResultSet rs) throws SQLException {
+        String status = rs.getString(7);
+        return new ArchivedTransfer(rs.getLong(1), rs.getLong(2), rs.getLong(3), rs.getDouble(4),
+                rs.getString(5), rs.getObject(6, LocalDateTime.class),
+                status == null ? null : TransferStatus.valueOf(status), rs.getString(8),
+                rs.getDouble(9), rs.getDouble(10), rs.getObject(11, Long.class));
+    }
+
+    private Path directory(String series) {
+        return Paths.get(properties.getDirectory(), series);
+    }
+
+    /**
+     * Names the segment of a partition on the current shard; the directory shard keeps the bare partition name.
+     */
+    private static String segmentName(Partition partition) {
+        int shard = ShardContext.current();
+        return shard == ShardContext.DIRECTORY_SHARD ? partition.name() : "shard" + shard + "-" + partition.name();
+    }
+
+    private Path dataPath(String series, String partition) {
+        return directory(series).resolve(partition + DATA_SUFFIX);
+    }
+
+    private Path indexPath(String series, String partition) {
+        return directory(series).resolve(partition + INDEX_SUFFIX);
+    }
+
+    @FunctionalInterface
+    private interface RecordReader {
+        void read(DataInputStream in) throws IOException;
+    }
+}
@@ -0,0 +1,257 @@
+package com.zenvest.devx.services;
+
+import com.zenvest.devx.constants.AccountActivityType;
+import com.zenvest.devx.constants.ErrorCode;
+import com.zenvest.devx.constants.TransferStatus;
+import com.zenvest.devx.dtos.inputs.TransferRequest;
+import com.zenvest.devx.dtos.outputs.TransferStatusResponse;
+import com.zenvest.devx.dtos.projections.TransferStatusView;
+import com.zenvest.devx.events.AccountActivityPublisher;
+import com.zenvest.devx.events.OutboxWriter;
+import com.zenvest.devx.exceptions.InvalidOperationException;
+import com.zenvest.devx.exceptions.NotFoundException;
+import com.zenvest.devx.exceptions.TooManyRequestsException;
+import com.zenvest.devx.models.Account;
+import com.zenvest.devx.models.Transfer;
+import com.zenvest.devx.models.User;
+import com.zenvest.devx.repositories.AccountRepository;
+import com.zenvest.devx.repositories.TransferRepository;
+import com.zenvest.devx.sharding.ShardContext;
+import com.zenvest.devx.sharding.ShardDirectory;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * AsyncTransferService accepts transfers for background execution.
+ * A request is validated and stored as PENDING, then executed by the {@link TransferWorkerPool} partition
+ * of its source account. Balances are changed with single UPDATE statements, so no account row is locked
+ * for longer than one statement. Pending transfers left over by a restart are queued again at startup.
+ * Both accounts must live on the same shard; the worker runs on the shard the transfer was submitted on.
+ */
+@Slf4j
+@Service
+public class AsyncTransferService {
+
+    private final AuthService authService;
+    private final TransactionService transactionService;
+    private final AccountBalanceService accountBalanceService;
+    private final AccountRepository accountRepository;
+    private final TransferRepository transferRepository;
+    private final TransferWorkerPool workerPool;
+    private final AccountActivityPublisher activityPublisher;
+    private final OutboxWriter outboxWriter;
+    private final VelocityService velocityService;
+    private final FxRateService fxRateService;
+    private final ShardDirectory shardDirectory;
+    private final TransactionTemplate transactionTemplate;
+
+    @Autowired
+    public AsyncTransferService(AuthService authService,
+                                TransactionService transactionService,
+                                AccountBalanceService accountBalanceService,
+                                AccountRepository accountRepository,
+                                TransferRepository transferRepository,
+                                TransferWorkerPool workerPool,
+                                AccountActivityPublisher activityPublisher,
+                                OutboxWriter outboxWriter,
+                                VelocityService velocityService,
+                                FxRateService fxRateService,
+                                ShardDirectory shardDirectory,
+                                PlatformTransactionManager transactionManager) {
+        this.authService = authService;
+        this.transactionService = transactionService;
+        this.accountBalanceService = accountBalanceService;
+        this.accountRepository = accountRepository;
+        this.transferRepository = transferRepository;
+        this.workerPool = workerPool;
+        this.activityPublisher = activityPublisher;
+        this.outboxWriter = outboxWriter;
+        this.velocityService = velocityService;
+        this.fxRateService = fxRateService;
+        this.shardDirectory = shardDirectory;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Validates a transfer, stores it as PENDING and queues it for execution.
+     * The debited amount is fixed now; a cross-currency credit is converted when the transfer executes.
+     *
+     * @param request the request object containing transfer details
+     * @return a TransferStatusResponse object representing the pending transfer
+     */
+    public TransferStatusResponse submitTransfer(TransferRequest request) {
+        if (shardDirectory.isOnOtherShard(request.getToAccountId())) {
+            throw new InvalidOperationException(ErrorCode.CROSS_SHARD_TRANSFER_NOT_SUPPORTED,
+                    "Asynchronous transfers to this account are not supported, use a direct transfer");
+        }
+        Submitted submitted = transactionTemplate.execute(status -> {
+            Account from = transactionService.getUserOwnedAccount(request.getFromAccountId());
+            Account to = accountRepository.findById(request.getToAccountId())
+                    .orElseThrow(() -> new NotFoundException(ErrorCode.ACCOUNT_NOT_FOUND, "Destination account not found"));
+
+            if (from.getId().equals(to.getId())) {
+                throw new InvalidOperationException(ErrorCode.SAME_ACCOUNT_TRANSFER, "Cannot transfer to the same account");
+            }
+
+            FxConversion conversion = fxRateService.convert(from.getCurrency(), to.getCurrency(),
+                    request.getAmount(), request.getCurrency());
+            VelocityService.Usage usage = velocityService.checkOutgoing(from.getId(), conversion.debitAmount(), to.getId());
+            return new Submitted(transferRepository.save(Transfer.builder()
+                    .amount(conversion.debitAmount())
+                    .description(request.getDescription())
+                    .timestamp(LocalDateTime.now())
+                    .fromAccount(from)
+                    .toAccount(to)
+                    .status(TransferStatus.PENDING)
+                    .build()), usage);
+        });
+
+        Long transferId = submitted.transfer().getId();
+        VelocityService.Usage usage = submitted.usage();
+        if (!workerPool.offer(request.getFromAccountId(), ShardContext.wrap(() -> execute(transferId, usage)))) {
+            markFailed(transferId, "Transfer queue is full");
+            velocityService.release(usage);
+            throw new TooManyRequestsException("Transfer queue is full, please retry later", 1);
+        }
+        return toTransferStatusResponse(submitted.transfer());
+    }
+
+    /**
+     * Retrieves the status of a transfer sent or received by the current user.
+     *
+     * @param transferId the ID of the transfer
+     * @return a TransferStatusResponse object representing the transfer
+     */
+    @Transactional(readOnly = true)
+    public TransferStatusResponse getTransferStatus(Long transferId) {
+        User currentUser = authService.getCurrentUser();
+        TransferStatusView transfer = transferRepository.findStatusViewById(transferId)
+                .orElseThrow(() -> new NotFoundException(ErrorCode.TRANSFER_NOT_FOUND, "Transfer not found"));
+
+        if (!transfer.fromUserId().equals(currentUser.getId()) && !transfer.toUserId().equals(currentUser.getId())) {
+            throw new NotFoundException(ErrorCode.TRANSFER_NOT_FOUND, "Transfer not found");
+        }
+        return TransferStatusResponse.builder()
+                .id(transfer.id())
+                .fromAccountId(transfer.fromAccountId())
+                .toAccountId(transfer.toAccountId())
+                .amount(transfer.amount())
+                .creditedAmount(transfer.creditedAmount())
+                .description(transfer.description())
+                .status(transfer.status())
+                .failureReason(transfer.failureReason())
+                .timestamp(transfer.timestamp())
+                .build();
+    }
+
+    /**
+     * Queues every PENDING transfer again after a restart, in submission order, on every shard.
+     * Recovery runs on its own thread: it waits for space in full partition queues, which must not hold up
+     * the startup of the application.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void recoverPendingTransfers() {
+        Thread recovery = new Thread(() -> shardDirectory.forEachShard(this::recoverPendingTransfersOnShard),
+                "transfer-recovery");
+        recovery.setDaemon(true);
+        recovery.start();
+    }
+
+    private void recoverPendingTransfersOnShard() {
+        List<Transfer> pending = transferRepository.findByStatusOrderByIdAsc(TransferStatus.PENDING);
+        for (Transfer transfer : pending) {
+            Long transferId = transfer.getId();
+            try {
+                workerPool.put(transfer.getFromAccount().getId(), ShardContext.wrap(() -> execute(transferId, null)));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+        if (!pending.isEmpty()) {
+            log.info("Recovered {} pending transfers", pending.size());
+        }
+    }
+
+    /**
+     * Executes a pending transfer on its partition worker.
+     * The velocity usage counted at submission is released if the transfer fails; it is null for a transfer
+     * recovered after a restart, whose usage was not replayed.
+     */
+    private void execute(Long transferId, VelocityService.Usage usage) {
+        try {
+            Boolean completed = transactionTemplate.execute(status -> {
+                Transfer transfer = transferRepository.findById(transferId).orElse(null);
+                if (transfer == null || transfer.getStatus() != TransferStatus.PENDING) {
+                    return true;
+                }
+
+                Account from = transfer.getFromAccount();
+                Account to = transfer.getToAccount();
+                FxConversion conversion = fxRateService.convert(from.getCurrency(), to.getCurrency(),
+                        transfer.getAmount(), null);
+                if (!accountBalanceService.tryDebitInPlace(from, transfer.getAmount())) {
+                    transfer.setStatus(TransferStatus.FAILED);
+                    transfer.setFailureReason("Insufficient balance in source account");
+                    outboxWriter.transferRecorded(transfer);
+                    return false;
+                }
+                accountBalanceService.creditInPlace(to, conversion.creditAmount());
+                transfer.setCreditedAmount(conversion.creditAmount());
+                transfer.setFxRate(conversion.rate());
+                transfer.setFxSnapshotId(conversion.snapshotId());
+                transfer.setStatus(TransferStatus.COMPLETED);
+
+                outboxWriter.transferRecorded(transfer);
+                activityPublisher.publish(from, AccountActivityType.TRANSFER_OUT, transfer.getAmount(),
+                        accountBalanceService.currentBalanceOf(from), transfer.getDescription(), transfer.getTimestamp());
+                activityPublisher.publish(to, AccountActivityType.TRANSFER_IN, transfer.getCreditedAmount(),
+                        accountBalanceService.currentBalanceOf(to), transfer.getDescription(), transfer.getTimestamp());
+                return true;
+            });
+            if (!Boolean.TRUE.equals(completed)) {
+                velocityService.release(usage);
+            }
+        } catch (RuntimeException e) {
+            log.warn("Asynchronous transfer {} failed", transferId, e);
+            markFailed(transferId, e.getMessage());
+            velocityService.release(usage);
+        }
+    }
+
+    private void markFailed(Long transferId, String reason) {
+        transactionTemplate.executeWithoutResult(status -> transferRepository.findById(transferId)
+                .filter(transfer -> transfer.getStatus() == TransferStatus.PENDING)
+                .ifPresent(transfer -> {
+                    transfer.setStatus(TransferStatus.FAILED);
+                    transfer.setFailureReason(reason);
+                    outboxWriter.transferRecorded(transfer);
+                }));
+    }
+
+    private TransferStatusResponse toTransferStatusResponse(Transfer transfer) {
+        return TransferStatusResponse.builder()
+                .id(transfer.getId())
+                .fromAccountId(transfer.getFromAccount().getId())
+                .toAccountId(transfer.getToAccount().getId())
+                .amount(transfer.getAmount())
+                .creditedAmount(transfer.getCreditedAmount())
+                .description(transfer.getDescription())
+                .status(transfer.getStatus())
+                .failureReason(transfer.getFailureReason())
+                .timestamp(transfer.getTimestamp())
+                .build();
+    }
+
+    private record Submitted(Transfer transfer, VelocityService.Usage usage) {
+    }
+}
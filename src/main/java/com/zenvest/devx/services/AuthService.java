@@ -1,21 +1,29 @@
 package com.zenvest.devx.services;
 
+import com.zenvest.devx.configs.AdminProperties;
+import com.zenvest.devx.constants.ErrorCode;
 import com.zenvest.devx.dtos.inputs.LoginRequest;
 import com.zenvest.devx.dtos.inputs.RegisterRequest;
 import com.zenvest.devx.dtos.outputs.TokenResponse;
 import com.zenvest.devx.dtos.outputs.UserResponse;
+import com.zenvest.devx.exceptions.UnauthorizedException;
 import com.zenvest.devx.models.User;
+import com.zenvest.devx.monitoring.CurrentUserLookupEvent;
 import com.zenvest.devx.repositories.UserRepository;
 import com.zenvest.devx.utils.JwtService;
+import io.jsonwebtoken.Claims;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
 import org.springframework.stereotype.Service;
 
 import javax.naming.AuthenticationException;
+import java.util.List;
 import java.util.Optional;
+import java.util.function.Function;
 
 /**
  * AuthService handles all authentication-related operations.
@@ -24,22 +32,30 @@ import java.util.Optional;
 @Service
 public class AuthService {
 
-    private final BCryptPasswordEncoder passwordEncoder;
+    private final PasswordHashingService passwordHashingService;
     private final UserRepository userRepository;
     private final JwtService jwtService;
+    private final TokenRevocationService tokenRevocationService;
+    private final AdminProperties adminProperties;
 
     @Autowired
-    public AuthService(BCryptPasswordEncoder passwordEncoder, UserRepository userRepository, JwtService jwtService) {
-        this.passwordEncoder = passwordEncoder;
+    public AuthService(PasswordHashingService passwordHashingService,
+                       UserRepository userRepository,
+                       JwtService jwtService,
+                       TokenRevocationService tokenRevocationService,
+                       AdminProperties adminProperties) {
+        this.passwordHashingService = passwordHashingService;
         this.userRepository = userRepository;
         this.jwtService = jwtService;
+        this.tokenRevocationService = tokenRevocationService;
+        this.adminProperties = adminProperties;
     }
 
     /**
      * Registers a new user.
      * This method is responsible for registering a new user. It checks if the password is valid, if the username and email are already in use,
      * and if not, it creates a new User object, sets its properties, and returns a UserResponse object with the user's details.
-     * And user passwords need to be encrypted using BCryptPasswordEncoder
+     * And user passwords need to be encrypted using BCrypt, on the dedicated {@link PasswordHashingService} pool
      *
      * @param registerRequest the registration request containing user details
      * @return the registered user's response
@@ -52,10 +68,10 @@ public class AuthService {
 
         User user = new User();
         user.setEmail(registerRequest.getEmail());
-        user.setPassword(registerRequest.getPassword());
+        user.setPassword(passwordHashingService.encode(registerRequest.getPassword()));
         user.setUsername(registerRequest.getUsername());
 
-        user = userRepository.save(new User());
+        user = userRepository.save(user);
 
         return UserResponse.builder()
                 .id(user.getId())
@@ -68,7 +84,9 @@ public class AuthService {
     /**
      * Authenticates a user.
      * This method is responsible for authenticating a user. It checks if the user exists in the database,
-     * verifies the password, and if valid, generates a JWT token for the user
+     * verifies the password, and if valid, generates a JWT token for the user.
+     * The subject of the token is the user's email, which is unique and is how the user is looked up again.
+     * Users listed in {@code zenvest.security.admin.emails} get the ADMIN role in their token.
      *
      * @param request the login request containing user credentials
      * @return the token response containing the JWT token
@@ -77,48 +95,90 @@ public class AuthService {
         Optional<User> userOptional = userRepository.findByEmail(request.getEmail());
 
         if (userOptional.isEmpty()) {
-            throw new IllegalArgumentException("Invalid email or password");
+            throw new UnauthorizedException(ErrorCode.INVALID_CREDENTIALS, "Invalid email or password");
         }
 
         User user = userOptional.get();
 
-        if (request.getPassword().equals(user.getPassword())) {
-            throw new IllegalArgumentException("Invalid email or password");
+        if (!passwordHashingService.matches(request.getPassword(), user.getPassword())) {
+            throw new UnauthorizedException(ErrorCode.INVALID_CREDENTIALS, "Invalid email or password");
         }
 
-        String accessToken = jwtService.buildToken(user.getUsername());
-        return new TokenResponse(null);
+        String accessToken = jwtService.buildToken(user.getEmail(), rolesOf(user));
+        return new TokenResponse(accessToken);
     }
 
     /**
      * Refreshes the JWT token.
      * This method is responsible for refreshing the JWT token. It checks if the refresh token is valid,
-     * and if so, generates a new access token for the user
+     * and if so, generates a new access token for the user. A revoked token, or a token issued before a
+     * revoke-all of its user, cannot be refreshed. The roles of the refresh token carry over to the new token.
      *
      * @param refreshToken the refresh token to be validated
      * @return the token response containing the new access token
      */
     public TokenResponse refreshToken(String refreshToken) throws AuthenticationException {
         boolean isValid = jwtService.isTokenValid(refreshToken);
-        if (!isValid) {
-            String username = jwtService.extractUsername(refreshToken);
-            String newToken = jwtService.buildToken(username);
+        if (isValid) {
+            Claims claims = jwtService.extractClaim(refreshToken, Function.identity());
+            if (tokenRevocationService.isRevoked(claims.getId(), claims.getSubject(),
+                    claims.getIssuedAt() == null ? null : claims.getIssuedAt().toInstant())) {
+                throw new AuthenticationException("Refresh token has been revoked");
+            }
+            String newToken = jwtService.buildToken(claims.getSubject(), jwtService.extractRoles(claims));
             return new TokenResponse(newToken);
         }
         throw new AuthenticationException("Invalid refresh token");
     }
 
+    /**
+     * Logs the current user out.
+     * This method revokes the access token used for the current request until it expires.
+     */
+    public void logout() {
+        Jwt token = currentToken();
+        if (token.getId() == null) {
+            // tokens issued before jtis were added can only be revoked per user
+            tokenRevocationService.revokeAll(token.getSubject());
+            return;
+        }
+        tokenRevocationService.revoke(token.getId(), token.getExpiresAt());
+    }
+
+    /**
+     * Revokes every access token of the current user.
+     * This method is used to sign the user out of all devices; tokens issued afterwards are not affected.
+     */
+    public void revokeAllTokens() {
+        tokenRevocationService.revokeAll(currentToken().getSubject());
+    }
+
     /**
      * Retrieves the currently authenticated user.
-     * This method is responsible for retrieving the currently authenticated user from the security context.
+     * This method is responsible for retrieving the currently authenticated user from the security context,
+     * by the email in the subject of the token.
      *
      * @return the currently authenticated user
      */
     public User getCurrentUser() {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        String username = authentication.getName();
-        return userRepository.findByEmail(username)
-                .orElseThrow(() -> new UsernameNotFoundException("User not found"));
+        String email = authentication.getName();
+        CurrentUserLookupEvent event = new CurrentUserLookupEvent();
+        event.begin();
+        Optional<User> user = userRepository.findByEmail(email);
+        event.end(user.isPresent());
+        return user.orElseThrow(() -> new UsernameNotFoundException("User not found"));
+    }
+
+    private List<String> rolesOf(User user) {
+        return adminProperties.getEmails().contains(user.getEmail()) ? List.of("ADMIN") : List.of();
     }
 
+    private Jwt currentToken() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (!(authentication instanceof JwtAuthenticationToken jwtAuthentication)) {
+            throw new IllegalStateException("No bearer token in the current request");
+        }
+        return jwtAuthentication.getToken();
+    }
 }
@@ -0,0 +1,150 @@
+package com.zenvest.devx.services;
+
+import com.zenvest.devx.constants.TransactionType;
+import com.zenvest.devx.constants.TransferStatus;
+import com.zenvest.devx.dtos.outputs.DashboardAccountResponse;
+import com.zenvest.devx.dtos.outputs.TransactionResponse;
+import com.zenvest.devx.dtos.outputs.TransferHistoryResponse;
+import com.zenvest.devx.models.User;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * DashboardService builds the home screen of a user: every account with its latest transactions and transfers.
+ * The data is read with three queries whatever the number of accounts. The latest rows of each account come from
+ * LATERAL derived tables that walk the (account_id, timestamp) indexes newest first and stop after N rows, so an
+ * account's older history is never read. All three queries share one read-only transaction and see the same snapshot.
+ */
+@Service
+public class DashboardService {
+
+    private static final TransactionType[] TRANSACTION_TYPES = TransactionType.values();
+
+    private static final String SELECT_ACCOUNTS = """
+            select a.id, a.owner_name, a.balance, a.active, a.hot_slots, a.currency,
+                   (select coalesce(sum(s.balance), 0) from account_balance_slots s where s.account_id = a.id)
+            from accounts a
+            where a.user_id = ?
+            order by a.id""";
+
+    private static final String SELECT_RECENT_TRANSACTIONS = """
+            select a.id, t.id, t.amount, t.transaction_type, t.description, t.timestamp
+            from accounts a
+            cross join lateral (
+                select id, amount, transaction_type, description, timestamp
+                from transactions
+                where account_id = a.id
+                order by timestamp desc, id desc
+                limit ?
+            ) t
+            where a.user_id = ?
+            order by a.id, t.timestamp desc, t.id desc""";
+
+    private static final String SELECT_RECENT_TRANSFERS = """
+            select a.id, t.id, t.amount, t.credited_amount, t.description, t.timestamp, t.status,
+                   fa.owner_name, ta.owner_name
+            from accounts a
+            cross join lateral (
+                (select id, from_account_id, to_account_id, amount, credited_amount, description, timestamp, status
+                 from transfers where from_account_id = a.id order by timestamp desc, id desc limit ?)
+                union all
+                (select id, from_account_id, to_account_id, amount, credited_amount, description, timestamp, status
+                 from transfers where to_account_id = a.id order by timestamp desc, id desc limit ?)
+                order by timestamp desc, id desc
+                limit ?
+            ) t
+            join accounts fa on fa.id = t.from_account_id
+            join accounts ta on ta.id = t.to_account_id
+            where a.user_id = ?
+            order by a.id, t.timestamp desc, t.id desc""";
+
+    private final AuthService authService;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate readOnlyTemplate;
+
+    @Value("${zenvest.dashboard.max-recent:50}")
+    private int maxRecent;
+
+    @Autowired
+    public DashboardService(AuthService authService, JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager) {
+        this.authService = authService;
+        this.jdbcTemplate = jdbcTemplate;
+        this.readOnlyTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTemplate.setReadOnly(true);
+    }
+
+    /**
+     * Retrieves every account of the current user with its latest transactions and transfers, newest first.
+     *
+     * @param recent the number of transactions and of transfers to return per account
+     * @return a list of DashboardAccountResponse objects, one per account
+     */
+    public List<DashboardAccountResponse> getDashboardForCurrentUser(int recent) {
+        if (recent < 1 || recent > maxRecent) {
+            throw new IllegalArgumentException("recent must be between 1 and " + maxRecent);
+        }
+        User currentUser = authService.getCurrentUser();
+        Long userId = currentUser.getId();
+
+        return readOnlyTemplate.execute(status -> {
+            Map<Long, DashboardAccountResponse> accounts = new LinkedHashMap<>();
+            jdbcTemplate.query(SELECT_ACCOUNTS, rs -> {
+                int hotSlots = rs.getInt(5);
+                boolean hot = !rs.wasNull() && hotSlots > 0;
+                accounts.put(rs.getLong(1), DashboardAccountResponse.builder()
+                        .id(rs.getLong(1))
+                        .ownerName(rs.getString(2))
+                        .balance(hot ? rs.getDouble(7) : rs.getObject(3, Double.class))
+                        .active(rs.getObject(4, Boolean.class))
+                        .hotSlots(hot ? hotSlots : null)
+                        .currency(rs.getString(6))
+                        .recentTransactions(new ArrayList<>(recent))
+                        .recentTransfers(new ArrayList<>(recent))
+                        .build());
+            }, userId);
+            if (accounts.isEmpty()) {
+                return List.of();
+            }
+
+            jdbcTemplate.query(SELECT_RECENT_TRANSACTIONS, rs -> {
+                DashboardAccountResponse account = accounts.get(rs.getLong(1));
+                int type = rs.getInt(4);
+                TransactionType transactionType = rs.wasNull() ? null : TRANSACTION_TYPES[type];
+                account.getRecentTransactions().add(TransactionResponse.builder()
+                        .id(rs.getLong(2))
+                        .amount(rs.getDouble(3))
+                        .transactionType(transactionType)
+                        .description(rs.getString(5))
+                        .timestamp(rs.getObject(6, LocalDateTime.class))
+                        .accountBalance(account.getBalance())
+                        .build());
+            }, recent, userId);
+
+            jdbcTemplate.query(SELECT_RECENT_TRANSFERS, rs -> {
+                String transferStatus = rs.getString(7);
+                accounts.get(rs.getLong(1)).getRecentTransfers().add(TransferHistoryResponse.builder()
+                        .id(rs.getLong(2))
+                        .amount(rs.getDouble(3))
+                        .creditedAmount(rs.getObject(4, Double.class))
+                        .description(rs.getString(5))
+                        .timestamp(rs.getObject(6, LocalDateTime.class))
+                        .status(transferStatus == null ? null : TransferStatus.valueOf(transferStatus))
+                        .fromAccountOwnerName(rs.getString(8))
+                        .toAccountOwnerName(rs.getString(9))
+                        .build());
+            }, recent, recent, recent, userId);
+
+            return new ArrayList<>(accounts.values());
+        });
+    }
+}
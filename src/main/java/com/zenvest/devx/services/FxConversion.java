@@ -0,0 +1,12 @@
+package com.zenvest.devx.services;
+
+/**
+ * The amounts of a transfer between two accounts after currency conversion.
+ *
+ * @param debitAmount  the amount taken from the source account, in its currency
+ * @param creditAmount the amount added to the destination account, in its currency
+ * @param rate         units of the destination currency per unit of the source currency
+ * @param snapshotId   the exchange-rate snapshot used, or null for a same-currency transfer
+ */
+public record FxConversion(double debitAmount, double creditAmount, double rate, Long snapshotId) {
+}
@@ -0,0 +1,186 @@
+package com.zenvest.devx.services;
+
+import com.zenvest.devx.configs.FxProperties;
+import com.zenvest.devx.exceptions.ServiceUnavailableException;
+import com.zenvest.devx.models.FxRateSnapshot;
+import com.zenvest.devx.repositories.FxRateSnapshotRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+
+/**
+ * FxRateService converts transfer amounts between account currencies.
+ * Rates live in an immutable table that is replaced as a whole when the rates change, so a conversion is a
+ * volatile read and two map lookups with no lock and no DB access. Every table is stored in
+ * {@code fx_rate_snapshots} before it is published, and its id is recorded on the transfers converted with it.
+ */
+@Slf4j
+@Service
+public class FxRateService {
+
+    private static final long RETRY_AFTER_SECONDS = 60;
+
+    private final FxProperties properties;
+    private final FxRateSnapshotRepository snapshotRepository;
+    private final AtomicReference<RateTable> current = new AtomicReference<>();
+
+    @Autowired
+    public FxRateService(FxProperties properties, FxRateSnapshotRepository snapshotRepository) {
+        this.properties = properties;
+        this.snapshotRepository = snapshotRepository;
+    }
+
+    @PostConstruct
+    void init() {
+        refresh();
+    }
+
+    /**
+     * Returns the currency of new accounts that do not ask for one.
+     */
+    public String baseCurrency() {
+        return normalize(properties.getBaseCurrency());
+    }
+
+    /**
+     * Checks if accounts may be opened in a currency.
+     *
+     * @param currency the ISO 4217 currency code
+     * @return true if the current rate table quotes the currency
+     */
+    public boolean isSupported(String currency) {
+        RateTable table = current.get();
+        return currency != null && (normalize(currency).equals(baseCurrency())
+                || (table != null && table.rates().containsKey(normalize(currency))));
+    }
+
+    /**
+     * Converts a transfer amount between the currencies of two accounts.
+     * The amount is in the source currency unless {@code amountCurrency} names the destination currency,
+     * in which case it is the amount to be credited. Converted amounts are rounded to two decimals.
+     *
+     * @param fromCurrency   the currency of the source account
+     * @param toCurrency     the currency of the destination account
+     * @param amount         the requested amount
+     * @param amountCurrency the currency of the requested amount, or null for the source currency
+     * @return the amounts to debit and credit
+     */
+    public FxConversion convert(String fromCurrency, String toCurrency, double amount, String amountCurrency) {
+        if (amountCurrency != null && !amountCurrency.equalsIgnoreCase(fromCurrency)
+                && !amountCurrency.equalsIgnoreCase(toCurrency)) {
+            throw new IllegalArgumentException("Amount currency must be the source or destination account currency");
+        }
+        if (fromCurrency.equalsIgnoreCase(toCurrency)) {
+            return new FxConversion(amount, amount, 1.0, null);
+        }
+
+        RateTable table = current.get();
+        if (table == null) {
+            throw new ServiceUnavailableException("Exchange rates are not available", RETRY_AFTER_SECONDS);
+        }
+        Double fromRate = table.rates().get(normalize(fromCurrency));
+        Double toRate = table.rates().get(normalize(toCurrency));
+        if (fromRate == null || toRate == null) {
+            throw new IllegalArgumentException("No exchange rate from " + fromCurrency + " to " + toCurrency);
+        }
+
+        double rate = toRate / fromRate;
+        if (amountCurrency == null || amountCurrency.equalsIgnoreCase(fromCurrency)) {
+            return new FxConversion(amount, round(amount * rate), rate, table.snapshotId());
+        }
+        return new FxConversion(round(amount / rate), amount, rate, table.snapshotId());
+    }
+
+    /**
+     * Reloads the rates and publishes a new table when they changed.
+     * A failed reload keeps the current table.
+     */
+    @Scheduled(fixedDelayString = "${zenvest.fx.refresh-interval-ms:60000}", initialDelayString = "${zenvest.fx.refresh-interval-ms:60000}")
+    public void refresh() {
+        RateTable table = current.get();
+        try {
+            Map<String, Double> rates = loadRates();
+            if (table != null && table.rates().equals(rates)) {
+                return;
+            }
+            FxRateSnapshot snapshot = persist(rates);
+            current.set(new RateTable(snapshot.getId(), Map.copyOf(rates)));
+            log.info("Published exchange-rate snapshot {} with {} currencies from {}",
+                    snapshot.getId(), rates.size(), snapshot.getSource());
+        } catch (IOException | RuntimeException e) {
+            log.error("Loading exchange rates failed, keeping snapshot {}", table == null ? null : table.snapshotId(), e);
+        }
+    }
+
+    private Map<String, Double> loadRates() throws IOException {
+        Map<String, Double> rates = new TreeMap<>();
+        if (properties.getRatesFile() != null && !properties.getRatesFile().isBlank()) {
+            Properties file = new Properties();
+            try (Reader reader = Files.newBufferedReader(Path.of(properties.getRatesFile()))) {
+                file.load(reader);
+            }
+            file.forEach((currency, rate) -> rates.put(normalize(currency.toString()), Double.parseDouble(rate.toString().trim())));
+        } else {
+            properties.getRates().forEach((currency, rate) -> rates.put(normalize(currency), rate));
+        }
+        rates.put(baseCurrency(), 1.0);
+
+        for (Map.Entry<String, Double> rate : rates.entrySet()) {
+            if (rate.getValue() == null || !(rate.getValue() > 0) || rate.getValue().isInfinite()) {
+                throw new IllegalArgumentException("Invalid exchange rate for " + rate.getKey() + ": " + rate.getValue());
+            }
+        }
+        return rates;
+    }
+
+    /**
+     * Stores the rates as a new snapshot, or reuses the latest snapshot when it holds the same rates,
+     * so a restart does not add a row.
+     */
+    private FxRateSnapshot persist(Map<String, Double> rates) {
+        String encoded = encode(rates);
+        return snapshotRepository.findTopByOrderByIdDesc()
+                .filter(latest -> encoded.equals(latest.getRates()) && baseCurrency().equals(latest.getBaseCurrency()))
+                .orElseGet(() -> snapshotRepository.save(FxRateSnapshot.builder()
+                        .baseCurrency(baseCurrency())
+                        .rates(encoded)
+                        .source(properties.getRatesFile() != null && !properties.getRatesFile().isBlank()
+                                ? "file:" + properties.getRatesFile()
+                                : "config")
+                        .createdAt(LocalDateTime.now())
+                        .build()));
+    }
+
+    private static String encode(Map<String, Double> rates) {
+        return new TreeMap<>(rates).entrySet().stream()
+                .map(rate -> rate.getKey() + "=" + rate.getValue())
+                .collect(Collectors.joining(";"));
+    }
+
+    private static String normalize(String currency) {
+        return currency.trim().toUpperCase(Locale.ROOT);
+    }
+
+    private static double round(double amount) {
+        return BigDecimal.valueOf(amount).setScale(2, RoundingMode.HALF_EVEN).doubleValue();
+    }
+
+    private record RateTable(long snapshotId, Map<String, Double> rates) {
+    }
+}
@@ -0,0 +1,277 @@
+package com.zenvest.devx.services;
+
+import com.zenvest.devx.configs.OutboxProperties;
+import com.zenvest.devx.constants.OutboxEventType;
+import com.zenvest.devx.events.OutboxEvent;
+import com.zenvest.devx.events.OutboxSink;
+import com.zenvest.devx.sharding.ShardDirectory;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * OutboxRelay delivers the events of the {@code event_outbox} table to every {@link OutboxSink}.
+ * Each poll walks the table in id keyset batches. A batch is claimed with {@code FOR UPDATE SKIP LOCKED},
+ * delivered to the sinks and deleted with one statement in the same transaction, so several instances can relay
+ * side by side and an event is removed only after every sink accepted it, which gives at-least-once delivery.
+ * When a batch fails it rolls back and its events are relayed one at a time, each in its own transaction, so one
+ * event a sink keeps rejecting does not hold back the others. A rejected event is retried after a delay that
+ * doubles with every failure, up to {@code max-retry-backoff-ms}, and after {@code max-attempts} failures it is
+ * moved to {@code event_outbox_dead_letters}. Events waiting for a retry are skipped, so events of the same
+ * aggregate can be delivered out of order.
+ * Every poll starts again from the lowest id: an event whose transaction committed after a higher id was relayed
+ * is picked up by the next poll instead of being skipped.
+ * Every shard has its own outbox table; a poll drains them one after the other.
+ */
+@Slf4j
+@Service
+public class OutboxRelay {
+
+    private static final String SELECT_BATCH = """
+            select id, event_type, aggregate_id, payload, created_at
+            from event_outbox
+            where id > ? and (next_attempt_at is null or next_attempt_at <= ?)
+            order by id
+            limit ?
+            for update skip locked""";
+
+    private static final String SELECT_DUE_IDS = """
+            select id
+            from event_outbox
+            where id > ? and (next_attempt_at is null or next_attempt_at <= ?)
+            order by id
+            limit ?""";
+
+    private static final String SELECT_ONE = """
+            select id, event_type, aggregate_id, payload, created_at, attempts
+            from event_outbox
+            where id = ? and (next_attempt_at is null or next_attempt_at <= ?)
+            for update skip locked""";
+
+    private static final String INSERT_DEAD_LETTER = """
+            insert into event_outbox_dead_letters
+                (id, event_type, aggregate_id, payload, created_at, attempts, last_error, failed_at)
+            select id, event_type, aggregate_id, payload, created_at, ?, ?, ?
+            from event_outbox
+            where id = ?""";
+
+    private static final int MAX_ERROR_LENGTH = 1000;
+
+    private final OutboxProperties properties;
+    private final List<OutboxSink> sinks;
+    private final ShardDirectory shardDirectory;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final Counter dispatched;
+    private final Counter failed;
+    private final Counter deadLettered;
+    private final AtomicLong oldestPendingMillis = new AtomicLong();
+
+    @Autowired
+    public OutboxRelay(OutboxProperties properties,
+                       List<OutboxSink> sinks,
+                       ShardDirectory shardDirectory,
+                       JdbcTemplate jdbcTemplate,
+                       PlatformTransactionManager transactionManager,
+                       MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.sinks = sinks;
+        this.shardDirectory = shardDirectory;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.dispatched = Counter.builder("zenvest.outbox.dispatched").tag("outcome", "delivered").register(meterRegistry);
+        this.failed = Counter.builder("zenvest.outbox.dispatched").tag("outcome", "failed").register(meterRegistry);
+        this.deadLettered = Counter.builder("zenvest.outbox.dispatched").tag("outcome", "dead_lettered").register(meterRegistry);
+        Gauge.builder("zenvest.outbox.oldest.age", oldestPendingMillis, age -> age.get() / 1000.0)
+                .baseUnit("seconds")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Relays the pending events of every shard, at most {@code max-batches-per-poll} batches per shard at a time.
+     */
+    @Scheduled(fixedDelayString = "${zenvest.outbox.poll-interval-ms:200}", initialDelayString = "${zenvest.outbox.poll-interval-ms:200}")
+    public void relay() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        AtomicLong oldest = new AtomicLong();
+        shardDirectory.forEachShard(() -> oldest.accumulateAndGet(relayShard(), Math::max));
+        oldestPendingMillis.set(oldest.get());
+    }
+
+    /**
+     * Relays the pending events of the current shard and returns the age of the oldest one, in milliseconds.
+     */
+    private long relayShard() {
+        long oldestMillis = 0;
+        long afterId = 0;
+        for (int i = 0; i < properties.getMaxBatchesPerPoll(); i++) {
+            long after = afterId;
+            Batch batch;
+            try {
+                batch = transactionTemplate.execute(status -> relayBatch(after));
+            } catch (RuntimeException e) {
+                log.warn("Relaying outbox events after id {} failed, relaying them one at a time", afterId, e);
+                try {
+                    batch = relayOneByOne(after);
+                } catch (RuntimeException oneByOne) {
+                    failed.increment();
+                    log.warn("Relaying outbox events after id {} failed, retrying on the next poll", afterId, oneByOne);
+                    return oldestMillis;
+                }
+            }
+            if (batch == null || batch.size() == 0) {
+                return oldestMillis;
+            }
+            dispatched.increment(batch.delivered());
+            if (i == 0) {
+                oldestMillis = Math.max(0, Duration.between(batch.oldest(), LocalDateTime.now()).toMillis());
+            }
+            if (batch.size() < properties.getBatchSize()) {
+                return oldestMillis;
+            }
+            afterId = batch.lastId();
+        }
+        return oldestMillis;
+    }
+
+    private Batch relayBatch(long afterId) {
+        List<OutboxEvent> events = jdbcTemplate.query(SELECT_BATCH, (rs, rowNum) -> new OutboxEvent(
+                rs.getLong(1),
+                OutboxEventType.valueOf(rs.getString(2)),
+                rs.getLong(3),
+                rs.getString(4),
+                rs.getObject(5, LocalDateTime.class)), afterId, LocalDateTime.now(), properties.getBatchSize());
+        if (events.isEmpty()) {
+            return null;
+        }
+
+        deliver(events);
+
+        String placeholders = String.join(", ", Collections.nCopies(events.size(), "?"));
+        jdbcTemplate.update("delete from event_outbox where id in (" + placeholders + ")",
+                events.stream().map(OutboxEvent::id).toArray());
+        return new Batch(events.size(), events.size(), events.get(events.size() - 1).id(), events.get(0).createdAt());
+    }
+
+    /**
+     * Relays the next batch of due events one at a time, each in its own transaction, and records the failure of
+     * every event a sink rejects.
+     */
+    private Batch relayOneByOne(long afterId) {
+        List<Long> ids = jdbcTemplate.queryForList(SELECT_DUE_IDS, Long.class, afterId, LocalDateTime.now(),
+                properties.getBatchSize());
+        if (ids.isEmpty()) {
+            return null;
+        }
+
+        int delivered = 0;
+        LocalDateTime oldest = null;
+        for (long id : ids) {
+            Attempt attempt = transactionTemplate.execute(status -> relayOne(id));
+            if (attempt == null) {
+                continue;
+            }
+            if (attempt.delivered()) {
+                delivered++;
+            }
+            if (oldest == null) {
+                oldest = attempt.createdAt();
+            }
+        }
+        return new Batch(ids.size(), delivered, ids.get(ids.size() - 1), oldest == null ? LocalDateTime.now() : oldest);
+    }
+
+    /**
+     * Delivers one event and deletes it, or records why it could not be delivered. Returns null when the event is
+     * gone, locked by another relay or not due.
+     */
+    private Attempt relayOne(long id) {
+        List<PendingEvent> rows = jdbcTemplate.query(SELECT_ONE, (rs, rowNum) -> new PendingEvent(
+                rs.getLong(1),
+                rs.getString(2),
+                rs.getLong(3),
+                rs.getString(4),
+                rs.getObject(5, LocalDateTime.class),
+                rs.getInt(6)), id, LocalDateTime.now());
+        if (rows.isEmpty()) {
+            return null;
+        }
+        PendingEvent row = rows.get(0);
+
+        try {
+            deliver(List.of(new OutboxEvent(row.id(), OutboxEventType.valueOf(row.eventType()), row.aggregateId(),
+                    row.payload(), row.createdAt())));
+        } catch (RuntimeException e) {
+            recordFailure(row, e);
+            return new Attempt(false, row.createdAt());
+        }
+        jdbcTemplate.update("delete from event_outbox where id = ?", id);
+        return new Attempt(true, row.createdAt());
+    }
+
+    /**
+     * Schedules the next attempt of an event, or moves it to the dead letters once it has used up its attempts.
+     */
+    private void recordFailure(PendingEvent row, RuntimeException e) {
+        failed.increment();
+        int attempts = row.attempts() + 1;
+        LocalDateTime now = LocalDateTime.now();
+        if (attempts >= properties.getMaxAttempts()) {
+            jdbcTemplate.update(INSERT_DEAD_LETTER, attempts, truncate(String.valueOf(e)), now, row.id());
+            jdbcTemplate.update("delete from event_outbox where id = ?", row.id());
+            deadLettered.increment();
+            log.error("Outbox event {} failed {} times and was moved to event_outbox_dead_letters",
+                    row.id(), attempts, e);
+            return;
+        }
+
+        long backoffMs = properties.getRetryBackoffMs() << Math.min(attempts - 1, 30);
+        if (backoffMs <= 0 || backoffMs > properties.getMaxRetryBackoffMs()) {
+            backoffMs = properties.getMaxRetryBackoffMs();
+        }
+        jdbcTemplate.update("update event_outbox set attempts = ?, next_attempt_at = ? where id = ?",
+                attempts, now.plus(Duration.ofMillis(backoffMs)), row.id());
+        log.warn("Outbox event {} failed (attempt {} of {}), retrying in {} ms",
+                row.id(), attempts, properties.getMaxAttempts(), backoffMs, e);
+    }
+
+    private void deliver(List<OutboxEvent> events) {
+        for (OutboxSink sink : sinks) {
+            try {
+                sink.deliver(events);
+            } catch (IOException e) {
+                throw new IllegalStateException("Outbox sink " + sink.name() + " failed", e);
+            }
+        }
+    }
+
+    private static String truncate(String error) {
+        return error.length() <= MAX_ERROR_LENGTH ? error : error.substring(0, MAX_ERROR_LENGTH);
+    }
+
+    private record Batch(int size, int delivered, long lastId, LocalDateTime oldest) {
+    }
+
+    private record PendingEvent(long id, String eventType, long aggregateId, String payload, LocalDateTime createdAt,
+                                int attempts) {
+    }
+
+    private record Attempt(boolean delivered, LocalDateTime createdAt) {
+    }
+}
@@ -0,0 +1,135 @@
+package com.zenvest.devx.services;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * PartitionMaintenanceService manages the monthly RANGE partitions of the transactions and transfers tables.
+ * Each table has monthly partitions named {@code pYYYYMM}, a {@code p_base} partition for everything before the first
+ * month and a {@code p_future} catch-all that new months are split off from ahead of time.
+ */
+@Slf4j
+@Service
+public class PartitionMaintenanceService {
+
+    public static final String FUTURE_PARTITION = "p_future";
+
+    private static final DateTimeFormatter MONTH_NAME = DateTimeFormatter.ofPattern("'p'yyyyMM");
+    private static final Pattern PARTITION_NAME = Pattern.compile("p_base|p_future|p\\d{6}");
+    private static final List<String> TABLES = List.of("transactions", "transfers");
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    public PartitionMaintenanceService(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * A partition of a table. Bounds are the first day in and the first day after the partition;
+     * the lower bound of the first partition and the upper bound of {@code p_future} are null.
+     */
+    public record Partition(String table, String name, LocalDate lowerBound, LocalDate upperBound) {
+    }
+
+    /**
+     * Lists the partitions of a table in bound order.
+     *
+     * @param table the partitioned table
+     * @return the partitions, empty if the table is not partitioned
+     */
+    public List<Partition> partitions(String table) {
+        requireTable(table);
+        List<Partition> partitions = new ArrayList<>();
+        LocalDate[] lower = new LocalDate[1];
+        jdbcTemplate.query("""
+                        select partition_name, partition_description
+                        from information_schema.partitions
+                        where table_schema = database() and table_name = ? and partition_name is not null
+                        order by partition_ordinal_position""",
+                rs -> {
+                    String description = rs.getString(2);
+                    LocalDate upper = "MAXVALUE".equalsIgnoreCase(description)
+                            ? null
+                            : LocalDate.parse(description.replace("'", "").substring(0, 10));
+                    partitions.add(new Partition(table, requireName(rs.getString(1)), lower[0], upper));
+                    lower[0] = upper;
+                },
+                table);
+        return partitions;
+    }
+
+    /**
+     * Splits monthly partitions off {@code p_future} until the given month is covered.
+     *
+     * @param until the last month that must have its own partition
+     */
+    public void ensureMonthlyPartitions(LocalDate until) {
+        for (String table : TABLES) {
+            List<Partition> partitions = partitions(table);
+            if (partitions.isEmpty()) {
+                log.warn("Table {} is not partitioned, skipping partition maintenance", table);
+                continue;
+            }
+            LocalDate next = partitions.stream()
+                    .map(Partition::upperBound)
+                    .filter(bound -> bound != null)
+                    .max(LocalDate::compareTo)
+                    .orElseThrow(() -> new IllegalStateException("Table " + table + " has no bounded partition"));
+
+            StringBuilder months = new StringBuilder();
+            int created = 0;
+            while (!next.isAfter(until)) {
+                months.append("partition ").append(next.format(MONTH_NAME))
+                        .append(" values less than ('").append(next.plusMonths(1)).append("'), ");
+                next = next.plusMonths(1);
+                created++;
+            }
+            if (created == 0) {
+                continue;
+            }
+            jdbcTemplate.execute("alter table " + table + " reorganize partition " + FUTURE_PARTITION + " into ("
+                    + months + "partition " + FUTURE_PARTITION + " values less than (maxvalue))");
+            log.info("Created {} monthly partitions on {} up to {}", created, table, until);
+        }
+    }
+
+    /**
+     * Drops a partition and every row in it.
+     *
+     * @param partition the partition to drop
+     */
+    public void drop(Partition partition) {
+        requireTable(partition.table());
+        jdbcTemplate.execute("alter table " + partition.table() + " drop partition " + requireName(partition.name()));
+    }
+
+    /**
+     * Returns the SQL reference to a single partition of a table, for use in a FROM clause.
+     */
+    String from(Partition partition) {
+        requireTable(partition.table());
+        return partition.table() + " partition (" + requireName(partition.name()) + ")";
+    }
+
+    private static void requireTable(String table) {
+        if (!TABLES.contains(table)) {
+            throw new IllegalArgumentException("Not a partitioned table: " + table);
+        }
+    }
+
+    private static String requireName(String name) {
+        if (!PARTITION_NAME.matcher(name).matches()) {
+            throw new IllegalStateException("Unexpected partition name: " + name);
+        }
+        return name;
+    }
+}
@@ -0,0 +1,158 @@
+package com.zenvest.devx.services;
+
+import com.zenvest.devx.configs.PasswordHashingProperties;
+import com.zenvest.devx.exceptions.ServiceUnavailableException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * PasswordHashingService runs BCrypt hashing and verification on a dedicated, core-sized pool.
+ * Request threads only wait for the result, so a burst of logins uses at most the hashing threads' CPU
+ * and leaves the rest for transfers and deposits. When the queue is full, or the hash does not finish within
+ * the configured wait, the request is shed with 503 instead of piling up. A task whose caller has given up
+ * is skipped instead of hashed.
+ */
+@Slf4j
+@Service
+public class PasswordHashingService {
+
+    private final BCryptPasswordEncoder passwordEncoder;
+    private final PasswordHashingProperties properties;
+    private final ThreadPoolExecutor executor;
+    private final Timer encodeTimer;
+    private final Timer matchTimer;
+    private final Counter rejected;
+
+    @Autowired
+    public PasswordHashingService(BCryptPasswordEncoder passwordEncoder,
+                                  PasswordHashingProperties properties,
+                                  MeterRegistry meterRegistry) {
+        this.passwordEncoder = passwordEncoder;
+        this.properties = properties;
+
+        AtomicInteger threadIndex = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(properties.getThreads(), properties.getThreads(),
+                0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(properties.getQueueCapacity()),
+                task -> {
+                    Thread thread = new Thread(task, "password-hashing-" + threadIndex.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+        this.executor.prestartAllCoreThreads();
+
+        ExecutorServiceMetrics.monitor(meterRegistry, executor, "password-hashing", List.of());
+        this.encodeTimer = Timer.builder("zenvest.password.hashing").tag("operation", "encode").register(meterRegistry);
+        this.matchTimer = Timer.builder("zenvest.password.hashing").tag("operation", "match").register(meterRegistry);
+        this.rejected = Counter.builder("zenvest.password.hashing.rejected").register(meterRegistry);
+    }
+
+    @PreDestroy
+    void stop() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Hashes a raw password.
+     *
+     * @param rawPassword the password to hash
+     * @return the BCrypt hash
+     * @throws ServiceUnavailableException if the hashing pool is saturated
+     */
+    public String encode(String rawPassword) {
+        return submit(() -> encodeTimer.record(() -> passwordEncoder.encode(rawPassword)));
+    }
+
+    /**
+     * Checks a raw password against a stored BCrypt hash.
+     *
+     * @param rawPassword     the password supplied by the user
+     * @param encodedPassword the stored hash
+     * @return true if the password matches
+     * @throws ServiceUnavailableException if the hashing pool is saturated
+     */
+    public boolean matches(String rawPassword, String encodedPassword) {
+        return submit(() -> matchTimer.record(() -> passwordEncoder.matches(rawPassword, encodedPassword)));
+    }
+
+    /**
+     * Measures one hash at the configured work factor and warns when it is over the latency budget,
+     * so a work factor that is too high for the hardware is noticed at deploy time.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void calibrate() {
+        long start = System.nanoTime();
+        passwordEncoder.encode("calibration");
+        long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        if (elapsedMs > properties.getTargetHashTime().toMillis()) {
+            log.warn("BCrypt strength {} takes {} ms per hash, above the {} ms target; consider lowering zenvest.security.bcrypt.strength",
+                    properties.getStrength(), elapsedMs, properties.getTargetHashTime().toMillis());
+        } else {
+            log.info("BCrypt strength {} takes {} ms per hash on {} hashing threads",
+                    properties.getStrength(), elapsedMs, properties.getThreads());
+        }
+    }
+
+    private <T> T submit(Callable<T> task) {
+        long submittedAt = System.nanoTime();
+        long maxWaitNanos = properties.getMaxWait().toNanos();
+        Future<T> future;
+        try {
+            future = executor.submit(() -> {
+                if (System.nanoTime() - submittedAt > maxWaitNanos) {
+                    throw new TimeoutException();
+                }
+                return task.call();
+            });
+        } catch (RejectedExecutionException e) {
+            throw shed();
+        }
+
+        try {
+            long remainingNanos = maxWaitNanos - (System.nanoTime() - submittedAt);
+            return future.get(Math.max(0, remainingNanos), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            throw shed();
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while waiting for password hashing", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof TimeoutException) {
+                throw shed();
+            }
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new RuntimeException(e.getCause());
+        }
+    }
+
+    private ServiceUnavailableException shed() {
+        rejected.increment();
+        return new ServiceUnavailableException("Authentication service is busy, please retry later", 1);
+    }
+}
@@ -0,0 +1,309 @@
+package com.zenvest.devx.services;
+
+import com.zenvest.devx.configs.ReconciliationProperties;
+import com.zenvest.devx.constants.TransactionType;
+import com.zenvest.devx.dtos.outputs.ReconciliationMismatch;
+import com.zenvest.devx.dtos.outputs.ReconciliationReport;
+import com.zenvest.devx.sharding.ShardRoutingDataSource;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * ReconciliationService proves that every stored balance equals its opening balance plus its ledger rows.
+ * The account-id space is split into fixed-size ranges reconciled in parallel on a ForkJoinPool. Each range
+ * streams its transactions and completed transfer legs through forward-only cursors into a primitive array
+ * indexed by account id, inside one repeatable-read snapshot, so concurrent writes cannot cause false mismatches.
+ * Memory is bounded by the range size and the parallelism, not by the number of rows.
+ * The stored balance of an account is its own balance plus the sum of its hot-mode slots.
+ * With sharding, every shard is reconciled through its own pool; a cross-shard transfer leaves only transaction
+ * rows on each side, so the ledger of an account is always on the account's shard.
+ */
+@Slf4j
+@Service
+public class ReconciliationService {
+
+    private static final int DEPOSIT = TransactionType.DEPOSIT.ordinal();
+    private static final int WITHDRAWAL = TransactionType.WITHDRAWAL.ordinal();
+
+    private final ReconciliationProperties properties;
+    private final List<Shard> shards = new ArrayList<>();
+    private final AtomicBoolean running = new AtomicBoolean();
+    private final AtomicReference<ReconciliationReport> lastReport = new AtomicReference<>();
+    private final AtomicLong rangesTotal = new AtomicLong();
+    private final AtomicLong rangesDone = new AtomicLong();
+    private final AtomicLong lastMismatchCount = new AtomicLong();
+    private final Counter transactionRowsCounter;
+    private final Counter transferRowsCounter;
+    private final Counter accountsCounter;
+    private final Timer runTimer;
+
+    @Autowired
+    public ReconciliationService(ReconciliationProperties properties,
+                                 DataSource dataSource,
+                                 MeterRegistry meterRegistry) {
+        this.properties = properties;
+        if (dataSource instanceof ShardRoutingDataSource routing) {
+            for (int shard = 0; shard < routing.shardCount(); shard++) {
+                shards.add(Shard.of(routing.shard(shard)));
+            }
+        } else {
+            shards.add(Shard.of(dataSource));
+        }
+
+        this.transactionRowsCounter = Counter.builder("zenvest.reconciliation.rows").tag("source", "transactions")
+                .register(meterRegistry);
+        this.transferRowsCounter = Counter.builder("zenvest.reconciliation.rows").tag("source", "transfers")
+                .register(meterRegistry);
+        this.accountsCounter = Counter.builder("zenvest.reconciliation.accounts").register(meterRegistry);
+        this.runTimer = Timer.builder("zenvest.reconciliation.duration").register(meterRegistry);
+        Gauge.builder("zenvest.reconciliation.progress", this,
+                        service -> service.rangesTotal.get() == 0 ? 0 : (double) service.rangesDone.get() / service.rangesTotal.get())
+                .register(meterRegistry);
+        Gauge.builder("zenvest.reconciliation.mismatches", lastMismatchCount, AtomicLong::get).register(meterRegistry);
+    }
+
+    /**
+     * Runs the nightly reconciliation.
+     */
+    @Scheduled(cron = "${zenvest.reconciliation.cron:0 30 3 * * *}")
+    public void scheduledRun() {
+        if (properties.isEnabled()) {
+            run();
+        }
+    }
+
+    /**
+     * Returns the report of the last completed run.
+     *
+     * @return the last report, or null if no run has completed yet
+     */
+    public ReconciliationReport getLastReport() {
+        return lastReport.get();
+    }
+
+    /**
+     * Reconciles every account.
+     *
+     * @return the report of the run
+     */
+    public ReconciliationReport run() {
+        if (!running.compareAndSet(false, true)) {
+            throw new IllegalStateException("Reconciliation is already running");
+        }
+        try {
+            return runTimer.record(this::reconcileAll);
+        } finally {
+            running.set(false);
+        }
+    }
+
+    private ReconciliationReport reconcileAll() {
+        LocalDateTime startedAt = LocalDateTime.now();
+        Run run = new Run();
+        List<RangeTask> tasks = new ArrayList<>();
+        long ranges = 0;
+        for (Shard shard : shards) {
+            Map<String, Object> bounds = shard.jdbcTemplate()
+                    .queryForMap("select min(id) as lo, max(id) as hi from accounts");
+            if (bounds.get("lo") == null) {
+                continue;
+            }
+            long lo = ((Number) bounds.get("lo")).longValue();
+            long hi = ((Number) bounds.get("hi")).longValue() + 1;
+            long shardRanges = (hi - lo + properties.getRangeSize() - 1) / properties.getRangeSize();
+            tasks.add(new RangeTask(run, shard, lo, 0, shardRanges));
+            ranges += shardRanges;
+        }
+        rangesTotal.set(ranges);
+        rangesDone.set(0);
+
+        if (!tasks.isEmpty()) {
+            ForkJoinPool pool = new ForkJoinPool(properties.getParallelism());
+            try {
+                pool.invoke(new RecursiveAction() {
+                    @Override
+                    protected void compute() {
+                        invokeAll(tasks);
+                    }
+                });
+            } finally {
+                pool.shutdown();
+            }
+        }
+
+        ReconciliationReport report = ReconciliationReport.builder()
+                .startedAt(startedAt)
+                .finishedAt(LocalDateTime.now())
+                .accountsChecked(run.accounts.get())
+                .transactionRows(run.transactionRows.get())
+                .transferRows(run.transferRows.get())
+                .mismatchCount(run.mismatchCount.get())
+                .mismatches(new ArrayList<>(run.mismatches))
+                .build();
+        lastReport.set(report);
+        lastMismatchCount.set(report.getMismatchCount());
+
+        if (report.getMismatchCount() > 0) {
+            log.error("Reconciliation found {} mismatched accounts out of {}", report.getMismatchCount(), report.getAccountsChecked());
+        } else {
+            log.info("Reconciliation of {} accounts, {} transactions and {} transfers on {} shards found no mismatch",
+                    report.getAccountsChecked(), report.getTransactionRows(), report.getTransferRows(), shards.size());
+        }
+        return report;
+    }
+
+    /**
+     * Reconciles the accounts of a shard with ids in [lo, hi) inside one snapshot.
+     */
+    private void reconcileRange(Run run, Shard shard, long lo, long hi) {
+        double[] net = new double[(int) (hi - lo)];
+        shard.snapshotTemplate().executeWithoutResult(status -> {
+            long transactions = stream(shard, "select account_id, transaction_type, amount from transactions"
+                    + " where account_id >= ? and account_id < ?", lo, hi, rs -> {
+                int type = rs.getInt(2);
+                if (rs.wasNull()) {
+                    return;
+                }
+                int index = (int) (rs.getLong(1) - lo);
+                if (type == DEPOSIT) {
+                    net[index] += rs.getDouble(3);
+                } else if (type == WITHDRAWAL) {
+                    net[index] -= rs.getDouble(3);
+                }
+            });
+            long transfersOut = stream(shard, "select from_account_id, amount from transfers"
+                    + " where from_account_id >= ? and from_account_id < ? and (status = 'COMPLETED' or status is null)",
+                    lo, hi, rs -> net[(int) (rs.getLong(1) - lo)] -= rs.getDouble(2));
+            long transfersIn = stream(shard, "select to_account_id, coalesce(credited_amount, amount) from transfers"
+                    + " where to_account_id >= ? and to_account_id < ? and (status = 'COMPLETED' or status is null)",
+                    lo, hi, rs -> net[(int) (rs.getLong(1) - lo)] += rs.getDouble(2));
+            long accounts = stream(shard, "select a.id, coalesce(a.balance, 0), a.opening_balance,"
+                    + " (select coalesce(sum(s.balance), 0) from account_balance_slots s where s.account_id = a.id)"
+                    + " from accounts a where a.id >= ? and a.id < ?", lo, hi, rs -> {
+                long accountId = rs.getLong(1);
+                double balance = rs.getDouble(2) + rs.getDouble(4);
+                double expected = rs.getDouble(3) + net[(int) (accountId - lo)];
+                if (Math.abs(balance - expected) > properties.getTolerance()) {
+                    run.mismatch(accountId, balance, expected, properties.getMaxReportedMismatches());
+                }
+            });
+
+            run.transactionRows.addAndGet(transactions);
+            run.transferRows.addAndGet(transfersOut + transfersIn);
+            run.accounts.addAndGet(accounts);
+            transactionRowsCounter.increment(transactions);
+            transferRowsCounter.increment(transfersOut + transfersIn);
+            accountsCounter.increment(accounts);
+        });
+
+        long done = rangesDone.incrementAndGet();
+        long total = rangesTotal.get();
+        if (done == total || done % Math.max(1, total / 10) == 0) {
+            log.info("Reconciliation progress: {}/{} ranges, {} accounts checked", done, total, run.accounts.get());
+        }
+    }
+
+    private long stream(Shard shard, String sql, long lo, long hi, RowCallbackHandler handler) {
+        long[] rows = new long[1];
+        shard.streamingJdbcTemplate().query(sql, rs -> {
+            handler.processRow(rs);
+            rows[0]++;
+        }, lo, hi);
+        return rows[0];
+    }
+
+    /**
+     * Splits a run of ranges in halves until a single range is left, which is then reconciled.
+     */
+    private final class RangeTask extends RecursiveAction {
+        private final Run run;
+        private final Shard shard;
+        private final long firstId;
+        private final long fromRange;
+        private final long toRange;
+
+        private RangeTask(Run run, Shard shard, long firstId, long fromRange, long toRange) {
+            this.run = run;
+            this.shard = shard;
+            this.firstId = firstId;
+            this.fromRange = fromRange;
+            this.toRange = toRange;
+        }
+
+        @Override
+        protected void compute() {
+            if (toRange - fromRange == 1) {
+                long lo = firstId + fromRange * properties.getRangeSize();
+                reconcileRange(run, shard, lo, lo + properties.getRangeSize());
+                return;
+            }
+            long middle = (fromRange + toRange) >>> 1;
+            invokeAll(new RangeTask(run, shard, firstId, fromRange, middle),
+                    new RangeTask(run, shard, firstId, middle, toRange));
+        }
+    }
+
+    /**
+     * The templates of one shard, bound to the shard's own pool.
+     */
+    private record Shard(JdbcTemplate jdbcTemplate, JdbcTemplate streamingJdbcTemplate,
+                         TransactionTemplate snapshotTemplate) {
+
+        private static Shard of(DataSource dataSource) {
+            JdbcTemplate streamingJdbcTemplate = new JdbcTemplate(dataSource);
+            // makes MySQL Connector/J stream rows instead of buffering the result
+            streamingJdbcTemplate.setFetchSize(Integer.MIN_VALUE);
+
+            TransactionTemplate snapshotTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+            snapshotTemplate.setReadOnly(true);
+            snapshotTemplate.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+            return new Shard(new JdbcTemplate(dataSource), streamingJdbcTemplate, snapshotTemplate);
+        }
+    }
+
+    /**
+     * Totals of one run, shared by its range tasks.
+     */
+    private static final class Run {
+        private final AtomicLong accounts = new AtomicLong();
+        private final AtomicLong transactionRows = new AtomicLong();
+        private final AtomicLong transferRows = new AtomicLong();
+        private final AtomicLong mismatchCount = new AtomicLong();
+        private final Queue<ReconciliationMismatch> mismatches = new ConcurrentLinkedQueue<>();
+
+        private void mismatch(long accountId, double balance, double expected, int maxReported) {
+            if (mismatchCount.incrementAndGet() <= maxReported) {
+                mismatches.add(ReconciliationMismatch.builder()
+                        .accountId(accountId)
+                        .balance(balance)
+                        .expectedBalance(expected)
+                        .difference(balance - expected)
+                        .build());
+            }
+        }
+    }
+}
@@ -0,0 +1,372 @@
+package com.zenvest.devx.services;
+
+import com.zenvest.devx.configs.ScheduledTransferProperties;
+import com.zenvest.devx.constants.ScheduledTransferStatus;
+import com.zenvest.devx.constants.TransferFrequency;
+import com.zenvest.devx.dtos.inputs.TransferRequest;
+import com.zenvest.devx.models.Account;
+import com.zenvest.devx.models.ScheduledTransfer;
+import com.zenvest.devx.models.Transfer;
+import com.zenvest.devx.repositories.AccountRepository;
+import com.zenvest.devx.repositories.ScheduledTransferRepository;
+import com.zenvest.devx.sharding.ShardContext;
+import com.zenvest.devx.sharding.ShardDirectory;
+import com.zenvest.devx.utils.HierarchicalTimingWheel;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * ScheduledTransferScheduler executes standing orders and future-dated transfers when they fall due.
+ * Orders due within the load window are read in (next_run_at, id) keyset pages and held in a
+ * {@link HierarchicalTimingWheel}; the table is never scanned on a tick, only the next window is read
+ * once per load interval. Orders created or rescheduled inside an already loaded window go straight into the wheel.
+ * Due orders of the same source account and instant are coalesced and applied in one transaction that locks
+ * their accounts once; groups run in parallel on a bounded pool. If a group fails, its orders are retried one
+ * by one so that one bad order cannot fail its neighbours.
+ * Each execution re-reads its orders under a row lock and checks their next run time, so an order that was
+ * cancelled, already executed, or loaded twice is skipped.
+ * Every shard is loaded with its own keyset cursor, and each group executes on the shard it was loaded from.
+ */
+@Slf4j
+@Service
+public class ScheduledTransferScheduler {
+
+    private static final String SELECT_DUE_PAGE = """
+            select id, from_account_id, to_account_id, next_run_at
+            from scheduled_transfers
+            where status = 'ACTIVE'
+              and next_run_at < ?
+              and (next_run_at > ? or (next_run_at = ? and id > ?))
+            order by next_run_at, id
+            limit ?""";
+
+    private static final LocalDateTime START_OF_TIME = LocalDateTime.of(1970, 1, 1, 0, 0);
+
+    private final ScheduledTransferProperties properties;
+    private final TransferService transferService;
+    private final AccountRepository accountRepository;
+    private final ScheduledTransferRepository scheduledTransferRepository;
+    private final ShardDirectory shardDirectory;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final Set<Long> inWheel = ConcurrentHashMap.newKeySet();
+    private final ThreadPoolExecutor executor;
+    private final ScheduledExecutorService timer;
+    private final Counter executed;
+    private final Counter failed;
+    private final DistributionSummary groupSizes;
+
+    private volatile HierarchicalTimingWheel<DueTransfer> wheel;
+    private volatile LocalDateTime loadedUntil = START_OF_TIME;
+    private final LocalDateTime[] cursorTimes;
+    private final long[] cursorIds;
+
+    @Autowired
+    public ScheduledTransferScheduler(ScheduledTransferProperties properties,
+                                      TransferService transferService,
+                                      AccountRepository accountRepository,
+                                      ScheduledTransferRepository scheduledTransferRepository,
+                                      ShardDirectory shardDirectory,
+                                      JdbcTemplate jdbcTemplate,
+                                      PlatformTransactionManager transactionManager,
+                                      MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.transferService = transferService;
+        this.accountRepository = accountRepository;
+        this.scheduledTransferRepository = scheduledTransferRepository;
+        this.shardDirectory = shardDirectory;
+        this.jdbcTemplate = jdbcTemplate;
+        this.cursorTimes = new LocalDateTime[shardDirectory.shardCount()];
+        this.cursorIds = new long[shardDirectory.shardCount()];
+        Arrays.fill(cursorTimes, START_OF_TIME);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+
+        AtomicInteger threadIndex = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(properties.getThreads(), properties.getThreads(),
+                0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(),
+                task -> {
+                    Thread thread = new Thread(task, "scheduled-transfer-" + threadIndex.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        this.timer = Executors.newScheduledThreadPool(2, task -> {
+            Thread thread = new Thread(task, "scheduled-transfer-timer");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        ExecutorServiceMetrics.monitor(meterRegistry, executor, "scheduled-transfer", List.of());
+        this.executed = Counter.builder("zenvest.transfer.scheduled.executed").tag("outcome", "completed").register(meterRegistry);
+        this.failed = Counter.builder("zenvest.transfer.scheduled.executed").tag("outcome", "failed").register(meterRegistry);
+        this.groupSizes = DistributionSummary.builder("zenvest.transfer.scheduled.group.size").register(meterRegistry);
+        Gauge.builder("zenvest.transfer.scheduled.pending", inWheel, Set::size).register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        wheel = new HierarchicalTimingWheel<>(properties.getTick().toMillis(), properties.getWheelSize(),
+                System.currentTimeMillis());
+        timer.scheduleWithFixedDelay(this::loadNextWindow, 0, properties.getLoadInterval().toMillis(), TimeUnit.MILLISECONDS);
+        timer.scheduleAtFixedRate(this::tick, properties.getTick().toMillis(), properties.getTick().toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void stop() {
+        timer.shutdownNow();
+        executor.shutdownNow();
+    }
+
+    /**
+     * Puts an order into the wheel if its next run falls inside the window that has already been loaded.
+     * Orders further out are picked up by a later load. Call after the order has been committed.
+     *
+     * @param scheduledTransfer the created or rescheduled order
+     */
+    public void schedule(ScheduledTransfer scheduledTransfer) {
+        if (wheel == null || scheduledTransfer.getStatus() != ScheduledTransferStatus.ACTIVE) {
+            return;
+        }
+        if (scheduledTransfer.getNextRunAt().isBefore(loadedUntil)) {
+            enqueue(new DueTransfer(ShardContext.current(), scheduledTransfer.getId(),
+                    scheduledTransfer.getFromAccount().getId(), scheduledTransfer.getToAccount().getId(),
+                    scheduledTransfer.getNextRunAt()));
+        }
+    }
+
+    /**
+     * Reads the orders falling due before the end of the next window, continuing from the last loaded order.
+     * The window end is published before reading, so an order committed during the read is either read here
+     * or scheduled directly by its creator.
+     */
+    private void loadNextWindow() {
+        try {
+            LocalDateTime windowEnd = LocalDateTime.now().plus(properties.getLoadWindow());
+            loadedUntil = windowEnd;
+
+            int loaded = 0;
+            for (int shard = 0; shard < shardDirectory.shardCount(); shard++) {
+                int current = shard;
+                loaded += ShardContext.call(shard, () -> loadWindow(current, windowEnd));
+            }
+            if (loaded > 0) {
+                log.info("Loaded {} scheduled transfers due before {}", loaded, windowEnd);
+            }
+        } catch (RuntimeException e) {
+            log.error("Loading scheduled transfers failed", e);
+        }
+    }
+
+    private int loadWindow(int shard, LocalDateTime windowEnd) {
+        int loaded = 0;
+        while (true) {
+            List<DueTransfer> page = jdbcTemplate.query(SELECT_DUE_PAGE,
+                    (rs, rowNum) -> new DueTransfer(shard, rs.getLong(1), rs.getLong(2), rs.getLong(3),
+                            rs.getTimestamp(4).toLocalDateTime()),
+                    Timestamp.valueOf(windowEnd), Timestamp.valueOf(cursorTimes[shard]), Timestamp.valueOf(cursorTimes[shard]),
+                    cursorIds[shard], properties.getPageSize());
+            page.forEach(this::enqueue);
+            loaded += page.size();
+            if (page.size() < properties.getPageSize()) {
+                return loaded;
+            }
+            DueTransfer last = page.get(page.size() - 1);
+            cursorTimes[shard] = last.runAt();
+            cursorIds[shard] = last.id();
+        }
+    }
+
+    private void enqueue(DueTransfer due) {
+        if (inWheel.add(due.id())) {
+            wheel.add(toMillis(due.runAt()), due);
+        }
+    }
+
+    /**
+     * Collects the orders that fell due and hands them to the pool, one task per source account and instant.
+     */
+    private void tick() {
+        try {
+            List<DueTransfer> due = wheel.advance(System.currentTimeMillis());
+            if (due.isEmpty()) {
+                return;
+            }
+            Map<GroupKey, List<DueTransfer>> groups = due.stream().collect(Collectors.groupingBy(
+                    item -> new GroupKey(item.shard(), item.fromAccountId(), item.runAt()), LinkedHashMap::new, Collectors.toList()));
+            groups.forEach((key, items) -> executor.execute(() -> ShardContext.run(key.shard(), () -> executeGroup(key, items))));
+        } catch (RuntimeException e) {
+            log.error("Scheduled transfer tick failed", e);
+        }
+    }
+
+    private void executeGroup(GroupKey key, List<DueTransfer> items) {
+        groupSizes.record(items.size());
+        List<ScheduledTransfer> rescheduled = new ArrayList<>();
+        try {
+            rescheduled.addAll(transactionTemplate.execute(status -> apply(key, items)));
+        } catch (RuntimeException e) {
+            if (items.size() > 1) {
+                log.warn("Coalesced execution of {} scheduled transfers failed, retrying one by one", items.size(), e);
+            }
+            for (DueTransfer item : items) {
+                try {
+                    rescheduled.addAll(transactionTemplate.execute(status -> apply(key, List.of(item))));
+                } catch (RuntimeException itemFailure) {
+                    rescheduled.addAll(recordFailure(key, item.id(), itemFailure));
+                }
+            }
+        } finally {
+            items.forEach(item -> inWheel.remove(item.id()));
+        }
+        rescheduled.forEach(this::schedule);
+    }
+
+    /**
+     * Locks the accounts in id order, then the orders, and applies every order still due at the group's instant.
+     * Accounts are locked first so that they are loaded from the locked rows rather than through the orders.
+     * Runs inside the caller's transaction.
+     *
+     * @return the orders that remain active, with their next run time
+     */
+    private List<ScheduledTransfer> apply(GroupKey key, List<DueTransfer> items) {
+        TreeSet<Long> accountIds = new TreeSet<>();
+        accountIds.add(key.fromAccountId());
+        items.forEach(item -> accountIds.add(item.toAccountId()));
+        Map<Long, Account> accounts = accountRepository.findAllByIdInForUpdate(accountIds).stream()
+                .collect(Collectors.toMap(Account::getId, Function.identity()));
+
+        List<Long> ids = items.stream().map(DueTransfer::id).toList();
+        List<ScheduledTransfer> orders = scheduledTransferRepository.findAllByIdInForUpdate(ids).stream()
+                .filter(order -> isStillDue(order, key))
+                .toList();
+        if (orders.isEmpty()) {
+            return List.of();
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        List<ScheduledTransfer> active = new ArrayList<>();
+        for (ScheduledTransfer order : orders) {
+            TransferRequest request = new TransferRequest(key.fromAccountId(), order.getToAccount().getId(),
+                    order.getAmount(), order.getDescription(), null);
+            Transfer transfer = transferService.applyTransfer(accounts.get(key.fromAccountId()),
+                    accounts.get(order.getToAccount().getId()), request);
+            order.setLastTransferId(transfer.getId());
+            order.setLastFailureReason(null);
+            advance(order, now);
+            executed.increment();
+            if (order.getStatus() == ScheduledTransferStatus.ACTIVE) {
+                active.add(order);
+            }
+        }
+        return active;
+    }
+
+    /**
+     * Records a failed execution and moves the order on; a one-off order is marked FAILED.
+     */
+    private List<ScheduledTransfer> recordFailure(GroupKey key, Long id, RuntimeException failure) {
+        log.warn("Scheduled transfer {} failed: {}", id, failure.getMessage());
+        failed.increment();
+        try {
+            return transactionTemplate.execute(status -> {
+                List<ScheduledTransfer> orders = scheduledTransferRepository.findAllByIdInForUpdate(List.of(id)).stream()
+                        .filter(order -> isStillDue(order, key))
+                        .toList();
+                for (ScheduledTransfer order : orders) {
+                    order.setLastFailureReason(failure.getMessage());
+                    if (order.getFrequency() == TransferFrequency.ONCE) {
+                        order.setStatus(ScheduledTransferStatus.FAILED);
+                    } else {
+                        advance(order, LocalDateTime.now());
+                    }
+                }
+                return orders.stream().filter(order -> order.getStatus() == ScheduledTransferStatus.ACTIVE).toList();
+            });
+        } catch (RuntimeException e) {
+            log.error("Recording the failure of scheduled transfer {} failed", id, e);
+            return List.of();
+        }
+    }
+
+    private boolean isStillDue(ScheduledTransfer order, GroupKey key) {
+        return order.getStatus() == ScheduledTransferStatus.ACTIVE && order.getNextRunAt().equals(key.runAt());
+    }
+
+    /**
+     * Moves an order to its next occurrence after now, or completes it.
+     * Occurrences are computed from the first run, so monthly orders keep their day of month; occurrences
+     * missed while the application was down are not made up.
+     */
+    private void advance(ScheduledTransfer order, LocalDateTime now) {
+        if (order.getFrequency() == TransferFrequency.ONCE) {
+            order.setRunCount(order.getRunCount() + 1);
+            order.setStatus(ScheduledTransferStatus.COMPLETED);
+            return;
+        }
+        LocalDateTime next;
+        do {
+            order.setRunCount(order.getRunCount() + 1);
+            next = occurrence(order, order.getRunCount());
+        } while (!next.isAfter(now));
+
+        if (order.getEndAt() != null && next.isAfter(order.getEndAt())) {
+            order.setStatus(ScheduledTransferStatus.COMPLETED);
+        } else {
+            order.setNextRunAt(next);
+        }
+    }
+
+    private LocalDateTime occurrence(ScheduledTransfer order, int index) {
+        return switch (order.getFrequency()) {
+            case DAILY -> order.getFirstRunAt().plusDays(index);
+            case WEEKLY -> order.getFirstRunAt().plusWeeks(index);
+            case MONTHLY -> order.getFirstRunAt().plusMonths(index);
+            case ONCE -> order.getFirstRunAt();
+        };
+    }
+
+    private long toMillis(LocalDateTime timestamp) {
+        return timestamp.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    private record DueTransfer(int shard, long id, long fromAccountId, long toAccountId, LocalDateTime runAt) {
+    }
+
+    private record GroupKey(int shard, long fromAccountId, LocalDateTime runAt) {
+    }
+}
@@ -0,0 +1,150 @@
+package com.zenvest.devx.services;
+
+import com.zenvest.devx.constants.ErrorCode;
+import com.zenvest.devx.constants.ScheduledTransferStatus;
+import com.zenvest.devx.dtos.inputs.ScheduledTransferRequest;
+import com.zenvest.devx.dtos.outputs.ScheduledTransferResponse;
+import com.zenvest.devx.exceptions.InvalidOperationException;
+import com.zenvest.devx.exceptions.NotFoundException;
+import com.zenvest.devx.models.Account;
+import com.zenvest.devx.models.ScheduledTransfer;
+import com.zenvest.devx.models.User;
+import com.zenvest.devx.repositories.AccountRepository;
+import com.zenvest.devx.repositories.ScheduledTransferRepository;
+import com.zenvest.devx.sharding.ShardDirectory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+/**
+ * ScheduledTransferService manages the standing orders and future-dated transfers of the current user.
+ * Orders are executed by the {@link ScheduledTransferScheduler}; this service creates, lists and cancels them.
+ */
+@Service
+public class ScheduledTransferService {
+
+    private final AuthService authService;
+    private final TransactionService transactionService;
+    private final AccountRepository accountRepository;
+    private final ScheduledTransferRepository scheduledTransferRepository;
+    private final ScheduledTransferScheduler scheduler;
+    private final ShardDirectory shardDirectory;
+    private final TransactionTemplate transactionTemplate;
+
+    @Autowired
+    public ScheduledTransferService(AuthService authService,
+                                    TransactionService transactionService,
+                                    AccountRepository accountRepository,
+                                    ScheduledTransferRepository scheduledTransferRepository,
+                                    ScheduledTransferScheduler scheduler,
+                                    ShardDirectory shardDirectory,
+                                    PlatformTransactionManager transactionManager) {
+        this.authService = authService;
+        this.transactionService = transactionService;
+        this.accountRepository = accountRepository;
+        this.scheduledTransferRepository = scheduledTransferRepository;
+        this.scheduler = scheduler;
+        this.shardDirectory = shardDirectory;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Creates a scheduled transfer from an account of the current user.
+     * Execution times are kept to the second. The destination account must live on the same shard.
+     *
+     * @param request the request object containing the order details
+     * @return a ScheduledTransferResponse object representing the created order
+     */
+    public ScheduledTransferResponse createScheduledTransfer(ScheduledTransferRequest request) {
+        if (shardDirectory.isOnOtherShard(request.getToAccountId())) {
+            throw new InvalidOperationException(ErrorCode.CROSS_SHARD_TRANSFER_NOT_SUPPORTED,
+                    "Scheduled transfers to this account are not supported");
+        }
+        ScheduledTransfer scheduledTransfer = transactionTemplate.execute(status -> {
+            Account from = transactionService.getUserOwnedAccount(request.getFromAccountId());
+            Account to = accountRepository.findById(request.getToAccountId())
+                    .orElseThrow(() -> new NotFoundException(ErrorCode.ACCOUNT_NOT_FOUND, "Destination account not found"));
+
+            if (from.getId().equals(to.getId())) {
+                throw new InvalidOperationException(ErrorCode.SAME_ACCOUNT_TRANSFER, "Cannot transfer to the same account");
+            }
+            if (request.getEndAt() != null && request.getEndAt().isBefore(request.getFirstRunAt())) {
+                throw new IllegalArgumentException("End time must not be before the first execution time");
+            }
+
+            return scheduledTransferRepository.save(ScheduledTransfer.builder()
+                    .amount(request.getAmount())
+                    .description(request.getDescription())
+                    .frequency(request.getFrequency())
+                    .firstRunAt(request.getFirstRunAt().truncatedTo(ChronoUnit.SECONDS))
+                    .nextRunAt(request.getFirstRunAt().truncatedTo(ChronoUnit.SECONDS))
+                    .endAt(request.getEndAt())
+                    .runCount(0)
+                    .status(ScheduledTransferStatus.ACTIVE)
+                    .fromAccount(from)
+                    .toAccount(to)
+                    .build());
+        });
+
+        scheduler.schedule(scheduledTransfer);
+        return toScheduledTransferResponse(scheduledTransfer);
+    }
+
+    /**
+     * Retrieves the scheduled transfers of the current user, in order of their next execution.
+     *
+     * @return a list of ScheduledTransferResponse objects
+     */
+    @Transactional(readOnly = true)
+    public List<ScheduledTransferResponse> getScheduledTransfersForCurrentUser() {
+        User currentUser = authService.getCurrentUser();
+        return scheduledTransferRepository.findByFromAccountUserIdOrderByNextRunAtAsc(currentUser.getId()).stream()
+                .map(this::toScheduledTransferResponse)
+                .toList();
+    }
+
+    /**
+     * Cancels an active scheduled transfer of the current user.
+     * An execution already in progress completes; no further execution starts.
+     *
+     * @param id the ID of the scheduled transfer
+     * @return a ScheduledTransferResponse object representing the cancelled order
+     */
+    public ScheduledTransferResponse cancelScheduledTransfer(Long id) {
+        User currentUser = authService.getCurrentUser();
+        ScheduledTransfer scheduledTransfer = transactionTemplate.execute(status -> {
+            ScheduledTransfer order = scheduledTransferRepository.findAllByIdInForUpdate(List.of(id)).stream()
+                    .filter(candidate -> candidate.getFromAccount().getUser().getId().equals(currentUser.getId()))
+                    .findFirst()
+                    .orElseThrow(() -> new NotFoundException(ErrorCode.SCHEDULED_TRANSFER_NOT_FOUND, "Scheduled transfer not found"));
+
+            if (order.getStatus() != ScheduledTransferStatus.ACTIVE) {
+                throw new InvalidOperationException(ErrorCode.SCHEDULED_TRANSFER_NOT_ACTIVE, "Scheduled transfer is no longer active");
+            }
+            order.setStatus(ScheduledTransferStatus.CANCELLED);
+            return order;
+        });
+        return toScheduledTransferResponse(scheduledTransfer);
+    }
+
+    private ScheduledTransferResponse toScheduledTransferResponse(ScheduledTransfer scheduledTransfer) {
+        return ScheduledTransferResponse.builder()
+                .id(scheduledTransfer.getId())
+                .fromAccountId(scheduledTransfer.getFromAccount().getId())
+                .toAccountId(scheduledTransfer.getToAccount().getId())
+                .amount(scheduledTransfer.getAmount())
+                .description(scheduledTransfer.getDescription())
+                .frequency(scheduledTransfer.getFrequency())
+                .nextRunAt(scheduledTransfer.getNextRunAt())
+                .endAt(scheduledTransfer.getEndAt())
+                .runCount(scheduledTransfer.getRunCount())
+                .status(scheduledTransfer.getStatus())
+                .lastFailureReason(scheduledTransfer.getLastFailureReason())
+                .build();
+    }
+}
@@ -0,0 +1,159 @@
+package com.zenvest.devx.services;
+
+import com.zenvest.devx.models.TokenRevocation;
+import com.zenvest.devx.repositories.TokenRevocationRepository;
+import com.zenvest.devx.sharding.ShardContext;
+import com.zenvest.devx.utils.BloomFilter;
+import jakarta.annotation.PostConstruct;
+import jakarta.transaction.Transactional;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * TokenRevocationService keeps the denylist of revoked access tokens.
+ * Revoked jtis are held in memory behind a Bloom filter, so checking a token that was never revoked
+ * is a few array reads and no allocation. Revoke-all is a per-subject not-before instant, kept at the
+ * second precision of the JWT {@code iat} claim it is compared with.
+ * Every revocation is persisted; other instances pick new rows up on the next refresh, and rows are
+ * purged once the tokens they cover have expired. Revocations always live on the directory shard.
+ */
+@Slf4j
+@Service
+public class TokenRevocationService {
+
+    private final TokenRevocationRepository tokenRevocationRepository;
+    private final Map<String, Instant> revokedJtis = new ConcurrentHashMap<>();
+    private final Map<String, Instant> notBefore = new ConcurrentHashMap<>();
+
+    @Value("${jwt.access-token.expiry-ms}")
+    private long accessTokenExpiry;
+
+    @Value("${zenvest.security.revocation.expected-revocations:100000}")
+    private long expectedRevocations;
+
+    @Value("${zenvest.security.revocation.false-positive-rate:0.01}")
+    private double falsePositiveRate;
+
+    private volatile BloomFilter filter;
+    private volatile long lastSeenId;
+
+    @Autowired
+    public TokenRevocationService(TokenRevocationRepository tokenRevocationRepository) {
+        this.tokenRevocationRepository = tokenRevocationRepository;
+    }
+
+    @PostConstruct
+    void load() {
+        filter = new BloomFilter(expectedRevocations, falsePositiveRate);
+        refresh();
+        log.info("Loaded {} revoked tokens and {} revoked subjects", revokedJtis.size(), notBefore.size());
+    }
+
+    /**
+     * Checks whether a token has been revoked.
+     *
+     * @param jti      the token ID, may be null for tokens issued before jtis were added
+     * @param subject  the token subject
+     * @param issuedAt the token issue time
+     * @return true if the token must be rejected
+     */
+    public boolean isRevoked(String jti, String subject, Instant issuedAt) {
+        if (!notBefore.isEmpty() && subject != null) {
+            Instant subjectNotBefore = notBefore.get(subject);
+            if (subjectNotBefore != null && (issuedAt == null || issuedAt.isBefore(subjectNotBefore))) {
+                return true;
+            }
+        }
+        return jti != null && filter.mightContain(jti) && revokedJtis.containsKey(jti);
+    }
+
+    /**
+     * Revokes a single token until it expires.
+     *
+     * @param jti       the token ID
+     * @param expiresAt the token expiry
+     */
+    public void revoke(String jti, Instant expiresAt) {
+        TokenRevocation revocation = ShardContext.call(ShardContext.DIRECTORY_SHARD,
+                () -> tokenRevocationRepository.save(TokenRevocation.builder()
+                        .jti(jti)
+                        .expiresAt(expiresAt)
+                        .build()));
+        apply(revocation);
+    }
+
+    /**
+     * Revokes every token of a subject issued before the current second.
+     * Tokens carry their issue time in whole seconds, so a token issued within the current second, before or
+     * after this call, cannot be told apart and stays valid; this keeps the login that usually follows a
+     * revoke-all from being rejected.
+     *
+     * @param subject the token subject
+     */
+    public void revokeAll(String subject) {
+        Instant now = Instant.now();
+        TokenRevocation revocation = ShardContext.call(ShardContext.DIRECTORY_SHARD,
+                () -> tokenRevocationRepository.save(TokenRevocation.builder()
+                        .subject(subject)
+                        .notBefore(now)
+                        .expiresAt(now.plusMillis(accessTokenExpiry))
+                        .build()));
+        apply(revocation);
+    }
+
+    /**
+     * Loads revocations made by other instances since the last refresh.
+     */
+    @Scheduled(fixedDelayString = "${zenvest.security.revocation.refresh-interval-ms:5000}")
+    public void refresh() {
+        for (TokenRevocation revocation : tokenRevocationRepository
+                .findByIdGreaterThanAndExpiresAtAfterOrderByIdAsc(lastSeenId, Instant.now())) {
+            apply(revocation);
+        }
+    }
+
+    /**
+     * Drops revocations whose tokens have expired and rebuilds the Bloom filter without them.
+     */
+    @Transactional
+    @Scheduled(fixedDelayString = "${zenvest.security.revocation.purge-interval-ms:600000}")
+    public void purgeExpired() {
+        Instant now = Instant.now();
+        int deleted = tokenRevocationRepository.deleteExpired(now);
+        rebuild(now);
+        if (deleted > 0) {
+            log.info("Purged {} expired token revocations", deleted);
+        }
+    }
+
+    private synchronized void rebuild(Instant now) {
+        revokedJtis.values().removeIf(expiresAt -> expiresAt.isBefore(now));
+        notBefore.entrySet().removeIf(entry -> entry.getValue().plusMillis(accessTokenExpiry).isBefore(now));
+
+        BloomFilter rebuilt = new BloomFilter(Math.max(expectedRevocations, revokedJtis.size() * 2L), falsePositiveRate);
+        revokedJtis.keySet().forEach(rebuilt::put);
+        filter = rebuilt;
+    }
+
+    private synchronized void apply(TokenRevocation revocation) {
+        if (revocation.getJti() != null) {
+            revokedJtis.put(revocation.getJti(), revocation.getExpiresAt());
+            filter.put(revocation.getJti());
+        }
+        if (revocation.getSubject() != null) {
+            notBefore.merge(revocation.getSubject(), revocation.getNotBefore().truncatedTo(ChronoUnit.SECONDS),
+                    (current, candidate) -> candidate.isAfter(current) ? candidate : current);
+        }
+        if (revocation.getId() != null && revocation.getId() > lastSeenId) {
+            lastSeenId = revocation.getId();
+        }
+    }
+}
@@ -0,0 +1,176 @@
+package com.zenvest.devx.services;
+
+import com.zenvest.devx.constants.TransactionType;
+import com.zenvest.devx.dtos.inputs.TransactionSearchRequest;
+import com.zenvest.devx.dtos.outputs.TransactionResponse;
+import com.zenvest.devx.dtos.outputs.TransactionSearchResponse;
+import com.zenvest.devx.dtos.projections.AccountView;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+
+/**
+ * TransactionSearchService searches the transactions of an account by description text, amount range,
+ * date range and type.
+ * Every request walks at most {@code max-scan-rows} transactions of the account, newest first, through the
+ * (account_id, timestamp) or (account_id, transaction_type, timestamp) index; the remaining criteria are applied
+ * to those rows only. A page that runs out of budget before it is full is returned with a cursor, so the client
+ * continues the walk with its next request instead of the database scanning an unbounded range.
+ * Archived months are not searched.
+ */
+@Service
+public class TransactionSearchService {
+
+    private static final TransactionType[] TRANSACTION_TYPES = TransactionType.values();
+
+    private final TransactionService transactionService;
+    private final AccountBalanceService accountBalanceService;
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${zenvest.search.max-scan-rows:5000}")
+    private int maxScanRows;
+
+    @Value("${zenvest.search.default-page-size:20}")
+    private int defaultPageSize;
+
+    @Autowired
+    public TransactionSearchService(TransactionService transactionService,
+                                    AccountBalanceService accountBalanceService,
+                                    JdbcTemplate jdbcTemplate) {
+        this.transactionService = transactionService;
+        this.accountBalanceService = accountBalanceService;
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Searches the transactions of an account owned by the current user, newest first.
+     *
+     * @param accountId the ID of the account
+     * @param request   the search criteria and paging position
+     * @return a TransactionSearchResponse with the matching transactions and the cursor of the next page
+     */
+    @Transactional(readOnly = true)
+    public TransactionSearchResponse search(Long accountId, TransactionSearchRequest request) {
+        AccountView account = transactionService.getUserOwnedAccountView(accountId);
+        int pageSize = request.getLimit() == null ? defaultPageSize : request.getLimit();
+        Position after = request.getCursor() == null ? null : decode(request.getCursor());
+
+        List<Object> scanArgs = new ArrayList<>();
+        String scan = scanSql("id, amount, transaction_type, description, timestamp", accountId, request, after, scanArgs);
+
+        StringBuilder sql = new StringBuilder("select id, amount, transaction_type, description, timestamp from (")
+                .append(scan).append(") scanned where 1 = 1");
+        List<Object> args = new ArrayList<>(scanArgs);
+        if (request.getMinAmount() != null) {
+            sql.append(" and amount >= ?");
+            args.add(request.getMinAmount());
+        }
+        if (request.getMaxAmount() != null) {
+            sql.append(" and amount <= ?");
+            args.add(request.getMaxAmount());
+        }
+        if (request.getQ() != null && !request.getQ().isBlank()) {
+            sql.append(" and description like ?");
+            args.add("%" + escapeLike(request.getQ().trim()) + "%");
+        }
+        sql.append(" order by timestamp desc, id desc limit ?");
+        args.add(pageSize + 1);
+
+        Double balance = accountBalanceService.balanceOf(account);
+        List<TransactionResponse> matches = jdbcTemplate.query(sql.toString(), (rs, rowNum) -> {
+            int type = rs.getInt(3);
+            TransactionType transactionType = rs.wasNull() ? null : TRANSACTION_TYPES[type];
+            return TransactionResponse.builder()
+                    .id(rs.getLong(1))
+                    .amount(rs.getDouble(2))
+                    .transactionType(transactionType)
+                    .description(rs.getString(4))
+                    .timestamp(rs.getObject(5, LocalDateTime.class))
+                    .accountBalance(balance)
+                    .build();
+        }, args.toArray());
+
+        if (matches.size() > pageSize) {
+            List<TransactionResponse> page = matches.subList(0, pageSize);
+            TransactionResponse last = page.get(pageSize - 1);
+            return new TransactionSearchResponse(new ArrayList<>(page),
+                    encode(new Position(last.getTimestamp(), last.getId())));
+        }
+
+        // The page is not full: either the range is exhausted or the scan budget ran out first.
+        // The second walk reads the index only.
+        List<Object> boundaryArgs = new ArrayList<>();
+        String boundaryScan = scanSql("timestamp, id", accountId, request, after, boundaryArgs);
+        List<Object[]> boundary = jdbcTemplate.query("select timestamp, id, count(*) over () from ("
+                        + boundaryScan + ") scanned order by timestamp, id limit 1",
+                (rs, rowNum) -> new Object[]{rs.getObject(1, LocalDateTime.class), rs.getLong(2), rs.getLong(3)},
+                boundaryArgs.toArray());
+        if (boundary.isEmpty() || (Long) boundary.get(0)[2] < maxScanRows) {
+            return new TransactionSearchResponse(matches, null);
+        }
+        return new TransactionSearchResponse(matches,
+                encode(new Position((LocalDateTime) boundary.get(0)[0], (Long) boundary.get(0)[1])));
+    }
+
+    /**
+     * Builds the bounded index walk: the indexed criteria, the keyset position and the scan budget.
+     */
+    private String scanSql(String columns, Long accountId, TransactionSearchRequest request, Position after,
+                           List<Object> args) {
+        StringBuilder sql = new StringBuilder("select " + columns + " from transactions where account_id = ?");
+        args.add(accountId);
+        if (request.getType() != null) {
+            sql.append(" and transaction_type = ?");
+            args.add(request.getType().ordinal());
+        }
+        if (request.getFrom() != null) {
+            sql.append(" and timestamp >= ?");
+            args.add(Timestamp.valueOf(request.getFrom()));
+        }
+        if (request.getTo() != null) {
+            sql.append(" and timestamp < ?");
+            args.add(Timestamp.valueOf(request.getTo()));
+        }
+        if (after != null) {
+            sql.append(" and (timestamp < ? or (timestamp = ? and id < ?))");
+            args.add(Timestamp.valueOf(after.timestamp()));
+            args.add(Timestamp.valueOf(after.timestamp()));
+            args.add(after.id());
+        }
+        sql.append(" order by timestamp desc, id desc limit ?");
+        args.add(maxScanRows);
+        return sql.toString();
+    }
+
+    private static String escapeLike(String text) {
+        return text.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+
+    private static String encode(Position position) {
+        String raw = position.timestamp() + "," + position.id();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static Position decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int comma = raw.lastIndexOf(',');
+            return new Position(LocalDateTime.parse(raw.substring(0, comma)), Long.parseLong(raw.substring(comma + 1)));
+        } catch (IllegalArgumentException | DateTimeParseException | IndexOutOfBoundsException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+    }
+
+    private record Position(LocalDateTime timestamp, long id) {
+    }
+}
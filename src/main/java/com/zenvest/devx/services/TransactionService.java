@@ -1,20 +1,47 @@
 package com.zenvest.devx.services;
 
+import com.zenvest.devx.archive.ArchivedTransaction;
+import com.zenvest.devx.constants.AccountActivityType;
+import com.zenvest.devx.constants.ErrorCode;
 import com.zenvest.devx.constants.TransactionType;
 import com.zenvest.devx.dtos.inputs.TransactionRequest;
-import com.zenvest.devx.dtos.outputs.AccountResponse;
 import com.zenvest.devx.dtos.outputs.TransactionResponse;
+import com.zenvest.devx.dtos.projections.AccountView;
+import com.zenvest.devx.dtos.projections.TransactionView;
+import com.zenvest.devx.events.AccountActivityPublisher;
+import com.zenvest.devx.events.OutboxWriter;
+import com.zenvest.devx.exceptions.ForbiddenException;
+import com.zenvest.devx.exceptions.InactiveAccountException;
+import com.zenvest.devx.exceptions.InsufficientFundsException;
 import com.zenvest.devx.models.Account;
 import com.zenvest.devx.models.Transaction;
 import com.zenvest.devx.models.User;
+import com.zenvest.devx.monitoring.MoneyMovementEvent;
 import com.zenvest.devx.repositories.AccountRepository;
 import com.zenvest.devx.repositories.TransactionRepository;
+import com.zenvest.devx.responses.ColumnarResponse;
+import com.zenvest.devx.sharding.ShardContext;
+import com.zenvest.devx.utils.FieldSelection;
+import com.zenvest.devx.utils.SingleFlight;
+import io.micrometer.core.instrument.MeterRegistry;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.sql.Timestamp;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 /**
@@ -24,18 +51,59 @@ import java.util.stream.Collectors;
 @Service
 public class TransactionService {
 
+    /**
+     * The fields of a transaction that can be selected with {@code fields=}, in their default order.
+     */
+    public static final List<String> TRANSACTION_FIELDS =
+            List.of("id", "transactionType", "amount", "description", "timestamp", "accountBalance");
+
+    private static final Map<String, String> TRANSACTION_COLUMNS = Map.of(
+            "transactionType", "transaction_type",
+            "amount", "amount",
+            "description", "description",
+            "timestamp", "timestamp");
+
+    private static final TransactionType[] TRANSACTION_TYPES = TransactionType.values();
+
     private final AuthService authService;
     private final TransactionRepository transactionRepository;
     private final AccountRepository accountRepository;
+    private final AccountBalanceService accountBalanceService;
+    private final AccountActivityPublisher activityPublisher;
+    private final OutboxWriter outboxWriter;
+    private final VelocityService velocityService;
+    private final ArchiveService archiveService;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate readOnlyTemplate;
+    private final SingleFlight<AccountKey, Optional<AccountView>> accountViewReads;
+    private final SingleFlight<TransactionsKey, List<TransactionResponse>> transactionReads;
 
     @Autowired
     public TransactionService(AuthService authService,
                               TransactionRepository transactionRepository,
-                              AccountRepository accountRepository) {
+                              AccountRepository accountRepository,
+                              AccountBalanceService accountBalanceService,
+                              AccountActivityPublisher activityPublisher,
+                              OutboxWriter outboxWriter,
+                              VelocityService velocityService,
+                              ArchiveService archiveService,
+                              JdbcTemplate jdbcTemplate,
+                              PlatformTransactionManager transactionManager,
+                              MeterRegistry meterRegistry) {
 
         this.authService = authService;
         this.transactionRepository = transactionRepository;
         this.accountRepository = accountRepository;
+        this.accountBalanceService = accountBalanceService;
+        this.activityPublisher = activityPublisher;
+        this.outboxWriter = outboxWriter;
+        this.velocityService = velocityService;
+        this.archiveService = archiveService;
+        this.jdbcTemplate = jdbcTemplate;
+        this.readOnlyTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTemplate.setReadOnly(true);
+        this.accountViewReads = new SingleFlight<>("account-view", meterRegistry);
+        this.transactionReads = new SingleFlight<>("transactions", meterRegistry);
     }
 
     /**
@@ -46,24 +114,39 @@ public class TransactionService {
      * @param request   the request object containing deposit details
      * @return a TransactionResponse object representing the deposit transaction
      */
+    @Transactional
     public TransactionResponse deposit(Long accountId, @Valid TransactionRequest request) {
-        Account account = getAccount(accountId);
-
-        account.setBalance(request.getAmount());
+        MoneyMovementEvent event = MoneyMovementEvent.start(MoneyMovementEvent.DEPOSIT);
+        event.account(accountId);
+        try {
+            Account account = getAccount(accountId);
+            event.lookupDone();
 
-        Transaction transaction = Transaction.builder()
-                .amount(request.getAmount())
-                .transactionType(TransactionType.DEPOSIT)
-                .description(request.getDescription())
-                .timestamp(LocalDateTime.now())
-                .account(account)
-                .build();
+            accountBalanceService.creditInPlace(account, request.getAmount());
+            event.balanceUpdated(1);
 
-        transaction = transactionRepository.save(new Transaction());
-        accountRepository.save(new Account());
+            Transaction transaction = Transaction.builder()
+                    .amount(request.getAmount())
+                    .transactionType(TransactionType.DEPOSIT)
+                    .description(request.getDescription())
+                    .timestamp(LocalDateTime.now())
+                    .account(account)
+                    .build();
 
-        return toTransactionResponse(transaction);
+            transaction = transactionRepository.save(transaction);
+            event.persisted();
 
+            Double balance = accountBalanceService.currentBalanceOf(account);
+            outboxWriter.transactionRecorded(transaction, balance);
+            activityPublisher.publish(account, AccountActivityType.DEPOSIT, transaction.getAmount(), balance,
+                    transaction.getDescription(), transaction.getTimestamp());
+            event.published();
+            event.complete();
+            return toTransactionResponse(transaction, balance);
+        } catch (RuntimeException e) {
+            event.fail(e);
+            throw e;
+        }
     }
 
 
@@ -76,27 +159,42 @@ public class TransactionService {
      * @param request   the request object containing withdrawal details
      * @return a TransactionResponse object representing the withdrawal transaction
      */
+    @Transactional
     public TransactionResponse withdraw(Long accountId, @Valid TransactionRequest request) {
-        Account account = getAccount(accountId);
-
-        if (account.getBalance() > request.getAmount()) {
-            throw new IllegalArgumentException("Insufficient balance for withdrawal");
-        }
+        MoneyMovementEvent event = MoneyMovementEvent.start(MoneyMovementEvent.WITHDRAW);
+        event.account(accountId);
+        try {
+            Account account = getAccount(accountId);
+            event.lookupDone();
 
-        account.setBalance(request.getAmount());
+            velocityService.checkOutgoing(account.getId(), request.getAmount(), null);
+            if (!accountBalanceService.tryDebitInPlace(account, request.getAmount())) {
+                throw new InsufficientFundsException("Insufficient balance for withdrawal");
+            }
+            event.balanceUpdated(1);
 
-        Transaction transaction = Transaction.builder()
-                .amount(request.getAmount())
-                .transactionType(TransactionType.WITHDRAWAL)
-                .description(request.getDescription())
-                .timestamp(LocalDateTime.now())
-                .account(account)
-                .build();
+            Transaction transaction = Transaction.builder()
+                    .amount(request.getAmount())
+                    .transactionType(TransactionType.WITHDRAWAL)
+                    .description(request.getDescription())
+                    .timestamp(LocalDateTime.now())
+                    .account(account)
+                    .build();
 
-        transaction = transactionRepository.save(null);
-        accountRepository.save(account);
+            transaction = transactionRepository.save(transaction);
+            event.persisted();
 
-        return toTransactionResponse(transaction);
+            Double balance = accountBalanceService.currentBalanceOf(account);
+            outboxWriter.transactionRecorded(transaction, balance);
+            activityPublisher.publish(account, AccountActivityType.WITHDRAWAL, transaction.getAmount(), balance,
+                    transaction.getDescription(), transaction.getTimestamp());
+            event.published();
+            event.complete();
+            return toTransactionResponse(transaction, balance);
+        } catch (RuntimeException e) {
+            event.fail(e);
+            throw e;
+        }
     }
 
     /**
@@ -110,29 +208,142 @@ public class TransactionService {
         Account account = getUserOwnedAccount(accountId);
 
         if (account.getActive().equals(false)) {
-            throw new  RuntimeException("Account is not active");
+            throw new InactiveAccountException("Account is not active");
         }
         return account;
     }
 
     /**
-     * Retrieves all transactions associated with the specified account ID.
-     * This method fetches the transactions and converts them to a list of TransactionResponse objects.
+     * Retrieves the transactions associated with the specified account ID, optionally limited to a date range.
+     * This method fetches the live transactions and converts them to a list of TransactionResponse objects.
+     * Transactions of archived months are read from the archive and listed first, so the result does not
+     * depend on whether a month is still in the database.
      * It only fetches transactions that belong to the current user.
-     * If not owned by the current user, need to show an error.
+     * Concurrent reads of the same account and range share one query, after each caller's ownership check.
+     * The method runs outside of a transaction so that callers waiting for the shared query hold no database
+     * connection; only the caller running it opens a read-only transaction.
      *
      * @param accountId the ID of the account to retrieve transactions for
+     * @param from      the first instant to include, or null for no lower bound
+     * @param to        the first instant to exclude, or null for no upper bound
      * @return a list of TransactionResponse objects representing the transactions for the specified account
      */
-    public List<TransactionResponse> getTransactionsForAccount(Long accountId) {
-        List<Transaction> transactions = transactionRepository.findByAccountId(accountId);
-        return transactions.stream()
-                .map(this::toTransactionResponse)
-                .collect(Collectors.toList());
+    public List<TransactionResponse> getTransactionsForAccount(Long accountId, LocalDateTime from, LocalDateTime to) {
+        AccountView account = getUserOwnedAccountView(accountId);
+        return transactionReads.execute(new TransactionsKey(ShardContext.current(), accountId, from, to),
+                () -> readOnlyTemplate.execute(status -> loadTransactions(account, from, to)));
+    }
+
+    private List<TransactionResponse> loadTransactions(AccountView account, LocalDateTime from, LocalDateTime to) {
+        Long accountId = account.id();
+        List<TransactionView> transactions = transactionRepository.findViewsByAccountIdInRange(accountId, from, to);
+        List<ArchivedTransaction> archived = archiveService.findTransactions(accountId, from, to);
+        if (transactions.isEmpty() && archived.isEmpty()) {
+            return List.of();
+        }
+
+        Double accountBalance = accountBalanceService.balanceOf(account);
+        Set<Long> liveIds = transactions.stream().map(TransactionView::id).collect(Collectors.toSet());
+        List<TransactionResponse> responses = new ArrayList<>(archived.size() + transactions.size());
+        for (ArchivedTransaction t : archived) {
+            // a month being archived is briefly visible in both places
+            if (!liveIds.contains(t.id())) {
+                responses.add(toTransactionResponse(t, accountBalance));
+            }
+        }
+        for (TransactionView t : transactions) {
+            responses.add(toTransactionResponse(t, accountBalance));
+        }
+        // shared by every caller of the read
+        return Collections.unmodifiableList(responses);
 
     }
 
 
+    /**
+     * Retrieves the selected fields of the transactions of the specified account, optionally limited to a date range.
+     * Only the selected columns are read from the database; the order and the archive merge are the same as
+     * {@link #getTransactionsForAccount(Long, LocalDateTime, LocalDateTime)}.
+     * It only fetches transactions that belong to the current user.
+     *
+     * @param accountId the ID of the account to retrieve transactions for
+     * @param from      the first instant to include, or null for no lower bound
+     * @param to        the first instant to exclude, or null for no upper bound
+     * @param fields    the comma-separated fields to return, or null for every field
+     * @return a ColumnarResponse with one row per transaction
+     */
+    @Transactional(readOnly = true)
+    public ColumnarResponse getTransactionColumns(Long accountId, LocalDateTime from, LocalDateTime to, String fields) {
+        FieldSelection selection = FieldSelection.parse(fields, TRANSACTION_FIELDS);
+        List<String> columns = selection.fields();
+        AccountView account = getUserOwnedAccountView(accountId);
+
+        // the id is always read, it is needed to drop archived rows that are still live
+        StringBuilder sql = new StringBuilder("select id");
+        for (String field : columns) {
+            String column = TRANSACTION_COLUMNS.get(field);
+            if (column != null) {
+                sql.append(", ").append(column);
+            }
+        }
+        sql.append(" from transactions where account_id = ?");
+        List<Object> args = new ArrayList<>();
+        args.add(accountId);
+        if (from != null) {
+            sql.append(" and timestamp >= ?");
+            args.add(Timestamp.valueOf(from));
+        }
+        if (to != null) {
+            sql.append(" and timestamp < ?");
+            args.add(Timestamp.valueOf(to));
+        }
+        sql.append(" order by id");
+
+        Double accountBalance = selection.includes("accountBalance") ? accountBalanceService.balanceOf(account) : null;
+        Set<Long> liveIds = new HashSet<>();
+        List<Object[]> liveRows = jdbcTemplate.query(sql.toString(), (rs, rowNum) -> {
+            long id = rs.getLong(1);
+            liveIds.add(id);
+            Object[] row = new Object[columns.size()];
+            int index = 2;
+            for (int i = 0; i < row.length; i++) {
+                row[i] = switch (columns.get(i)) {
+                    case "id" -> id;
+                    case "accountBalance" -> accountBalance;
+                    case "transactionType" -> {
+                        int type = rs.getInt(index++);
+                        yield rs.wasNull() ? null : TRANSACTION_TYPES[type];
+                    }
+                    case "amount" -> rs.getObject(index++, Double.class);
+                    case "timestamp" -> rs.getObject(index++, LocalDateTime.class);
+                    default -> rs.getString(index++);
+                };
+            }
+            return row;
+        }, args.toArray());
+
+        List<ArchivedTransaction> archived = archiveService.findTransactions(accountId, from, to);
+        List<Object[]> rows = new ArrayList<>(archived.size() + liveRows.size());
+        for (ArchivedTransaction t : archived) {
+            if (!liveIds.contains(t.id())) {
+                Object[] row = new Object[columns.size()];
+                for (int i = 0; i < row.length; i++) {
+                    row[i] = switch (columns.get(i)) {
+                        case "id" -> t.id();
+                        case "transactionType" -> t.transactionType();
+                        case "amount" -> t.amount();
+                        case "description" -> t.description();
+                        case "timestamp" -> t.timestamp();
+                        default -> accountBalance;
+                    };
+                }
+                rows.add(row);
+            }
+        }
+        rows.addAll(liveRows);
+        return new ColumnarResponse(columns, rows);
+    }
+
     /**
      * Retrieves the account associated with the given account ID.
      * This method checks if the account belongs to the current user.
@@ -144,24 +355,73 @@ public class TransactionService {
         User currentUser = authService.getCurrentUser();
         return accountRepository.findById(accountId)
                 .filter(acc -> acc.getUser().getId().equals(currentUser.getId()))
-                .orElseThrow(() -> new RuntimeException("Account does not belong to current user"));
+                .orElseThrow(() -> new ForbiddenException(ErrorCode.ACCOUNT_NOT_OWNED, "Account does not belong to current user"));
+    }
+
+    /**
+     * Retrieves the account associated with the given account ID as a read-only view.
+     * This method checks if the account belongs to the current user; concurrent lookups of the same account
+     * share one query, the check runs for every caller.
+     *
+     * @param accountId the ID of the account to retrieve
+     * @return the AccountView of the specified account
+     */
+    public AccountView getUserOwnedAccountView(Long accountId) {
+        User currentUser = authService.getCurrentUser();
+        // a caller inside a transaction would hold its connection while waiting for the shared query
+        Optional<AccountView> account = TransactionSynchronizationManager.isActualTransactionActive()
+                ? accountRepository.findViewById(accountId)
+                : accountViewReads.execute(new AccountKey(ShardContext.current(), accountId),
+                        () -> accountRepository.findViewById(accountId));
+        return account
+                .filter(acc -> acc.userId().equals(currentUser.getId()))
+                .orElseThrow(() -> new ForbiddenException(ErrorCode.ACCOUNT_NOT_OWNED, "Account does not belong to current user"));
     }
 
     /**
      * Converts a Transaction object to a TransactionResponse object.
      * This method is responsible for mapping the Transaction entity to its corresponding response DTO.
      *
-     * @param t the Transaction object to convert
+     * @param t              the Transaction object to convert
+     * @param accountBalance the current balance of the transaction's account
      * @return a TransactionResponse object representing the transaction details
      */
-    private TransactionResponse toTransactionResponse(Transaction t) {
+    private TransactionResponse toTransactionResponse(Transaction t, Double accountBalance) {
         return TransactionResponse.builder()
                 .id(t.getId())
                 .amount(t.getAmount())
                 .transactionType(t.getTransactionType())
                 .description(t.getDescription())
                 .timestamp(t.getTimestamp())
-                .accountBalance(t.getAccount().getBalance())
+                .accountBalance(accountBalance)
                 .build();
     }
-}
\ No newline at end of file
+
+    private TransactionResponse toTransactionResponse(TransactionView t, Double accountBalance) {
+        return TransactionResponse.builder()
+                .id(t.id())
+                .amount(t.amount())
+                .transactionType(t.transactionType())
+                .description(t.description())
+                .timestamp(t.timestamp())
+                .accountBalance(accountBalance)
+                .build();
+    }
+
+    private TransactionResponse toTransactionResponse(ArchivedTransaction t, Double accountBalance) {
+        return TransactionResponse.builder()
+                .id(t.id())
+                .amount(t.amount())
+                .transactionType(t.transactionType())
+                .description(t.description())
+                .timestamp(t.timestamp())
+                .accountBalance(accountBalance)
+                .build();
+    }
+
+    private record AccountKey(int shard, Long accountId) {
+    }
+
+    private record TransactionsKey(int shard, Long accountId, LocalDateTime from, LocalDateTime to) {
+    }
+}
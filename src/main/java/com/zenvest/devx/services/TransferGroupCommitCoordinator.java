@@ -0,0 +1,272 @@
+package com.zenvest.devx.services;
+
+import com.zenvest.devx.constants.ErrorCode;
+import com.zenvest.devx.dtos.inputs.TransferRequest;
+import com.zenvest.devx.dtos.outputs.TransferResponse;
+import com.zenvest.devx.exceptions.ForbiddenException;
+import com.zenvest.devx.exceptions.NotFoundException;
+import com.zenvest.devx.exceptions.OutcomeUnknownException;
+import com.zenvest.devx.exceptions.ServiceUnavailableException;
+import com.zenvest.devx.exceptions.TooManyRequestsException;
+import com.zenvest.devx.models.Account;
+import com.zenvest.devx.repositories.AccountRepository;
+import com.zenvest.devx.sharding.ShardDirectory;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * TransferGroupCommitCoordinator applies concurrent transfers in shared database transactions.
+ * Request threads enqueue their transfer and wait on a future; a single coordinator thread collects up to
+ * {@code max-batch-size} items or waits at most {@code max-wait-ms}, locks every involved account in id order
+ * and applies the whole batch with one commit. A transfer that fails validation writes nothing, so it fails
+ * alone while its neighbours commit.
+ * A batch shares one connection, so group commit is turned off when the accounts are sharded.
+ */
+@Slf4j
+@Service
+public class TransferGroupCommitCoordinator {
+
+    private static final long CALLER_TIMEOUT_SECONDS = 30;
+
+    private final AuthService authService;
+    private final TransferService transferService;
+    private final AccountRepository accountRepository;
+    private final ShardDirectory shardDirectory;
+    private final TransactionTemplate transactionTemplate;
+    private final DistributionSummary batchSizes;
+
+    @Value("${zenvest.transfer.group-commit.enabled:false}")
+    private boolean enabled;
+
+    @Value("${zenvest.transfer.group-commit.max-batch-size:64}")
+    private int maxBatchSize;
+
+    @Value("${zenvest.transfer.group-commit.max-wait-ms:5}")
+    private long maxWaitMs;
+
+    @Value("${zenvest.transfer.group-commit.queue-capacity:10000}")
+    private int queueCapacity;
+
+    private BlockingQueue<PendingTransfer> queue;
+    private Thread coordinator;
+    private volatile boolean running;
+
+    @Autowired
+    public TransferGroupCommitCoordinator(AuthService authService,
+                                          TransferService transferService,
+                                          AccountRepository accountRepository,
+                                          ShardDirectory shardDirectory,
+                                          PlatformTransactionManager transactionManager,
+                                          MeterRegistry meterRegistry) {
+        this.authService = authService;
+        this.transferService = transferService;
+        this.accountRepository = accountRepository;
+        this.shardDirectory = shardDirectory;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSizes = DistributionSummary.builder("zenvest.transfer.group-commit.batch.size")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    void start() {
+        if (enabled && shardDirectory.isSharded()) {
+            log.info("Transfer group commit is disabled because the accounts are sharded");
+            enabled = false;
+        }
+        if (!enabled) {
+            return;
+        }
+        queue = new ArrayBlockingQueue<>(queueCapacity);
+        running = true;
+        coordinator = new Thread(this::run, "transfer-group-commit");
+        coordinator.setDaemon(true);
+        coordinator.start();
+    }
+
+    @PreDestroy
+    void stop() {
+        running = false;
+        if (coordinator != null) {
+            coordinator.interrupt();
+        }
+    }
+
+    /**
+     * Checks if group commit is enabled.
+     *
+     * @return true if transfers should be submitted through this coordinator
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Transfers funds as part of the next group commit and waits for the outcome.
+     *
+     * @param request the request object containing transfer details
+     * @return a TransferResponse object representing the transfer transaction
+     */
+    public TransferResponse transfer(TransferRequest request) {
+        Long userId = authService.getCurrentUser().getId();
+        PendingTransfer pending = new PendingTransfer(userId, request, new CompletableFuture<>());
+        if (!queue.offer(pending)) {
+            throw new TooManyRequestsException("Transfer queue is full, please retry later", 1);
+        }
+
+        try {
+            return pending.result().get(CALLER_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw new IllegalStateException("Group commit failed", e.getCause());
+        } catch (TimeoutException e) {
+            throw abandon(pending);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw abandon(pending);
+        }
+    }
+
+    /**
+     * Stops waiting for a transfer. A transfer still in the queue is taken out and never applied; one the
+     * coordinator has picked up may still commit, so the client is told to check before retrying.
+     */
+    private RuntimeException abandon(PendingTransfer pending) {
+        if (queue.remove(pending)) {
+            return new ServiceUnavailableException("Transfer was not started, please retry later", 1);
+        }
+        return new OutcomeUnknownException(ErrorCode.TRANSFER_OUTCOME_UNKNOWN,
+                "Transfer is still in progress, check the transfer history before retrying");
+    }
+
+    private void run() {
+        List<PendingTransfer> batch = new ArrayList<>(maxBatchSize);
+        while (running) {
+            try {
+                PendingTransfer first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+
+                long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(maxWaitMs);
+                while (batch.size() < maxBatchSize) {
+                    long remaining = deadline - System.nanoTime();
+                    PendingTransfer next = remaining > 0 ? queue.poll(remaining, TimeUnit.NANOSECONDS) : queue.poll();
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+
+                batchSizes.record(batch.size());
+                commit(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                running = false;
+            } catch (RuntimeException e) {
+                log.error("Group commit coordinator failed", e);
+                batch.forEach(pending -> pending.result().completeExceptionally(e));
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    /**
+     * Commits a batch in one transaction. If the shared commit fails, every item is retried in its own
+     * transaction so that one bad item cannot fail its neighbours.
+     */
+    private void commit(List<PendingTransfer> batch) {
+        List<Outcome> outcomes;
+        try {
+            outcomes = transactionTemplate.execute(status -> apply(batch));
+        } catch (RuntimeException e) {
+            log.warn("Group commit of {} transfers failed, retrying one by one", batch.size(), e);
+            outcomes = new ArrayList<>(batch.size());
+            for (PendingTransfer pending : batch) {
+                try {
+                    outcomes.addAll(transactionTemplate.execute(status -> apply(List.of(pending))));
+                } catch (RuntimeException itemFailure) {
+                    outcomes.add(new Outcome(pending, null, itemFailure));
+                }
+            }
+        }
+
+        for (Outcome outcome : outcomes) {
+            if (outcome.failure() != null) {
+                outcome.pending().result().completeExceptionally(outcome.failure());
+            } else {
+                outcome.pending().result().complete(outcome.response());
+            }
+        }
+    }
+
+    /**
+     * Locks all accounts of the batch in id order and applies each transfer.
+     * Runs inside the coordinator's transaction.
+     */
+    private List<Outcome> apply(List<PendingTransfer> batch) {
+        TreeSet<Long> accountIds = new TreeSet<>();
+        for (PendingTransfer pending : batch) {
+            accountIds.add(pending.request().getFromAccountId());
+            accountIds.add(pending.request().getToAccountId());
+        }
+        Map<Long, Account> accounts = accountRepository.findAllByIdInForUpdate(accountIds).stream()
+                .collect(Collectors.toMap(Account::getId, Function.identity()));
+
+        List<Outcome> outcomes = new ArrayList<>(batch.size());
+        for (PendingTransfer pending : batch) {
+            try {
+                outcomes.add(new Outcome(pending, applyOne(pending, accounts), null));
+            } catch (RuntimeException e) {
+                outcomes.add(new Outcome(pending, null, e));
+            }
+        }
+        return outcomes;
+    }
+
+    private TransferResponse applyOne(PendingTransfer pending, Map<Long, Account> accounts) {
+        TransferRequest request = pending.request();
+        Account from = accounts.get(request.getFromAccountId());
+        if (from == null || !from.getUser().getId().equals(pending.userId())) {
+            throw new ForbiddenException(ErrorCode.ACCOUNT_NOT_OWNED, "Account does not belong to current user");
+        }
+        Account to = accounts.get(request.getToAccountId());
+        if (to == null) {
+            throw new NotFoundException(ErrorCode.ACCOUNT_NOT_FOUND, "Destination account not found");
+        }
+        return transferService.toTransferResponse(transferService.applyTransfer(from, to, request));
+    }
+
+    private record PendingTransfer(Long userId, TransferRequest request, CompletableFuture<TransferResponse> result) {
+    }
+
+    private record Outcome(PendingTransfer pending, TransferResponse response, RuntimeException failure) {
+    }
+}
@@ -0,0 +1,455 @@
+package com.zenvest.devx.services;
+
+import com.zenvest.devx.configs.ShardingProperties;
+import com.zenvest.devx.constants.AccountActivityType;
+import com.zenvest.devx.constants.ErrorCode;
+import com.zenvest.devx.constants.TransactionType;
+import com.zenvest.devx.constants.TransferSagaStatus;
+import com.zenvest.devx.constants.TransferSagaStep;
+import com.zenvest.devx.constants.TransferStatus;
+import com.zenvest.devx.dtos.inputs.TransferRequest;
+import com.zenvest.devx.dtos.outputs.TransferResponse;
+import com.zenvest.devx.dtos.projections.AccountView;
+import com.zenvest.devx.events.AccountActivityPublisher;
+import com.zenvest.devx.events.OutboxWriter;
+import com.zenvest.devx.exceptions.InsufficientFundsException;
+import com.zenvest.devx.exceptions.InvalidOperationException;
+import com.zenvest.devx.exceptions.NotFoundException;
+import com.zenvest.devx.exceptions.ZenvestException;
+import com.zenvest.devx.models.Account;
+import com.zenvest.devx.models.Transaction;
+import com.zenvest.devx.repositories.AccountRepository;
+import com.zenvest.devx.repositories.TransactionRepository;
+import com.zenvest.devx.sharding.ShardContext;
+import com.zenvest.devx.sharding.ShardDirectory;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * TransferSagaService moves funds between accounts on different shards.
+ * A transfer is a saga stored in {@code transfer_sagas} on the directory shard: the debit commits on the source
+ * shard, then the credit commits on the destination shard, and a credit that cannot be applied is compensated by
+ * crediting the source account back. Each step records itself in {@code saga_steps} in the same local transaction
+ * as its balance change, so a step retried after a crash is applied at most once.
+ * The request thread drives the saga; a saga left unfinished by a crash or a shard outage is resumed by the
+ * recovery worker once it has not moved for {@code stale-after}. The credit and the compensation exclude each other
+ * through the CREDIT step row on the destination shard, so a compensation waits for that shard to be reachable.
+ * A cross-shard transfer is recorded only as a withdrawal and a deposit: there is no {@code transfers} row and no
+ * TRANSFER outbox event, so it is missing from the transfer history, the {@code user_activity} read model, the
+ * dashboard's latest transfers and the transfer status endpoint.
+ */
+@Slf4j
+@Service
+public class TransferSagaService {
+
+    private static final String SELECT_SAGA = """
+            select id, status, from_account_id, from_shard, to_account_id, to_shard, amount, credited_amount,
+                   fx_rate, description, failure_reason, attempts, created_at, updated_at
+            from transfer_sagas""";
+
+    private static final RowMapper<TransferSaga> SAGA_MAPPER = (rs, rowNum) -> new TransferSaga(
+            rs.getLong(1),
+            TransferSagaStatus.valueOf(rs.getString(2)),
+            rs.getLong(3),
+            rs.getInt(4),
+            rs.getLong(5),
+            rs.getInt(6),
+            rs.getDouble(7),
+            rs.getDouble(8),
+            rs.getObject(9, Double.class),
+            rs.getString(10),
+            rs.getString(11),
+            rs.getInt(12),
+            rs.getObject(13, LocalDateTime.class),
+            rs.getObject(14, LocalDateTime.class));
+
+    private final ShardDirectory shardDirectory;
+    private final ShardingProperties properties;
+    private final TransactionService transactionService;
+    private final AccountRepository accountRepository;
+    private final TransactionRepository transactionRepository;
+    private final AccountBalanceService accountBalanceService;
+    private final AccountActivityPublisher activityPublisher;
+    private final OutboxWriter outboxWriter;
+    private final VelocityService velocityService;
+    private final FxRateService fxRateService;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final Counter completed;
+    private final Counter compensated;
+    private final Counter failed;
+    private final Counter recovered;
+
+    @Autowired
+    public TransferSagaService(ShardDirectory shardDirectory,
+                               ShardingProperties properties,
+                               TransactionService transactionService,
+                               AccountRepository accountRepository,
+                               TransactionRepository transactionRepository,
+                               AccountBalanceService accountBalanceService,
+                               AccountActivityPublisher activityPublisher,
+                               OutboxWriter outboxWriter,
+                               VelocityService velocityService,
+                               FxRateService fxRateService,
+                               JdbcTemplate jdbcTemplate,
+                               PlatformTransactionManager transactionManager,
+                               MeterRegistry meterRegistry) {
+        this.shardDirectory = shardDirectory;
+        this.properties = properties;
+        this.transactionService = transactionService;
+        this.accountRepository = accountRepository;
+        this.transactionRepository = transactionRepository;
+        this.accountBalanceService = accountBalanceService;
+        this.activityPublisher = activityPublisher;
+        this.outboxWriter = outboxWriter;
+        this.velocityService = velocityService;
+        this.fxRateService = fxRateService;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.completed = Counter.builder("zenvest.transfer.saga").tag("outcome", "completed").register(meterRegistry);
+        this.compensated = Counter.builder("zenvest.transfer.saga").tag("outcome", "compensated").register(meterRegistry);
+        this.failed = Counter.builder("zenvest.transfer.saga").tag("outcome", "failed").register(meterRegistry);
+        this.recovered = Counter.builder("zenvest.transfer.saga.recovered").register(meterRegistry);
+    }
+
+    /**
+     * Transfers funds from an account of the current user to an account on another shard.
+     * Must be called outside any transaction, on the shard of the source account.
+     * If the debit has committed but the credit cannot be applied yet, the transfer is returned as PENDING
+     * and completed by the recovery worker.
+     *
+     * @param request the request object containing transfer details
+     * @param toShard the shard of the destination account
+     * @return a TransferResponse object representing the transfer
+     */
+    public TransferResponse transfer(TransferRequest request, int toShard) {
+        int fromShard = ShardContext.current();
+        AccountView from = transactionService.getUserOwnedAccountView(request.getFromAccountId());
+        AccountView to = ShardContext.call(toShard, () -> accountRepository.findViewById(request.getToAccountId()))
+                .orElseThrow(() -> new NotFoundException(ErrorCode.ACCOUNT_NOT_FOUND, "Destination account not found"));
+
+        FxConversion conversion = fxRateService.convert(from.currency(), to.currency(),
+                request.getAmount(), request.getCurrency());
+        VelocityService.Usage usage = velocityService.checkOutgoing(from.id(), conversion.debitAmount(), to.id());
+
+        TransferSaga saga;
+        try {
+            saga = start(from.id(), fromShard, to.id(), toShard, conversion, request.getDescription());
+        } catch (RuntimeException e) {
+            velocityService.release(usage);
+            throw e;
+        }
+        try {
+            saga = drive(saga);
+        } catch (ZenvestException e) {
+            velocityService.release(usage);
+            throw e;
+        } catch (RuntimeException e) {
+            TransferSaga latest = find(saga.id());
+            if (latest == null || latest.status() == TransferSagaStatus.STARTED) {
+                // the debit may still commit, so the usage stays counted
+                throw e;
+            }
+            log.warn("Cross-shard transfer {} is {}, leaving it to the recovery worker", saga.id(), latest.status(), e);
+            saga = latest;
+        }
+
+        if (saga.status() == TransferSagaStatus.COMPENSATED || saga.status() == TransferSagaStatus.FAILED) {
+            velocityService.release(usage);
+        }
+        if (saga.status() == TransferSagaStatus.COMPENSATED) {
+            log.info("Cross-shard transfer {} was reversed: {}", saga.id(), saga.failureReason());
+            throw new InvalidOperationException(ErrorCode.TRANSFER_REVERSED, "Transfer was reversed");
+        }
+        AccountView source = accountRepository.findViewById(from.id()).orElse(from);
+        return TransferResponse.builder()
+                .fromAccountId(saga.fromAccountId())
+                .toAccountId(saga.toAccountId())
+                .amount(saga.amount())
+                .creditedAmount(saga.creditedAmount())
+                .fxRate(saga.fxRate())
+                .accountBalance(accountBalanceService.balanceOf(source))
+                .description(saga.description())
+                .timestamp(saga.createdAt())
+                .status(saga.status() == TransferSagaStatus.COMPLETED ? TransferStatus.COMPLETED : TransferStatus.PENDING)
+                .build();
+    }
+
+    /**
+     * Resumes the sagas that have not moved for {@code stale-after}.
+     * A saga is claimed by bumping its update time, so concurrent instances do not resume the same saga.
+     * A saga that never debited is abandoned rather than debited late.
+     */
+    @Scheduled(fixedDelayString = "${zenvest.sharding.saga.recovery-interval-ms:5000}",
+            initialDelayString = "${zenvest.sharding.saga.recovery-interval-ms:5000}")
+    public void recover() {
+        if (!shardDirectory.isSharded()) {
+            return;
+        }
+        LocalDateTime staleBefore = LocalDateTime.now().minus(properties.getSaga().getStaleAfter());
+        List<TransferSaga> stalled = shardDirectory.directory().query(SELECT_SAGA
+                        + " where status in ('STARTED', 'DEBITED', 'COMPENSATING') and updated_at < ? order by id limit ?",
+                SAGA_MAPPER, Timestamp.valueOf(staleBefore), properties.getSaga().getBatchSize());
+
+        for (TransferSaga saga : stalled) {
+            LocalDateTime now = LocalDateTime.now();
+            int claimed = shardDirectory.directory().update(
+                    "update transfer_sagas set attempts = attempts + 1, updated_at = ? where id = ? and updated_at = ?",
+                    Timestamp.valueOf(now), saga.id(), Timestamp.valueOf(saga.updatedAt()));
+            if (claimed == 0) {
+                continue;
+            }
+            try {
+                TransferSaga resumed = saga.withAttempts(saga.attempts() + 1);
+                if (resumed.status() == TransferSagaStatus.STARTED) {
+                    resumed = abandonOrResume(resumed);
+                } else if (resumed.status() == TransferSagaStatus.DEBITED
+                        && resumed.attempts() >= properties.getSaga().getMaxAttempts()) {
+                    resumed = advance(resumed, TransferSagaStatus.COMPENSATING, "Destination shard unavailable");
+                }
+                resumed = drive(resumed);
+                recovered.increment();
+                log.info("Recovered cross-shard transfer {} as {}", saga.id(), resumed.status());
+            } catch (ZenvestException e) {
+                log.info("Recovered cross-shard transfer {} as FAILED: {}", saga.id(), e.getMessage());
+            } catch (RuntimeException e) {
+                log.warn("Recovering cross-shard transfer {} failed, retrying later", saga.id(), e);
+            }
+        }
+    }
+
+    private TransferSaga start(Long fromAccountId, int fromShard, Long toAccountId, int toShard,
+                               FxConversion conversion, String description) {
+        LocalDateTime now = LocalDateTime.now();
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+        shardDirectory.directory().update(connection -> {
+            PreparedStatement statement = connection.prepareStatement("""
+                    insert into transfer_sagas (status, from_account_id, from_shard, to_account_id, to_shard, amount,
+                                                credited_amount, fx_rate, fx_snapshot_id, description, created_at, updated_at)
+                    values ('STARTED', ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)""", Statement.RETURN_GENERATED_KEYS);
+            statement.setLong(1, fromAccountId);
+            statement.setInt(2, fromShard);
+            statement.setLong(3, toAccountId);
+            statement.setInt(4, toShard);
+            statement.setDouble(5, conversion.debitAmount());
+            statement.setDouble(6, conversion.creditAmount());
+            statement.setDouble(7, conversion.rate());
+            statement.setObject(8, conversion.snapshotId(), Types.BIGINT);
+            statement.setString(9, description);
+            statement.setTimestamp(10, Timestamp.valueOf(now));
+            statement.setTimestamp(11, Timestamp.valueOf(now));
+            return statement;
+        }, keyHolder);
+        return new TransferSaga(keyHolder.getKey().longValue(), TransferSagaStatus.STARTED, fromAccountId, fromShard,
+                toAccountId, toShard, conversion.debitAmount(), conversion.creditAmount(), conversion.rate(),
+                description, null, 0, now, now);
+    }
+
+    private TransferSaga drive(TransferSaga saga) {
+        TransferSaga current = saga;
+        while (!current.status().isTerminal()) {
+            current = switch (current.status()) {
+                case STARTED -> debit(current);
+                case DEBITED -> credit(current);
+                case COMPENSATING -> compensate(current);
+                default -> throw new IllegalStateException("Unexpected saga status " + current.status());
+            };
+        }
+        switch (current.status()) {
+            case COMPLETED -> completed.increment();
+            case COMPENSATED -> compensated.increment();
+            default -> failed.increment();
+        }
+        return current;
+    }
+
+    private TransferSaga debit(TransferSaga saga) {
+        try {
+            applyStep(saga, TransferSagaStep.DEBIT, saga.fromShard(), () -> {
+                Account from = lockAccount(saga.fromAccountId());
+                if (!accountBalanceService.tryDebitInPlace(from, saga.amount())) {
+                    throw new InsufficientFundsException("Insufficient balance in source account");
+                }
+                return record(from, TransactionType.WITHDRAWAL, AccountActivityType.TRANSFER_OUT, saga.amount(),
+                        "Transfer to account " + saga.toAccountId() + describe(saga));
+            });
+            return advance(saga, TransferSagaStatus.DEBITED, null);
+        } catch (DuplicateKeyException e) {
+            // the step was recorded before: debited by an earlier attempt, or abandoned by the recovery worker
+            return stepApplied(saga, TransferSagaStep.DEBIT, saga.fromShard())
+                    ? advance(saga, TransferSagaStatus.DEBITED, null)
+                    : advance(saga, TransferSagaStatus.FAILED, "Transfer was abandoned before the debit");
+        } catch (ZenvestException e) {
+            advance(saga, TransferSagaStatus.FAILED, e.getMessage());
+            failed.increment();
+            throw e;
+        }
+    }
+
+    private TransferSaga credit(TransferSaga saga) {
+        try {
+            applyStep(saga, TransferSagaStep.CREDIT, saga.toShard(), () -> {
+                Account to = lockAccount(saga.toAccountId());
+                accountBalanceService.creditInPlace(to, saga.creditedAmount());
+                return record(to, TransactionType.DEPOSIT, AccountActivityType.TRANSFER_IN, saga.creditedAmount(),
+                        "Transfer from account " + saga.fromAccountId() + describe(saga));
+            });
+            return advance(saga, TransferSagaStatus.COMPLETED, null);
+        } catch (DuplicateKeyException e) {
+            // credited by an earlier attempt, or fenced off by a compensation that started meanwhile
+            return stepApplied(saga, TransferSagaStep.CREDIT, saga.toShard())
+                    ? advance(saga, TransferSagaStatus.COMPLETED, null)
+                    : advance(saga, TransferSagaStatus.COMPENSATING, "Transfer was reversed before the credit");
+        } catch (ZenvestException e) {
+            return advance(saga, TransferSagaStatus.COMPENSATING, e.getMessage());
+        }
+    }
+
+    /**
+     * Credits the source account back, unless the credit has committed after all.
+     * An empty CREDIT step is recorded on the destination shard first, which makes a credit still in flight fail
+     * on the step's key; a credit that committed before it completes the saga instead.
+     */
+    private TransferSaga compensate(TransferSaga saga) {
+        ShardContext.run(saga.toShard(), () -> jdbcTemplate.update(
+                "insert ignore into saga_steps (saga_id, step, transaction_id, applied_at) values (?, 'CREDIT', null, ?)",
+                saga.id(), Timestamp.valueOf(LocalDateTime.now())));
+        if (stepApplied(saga, TransferSagaStep.CREDIT, saga.toShard())) {
+            return advance(saga, TransferSagaStatus.COMPLETED, null);
+        }
+        try {
+            applyStep(saga, TransferSagaStep.COMPENSATE, saga.fromShard(), () -> {
+                Account from = lockAccount(saga.fromAccountId());
+                accountBalanceService.creditInPlace(from, saga.amount());
+                return record(from, TransactionType.DEPOSIT, AccountActivityType.TRANSFER_IN, saga.amount(),
+                        "Reversal of transfer to account " + saga.toAccountId() + describe(saga));
+            });
+        } catch (DuplicateKeyException e) {
+            // compensated by an earlier attempt
+        }
+        return advance(saga, TransferSagaStatus.COMPENSATED, null);
+    }
+
+    /**
+     * Applies one step in a local transaction on its shard and records it in {@code saga_steps}.
+     * The step row is inserted last, so a duplicate rolls the balance change back.
+     */
+    private void applyStep(TransferSaga saga, TransferSagaStep step, int shard, Supplier<Transaction> balanceChange) {
+        ShardContext.run(shard, () -> transactionTemplate.executeWithoutResult(status -> {
+            Transaction transaction = balanceChange.get();
+            jdbcTemplate.update("insert into saga_steps (saga_id, step, transaction_id, applied_at) values (?, ?, ?, ?)",
+                    saga.id(), step.name(), transaction.getId(), Timestamp.valueOf(LocalDateTime.now()));
+        }));
+    }
+
+    /**
+     * Settles a saga the recovery worker found in STARTED: its debit either committed or is abandoned now.
+     * Recording an empty DEBIT step makes a debit still in flight fail on the step's key.
+     */
+    private TransferSaga abandonOrResume(TransferSaga saga) {
+        ShardContext.run(saga.fromShard(), () -> jdbcTemplate.update(
+                "insert ignore into saga_steps (saga_id, step, transaction_id, applied_at) values (?, 'DEBIT', null, ?)",
+                saga.id(), Timestamp.valueOf(LocalDateTime.now())));
+        return stepApplied(saga, TransferSagaStep.DEBIT, saga.fromShard())
+                ? advance(saga, TransferSagaStatus.DEBITED, null)
+                : advance(saga, TransferSagaStatus.FAILED, "Transfer was abandoned before the debit");
+    }
+
+    private boolean stepApplied(TransferSaga saga, TransferSagaStep step, int shard) {
+        List<Long> transactionIds = ShardContext.call(shard, () -> jdbcTemplate.query(
+                "select transaction_id from saga_steps where saga_id = ? and step = ?",
+                (rs, rowNum) -> rs.getObject(1, Long.class), saga.id(), step.name()));
+        return !transactionIds.isEmpty() && transactionIds.get(0) != null;
+    }
+
+    private Account lockAccount(Long accountId) {
+        return accountRepository.findByIdForUpdate(accountId)
+                .orElseThrow(() -> new NotFoundException(ErrorCode.ACCOUNT_NOT_FOUND, "Account not found"));
+    }
+
+    private Transaction record(Account account, TransactionType type, AccountActivityType activityType,
+                               double amount, String description) {
+        Transaction transaction = transactionRepository.save(Transaction.builder()
+                .amount(amount)
+                .transactionType(type)
+                .description(description)
+                .timestamp(LocalDateTime.now())
+                .account(account)
+                .build());
+        Double balance = accountBalanceService.currentBalanceOf(account);
+        outboxWriter.transactionRecorded(transaction, balance);
+        activityPublisher.publish(account, activityType, amount, balance, transaction.getDescription(),
+                transaction.getTimestamp());
+        return transaction;
+    }
+
+    /**
+     * Moves a saga to a new status if no one else moved it first.
+     *
+     * @return the saga as stored after the update
+     */
+    private TransferSaga advance(TransferSaga saga, TransferSagaStatus status, String failureReason) {
+        int updated = shardDirectory.directory().update("""
+                        update transfer_sagas set status = ?, failure_reason = coalesce(?, failure_reason), updated_at = ?
+                        where id = ? and status = ?""",
+                status.name(), failureReason, Timestamp.valueOf(LocalDateTime.now()), saga.id(), saga.status().name());
+        if (updated == 0) {
+            return find(saga.id());
+        }
+        return saga.withStatus(status, failureReason == null ? saga.failureReason() : failureReason);
+    }
+
+    private TransferSaga find(long sagaId) {
+        List<TransferSaga> sagas = shardDirectory.directory().query(SELECT_SAGA + " where id = ?", SAGA_MAPPER, sagaId);
+        return sagas.isEmpty() ? null : sagas.get(0);
+    }
+
+    private static String describe(TransferSaga saga) {
+        return saga.description() == null || saga.description().isBlank() ? "" : ": " + saga.description();
+    }
+
+    private record TransferSaga(long id,
+                                TransferSagaStatus status,
+                                Long fromAccountId,
+                                int fromShard,
+                                Long toAccountId,
+                                int toShard,
+                                double amount,
+                                double creditedAmount,
+                                Double fxRate,
+                                String description,
+                                String failureReason,
+                                int attempts,
+                                LocalDateTime createdAt,
+                                LocalDateTime updatedAt) {
+
+        TransferSaga withStatus(TransferSagaStatus status, String failureReason) {
+            return new TransferSaga(id, status, fromAccountId, fromShard, toAccountId, toShard, amount, creditedAmount,
+                    fxRate, description, failureReason, attempts, createdAt, updatedAt);
+        }
+
+        TransferSaga withAttempts(int attempts) {
+            return new TransferSaga(id, status, fromAccountId, fromShard, toAccountId, toShard, amount, creditedAmount,
+                    fxRate, description, failureReason, attempts, createdAt, updatedAt);
+        }
+    }
+}
@@ -1,20 +1,46 @@
 package com.zenvest.devx.services;
 
+import com.zenvest.devx.archive.ArchivedTransfer;
+import com.zenvest.devx.constants.AccountActivityType;
+import com.zenvest.devx.constants.ErrorCode;
+import com.zenvest.devx.constants.TransferStatus;
 import com.zenvest.devx.dtos.inputs.TransferRequest;
 import com.zenvest.devx.dtos.outputs.TransferHistoryResponse;
 import com.zenvest.devx.dtos.outputs.TransferResponse;
+import com.zenvest.devx.dtos.projections.AccountView;
+import com.zenvest.devx.events.AccountActivityPublisher;
+import com.zenvest.devx.events.OutboxWriter;
+import com.zenvest.devx.exceptions.InsufficientFundsException;
+import com.zenvest.devx.exceptions.InvalidOperationException;
+import com.zenvest.devx.exceptions.NotFoundException;
 import com.zenvest.devx.models.Account;
+import com.zenvest.devx.monitoring.MoneyMovementEvent;
 import com.zenvest.devx.models.Transfer;
 import com.zenvest.devx.models.User;
 import com.zenvest.devx.repositories.AccountRepository;
 import com.zenvest.devx.repositories.TransferRepository;
-import jakarta.transaction.Transactional;
+import com.zenvest.devx.responses.ColumnarResponse;
+import com.zenvest.devx.sharding.ShardContext;
+import com.zenvest.devx.sharding.ShardDirectory;
+import com.zenvest.devx.utils.FieldSelection;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.sql.Timestamp;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.OptionalInt;
+import java.util.Set;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * TransferService handles all fund transfer-related operations.
@@ -23,80 +49,342 @@ import java.util.stream.Collectors;
 @Service
 public class TransferService {
 
+    /**
+     * The fields of a transfer history entry that can be selected with {@code fields=}, in their default order.
+     */
+    public static final List<String> TRANSFER_HISTORY_FIELDS = List.of("id", "amount", "creditedAmount", "description",
+            "fromAccountOwnerName", "toAccountOwnerName", "timestamp", "status");
+
+    private static final Map<String, String> TRANSFER_HISTORY_COLUMNS = Map.of(
+            "amount", "t.amount",
+            "creditedAmount", "t.credited_amount",
+            "description", "t.description",
+            "fromAccountOwnerName", "fa.owner_name",
+            "toAccountOwnerName", "ta.owner_name",
+            "timestamp", "t.timestamp",
+            "status", "t.status");
+
     private final AuthService authService;
     private final TransactionService transactionService;
     private final AccountRepository accountRepository;
     private final TransferRepository transferRepository;
+    private final AccountBalanceService accountBalanceService;
+    private final AccountActivityPublisher activityPublisher;
+    private final OutboxWriter outboxWriter;
+    private final VelocityService velocityService;
+    private final ArchiveService archiveService;
+    private final FxRateService fxRateService;
+    private final UserActivityService userActivityService;
+    private final ShardDirectory shardDirectory;
+    private final TransferSagaService transferSagaService;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
 
     @Autowired
     public TransferService(AuthService authService,
                            AccountRepository accountRepository,
                            TransferRepository transferRepository,
-                           TransactionService transactionService) {
+                           TransactionService transactionService,
+                           AccountBalanceService accountBalanceService,
+                           AccountActivityPublisher activityPublisher,
+                           OutboxWriter outboxWriter,
+                           VelocityService velocityService,
+                           ArchiveService archiveService,
+                           FxRateService fxRateService,
+                           UserActivityService userActivityService,
+                           ShardDirectory shardDirectory,
+                           TransferSagaService transferSagaService,
+                           JdbcTemplate jdbcTemplate,
+                           PlatformTransactionManager transactionManager) {
 
         this.authService = authService;
         this.accountRepository = accountRepository;
         this.transferRepository = transferRepository;
         this.transactionService = transactionService;
+        this.accountBalanceService = accountBalanceService;
+        this.activityPublisher = activityPublisher;
+        this.outboxWriter = outboxWriter;
+        this.velocityService = velocityService;
+        this.archiveService = archiveService;
+        this.fxRateService = fxRateService;
+        this.userActivityService = userActivityService;
+        this.shardDirectory = shardDirectory;
+        this.transferSagaService = transferSagaService;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
     }
 
     /**
      * Transfers funds from one account to another.
      * This method updates the balances of both accounts and creates a new transfer record.
+     * Accounts on the same shard are updated in one local transaction; a destination account on another shard
+     * is credited through the {@link TransferSagaService}.
      *
      * @param request the request object containing transfer details
      * @return a TransferResponse object representing the transfer transaction
      */
-    @Transactional
     public TransferResponse transferFunds(TransferRequest request) {
-        Account from = transactionService.getUserOwnedAccount(request.getFromAccountId());
-        Account to = accountRepository.findById(request.getToAccountId())
-                .orElseThrow(() -> new RuntimeException("Destination account not found"));
+        MoneyMovementEvent event = MoneyMovementEvent.start(MoneyMovementEvent.TRANSFER);
+        try {
+            if (shardDirectory.isSharded()) {
+                OptionalInt toShard = shardDirectory.shardOfAccount(request.getToAccountId());
+                if (toShard.isPresent() && toShard.getAsInt() != ShardContext.current()) {
+                    TransferResponse response = transferSagaService.transfer(request, toShard.getAsInt());
+                    event.complete();
+                    return response;
+                }
+            }
 
-        if(from.getId().equals(to.getId())) {
-            throw new RuntimeException("Cannot transfer to the same account");
+            TransferResponse response = transactionTemplate.execute(status -> {
+                Account from = transactionService.getUserOwnedAccount(request.getFromAccountId());
+                event.account(from.getId());
+                Account to = accountRepository.findById(request.getToAccountId())
+                        .orElseThrow(() -> new NotFoundException(ErrorCode.ACCOUNT_NOT_FOUND, "Destination account not found"));
+                event.lookupDone();
+                return toTransferResponse(applyTransfer(from, to, request, event));
+            });
+            event.complete();
+            return response;
+        } catch (RuntimeException e) {
+            event.fail(e);
+            throw e;
         }
+    }
 
-        if(from.getBalance() < request.getAmount()){
-            throw new IllegalArgumentException("Insufficient balance in source account");
+    /**
+     * Moves funds between two loaded accounts and records the transfer.
+     * Callers own the surrounding transaction and have already checked that the source account belongs to the user.
+     * Nothing is written when a check fails, so a caller batching several transfers can isolate the failing one.
+     * Between accounts of different currencies the credited amount is converted with the current rate snapshot,
+     * whose id is recorded on the transfer.
+     *
+     * @param from    the source account
+     * @param to      the destination account
+     * @param request the request object containing transfer details
+     * @return the saved Transfer
+     */
+    Transfer applyTransfer(Account from, Account to, TransferRequest request) {
+        MoneyMovementEvent event = MoneyMovementEvent.start(MoneyMovementEvent.TRANSFER);
+        event.account(from.getId());
+        try {
+            Transfer transfer = applyTransfer(from, to, request, event);
+            event.complete();
+            return transfer;
+        } catch (RuntimeException e) {
+            event.fail(e);
+            throw e;
         }
+    }
 
-        from.setBalance(from.getBalance() - request.getAmount());
+    private Transfer applyTransfer(Account from, Account to, TransferRequest request, MoneyMovementEvent event) {
+        if(from.getId().equals(to.getId())) {
+            throw new InvalidOperationException(ErrorCode.SAME_ACCOUNT_TRANSFER, "Cannot transfer to the same account");
+        }
+
+        FxConversion conversion = fxRateService.convert(from.getCurrency(), to.getCurrency(),
+                request.getAmount(), request.getCurrency());
+        VelocityService.Usage usage = velocityService.checkOutgoing(from.getId(), conversion.debitAmount(), to.getId());
+        try {
+            return moveFunds(from, to, request, conversion, event);
+        } catch (RuntimeException e) {
+            // a group commit keeps its transaction when one transfer fails, so the usage is not rolled back for it
+            velocityService.release(usage);
+            throw e;
+        }
+    }
 
-        from = accountRepository.save(new Account());
-        accountRepository.save(to);
+    private Transfer moveFunds(Account from, Account to, TransferRequest request, FxConversion conversion,
+                               MoneyMovementEvent event) {
+        if (!accountBalanceService.tryDebitInPlace(from, conversion.debitAmount())) {
+            throw new InsufficientFundsException("Insufficient balance in source account");
+        }
+        accountBalanceService.creditInPlace(to, conversion.creditAmount());
+        event.balanceUpdated(2);
 
         Transfer transfer = Transfer.builder()
-                .amount(request.getAmount())
+                .amount(conversion.debitAmount())
+                .creditedAmount(conversion.creditAmount())
+                .fxRate(conversion.rate())
+                .fxSnapshotId(conversion.snapshotId())
                 .description(request.getDescription())
                 .timestamp(LocalDateTime.now())
                 .fromAccount(from)
                 .toAccount(to)
+                .status(TransferStatus.COMPLETED)
                 .build();
+        transfer = transferRepository.save(transfer);
+        event.persisted();
 
-        return toTransferResponse(null);
-
+        outboxWriter.transferRecorded(transfer);
+        activityPublisher.publish(from, AccountActivityType.TRANSFER_OUT, transfer.getAmount(),
+                accountBalanceService.currentBalanceOf(from), transfer.getDescription(), transfer.getTimestamp());
+        activityPublisher.publish(to, AccountActivityType.TRANSFER_IN, transfer.getCreditedAmount(),
+                accountBalanceService.currentBalanceOf(to), transfer.getDescription(), transfer.getTimestamp());
+        event.published();
+        return transfer;
     }
 
     /**
-     * Retrieves the transfer history for the current user.
+     * Retrieves the transfer history for the current user, optionally limited to a date range.
      * This method fetches all transfers where the user is either the sender or receiver.
+     * The history is read from the {@link UserActivityService} read model, oldest first. With the read model
+     * disabled, transfers are read from the live tables and the archive, and archived months are listed first.
+     * Live transfers are read with the owner names in a single query, without loading the accounts, through the
+     * account indexes of the transfers.
      *
+     * @param from the first instant to include, or null for no lower bound
+     * @param to   the first instant to exclude, or null for no upper bound
      * @return a list of TransferHistoryResponse objects representing the user's transfer history
      */
-    public List<TransferHistoryResponse> getTransferHistoryForCurrentUser() {
+    @Transactional(readOnly = true)
+    public List<TransferHistoryResponse> getTransferHistoryForCurrentUser(LocalDateTime from, LocalDateTime to) {
         User currentUser = authService.getCurrentUser();
-        List<Transfer> transfers = transferRepository.findAllByFromAccountUserIdOrToAccountUserId(currentUser.getId(), currentUser.getId());
+        if (userActivityService.isReadModelEnabled()) {
+            return userActivityService.getTransferHistory(currentUser.getId(), from, to);
+        }
+        List<Long> accountIds = accountRepository.findIdsByUserId(currentUser.getId());
+        if (accountIds.isEmpty()) {
+            return List.of();
+        }
+        List<TransferHistoryResponse> transfers =
+                transferRepository.findHistoryForAccountsInRange(accountIds, from, to);
+        List<ArchivedTransfer> archived = archiveService.findTransfers(accountIds, from, to);
 
-        return transfers.stream().map(transfer -> TransferHistoryResponse.builder()
-                .id(transfer.getId())
-                .amount(transfer.getAmount())
-                .description(transfer.getDescription())
-                .fromAccountOwnerName(transfer.getFromAccount().getOwnerName())
-                .toAccountOwnerName(transfer.getToAccount().getOwnerName())
-                .timestamp(transfer.getTimestamp())
-                .build()
-        ).collect(Collectors.toList());
+        List<TransferHistoryResponse> history = new ArrayList<>(archived.size() + transfers.size());
+        if (!archived.isEmpty()) {
+            Set<Long> liveIds = transfers.stream().map(TransferHistoryResponse::getId).collect(Collectors.toSet());
+            Set<Long> counterpartIds = archived.stream()
+                    .flatMap(transfer -> Stream.of(transfer.fromAccountId(), transfer.toAccountId()))
+                    .collect(Collectors.toSet());
+            Map<Long, String> ownerNames = accountRepository.findViewsByIdIn(counterpartIds).stream()
+                    .collect(Collectors.toMap(AccountView::id, AccountView::ownerName, (a, b) -> a));
+            for (ArchivedTransfer transfer : archived) {
+                if (!liveIds.contains(transfer.id())) {
+                    history.add(TransferHistoryResponse.builder()
+                            .id(transfer.id())
+                            .amount(transfer.amount())
+                            .creditedAmount(transfer.creditedAmount())
+                            .description(transfer.description())
+                            .fromAccountOwnerName(ownerNames.get(transfer.fromAccountId()))
+                            .toAccountOwnerName(ownerNames.get(transfer.toAccountId()))
+                            .timestamp(transfer.timestamp())
+                            .status(transfer.status())
+                            .build());
+                }
+            }
+        }
+
+        history.addAll(transfers);
+        return history;
+    }
+
+    /**
+     * Retrieves the selected fields of the transfer history for the current user, optionally limited to a date range.
+     * Only the selected columns are read from the database; the source and the order are the same as
+     * {@link #getTransferHistoryForCurrentUser(LocalDateTime, LocalDateTime)}. Without the read model, the accounts
+     * are joined only when an owner name is selected.
+     *
+     * @param from   the first instant to include, or null for no lower bound
+     * @param to     the first instant to exclude, or null for no upper bound
+     * @param fields the comma-separated fields to return, or null for every field
+     * @return a ColumnarResponse with one row per transfer
+     */
+    @Transactional(readOnly = true)
+    public ColumnarResponse getTransferHistoryColumns(LocalDateTime from, LocalDateTime to, String fields) {
+        FieldSelection selection = FieldSelection.parse(fields, TRANSFER_HISTORY_FIELDS);
+        List<String> columns = selection.fields();
+        User currentUser = authService.getCurrentUser();
+        if (userActivityService.isReadModelEnabled()) {
+            return userActivityService.getTransferHistoryColumns(currentUser.getId(), from, to, selection);
+        }
+        List<Long> accountIds = accountRepository.findIdsByUserId(currentUser.getId());
+        if (accountIds.isEmpty()) {
+            return new ColumnarResponse(columns, List.of());
+        }
+
+        // the id is always read, it is needed to drop archived rows that are still live
+        StringBuilder sql = new StringBuilder("select t.id");
+        for (String field : columns) {
+            String column = TRANSFER_HISTORY_COLUMNS.get(field);
+            if (column != null) {
+                sql.append(", ").append(column);
+            }
+        }
+        sql.append(" from transfers t");
+        if (selection.includes("fromAccountOwnerName")) {
+            sql.append(" join accounts fa on fa.id = t.from_account_id");
+        }
+        if (selection.includes("toAccountOwnerName")) {
+            sql.append(" join accounts ta on ta.id = t.to_account_id");
+        }
+        String placeholders = String.join(", ", Collections.nCopies(accountIds.size(), "?"));
+        sql.append(" where (t.from_account_id in (").append(placeholders)
+                .append(") or t.to_account_id in (").append(placeholders).append("))");
+        List<Object> args = new ArrayList<>(accountIds);
+        args.addAll(accountIds);
+        if (from != null) {
+            sql.append(" and t.timestamp >= ?");
+            args.add(Timestamp.valueOf(from));
+        }
+        if (to != null) {
+            sql.append(" and t.timestamp < ?");
+            args.add(Timestamp.valueOf(to));
+        }
+        sql.append(" order by t.id");
+
+        Set<Long> liveIds = new HashSet<>();
+        List<Object[]> liveRows = jdbcTemplate.query(sql.toString(), (rs, rowNum) -> {
+            long id = rs.getLong(1);
+            liveIds.add(id);
+            Object[] row = new Object[columns.size()];
+            int index = 2;
+            for (int i = 0; i < row.length; i++) {
+                row[i] = switch (columns.get(i)) {
+                    case "id" -> id;
+                    case "amount", "creditedAmount" -> rs.getObject(index++, Double.class);
+                    case "timestamp" -> rs.getObject(index++, LocalDateTime.class);
+                    case "status" -> {
+                        String status = rs.getString(index++);
+                        yield status == null ? null : TransferStatus.valueOf(status);
+                    }
+                    default -> rs.getString(index++);
+                };
+            }
+            return row;
+        }, args.toArray());
+
+        List<ArchivedTransfer> archived = archiveService.findTransfers(accountIds, from, to);
+        List<Object[]> rows = new ArrayList<>(archived.size() + liveRows.size());
+        if (!archived.isEmpty()) {
+            Map<Long, String> ownerNames = Map.of();
+            if (selection.includes("fromAccountOwnerName") || selection.includes("toAccountOwnerName")) {
+                Set<Long> counterpartIds = archived.stream()
+                        .flatMap(transfer -> Stream.of(transfer.fromAccountId(), transfer.toAccountId()))
+                        .collect(Collectors.toSet());
+                ownerNames = accountRepository.findViewsByIdIn(counterpartIds).stream()
+                        .collect(Collectors.toMap(AccountView::id, AccountView::ownerName, (a, b) -> a));
+            }
+            for (ArchivedTransfer transfer : archived) {
+                if (!liveIds.contains(transfer.id())) {
+                    Object[] row = new Object[columns.size()];
+                    for (int i = 0; i < row.length; i++) {
+                        row[i] = switch (columns.get(i)) {
+                            case "id" -> transfer.id();
+                            case "amount" -> transfer.amount();
+                            case "creditedAmount" -> transfer.creditedAmount();
+                            case "description" -> transfer.description();
+                            case "fromAccountOwnerName" -> ownerNames.get(transfer.fromAccountId());
+                            case "toAccountOwnerName" -> ownerNames.get(transfer.toAccountId());
+                            case "timestamp" -> transfer.timestamp();
+                            default -> transfer.status();
+                        };
+                    }
+                    rows.add(row);
+                }
+            }
+        }
+        rows.addAll(liveRows);
+        return new ColumnarResponse(columns, rows);
     }
 
     /**
@@ -106,14 +394,17 @@ public class TransferService {
      * @param transfer the Transfer object to convert
      * @return a TransferResponse object representing the transfer transaction
      */
-    private TransferResponse toTransferResponse(Transfer transfer) {
+    TransferResponse toTransferResponse(Transfer transfer) {
         return TransferResponse.builder()
                 .fromAccountId(transfer.getFromAccount().getId())
                 .toAccountId(transfer.getToAccount().getId())
                 .amount(transfer.getAmount())
-                .accountBalance(transfer.getFromAccount().getBalance())
+                .creditedAmount(transfer.getCreditedAmount())
+                .fxRate(transfer.getFxRate())
+                .accountBalance(accountBalanceService.currentBalanceOf(transfer.getFromAccount()))
                 .description(transfer.getDescription())
                 .timestamp(transfer.getTimestamp())
+                .status(transfer.getStatus())
                 .build();
     }
 
@@ -0,0 +1,105 @@
+package com.zenvest.devx.services;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+
+/**
+ * TransferWorkerPool runs asynchronous transfers on single-threaded partitions keyed by source account.
+ * All transfers out of one account go through the same worker, so that account always has a single writer.
+ * Each partition has a bounded queue; bursts wait there instead of holding request threads and DB connections.
+ */
+@Slf4j
+@Component
+public class TransferWorkerPool {
+
+    private final MeterRegistry meterRegistry;
+
+    @Value("${zenvest.transfer.async.partitions:8}")
+    private int partitions;
+
+    @Value("${zenvest.transfer.async.queue-capacity:1000}")
+    private int queueCapacity;
+
+    private List<BlockingQueue<Runnable>> queues;
+    private Thread[] workers;
+    private volatile boolean running;
+
+    @Autowired
+    public TransferWorkerPool(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @PostConstruct
+    void start() {
+        queues = new ArrayList<>(partitions);
+        workers = new Thread[partitions];
+        running = true;
+        for (int i = 0; i < partitions; i++) {
+            BlockingQueue<Runnable> queue = new LinkedBlockingQueue<>(queueCapacity);
+            queues.add(queue);
+            workers[i] = new Thread(() -> drain(queue), "transfer-worker-" + i);
+            workers[i].setDaemon(true);
+            workers[i].start();
+            Gauge.builder("zenvest.transfer.async.queue.size", queue, BlockingQueue::size)
+                    .tag("partition", Integer.toString(i))
+                    .register(meterRegistry);
+        }
+    }
+
+    @PreDestroy
+    void stop() {
+        running = false;
+        for (Thread worker : workers) {
+            worker.interrupt();
+        }
+    }
+
+    /**
+     * Queues a task on the partition owning the source account.
+     *
+     * @param sourceAccountId the source account of the transfer
+     * @param task            the task to run
+     * @return false if the partition queue is full
+     */
+    public boolean offer(Long sourceAccountId, Runnable task) {
+        return queues.get(partitionOf(sourceAccountId)).offer(task);
+    }
+
+    /**
+     * Queues a task on the partition owning the source account, waiting for space if needed.
+     *
+     * @param sourceAccountId the source account of the transfer
+     * @param task            the task to run
+     */
+    public void put(Long sourceAccountId, Runnable task) throws InterruptedException {
+        queues.get(partitionOf(sourceAccountId)).put(task);
+    }
+
+    private int partitionOf(Long sourceAccountId) {
+        return (int) Math.floorMod(sourceAccountId, (long) partitions);
+    }
+
+    private void drain(BlockingQueue<Runnable> queue) {
+        while (running) {
+            try {
+                queue.take().run();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                log.error("Asynchronous transfer task failed", e);
+            }
+        }
+    }
+}
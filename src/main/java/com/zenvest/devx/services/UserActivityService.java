@@ -0,0 +1,337 @@
+package com.zenvest.devx.services;
+
+import com.zenvest.devx.archive.ArchivedTransfer;
+import com.zenvest.devx.constants.TransferDirection;
+import com.zenvest.devx.constants.TransferStatus;
+import com.zenvest.devx.dtos.outputs.TransferHistoryResponse;
+import com.zenvest.devx.dtos.outputs.UserActivityRebuildReport;
+import com.zenvest.devx.events.TransferRecordedEvent;
+import com.zenvest.devx.responses.ColumnarResponse;
+import com.zenvest.devx.sharding.ShardDirectory;
+import com.zenvest.devx.utils.FieldSelection;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * UserActivityService maintains and serves the {@code user_activity} transfer history read model.
+ * The table holds one row per user and transfer leg with both owner names copied in, keyed by
+ * (user_id, timestamp), so a history read is a single primary-key range scan with no join.
+ * Rows are written from the TRANSFER outbox events, in the relay transaction that removes the event; the writes
+ * are upserts, so a redelivered event changes nothing. Pending transfers appear once they complete or fail.
+ * Archived months stay in the table; {@link #rebuild()} replays the live and archived transfers from scratch.
+ */
+@Slf4j
+@Service
+public class UserActivityService {
+
+    /**
+     * The fields of a transfer history entry and their columns in the read model.
+     */
+    private static final Map<String, String> HISTORY_COLUMNS = Map.of(
+            "id", "transfer_id",
+            "amount", "amount",
+            "creditedAmount", "credited_amount",
+            "description", "description",
+            "fromAccountOwnerName", "from_owner_name",
+            "toAccountOwnerName", "to_owner_name",
+            "timestamp", "timestamp",
+            "status", "status");
+
+    private static final String COLUMNS = "user_id, timestamp, transfer_id, direction, account_id, counterparty_account_id,"
+            + " from_owner_name, to_owner_name, amount, credited_amount, description, status";
+
+    private static final String ON_DUPLICATE = " on duplicate key update from_owner_name = values(from_owner_name),"
+            + " to_owner_name = values(to_owner_name), credited_amount = values(credited_amount), status = values(status)";
+
+    private static final String UPSERT = "insert into user_activity (" + COLUMNS + ")"
+            + " values (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)" + ON_DUPLICATE;
+
+    private static final String REBUILD_OUT_LEGS = "insert into user_activity (" + COLUMNS + ")"
+            + " select fa.user_id, t.timestamp, t.id, 'OUT', t.from_account_id, t.to_account_id,"
+            + " fa.owner_name, ta.owner_name, t.amount, t.credited_amount, t.description, t.status"
+            + " from transfers t join accounts fa on fa.id = t.from_account_id join accounts ta on ta.id = t.to_account_id"
+            + " where t.id > ? and t.id <= ? and t.status <> 'PENDING' and t.timestamp is not null" + ON_DUPLICATE;
+
+    private static final String REBUILD_IN_LEGS = "insert into user_activity (" + COLUMNS + ")"
+            + " select ta.user_id, t.timestamp, t.id, 'IN', t.to_account_id, t.from_account_id,"
+            + " fa.owner_name, ta.owner_name, t.amount, t.credited_amount, t.description, t.status"
+            + " from transfers t join accounts fa on fa.id = t.from_account_id join accounts ta on ta.id = t.to_account_id"
+            + " where t.id > ? and t.id <= ? and t.status <> 'PENDING' and t.timestamp is not null"
+            + " and ta.user_id <> fa.user_id" + ON_DUPLICATE;
+
+    private static final int ACCOUNT_PAGE_SIZE = 1000;
+
+    private final ArchiveService archiveService;
+    private final ShardDirectory shardDirectory;
+    private final JdbcTemplate jdbcTemplate;
+    private final Timer projectionLag;
+    private final AtomicBoolean rebuilding = new AtomicBoolean();
+
+    @Value("${zenvest.activity.read-model-enabled:true}")
+    private boolean readModelEnabled;
+
+    @Value("${zenvest.activity.rebuild-batch-size:10000}")
+    private int rebuildBatchSize;
+
+    @Autowired
+    public UserActivityService(ArchiveService archiveService,
+                               ShardDirectory shardDirectory,
+                               JdbcTemplate jdbcTemplate,
+                               MeterRegistry meterRegistry) {
+        this.archiveService = archiveService;
+        this.shardDirectory = shardDirectory;
+        this.jdbcTemplate = jdbcTemplate;
+        this.projectionLag = Timer.builder("zenvest.activity.projection.lag").register(meterRegistry);
+        Gauge.builder("zenvest.activity.staleness", this, UserActivityService::staleness)
+                .baseUnit("seconds")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Checks if transfer history reads are served from the read model.
+     */
+    public boolean isReadModelEnabled() {
+        return readModelEnabled;
+    }
+
+    /**
+     * Projects a transfer into the read model.
+     *
+     * @param event the TRANSFER outbox event
+     */
+    @EventListener
+    public void onTransferRecorded(TransferRecordedEvent event) {
+        if (event.status() == TransferStatus.PENDING) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(UPSERT, legs(event));
+        projectionLag.record(Duration.between(event.timestamp(), LocalDateTime.now()));
+    }
+
+    /**
+     * Retrieves the transfer history of a user from the read model, optionally limited to a date range.
+     *
+     * @param userId the ID of the user
+     * @param from   the first instant to include, or null for no lower bound
+     * @param to     the first instant to exclude, or null for no upper bound
+     * @return a list of TransferHistoryResponse objects, oldest first
+     */
+    public List<TransferHistoryResponse> getTransferHistory(Long userId, LocalDateTime from, LocalDateTime to) {
+        List<Object> args = new ArrayList<>();
+        String sql = historySql("transfer_id, amount, credited_amount, description, from_owner_name, to_owner_name,"
+                + " timestamp, status", userId, from, to, args);
+        return jdbcTemplate.query(sql, (rs, rowNum) -> TransferHistoryResponse.builder()
+                .id(rs.getLong(1))
+                .amount(rs.getDouble(2))
+                .creditedAmount(rs.getObject(3, Double.class))
+                .description(rs.getString(4))
+                .fromAccountOwnerName(rs.getString(5))
+                .toAccountOwnerName(rs.getString(6))
+                .timestamp(rs.getObject(7, LocalDateTime.class))
+                .status(TransferStatus.valueOf(rs.getString(8)))
+                .build(), args.toArray());
+    }
+
+    /**
+     * Retrieves the selected fields of the transfer history of a user from the read model.
+     *
+     * @param userId    the ID of the user
+     * @param from      the first instant to include, or null for no lower bound
+     * @param to        the first instant to exclude, or null for no upper bound
+     * @param selection the fields to return
+     * @return a ColumnarResponse with one row per transfer, oldest first
+     */
+    public ColumnarResponse getTransferHistoryColumns(Long userId, LocalDateTime from, LocalDateTime to,
+                                                      FieldSelection selection) {
+        List<String> columns = selection.fields();
+        List<Object> args = new ArrayList<>();
+        String sql = historySql(String.join(", ", columns.stream().map(HISTORY_COLUMNS::get).toList()),
+                userId, from, to, args);
+        List<Object[]> rows = jdbcTemplate.query(sql, (rs, rowNum) -> {
+            Object[] row = new Object[columns.size()];
+            for (int i = 0; i < row.length; i++) {
+                row[i] = switch (columns.get(i)) {
+                    case "id" -> rs.getLong(i + 1);
+                    case "amount", "creditedAmount" -> rs.getObject(i + 1, Double.class);
+                    case "timestamp" -> rs.getObject(i + 1, LocalDateTime.class);
+                    case "status" -> TransferStatus.valueOf(rs.getString(i + 1));
+                    default -> rs.getString(i + 1);
+                };
+            }
+            return row;
+        }, args.toArray());
+        return new ColumnarResponse(columns, rows);
+    }
+
+    /**
+     * Rewrites the read model from the live transfers, in id ranges, and from the archived months.
+     * Rows are upserted, so history reads keep working while the rebuild runs. Only one rebuild runs at a time.
+     * With sharding, every shard rebuilds its own rows; the report holds the highest transfer id of any shard.
+     *
+     * @return a report of the rebuild
+     */
+    public UserActivityRebuildReport rebuild() {
+        if (!rebuilding.compareAndSet(false, true)) {
+            throw new IllegalStateException("A rebuild of the user activity read model is already running");
+        }
+        try {
+            LocalDateTime startedAt = LocalDateTime.now();
+            AtomicLong maxLiveId = new AtomicLong(-1);
+            AtomicLong archived = new AtomicLong();
+            shardDirectory.forEachShard(() -> {
+                Long shardMaxId = jdbcTemplate.queryForObject("select max(id) from transfers", Long.class);
+                for (long lower = 0; shardMaxId != null && lower < shardMaxId; lower += rebuildBatchSize) {
+                    jdbcTemplate.update(REBUILD_OUT_LEGS, lower, lower + rebuildBatchSize);
+                    jdbcTemplate.update(REBUILD_IN_LEGS, lower, lower + rebuildBatchSize);
+                }
+                if (shardMaxId != null) {
+                    maxLiveId.accumulateAndGet(shardMaxId, Math::max);
+                }
+                archived.addAndGet(rebuildArchived());
+            });
+            Long maxId = maxLiveId.get() < 0 ? null : maxLiveId.get();
+            long archivedTransfers = archived.get();
+
+            UserActivityRebuildReport report = UserActivityRebuildReport.builder()
+                    .startedAt(startedAt)
+                    .finishedAt(LocalDateTime.now())
+                    .maxLiveTransferId(maxId)
+                    .archivedTransfers(archivedTransfers)
+                    .build();
+            log.info("Rebuilt the user activity read model up to transfer {} with {} archived transfers",
+                    maxId, archivedTransfers);
+            return report;
+        } finally {
+            rebuilding.set(false);
+        }
+    }
+
+    /**
+     * Replays the archived transfers, one page of accounts at a time.
+     *
+     * @return the number of archived transfers replayed
+     */
+    private long rebuildArchived() {
+        long count = 0;
+        long afterAccountId = 0;
+        while (true) {
+            List<Long> accountIds = jdbcTemplate.queryForList("select id from accounts where id > ? order by id limit ?",
+                    Long.class, afterAccountId, ACCOUNT_PAGE_SIZE);
+            if (accountIds.isEmpty()) {
+                return count;
+            }
+            afterAccountId = accountIds.get(accountIds.size() - 1);
+
+            List<ArchivedTransfer> archived = archiveService.findTransfers(accountIds, null, null);
+            if (archived.isEmpty()) {
+                continue;
+            }
+            Set<Long> page = new HashSet<>(accountIds);
+            Set<Long> involved = new HashSet<>();
+            archived.forEach(transfer -> {
+                involved.add(transfer.fromAccountId());
+                involved.add(transfer.toAccountId());
+            });
+            Map<Long, AccountOwner> owners = owners(involved);
+
+            List<Object[]> rows = new ArrayList<>();
+            for (ArchivedTransfer transfer : archived) {
+                AccountOwner from = owners.get(transfer.fromAccountId());
+                AccountOwner to = owners.get(transfer.toAccountId());
+                if (from == null || to == null || transfer.timestamp() == null
+                        || transfer.status() == null || transfer.status() == TransferStatus.PENDING) {
+                    continue;
+                }
+                rows.addAll(legs(new TransferRecordedEvent(transfer.id(),
+                        transfer.fromAccountId(), from.userId(), from.ownerName(),
+                        transfer.toAccountId(), to.userId(), to.ownerName(),
+                        transfer.amount(), transfer.status() == TransferStatus.FAILED ? null : transfer.creditedAmount(),
+                        transfer.description(), transfer.timestamp(), transfer.status())));
+                // a transfer between two pages is replayed twice and counted once
+                if (page.contains(transfer.fromAccountId())) {
+                    count++;
+                }
+            }
+            jdbcTemplate.batchUpdate(UPSERT, rows);
+        }
+    }
+
+    private Map<Long, AccountOwner> owners(Set<Long> accountIds) {
+        Map<Long, AccountOwner> owners = new HashMap<>();
+        String placeholders = String.join(", ", Collections.nCopies(accountIds.size(), "?"));
+        jdbcTemplate.query("select id, user_id, owner_name from accounts where id in (" + placeholders + ")",
+                rs -> {
+                    owners.put(rs.getLong(1), new AccountOwner(rs.getLong(2), rs.getString(3)));
+                }, accountIds.toArray());
+        return owners;
+    }
+
+    /**
+     * Builds the rows of a transfer: the OUT leg of the sender and, unless both accounts belong to the same user,
+     * the IN leg of the receiver.
+     */
+    private static List<Object[]> legs(TransferRecordedEvent event) {
+        Timestamp timestamp = Timestamp.valueOf(event.timestamp());
+        List<Object[]> legs = new ArrayList<>(2);
+        legs.add(new Object[]{event.fromUserId(), timestamp, event.transferId(), TransferDirection.OUT.name(),
+                event.fromAccountId(), event.toAccountId(), event.fromOwnerName(), event.toOwnerName(),
+                event.amount(), event.creditedAmount(), event.description(), event.status().name()});
+        if (event.toUserId() != event.fromUserId()) {
+            legs.add(new Object[]{event.toUserId(), timestamp, event.transferId(), TransferDirection.IN.name(),
+                    event.toAccountId(), event.fromAccountId(), event.fromOwnerName(), event.toOwnerName(),
+                    event.amount(), event.creditedAmount(), event.description(), event.status().name()});
+        }
+        return legs;
+    }
+
+    private String historySql(String columns, Long userId, LocalDateTime from, LocalDateTime to, List<Object> args) {
+        StringBuilder sql = new StringBuilder("select ").append(columns).append(" from user_activity where user_id = ?");
+        args.add(userId);
+        if (from != null) {
+            sql.append(" and timestamp >= ?");
+            args.add(Timestamp.valueOf(from));
+        }
+        if (to != null) {
+            sql.append(" and timestamp < ?");
+            args.add(Timestamp.valueOf(to));
+        }
+        return sql.append(" order by timestamp, transfer_id").toString();
+    }
+
+    /**
+     * Returns the age of the oldest transfer event not yet projected, in seconds.
+     */
+    private double staleness() {
+        try {
+            Timestamp oldest = jdbcTemplate.queryForObject(
+                    "select min(created_at) from event_outbox where event_type = 'TRANSFER'", Timestamp.class);
+            return oldest == null ? 0 : Math.max(0, Duration.between(oldest.toLocalDateTime(), LocalDateTime.now()).toMillis() / 1000.0);
+        } catch (DataAccessException e) {
+            return Double.NaN;
+        }
+    }
+
+    private record AccountOwner(long userId, String ownerName) {
+    }
+}
@@ -0,0 +1,181 @@
+package com.zenvest.devx.services;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.zenvest.devx.configs.VelocityProperties;
+import com.zenvest.devx.constants.TransactionType;
+import com.zenvest.devx.constants.TransferStatus;
+import com.zenvest.devx.exceptions.VelocityLimitExceededException;
+import com.zenvest.devx.models.Transaction;
+import com.zenvest.devx.models.Transfer;
+import com.zenvest.devx.repositories.TransactionRepository;
+import com.zenvest.devx.repositories.TransferRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+
+/**
+ * VelocityService enforces the compliance velocity rules before money leaves an account.
+ * The rules are checked against in-memory sliding windows instead of SQL aggregates, so a check costs no DB work.
+ * An operation is counted as soon as it passes the check, so concurrent operations cannot slip past a limit together.
+ * The count is taken back when the surrounding transaction rolls back, or when the caller releases the returned
+ * {@link Usage} because the money did not move.
+ * Windows are kept for a bounded number of accounts and warmed up from recent history at startup.
+ */
+@Slf4j
+@Service
+public class VelocityService {
+
+    private static final long DESTINATION_WINDOW_HOURS = 1;
+
+    private final VelocityProperties properties;
+    private final TransactionRepository transactionRepository;
+    private final TransferRepository transferRepository;
+    private final Cache<Long, VelocityWindow> windows;
+    private final long bucketMillis;
+
+    @Autowired
+    public VelocityService(VelocityProperties properties,
+                           TransactionRepository transactionRepository,
+                           TransferRepository transferRepository) {
+        this.properties = properties;
+        this.transactionRepository = transactionRepository;
+        this.transferRepository = transferRepository;
+        this.bucketMillis = Math.max(1, properties.getWindow().toMillis() / properties.getBuckets());
+        this.windows = Caffeine.newBuilder()
+                .maximumSize(properties.getMaxTrackedAccounts())
+                .expireAfterAccess(properties.getWindow().plusHours(DESTINATION_WINDOW_HOURS))
+                .build();
+    }
+
+    /**
+     * Checks the velocity rules for an outgoing operation and counts it.
+     * Inside a transaction the count is taken back if the transaction does not commit.
+     *
+     * @param accountId     the source account
+     * @param amount        the amount leaving the account
+     * @param destinationId the destination account of a transfer, or null for a withdrawal
+     * @return the recorded usage, to be released if the operation fails, or null with the rules disabled
+     * @throws VelocityLimitExceededException if the operation breaks a rule
+     */
+    public Usage checkOutgoing(Long accountId, double amount, Long destinationId) {
+        if (!properties.isEnabled()) {
+            return null;
+        }
+        long now = System.currentTimeMillis();
+        VelocityWindow window = window(accountId);
+        int result = window.checkAndRecord(now, amount, destinationId, properties.getMaxCount(), properties.getMaxAmount());
+
+        long retryAfterSeconds = Math.max(1, bucketMillis / 1000);
+        switch (result) {
+            case VelocityWindow.COUNT_EXCEEDED ->
+                    throw new VelocityLimitExceededException("Too many outgoing operations for this account", retryAfterSeconds);
+            case VelocityWindow.AMOUNT_EXCEEDED ->
+                    throw new VelocityLimitExceededException("Outgoing amount limit reached for this account", retryAfterSeconds);
+            case VelocityWindow.DESTINATIONS_EXCEEDED ->
+                    throw new VelocityLimitExceededException("Too many distinct transfer destinations for this account", retryAfterSeconds);
+            default -> {
+            }
+        }
+
+        Usage usage = new Usage(window, now, amount, destinationId, result == VelocityWindow.OK_NEW_DESTINATION);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status != STATUS_COMMITTED) {
+                        release(usage);
+                    }
+                }
+            });
+        }
+        return usage;
+    }
+
+    /**
+     * Takes back the usage of an operation that passed the check but did not move any money.
+     * Releasing twice, or releasing null, has no effect.
+     *
+     * @param usage the usage returned by {@link #checkOutgoing}
+     */
+    public void release(Usage usage) {
+        if (usage != null && usage.markReleased()) {
+            usage.window.release(usage.recordedAtMillis, usage.amount, usage.destinationId, usage.newDestination);
+        }
+    }
+
+    /**
+     * Replays recent withdrawals and transfers into the windows so limits hold across restarts.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime since = now.minus(properties.getWindow());
+        LocalDateTime destinationsSince = now.minusHours(DESTINATION_WINDOW_HOURS);
+        LocalDateTime from = since.isBefore(destinationsSince) ? since : destinationsSince;
+
+        List<Transaction> withdrawals = transactionRepository
+                .findByTransactionTypeAndTimestampAfterOrderByTimestampAsc(TransactionType.WITHDRAWAL, from);
+        for (Transaction withdrawal : withdrawals) {
+            window(withdrawal.getAccount().getId())
+                    .replay(toMillis(withdrawal.getTimestamp()), withdrawal.getAmount(), null);
+        }
+
+        List<Transfer> transfers = transferRepository.findByTimestampAfterOrderByTimestampAsc(from);
+        for (Transfer transfer : transfers) {
+            if (transfer.getStatus() == TransferStatus.FAILED) {
+                continue;
+            }
+            window(transfer.getFromAccount().getId())
+                    .replay(toMillis(transfer.getTimestamp()), transfer.getAmount(), transfer.getToAccount().getId());
+        }
+        log.info("Velocity windows warmed up from {} withdrawals and {} transfers", withdrawals.size(), transfers.size());
+    }
+
+    private VelocityWindow window(Long accountId) {
+        return windows.get(accountId, id -> new VelocityWindow(bucketMillis, properties.getBuckets(),
+                properties.getMaxDistinctDestinations()));
+    }
+
+    private long toMillis(LocalDateTime timestamp) {
+        return timestamp.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    /**
+     * An operation counted by {@link #checkOutgoing}.
+     */
+    public static final class Usage {
+
+        private final VelocityWindow window;
+        private final long recordedAtMillis;
+        private final double amount;
+        private final Long destinationId;
+        private final boolean newDestination;
+        private boolean released;
+
+        private Usage(VelocityWindow window, long recordedAtMillis, double amount, Long destinationId, boolean newDestination) {
+            this.window = window;
+            this.recordedAtMillis = recordedAtMillis;
+            this.amount = amount;
+            this.destinationId = destinationId;
+            this.newDestination = newDestination;
+        }
+
+        private synchronized boolean markReleased() {
+            boolean first = !released;
+            released = true;
+            return first;
+        }
+    }
+}
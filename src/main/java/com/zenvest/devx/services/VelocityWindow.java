@@ -0,0 +1,158 @@
+package com.zenvest.devx.services;
+
+/**
+ * Sliding-window counters of one account.
+ * Count and amount are kept in a ring of time buckets; recent destinations in a fixed-size array.
+ * Memory per account is constant, and the lock is held for a few array reads only.
+ */
+final class VelocityWindow {
+
+    static final int OK = 0;
+    static final int COUNT_EXCEEDED = 1;
+    static final int AMOUNT_EXCEEDED = 2;
+    static final int DESTINATIONS_EXCEEDED = 3;
+    /** Like {@link #OK}, and the destination was not among the recent destinations before. */
+    static final int OK_NEW_DESTINATION = 4;
+
+    private static final long DESTINATION_WINDOW_MILLIS = 3_600_000L;
+
+    private final long bucketMillis;
+    private final long[] bucketIds;
+    private final int[] counts;
+    private final double[] amounts;
+    private final long[] destinations;
+    private final long[] destinationSeenAt;
+
+    VelocityWindow(long bucketMillis, int buckets, int maxDestinations) {
+        this.bucketMillis = bucketMillis;
+        this.bucketIds = new long[buckets];
+        this.counts = new int[buckets];
+        this.amounts = new double[buckets];
+        this.destinations = new long[maxDestinations];
+        this.destinationSeenAt = new long[maxDestinations];
+    }
+
+    /**
+     * Checks the rules for one more outgoing operation and records it when no rule is broken.
+     *
+     * @param nowMillis     the operation time
+     * @param amount        the operation amount
+     * @param destinationId the transfer destination, or null for a withdrawal
+     * @param maxCount      the count limit
+     * @param maxAmount     the amount limit
+     * @return {@link #OK} or {@link #OK_NEW_DESTINATION}, or the code of the broken rule
+     */
+    synchronized int checkAndRecord(long nowMillis, double amount, Long destinationId, int maxCount, double maxAmount) {
+        long currentBucket = nowMillis / bucketMillis;
+        long oldestBucket = currentBucket - bucketIds.length + 1;
+        int count = 0;
+        double total = 0;
+        for (int i = 0; i < bucketIds.length; i++) {
+            if (bucketIds[i] >= oldestBucket) {
+                count += counts[i];
+                total += amounts[i];
+            }
+        }
+        if (count + 1 > maxCount) {
+            return COUNT_EXCEEDED;
+        }
+        if (total + amount > maxAmount) {
+            return AMOUNT_EXCEEDED;
+        }
+
+        int destinationSlot = -1;
+        boolean newDestination = false;
+        if (destinationId != null) {
+            destinationSlot = findDestinationSlot(nowMillis, destinationId);
+            if (destinationSlot < 0) {
+                return DESTINATIONS_EXCEEDED;
+            }
+            newDestination = !isLive(destinationSlot, nowMillis) || destinations[destinationSlot] != destinationId;
+        }
+
+        record(currentBucket, amount);
+        if (destinationSlot >= 0) {
+            destinations[destinationSlot] = destinationId;
+            destinationSeenAt[destinationSlot] = nowMillis;
+        }
+        return newDestination ? OK_NEW_DESTINATION : OK;
+    }
+
+    /**
+     * Takes back an operation recorded by {@link #checkAndRecord} that did not happen after all.
+     * A bucket that has since been reused for a later time is left alone. A destination is only forgotten if
+     * the operation added it and no later operation sent to it again.
+     *
+     * @param recordedAtMillis the time passed to {@link #checkAndRecord}
+     * @param amount           the operation amount
+     * @param destinationId    the transfer destination, or null for a withdrawal
+     * @param newDestination   true if the check returned {@link #OK_NEW_DESTINATION}
+     */
+    synchronized void release(long recordedAtMillis, double amount, Long destinationId, boolean newDestination) {
+        long bucketId = recordedAtMillis / bucketMillis;
+        int index = (int) Math.floorMod(bucketId, (long) bucketIds.length);
+        if (bucketIds[index] == bucketId && counts[index] > 0) {
+            counts[index]--;
+            amounts[index] -= amount;
+        }
+        if (newDestination && destinationId != null) {
+            for (int i = 0; i < destinations.length; i++) {
+                if (destinations[i] == destinationId && destinationSeenAt[i] == recordedAtMillis) {
+                    destinationSeenAt[i] = 0;
+                }
+            }
+        }
+    }
+
+    /**
+     * Records a past operation without checking the rules. Used to warm the window up from history,
+     * in timestamp order.
+     */
+    synchronized void replay(long timestampMillis, double amount, Long destinationId) {
+        record(timestampMillis / bucketMillis, amount);
+        if (destinationId != null) {
+            int slot = findDestinationSlot(timestampMillis, destinationId);
+            if (slot >= 0) {
+                destinations[slot] = destinationId;
+                destinationSeenAt[slot] = timestampMillis;
+            }
+        }
+    }
+
+    private void record(long bucketId, double amount) {
+        int index = (int) Math.floorMod(bucketId, (long) bucketIds.length);
+        if (bucketIds[index] > bucketId) {
+            return;
+        }
+        if (bucketIds[index] != bucketId) {
+            bucketIds[index] = bucketId;
+            counts[index] = 0;
+            amounts[index] = 0;
+        }
+        counts[index]++;
+        amounts[index] += amount;
+    }
+
+    /**
+     * Returns the slot already holding the destination, else a free or expired slot, else -1 when
+     * the account already sent to the maximum number of distinct destinations within the hour.
+     */
+    private int findDestinationSlot(long nowMillis, long destinationId) {
+        int free = -1;
+        for (int i = 0; i < destinations.length; i++) {
+            boolean live = isLive(i, nowMillis);
+            if (live && destinations[i] == destinationId) {
+                return i;
+            }
+            if (!live && free < 0) {
+                free = i;
+            }
+        }
+        return free;
+    }
+
+    private boolean isLive(int destinationSlot, long nowMillis) {
+        long seenAt = destinationSeenAt[destinationSlot];
+        return seenAt != 0 && seenAt > nowMillis - DESTINATION_WINDOW_MILLIS;
+    }
+}
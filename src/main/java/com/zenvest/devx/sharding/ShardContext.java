@@ -0,0 +1,83 @@
+package com.zenvest.devx.sharding;
+
+import java.util.function.Supplier;
+
+/**
+ * ShardContext holds the shard the current thread works on.
+ * The {@link ShardRoutingDataSource} reads it when a connection is opened, so the shard has to be set before
+ * a transaction starts; switching inside a transaction does not move the transaction's connection.
+ * Threads without a shard work on {@link #DIRECTORY_SHARD}.
+ */
+public final class ShardContext {
+
+    /** The shard of {@code spring.datasource}, which also holds the users and the shard directory. */
+    public static final int DIRECTORY_SHARD = 0;
+
+    private static final ThreadLocal<Integer> CURRENT = new ThreadLocal<>();
+
+    private ShardContext() {
+    }
+
+    /**
+     * Returns the shard of the current thread.
+     */
+    public static int current() {
+        Integer shard = CURRENT.get();
+        return shard == null ? DIRECTORY_SHARD : shard;
+    }
+
+    /**
+     * Switches the current thread to a shard.
+     *
+     * @param shard the shard to work on
+     * @return the previous shard, to be passed to {@link #restore(Integer)}
+     */
+    public static Integer enter(int shard) {
+        Integer previous = CURRENT.get();
+        CURRENT.set(shard);
+        return previous;
+    }
+
+    /**
+     * Switches the current thread back to the shard returned by {@link #enter(int)}.
+     */
+    public static void restore(Integer previous) {
+        if (previous == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(previous);
+        }
+    }
+
+    /**
+     * Runs an action on a shard.
+     */
+    public static void run(int shard, Runnable action) {
+        Integer previous = enter(shard);
+        try {
+            action.run();
+        } finally {
+            restore(previous);
+        }
+    }
+
+    /**
+     * Runs an action on a shard and returns its result.
+     */
+    public static <T> T call(int shard, Supplier<T> action) {
+        Integer previous = enter(shard);
+        try {
+            return action.get();
+        } finally {
+            restore(previous);
+        }
+    }
+
+    /**
+     * Binds a task to the shard of the current thread, for handing it to another thread.
+     */
+    public static Runnable wrap(Runnable task) {
+        int shard = current();
+        return () -> run(shard, task);
+    }
+}
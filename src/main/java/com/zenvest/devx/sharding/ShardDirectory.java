@@ -0,0 +1,203 @@
+package com.zenvest.devx.sharding;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.zenvest.devx.configs.ShardingProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalInt;
+
+/**
+ * ShardDirectory maps users and accounts to their shard.
+ * A user is assigned a home shard on first lookup, by a hash of the user id, and the assignment is stored in
+ * {@code shard_directory} on the directory shard; a user who already owns accounts on a shard stays there.
+ * The user row is copied to its home shard so the accounts' foreign key holds. Accounts are resolved through
+ * {@code account_directory}, and an account not recorded there yet is looked up on every shard once.
+ * Without sharding there is a single shard and every lookup returns {@link ShardContext#DIRECTORY_SHARD}.
+ * Lookups use the shards' own pools and never join the caller's transaction.
+ */
+@Slf4j
+@Component
+public class ShardDirectory {
+
+    private static final long HASH_MULTIPLIER = 0x9E3779B97F4A7C15L;
+
+    private final List<JdbcTemplate> shards = new ArrayList<>();
+    private final Cache<String, Integer> userShards;
+    private final Cache<Long, Integer> accountShards;
+
+    @Autowired
+    public ShardDirectory(DataSource dataSource, ShardingProperties properties) {
+        if (dataSource instanceof ShardRoutingDataSource routing) {
+            for (int shard = 0; shard < routing.shardCount(); shard++) {
+                shards.add(new JdbcTemplate(routing.shard(shard)));
+            }
+        } else {
+            shards.add(new JdbcTemplate(dataSource));
+        }
+        this.userShards = Caffeine.newBuilder().maximumSize(properties.getDirectoryCacheSize()).build();
+        this.accountShards = Caffeine.newBuilder().maximumSize(properties.getDirectoryCacheSize()).build();
+    }
+
+    /**
+     * Checks if the data is spread over more than one shard.
+     */
+    public boolean isSharded() {
+        return shards.size() > 1;
+    }
+
+    /**
+     * Returns the number of shards.
+     */
+    public int shardCount() {
+        return shards.size();
+    }
+
+    /**
+     * Returns a JdbcTemplate on the directory shard, outside any transaction of the caller.
+     */
+    public JdbcTemplate directory() {
+        return shards.get(ShardContext.DIRECTORY_SHARD);
+    }
+
+    /**
+     * Runs a task once on every shard, in shard order.
+     *
+     * @param task the task to run
+     */
+    public void forEachShard(Runnable task) {
+        for (int shard = 0; shard < shards.size(); shard++) {
+            ShardContext.run(shard, task);
+        }
+    }
+
+    /**
+     * Returns the home shard of a user, by email, the subject of the user's tokens.
+     *
+     * @param email the email of the user
+     * @return the home shard, or the directory shard for an unknown user
+     */
+    public int shardOfEmail(String email) {
+        if (!isSharded()) {
+            return ShardContext.DIRECTORY_SHARD;
+        }
+        Integer cached = userShards.getIfPresent(email);
+        if (cached != null) {
+            return cached;
+        }
+        List<Long> ids = directory().queryForList("select id from users where email = ?", Long.class, email);
+        if (ids.isEmpty()) {
+            return ShardContext.DIRECTORY_SHARD;
+        }
+        int shard = shardOfUser(ids.get(0));
+        userShards.put(email, shard);
+        return shard;
+    }
+
+    /**
+     * Returns the home shard of a user, assigning one on first lookup.
+     *
+     * @param userId the ID of the user
+     * @return the home shard
+     */
+    public int shardOfUser(Long userId) {
+        if (!isSharded()) {
+            return ShardContext.DIRECTORY_SHARD;
+        }
+        List<Integer> assigned = directory().queryForList(
+                "select shard from shard_directory where user_id = ?", Integer.class, userId);
+        if (!assigned.isEmpty()) {
+            return assigned.get(0);
+        }
+
+        int shard = homeShard(userId);
+        copyUser(userId, shard);
+        directory().update("insert ignore into shard_directory (user_id, shard, assigned_at) values (?, ?, ?)",
+                userId, shard, Timestamp.valueOf(LocalDateTime.now()));
+        int winner = directory().queryForObject("select shard from shard_directory where user_id = ?", Integer.class, userId);
+        log.info("Assigned user {} to shard {}", userId, winner);
+        return winner;
+    }
+
+    /**
+     * Returns the shard holding an account.
+     *
+     * @param accountId the ID of the account
+     * @return the shard, or empty if no shard has the account
+     */
+    public OptionalInt shardOfAccount(Long accountId) {
+        if (!isSharded()) {
+            return OptionalInt.of(ShardContext.DIRECTORY_SHARD);
+        }
+        Integer cached = accountShards.getIfPresent(accountId);
+        if (cached != null) {
+            return OptionalInt.of(cached);
+        }
+        List<Integer> recorded = directory().queryForList(
+                "select shard from account_directory where account_id = ?", Integer.class, accountId);
+        Integer shard = recorded.isEmpty() ? probeAccount(accountId) : recorded.get(0);
+        if (shard == null) {
+            return OptionalInt.empty();
+        }
+        if (recorded.isEmpty()) {
+            directory().update("insert ignore into account_directory (account_id, shard) values (?, ?)", accountId, shard);
+        }
+        accountShards.put(accountId, shard);
+        return OptionalInt.of(shard);
+    }
+
+    /**
+     * Checks if an account lives on another shard than the one the current thread works on.
+     *
+     * @param accountId the ID of the account
+     * @return true if the account was found on another shard
+     */
+    public boolean isOnOtherShard(Long accountId) {
+        int current = ShardContext.current();
+        return shardOfAccount(accountId).orElse(current) != current;
+    }
+
+    /**
+     * Picks the home shard of a user without one: the shard of its existing accounts, or a hash of its id.
+     */
+    private int homeShard(Long userId) {
+        for (int shard = 0; shard < shards.size(); shard++) {
+            if (!shards.get(shard).queryForList("select 1 from accounts where user_id = ? limit 1", Integer.class, userId).isEmpty()) {
+                return shard;
+            }
+        }
+        return Math.floorMod(Long.hashCode(userId * HASH_MULTIPLIER), shards.size());
+    }
+
+    private void copyUser(Long userId, int shard) {
+        if (shard == ShardContext.DIRECTORY_SHARD) {
+            return;
+        }
+        Map<String, Object> user = directory().queryForMap(
+                "select id, username, password, email, active from users where id = ?", userId);
+        shards.get(shard).update("insert ignore into users (id, username, password, email, active) values (?, ?, ?, ?, ?)",
+                user.get("id"), user.get("username"), user.get("password"), user.get("email"), user.get("active"));
+    }
+
+    private Integer probeAccount(Long accountId) {
+        Integer found = null;
+        for (int shard = 0; shard < shards.size(); shard++) {
+            if (!shards.get(shard).queryForList("select 1 from accounts where id = ?", Integer.class, accountId).isEmpty()) {
+                if (found != null) {
+                    throw new IllegalStateException("Account " + accountId + " exists on shards " + found + " and " + shard);
+                }
+                found = shard;
+            }
+        }
+        return found;
+    }
+}
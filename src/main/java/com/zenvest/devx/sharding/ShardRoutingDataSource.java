@@ -0,0 +1,52 @@
+package com.zenvest.devx.sharding;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * ShardRoutingDataSource hands out connections of the shard set in the {@link ShardContext}.
+ * Each shard is a separate connection pool; closing this data source closes all of them.
+ */
+public class ShardRoutingDataSource extends AbstractRoutingDataSource implements AutoCloseable {
+
+    private final List<HikariDataSource> shards;
+
+    public ShardRoutingDataSource(List<HikariDataSource> shards) {
+        this.shards = List.copyOf(shards);
+        Map<Object, Object> targets = new HashMap<>();
+        for (int shard = 0; shard < shards.size(); shard++) {
+            targets.put(shard, shards.get(shard));
+        }
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(shards.get(ShardContext.DIRECTORY_SHARD));
+        setLenientFallback(false);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return ShardContext.current();
+    }
+
+    /**
+     * Returns the number of shards.
+     */
+    public int shardCount() {
+        return shards.size();
+    }
+
+    /**
+     * Returns the connection pool of one shard, bypassing the routing.
+     */
+    public HikariDataSource shard(int shard) {
+        return shards.get(shard);
+    }
+
+    @Override
+    public void close() {
+        shards.forEach(HikariDataSource::close);
+    }
+}
@@ -0,0 +1,56 @@
+package com.zenvest.devx.utils;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * The fields requested with a {@code fields=} query parameter.
+ * Fields keep the order they were requested in; without a parameter every available field is selected.
+ */
+public final class FieldSelection {
+
+    private final List<String> fields;
+
+    private FieldSelection(List<String> fields) {
+        this.fields = List.copyOf(fields);
+    }
+
+    /**
+     * Parses a comma-separated field list.
+     *
+     * @param fields    the parameter value, or null for every field
+     * @param available the fields of the resource, in their default order
+     * @return the selection
+     * @throws IllegalArgumentException if a requested field does not exist
+     */
+    public static FieldSelection parse(String fields, List<String> available) {
+        if (fields == null || fields.isBlank()) {
+            return new FieldSelection(available);
+        }
+        Set<String> selected = new LinkedHashSet<>();
+        for (String field : fields.split(",")) {
+            String name = field.trim();
+            if (name.isEmpty()) {
+                continue;
+            }
+            if (!available.contains(name)) {
+                throw new IllegalArgumentException("Unknown field '" + name + "', expected one of " + available);
+            }
+            selected.add(name);
+        }
+        if (selected.isEmpty()) {
+            throw new IllegalArgumentException("No fields selected");
+        }
+        return new FieldSelection(new ArrayList<>(selected));
+    }
+
+    public List<String> fields() {
+        return fields;
+    }
+
+    public boolean includes(String field) {
+        return fields.contains(field);
+    }
+}
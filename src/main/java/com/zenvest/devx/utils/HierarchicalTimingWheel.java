@@ -0,0 +1,171 @@
+package com.zenvest.devx.utils;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * A hierarchical timing wheel holding timers in rings of buckets, one ring per time granularity.
+ * Adding a timer costs O(1) whatever the number of timers. Advancing the clock visits only non-empty buckets,
+ * so a sparse wheel is not walked tick by tick. Timers beyond the span of a ring go to the next, coarser ring
+ * and cascade down as their time approaches.
+ * A timer never fires early: it is returned by the first {@link #advance(long)} at or after its expiration,
+ * rounded up to the tick.
+ *
+ * @param <T> the type of the items carried by the timers
+ */
+public final class HierarchicalTimingWheel<T> {
+
+    private final long tickMs;
+    private final Wheel root;
+    private final PriorityQueue<Bucket> pendingBuckets = new PriorityQueue<>(Comparator.comparingLong(b -> b.expiration));
+    private final List<T> expired = new ArrayList<>();
+    private int size;
+
+    /**
+     * Creates a wheel whose clock starts at the given time.
+     *
+     * @param tickMs    the granularity of the finest ring, in milliseconds
+     * @param wheelSize the number of buckets of every ring
+     * @param startMs   the initial clock, in epoch milliseconds
+     */
+    public HierarchicalTimingWheel(long tickMs, int wheelSize, long startMs) {
+        if (tickMs <= 0 || wheelSize <= 1) {
+            throw new IllegalArgumentException("Tick must be positive and the wheel must have more than one bucket");
+        }
+        this.tickMs = tickMs;
+        this.root = new Wheel(tickMs, wheelSize, startMs);
+    }
+
+    /**
+     * Adds a timer. A timer whose expiration has already passed is returned by the next advance.
+     *
+     * @param expirationMs the expiration, in epoch milliseconds
+     * @param item         the item to return when the timer fires
+     */
+    public synchronized void add(long expirationMs, T item) {
+        size++;
+        Timer<T> timer = new Timer<>(Math.ceilDiv(expirationMs, tickMs) * tickMs, item);
+        if (!root.add(timer)) {
+            expired.add(item);
+        }
+    }
+
+    /**
+     * Moves the clock forward and removes every timer that expired.
+     *
+     * @param nowMs the current time, in epoch milliseconds
+     * @return the items of the expired timers, in no particular order
+     */
+    public synchronized List<T> advance(long nowMs) {
+        Bucket bucket;
+        while ((bucket = pendingBuckets.peek()) != null && bucket.expiration <= nowMs) {
+            pendingBuckets.poll();
+            root.advanceClock(bucket.expiration);
+            for (Timer<T> timer : bucket.flush()) {
+                if (!root.add(timer)) {
+                    expired.add(timer.item());
+                }
+            }
+        }
+        root.advanceClock(nowMs);
+
+        if (expired.isEmpty()) {
+            return List.of();
+        }
+        List<T> due = new ArrayList<>(expired);
+        expired.clear();
+        size -= due.size();
+        return due;
+    }
+
+    /**
+     * Returns the number of timers that have not been returned yet.
+     */
+    public synchronized int size() {
+        return size;
+    }
+
+    private record Timer<T>(long deadline, T item) {
+    }
+
+    private final class Bucket {
+        private final List<Timer<T>> timers = new ArrayList<>();
+        private long expiration = -1;
+
+        /**
+         * Sets the time the bucket is due.
+         *
+         * @return true if the bucket was idle and has to be queued
+         */
+        private boolean setExpiration(long expiration) {
+            if (this.expiration == expiration) {
+                return false;
+            }
+            this.expiration = expiration;
+            return true;
+        }
+
+        private List<Timer<T>> flush() {
+            List<Timer<T>> flushed = new ArrayList<>(timers);
+            timers.clear();
+            expiration = -1;
+            return flushed;
+        }
+    }
+
+    private final class Wheel {
+        private final long tickMs;
+        private final int wheelSize;
+        private final long interval;
+        private final List<Bucket> buckets;
+        private long currentTime;
+        private Wheel overflow;
+
+        private Wheel(long tickMs, int wheelSize, long startMs) {
+            this.tickMs = tickMs;
+            this.wheelSize = wheelSize;
+            this.interval = tickMs * wheelSize;
+            this.buckets = new ArrayList<>(wheelSize);
+            for (int i = 0; i < wheelSize; i++) {
+                buckets.add(new Bucket());
+            }
+            this.currentTime = startMs - Math.floorMod(startMs, tickMs);
+        }
+
+        /**
+         * Places a timer in this ring or a coarser one.
+         *
+         * @return false if the timer has already expired
+         */
+        private boolean add(Timer<T> timer) {
+            long deadline = timer.deadline();
+            if (deadline < currentTime + tickMs) {
+                return false;
+            }
+            if (deadline < currentTime + interval) {
+                long virtualId = deadline / tickMs;
+                Bucket bucket = buckets.get((int) Math.floorMod(virtualId, (long) wheelSize));
+                bucket.timers.add(timer);
+                if (bucket.setExpiration(virtualId * tickMs)) {
+                    pendingBuckets.offer(bucket);
+                }
+                return true;
+            }
+            if (overflow == null) {
+                overflow = new Wheel(interval, wheelSize, currentTime);
+            }
+            return overflow.add(timer);
+        }
+
+        private void advanceClock(long timeMs) {
+            if (timeMs >= currentTime + tickMs) {
+                currentTime = timeMs - Math.floorMod(timeMs, tickMs);
+                if (overflow != null) {
+                    overflow.advanceClock(currentTime);
+                }
+            }
+        }
+    }
+}
@@ -9,9 +9,12 @@ import org.springframework.stereotype.Service;
 
 import javax.crypto.SecretKey;
 import java.nio.charset.StandardCharsets;
+import java.util.Collection;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.UUID;
 
 /**
  * JwtService is responsible for handling JWT operations.
@@ -19,6 +22,10 @@ import java.util.Map;
  */
 @Service
 public class JwtService {
+
+    /** Claim holding the roles of the user, without the {@code ROLE_} prefix. */
+    public static final String ROLES_CLAIM = "roles";
+
     @Value("${jwt.secret}")
     private String jwtSecret;
 
@@ -78,15 +85,33 @@ public class JwtService {
 
     /**
      * Builds a JWT token with the specified username and claims.
-     * The token is signed using the HS256 algorithm and includes an expiration time.
+     * The token is signed using the HS256 algorithm and includes an expiration time
+     * and a unique ID (jti) so that it can be revoked on its own.
      *
      * @param username the username to include in the token
      * @return the generated JWT token
      */
     public String buildToken(String username) {
+        return buildToken(username, List.of());
+    }
+
+    /**
+     * Builds a JWT token with the specified username and roles.
+     * The roles are written to the {@value #ROLES_CLAIM} claim, which the resource server maps to
+     * {@code ROLE_} authorities; no claim is written for a user without roles.
+     *
+     * @param username the username to include in the token
+     * @param roles    the roles of the user, such as {@code ADMIN}
+     * @return the generated JWT token
+     */
+    public String buildToken(String username, Collection<String> roles) {
         Map<String, Object> claims = new HashMap<>();
+        if (!roles.isEmpty()) {
+            claims.put(ROLES_CLAIM, List.copyOf(roles));
+        }
         return Jwts.builder()
                 .setClaims(claims)
+                .setId(UUID.randomUUID().toString())
                 .setSubject(username)
                 .setIssuedAt(new Date())
                 .setExpiration(new Date(System.currentTimeMillis() + accessTokenExpiry))
@@ -94,6 +119,17 @@ public class JwtService {
                 .compact();
     }
 
+    /**
+     * Extracts the roles from the provided claims.
+     *
+     * @param claims the claims of a token
+     * @return the roles of the token, empty if it has none
+     */
+    public List<String> extractRoles(Claims claims) {
+        List<?> roles = claims.get(ROLES_CLAIM, List.class);
+        return roles == null ? List.of() : roles.stream().map(String::valueOf).toList();
+    }
+
     /**
      * Validates the provided JWT token.
      * This method checks if the token is valid by parsing it with the signing key.
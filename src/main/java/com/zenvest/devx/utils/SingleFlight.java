@@ -0,0 +1,94 @@
+package com.zenvest.devx.utils;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+
+/**
+ * Coalesces concurrent computations of the same key into one.
+ * The first caller of a key runs the computation on its own thread; callers arriving while it runs wait for it
+ * and get the same result, or the same exception. Nothing is cached: once the computation completes, the next
+ * caller starts a new one. A follower can therefore get a result computed from a read that began shortly
+ * before its own call.
+ * The computation must not depend on the caller, so authorization checks belong outside of it, and it must not
+ * compute the same key again, which would wait on itself. Callers should not hold a database connection
+ * while they wait, so a coalesced read runs outside of a transaction and the computation opens its own.
+ * The calls are counted as {@code zenvest.read.coalescing} with a {@code role} of {@code leader} or
+ * {@code follower}; {@code zenvest.read.coalescing.ratio} is the share of calls that did not run a computation.
+ *
+ * @param <K> the type of the keys, compared with equals
+ * @param <V> the type of the results
+ */
+public final class SingleFlight<K, V> {
+
+    private final ConcurrentMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+    private final Counter leaders;
+    private final Counter followers;
+
+    /**
+     * Creates a coalescer and registers its meters.
+     *
+     * @param name          the name of the coalesced read, used as the {@code read} tag
+     * @param meterRegistry the registry of the meters
+     */
+    public SingleFlight(String name, MeterRegistry meterRegistry) {
+        this.leaders = Counter.builder("zenvest.read.coalescing").tag("read", name).tag("role", "leader").register(meterRegistry);
+        this.followers = Counter.builder("zenvest.read.coalescing").tag("read", name).tag("role", "follower").register(meterRegistry);
+        Gauge.builder("zenvest.read.coalescing.ratio", this, SingleFlight::coalescingRatio)
+                .tag("read", name)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Returns the result of the computation of a key, joining the one in flight if there is one.
+     *
+     * @param key         the key of the computation
+     * @param computation the computation to run if none is in flight
+     * @return the result of the computation, possibly null
+     */
+    public V execute(K key, Supplier<V> computation) {
+        CompletableFuture<V> own = new CompletableFuture<>();
+        CompletableFuture<V> running = inFlight.putIfAbsent(key, own);
+        if (running != null) {
+            followers.increment();
+            return join(running);
+        }
+
+        leaders.increment();
+        try {
+            V result = computation.get();
+            own.complete(result);
+            return result;
+        } catch (RuntimeException | Error e) {
+            own.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, own);
+        }
+    }
+
+    private double coalescingRatio() {
+        double calls = leaders.count() + followers.count();
+        return calls == 0 ? 0 : followers.count() / calls;
+    }
+
+    private static <V> V join(CompletableFuture<V> running) {
+        try {
+            return running.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+}
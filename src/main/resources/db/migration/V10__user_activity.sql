@@ -0,0 +1,37 @@
+-- Transfer history read model: one row per (user, transfer leg), clustered on (user_id, timestamp) so the
+-- history of a user is one primary-key range scan. A transfer between two accounts of the same user has only its
+-- OUT leg. Maintained from the outbox by UserActivityService; rows of archived months stay here.
+create table user_activity (
+    user_id                 bigint       not null,
+    timestamp               datetime(6)  not null,
+    transfer_id             bigint       not null,
+    direction               enum ('OUT','IN') not null,
+    account_id              bigint       not null,
+    counterparty_account_id bigint       not null,
+    from_owner_name         varchar(255),
+    to_owner_name           varchar(255),
+    amount                  double       not null,
+    credited_amount         double,
+    description             varchar(255),
+    status                  enum ('PENDING','COMPLETED','FAILED') not null,
+    primary key (user_id, timestamp, transfer_id, direction)
+) engine = InnoDB;
+
+-- backfill from the live partitions; archived months are added by the rebuild endpoint
+insert into user_activity (user_id, timestamp, transfer_id, direction, account_id, counterparty_account_id,
+                           from_owner_name, to_owner_name, amount, credited_amount, description, status)
+select fa.user_id, t.timestamp, t.id, 'OUT', t.from_account_id, t.to_account_id,
+       fa.owner_name, ta.owner_name, t.amount, t.credited_amount, t.description, t.status
+from transfers t
+join accounts fa on fa.id = t.from_account_id
+join accounts ta on ta.id = t.to_account_id
+where t.status <> 'PENDING' and t.timestamp is not null;
+
+insert into user_activity (user_id, timestamp, transfer_id, direction, account_id, counterparty_account_id,
+                           from_owner_name, to_owner_name, amount, credited_amount, description, status)
+select ta.user_id, t.timestamp, t.id, 'IN', t.to_account_id, t.from_account_id,
+       fa.owner_name, ta.owner_name, t.amount, t.credited_amount, t.description, t.status
+from transfers t
+join accounts fa on fa.id = t.from_account_id
+join accounts ta on ta.id = t.to_account_id
+where t.status <> 'PENDING' and t.timestamp is not null and ta.user_id <> fa.user_id;
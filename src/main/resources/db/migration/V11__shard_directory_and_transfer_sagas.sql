@@ -0,0 +1,56 @@
+-- Shard directory and cross-shard transfer sagas. Every shard runs every migration, but only the directory
+-- shard (spring.datasource) uses shard_directory, account_directory and transfer_sagas; saga_steps is used on
+-- every shard.
+
+-- Home shard of every user. Users that exist before sharding is enabled keep their data on the directory shard.
+create table shard_directory (
+    user_id     bigint      not null,
+    shard       int         not null,
+    assigned_at datetime(6) not null,
+    primary key (user_id)
+) engine = InnoDB;
+
+insert into shard_directory (user_id, shard, assigned_at)
+select id, 0, now(6) from users;
+
+-- Shard of every account, filled on first lookup for accounts created afterwards.
+create table account_directory (
+    account_id bigint not null,
+    shard      int    not null,
+    primary key (account_id)
+) engine = InnoDB;
+
+insert into account_directory (account_id, shard)
+select id, 0 from accounts;
+
+-- One row per transfer between accounts on different shards: debit on the source shard, credit on the
+-- destination shard, and a compensating credit on the source shard when the credit cannot be applied.
+create table transfer_sagas (
+    id              bigint      not null auto_increment,
+    status          enum ('STARTED','DEBITED','COMPLETED','COMPENSATING','COMPENSATED','FAILED') not null,
+    from_account_id bigint      not null,
+    from_shard      int         not null,
+    to_account_id   bigint      not null,
+    to_shard        int         not null,
+    amount          double      not null,
+    credited_amount double      not null,
+    fx_rate         double,
+    fx_snapshot_id  bigint,
+    description     varchar(255),
+    failure_reason  varchar(255),
+    attempts        int         not null default 0,
+    created_at      datetime(6) not null,
+    updated_at      datetime(6) not null,
+    primary key (id),
+    key idx_transfer_sagas_status_updated (status, updated_at)
+) engine = InnoDB;
+
+-- Saga steps applied on this shard, written in the same transaction as the balance change so a step is
+-- applied at most once. A DEBIT row without a transaction marks a debit abandoned by the recovery worker.
+create table saga_steps (
+    saga_id        bigint      not null,
+    step           enum ('DEBIT','CREDIT','COMPENSATE') not null,
+    transaction_id bigint,
+    applied_at     datetime(6) not null,
+    primary key (saga_id, step)
+) engine = InnoDB;
@@ -0,0 +1,19 @@
+-- Per-event retry state of the outbox relay. An event that a sink keeps rejecting is retried with a growing
+-- delay and, after zenvest.outbox.max-attempts failures, moved to event_outbox_dead_letters so the events
+-- behind it keep flowing.
+alter table event_outbox
+    add column attempts        int         not null default 0,
+    add column next_attempt_at datetime(6);
+
+-- Events given up on by the relay, kept with their original id for inspection and replay.
+create table event_outbox_dead_letters (
+    id           bigint        not null,
+    event_type   varchar(32)   not null,
+    aggregate_id bigint        not null,
+    payload      text          not null,
+    created_at   datetime(6)   not null,
+    attempts     int           not null,
+    last_error   varchar(1000),
+    failed_at    datetime(6)   not null,
+    primary key (id)
+) engine = InnoDB;
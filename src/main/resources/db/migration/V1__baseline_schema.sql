@@ -0,0 +1,68 @@
+-- Schema as created by Hibernate's ddl-auto before migrations were introduced.
+-- Existing databases are baselined at this version and skip this script.
+
+create table users (
+    id       bigint not null auto_increment,
+    username varchar(255),
+    password varchar(255),
+    email    varchar(255),
+    active   bit,
+    primary key (id)
+) engine = InnoDB;
+
+create table accounts (
+    id         bigint not null auto_increment,
+    owner_name varchar(255),
+    balance    double,
+    active     bit,
+    hot_slots  integer,
+    user_id    bigint not null,
+    primary key (id),
+    constraint fk_accounts_user foreign key (user_id) references users (id)
+) engine = InnoDB;
+
+create table account_balance_slots (
+    id         bigint not null auto_increment,
+    slot       integer,
+    balance    double,
+    account_id bigint not null,
+    primary key (id),
+    constraint uk_account_balance_slots_account_slot unique (account_id, slot),
+    constraint fk_account_balance_slots_account foreign key (account_id) references accounts (id)
+) engine = InnoDB;
+
+create table transactions (
+    id               bigint not null auto_increment,
+    amount           double,
+    transaction_type tinyint,
+    description      varchar(255),
+    timestamp        datetime(6),
+    account_id       bigint not null,
+    primary key (id),
+    constraint fk_transactions_account foreign key (account_id) references accounts (id)
+) engine = InnoDB;
+
+create table transfers (
+    id              bigint not null auto_increment,
+    amount          double,
+    description     varchar(255),
+    timestamp       datetime(6),
+    status          enum ('PENDING','COMPLETED','FAILED'),
+    failure_reason  varchar(255),
+    from_account_id bigint not null,
+    to_account_id   bigint not null,
+    primary key (id),
+    constraint fk_transfers_from_account foreign key (from_account_id) references accounts (id),
+    constraint fk_transfers_to_account foreign key (to_account_id) references accounts (id)
+) engine = InnoDB;
+
+create table token_revocations (
+    id         bigint not null auto_increment,
+    jti        varchar(64),
+    subject    varchar(255),
+    not_before datetime(6),
+    expires_at datetime(6) not null,
+    primary key (id)
+) engine = InnoDB;
+
+create index idx_token_revocations_expires_at on token_revocations (expires_at);
@@ -0,0 +1,23 @@
+-- Indexes behind the queries on the request path.
+
+-- UserRepository.findByEmail, on every authenticated request
+create unique index uk_users_email on users (email);
+
+-- AccountRepository.findByUserId and the user joins of the transfer history
+create index idx_accounts_user_id on accounts (user_id);
+
+-- TransactionRepository.findByAccountId, newest first
+create index idx_transactions_account_timestamp on transactions (account_id, timestamp);
+
+-- velocity warm-up: TransactionRepository.findByTransactionTypeAndTimestampAfterOrderByTimestampAsc
+create index idx_transactions_type_timestamp on transactions (transaction_type, timestamp);
+
+-- transfer history by source and destination account
+create index idx_transfers_from_account_timestamp on transfers (from_account_id, timestamp);
+create index idx_transfers_to_account_timestamp on transfers (to_account_id, timestamp);
+
+-- TransferRepository.findByStatusOrderByIdAsc, pending recovery at startup
+create index idx_transfers_status on transfers (status, id);
+
+-- velocity warm-up: TransferRepository.findByTimestampAfterOrderByTimestampAsc
+create index idx_transfers_timestamp on transfers (timestamp);
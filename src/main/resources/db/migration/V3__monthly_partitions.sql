@@ -0,0 +1,50 @@
+-- Partition transactions and transfers by month of their timestamp.
+-- MySQL requires the partitioning column in every unique key and does not allow foreign keys on
+-- partitioned tables, so the primary keys become (id, timestamp) and the foreign keys are dropped.
+-- Referential integrity of account ids is kept by the application, which only writes ids of loaded accounts.
+-- Monthly partitions are split off p_future by PartitionMaintenanceService; rows before 2025 stay in p_base.
+
+-- Foreign key names differ between databases created by Hibernate and by V1, so they are looked up.
+set @fk = (select constraint_name from information_schema.referential_constraints
+           where constraint_schema = database() and table_name = 'transactions' limit 1);
+set @sql = if(@fk is null, 'do 0', concat('alter table transactions drop foreign key ', @fk));
+prepare stmt from @sql;
+execute stmt;
+deallocate prepare stmt;
+
+set @fk = (select constraint_name from information_schema.referential_constraints
+           where constraint_schema = database() and table_name = 'transfers' limit 1);
+set @sql = if(@fk is null, 'do 0', concat('alter table transfers drop foreign key ', @fk));
+prepare stmt from @sql;
+execute stmt;
+deallocate prepare stmt;
+
+set @fk = (select constraint_name from information_schema.referential_constraints
+           where constraint_schema = database() and table_name = 'transfers' limit 1);
+set @sql = if(@fk is null, 'do 0', concat('alter table transfers drop foreign key ', @fk));
+prepare stmt from @sql;
+execute stmt;
+deallocate prepare stmt;
+
+update transactions set timestamp = '1970-01-01 00:00:00' where timestamp is null;
+update transfers set timestamp = '1970-01-01 00:00:00' where timestamp is null;
+
+alter table transactions
+    modify timestamp datetime(6) not null,
+    drop primary key,
+    add primary key (id, timestamp);
+
+alter table transfers
+    modify timestamp datetime(6) not null,
+    drop primary key,
+    add primary key (id, timestamp);
+
+alter table transactions partition by range columns (timestamp) (
+    partition p_base values less than ('2025-01-01'),
+    partition p_future values less than (maxvalue)
+);
+
+alter table transfers partition by range columns (timestamp) (
+    partition p_base values less than ('2025-01-01'),
+    partition p_future values less than (maxvalue)
+);
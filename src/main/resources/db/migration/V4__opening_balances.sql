@@ -0,0 +1,33 @@
+-- Ledger starting point of every account, so that
+-- balance + hot-mode slots = opening_balance + deposits - withdrawals + transfers in - transfers out.
+-- Existing accounts are backfilled from their current balance and ledger rows, which makes today's
+-- balances the baseline that later reconciliations are checked against.
+
+alter table accounts add column opening_balance double not null default 0;
+
+update accounts a
+    left join (select account_id,
+                      sum(case transaction_type when 0 then amount when 1 then -amount else 0 end) as net
+               from transactions
+               group by account_id) t on t.account_id = a.id
+    left join (select from_account_id as account_id, sum(amount) as total
+               from transfers
+               where status = 'COMPLETED' or status is null
+               group by from_account_id) transfers_out on transfers_out.account_id = a.id
+    left join (select to_account_id as account_id, sum(amount) as total
+               from transfers
+               where status = 'COMPLETED' or status is null
+               group by to_account_id) transfers_in on transfers_in.account_id = a.id
+    left join (select account_id, sum(balance) as total
+               from account_balance_slots
+               group by account_id) slots on slots.account_id = a.id
+set a.opening_balance = coalesce(a.balance, 0) + coalesce(slots.total, 0) - coalesce(t.net, 0)
+    + coalesce(transfers_out.total, 0) - coalesce(transfers_in.total, 0);
+
+-- Partitions whose rows were folded into opening_balance by the archival job.
+create table archived_partitions (
+    table_name     varchar(64) not null,
+    partition_name varchar(64) not null,
+    archived_at    datetime(6) not null,
+    primary key (table_name, partition_name)
+) engine = InnoDB;
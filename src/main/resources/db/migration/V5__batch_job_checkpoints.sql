@@ -0,0 +1,13 @@
+-- Progress of batch job runs. A run is split into lanes of the account-id space; each lane remembers the
+-- last account it posted, and is updated in the same transaction as the postings of a chunk.
+create table batch_job_checkpoints (
+    job_name   varchar(64)  not null,
+    run_key    varchar(32)  not null,
+    lane       integer      not null,
+    last_id    bigint       not null,
+    end_id     bigint       not null,
+    processed  bigint       not null,
+    completed  bit          not null,
+    updated_at datetime(6)  not null,
+    primary key (job_name, run_key, lane)
+) engine = InnoDB;
@@ -0,0 +1,22 @@
+-- Standing orders and future-dated transfers. The scheduler reads due orders in (next_run_at, id) order
+-- through idx_scheduled_transfers_due, one time window at a time.
+create table scheduled_transfers (
+    id                  bigint       not null auto_increment,
+    amount              double       not null,
+    description         varchar(255),
+    frequency           enum ('ONCE','DAILY','WEEKLY','MONTHLY') not null,
+    first_run_at        datetime(6)  not null,
+    next_run_at         datetime(6)  not null,
+    end_at              datetime(6),
+    run_count           integer      not null,
+    status              enum ('ACTIVE','COMPLETED','CANCELLED','FAILED') not null,
+    last_failure_reason varchar(255),
+    last_transfer_id    bigint,
+    from_account_id     bigint       not null,
+    to_account_id       bigint       not null,
+    primary key (id),
+    constraint fk_scheduled_transfers_from_account foreign key (from_account_id) references accounts (id),
+    constraint fk_scheduled_transfers_to_account foreign key (to_account_id) references accounts (id)
+) engine = InnoDB;
+
+create index idx_scheduled_transfers_due on scheduled_transfers (status, next_run_at, id);
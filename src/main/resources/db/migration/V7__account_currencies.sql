@@ -0,0 +1,20 @@
+-- Per-account currency and cross-currency transfers. Existing accounts keep the default base currency and
+-- existing transfers are same-currency, so they credit what they debit at a rate of 1.
+alter table accounts add column currency varchar(3) not null default 'USD';
+
+alter table transfers
+    add column credited_amount double,
+    add column fx_rate double,
+    add column fx_snapshot_id bigint;
+
+update transfers set credited_amount = amount, fx_rate = 1 where credited_amount is null;
+
+-- Every exchange-rate table the application has used; transfers reference the one they were converted with.
+create table fx_rate_snapshots (
+    id            bigint        not null auto_increment,
+    base_currency varchar(255),
+    rates         varchar(4000),
+    source        varchar(255),
+    created_at    datetime(6),
+    primary key (id)
+) engine = InnoDB;
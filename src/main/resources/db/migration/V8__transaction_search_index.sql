@@ -0,0 +1,3 @@
+-- Transaction search filtered by type: walks one account's transactions of one type newest first.
+-- Searches without a type use idx_transactions_account_timestamp.
+create index idx_transactions_account_type_timestamp on transactions (account_id, transaction_type, timestamp);
@@ -0,0 +1,10 @@
+-- Transactional outbox. Rows are inserted in the money-movement transaction and deleted by the relay once
+-- every sink has them, so the table only holds the undelivered backlog.
+create table event_outbox (
+    id           bigint       not null auto_increment,
+    event_type   varchar(32)  not null,
+    aggregate_id bigint       not null,
+    payload      text         not null,
+    created_at   datetime(6)  not null,
+    primary key (id)
+) engine = InnoDB;
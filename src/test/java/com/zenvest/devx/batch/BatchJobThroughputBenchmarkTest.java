@@ -0,0 +1,97 @@
+package com.zenvest.devx.batch;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zenvest.devx.configs.BatchProperties;
+import com.zenvest.devx.events.OutboxWriter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.testcontainers.containers.MySQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Measures the throughput of the interest accrual job over a million accounts, with one, four and eight lanes.
+ * Every run posts one transaction and one outbox event per account. Run with {@code -Dzenvest.benchmark=true};
+ * Docker is required, and a run takes a few minutes.
+ */
+@Testcontainers
+@EnabledIfSystemProperty(named = "zenvest.benchmark", matches = "true")
+class BatchJobThroughputBenchmarkTest {
+
+    private static final int ACCOUNTS = 1_000_000;
+    private static final LocalDate FIRST_BUSINESS_DATE = LocalDate.of(2026, 1, 1);
+
+    @Container
+    private static final MySQLContainer<?> MYSQL = new MySQLContainer<>("mysql:8.0")
+            .withCommand("--innodb-buffer-pool-size=1G", "--innodb-flush-log-at-trx-commit=2");
+
+    private static HikariDataSource dataSource;
+    private static JdbcTemplate jdbcTemplate;
+
+    @BeforeAll
+    static void migrateAndSeed() {
+        dataSource = new HikariDataSource();
+        dataSource.setJdbcUrl(MYSQL.getJdbcUrl());
+        dataSource.setUsername(MYSQL.getUsername());
+        dataSource.setPassword(MYSQL.getPassword());
+        dataSource.addDataSourceProperty("rewriteBatchedStatements", "true");
+        dataSource.setMaximumPoolSize(16);
+        Flyway.configure()
+                .dataSource(dataSource)
+                .locations("classpath:db/migration")
+                .load()
+                .migrate();
+
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("create table seq (n int not null primary key)");
+        jdbcTemplate.update("insert into seq (n) with recursive s (n) as"
+                + " (select 1 union all select n + 1 from s where n < 1000) select n from s");
+        jdbcTemplate.update("insert into users (id, username, password, email, active)"
+                + " select n, concat('user', n), 'x', concat('user', n, '@example.com'), 1 from seq");
+        jdbcTemplate.update("insert into accounts (id, owner_name, balance, active, user_id, opening_balance, currency)"
+                + " select (a.n - 1) * 1000 + b.n, 'owner', 1000, 1, b.n, 1000, 'USD' from seq a cross join seq b");
+        jdbcTemplate.execute("analyze table accounts");
+    }
+
+    @AfterAll
+    static void close() {
+        if (dataSource != null) {
+            dataSource.close();
+        }
+    }
+
+    @ParameterizedTest(name = "{0} lanes")
+    @ValueSource(ints = {1, 4, 8})
+    void accruesInterestOnAMillionAccounts(int lanes) {
+        BatchProperties properties = new BatchProperties();
+        properties.setLanes(lanes);
+        OutboxWriter outboxWriter = new OutboxWriter(jdbcTemplate, new ObjectMapper().findAndRegisterModules());
+        BatchJobRunner runner = new BatchJobRunner(properties, outboxWriter, jdbcTemplate,
+                new DataSourceTransactionManager(dataSource), new SimpleMeterRegistry());
+        InterestAccrualJob job = new InterestAccrualJob(properties, runner, null);
+        LocalDate businessDate = FIRST_BUSINESS_DATE.plusDays(lanes);
+        jdbcTemplate.execute("truncate table event_outbox");
+
+        long start = System.nanoTime();
+        runner.run(job, businessDate);
+        double seconds = (System.nanoTime() - start) / 1e9;
+        System.out.printf("%d lanes, chunks of %d: %d accounts in %.1f s (%.0f accounts/s)%n",
+                lanes, properties.getChunkSize(), ACCOUNTS, seconds, ACCOUNTS / seconds);
+
+        assertThat(jdbcTemplate.queryForObject("select count(*) from transactions where description = ?",
+                Long.class, "Interest for " + businessDate)).isEqualTo(ACCOUNTS);
+        assertThat(jdbcTemplate.queryForObject("select count(*) from event_outbox", Long.class)).isEqualTo(ACCOUNTS);
+    }
+}
@@ -0,0 +1,68 @@
+package com.zenvest.devx.exceptions;
+
+import com.zenvest.devx.constants.ErrorCode;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ZenvestExceptionTest {
+
+    private static final int THROWS = 1_000_000;
+
+    @Test
+    void capturesNoStackTraceAndNoSuppressedExceptions() {
+        NotFoundException exception = new NotFoundException(ErrorCode.ACCOUNT_NOT_FOUND, "Account not found");
+        exception.addSuppressed(new IllegalStateException());
+
+        assertThat(exception.getStackTrace().length).isZero();
+        assertThat(exception.getSuppressed().length).isZero();
+        assertThat(exception.getErrorCode()).isEqualTo(ErrorCode.ACCOUNT_NOT_FOUND);
+        assertThat(exception.getMessage()).isEqualTo("Account not found");
+    }
+
+    /**
+     * Compares the throughput of throwing and catching a domain exception with that of the RuntimeException
+     * it replaced, from a frame a few calls deep as in a service. Run with {@code -Dzenvest.benchmark=true}.
+     */
+    @Test
+    @EnabledIfSystemProperty(named = "zenvest.benchmark", matches = "true")
+    void stacklessExceptionsAreCheaperToThrow() {
+        measure(() -> new RuntimeException("Account not found"));
+        measure(() -> new NotFoundException(ErrorCode.ACCOUNT_NOT_FOUND, "Account not found"));
+
+        double withStack = measure(() -> new RuntimeException("Account not found"));
+        double stackless = measure(() -> new NotFoundException(ErrorCode.ACCOUNT_NOT_FOUND, "Account not found"));
+        System.out.printf("RuntimeException: %.0f throws/s, NotFoundException: %.0f throws/s%n", withStack, stackless);
+
+        assertThat(stackless).isGreaterThan(withStack);
+    }
+
+    private static double measure(ExceptionFactory factory) {
+        long caught = 0;
+        long start = System.nanoTime();
+        for (int i = 0; i < THROWS; i++) {
+            try {
+                throwFrom(8, factory);
+            } catch (RuntimeException e) {
+                caught++;
+            }
+        }
+        long elapsed = System.nanoTime() - start;
+        assertThat(caught).isEqualTo(THROWS);
+        return THROWS * (double) TimeUnit.SECONDS.toNanos(1) / elapsed;
+    }
+
+    private static void throwFrom(int depth, ExceptionFactory factory) {
+        if (depth == 0) {
+            throw factory.create();
+        }
+        throwFrom(depth - 1, factory);
+    }
+
+    private interface ExceptionFactory {
+        RuntimeException create();
+    }
+}
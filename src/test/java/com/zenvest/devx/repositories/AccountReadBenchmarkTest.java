@@ -0,0 +1,177 @@
+package com.zenvest.devx.repositories;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.zenvest.devx.dtos.outputs.AccountResponse;
+import com.zenvest.devx.models.Account;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.MySQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.lang.management.ManagementFactory;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Compares the account list read as it was served with open-session-in-view, managed entities with their user
+ * loaded and the connection held until the response is serialized, with the read-only projection that
+ * releases the connection before serialization. Reports the connection hold time and the heap allocated per
+ * request. Run with {@code -Dzenvest.benchmark=true}; Docker is required.
+ */
+@DataJpaTest
+@Testcontainers
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@EnabledIfSystemProperty(named = "zenvest.benchmark", matches = "true")
+class AccountReadBenchmarkTest {
+
+    private static final int USERS = 2_000;
+    private static final int ACCOUNTS_PER_USER = 20;
+    private static final int WARMUP_REQUESTS = 2_000;
+    private static final int REQUESTS = 10_000;
+
+    @Container
+    private static final MySQLContainer<?> MYSQL = new MySQLContainer<>("mysql:8.0");
+
+    private static boolean seeded;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final com.sun.management.ThreadMXBean threads =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", MYSQL::getJdbcUrl);
+        registry.add("spring.datasource.username", MYSQL::getUsername);
+        registry.add("spring.datasource.password", MYSQL::getPassword);
+    }
+
+    @BeforeEach
+    void seed() {
+        if (seeded) {
+            return;
+        }
+        jdbcTemplate.execute("set session cte_max_recursion_depth = 100000");
+        jdbcTemplate.update("insert into users (id, username, password, email, active)"
+                + " with recursive s (n) as (select 1 union all select n + 1 from s where n < " + USERS + ")"
+                + " select n, concat('user', n), 'x', concat('user', n, '@example.com'), 1 from s");
+        jdbcTemplate.update("insert into accounts (owner_name, balance, active, user_id, opening_balance, currency)"
+                + " with recursive s (n) as (select 1 union all select n + 1 from s where n < "
+                + USERS * ACCOUNTS_PER_USER + ")"
+                + " select concat('account', n), 1000, 1, n % " + USERS + " + 1, 1000, 'USD' from s");
+        jdbcTemplate.execute("analyze table users, accounts");
+        seeded = true;
+    }
+
+    @Test
+    void projectionsHoldTheConnectionShorterAndAllocateLess() {
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+
+        Request openSessionInView = () -> {
+            long userId = randomUserId();
+            long start = System.nanoTime();
+            readOnly.execute(status -> {
+                List<Account> accounts = accountRepository.findByUserId(userId);
+                // the user was an eager association before the mappings became lazy
+                accounts.forEach(account -> account.getUser().getUsername());
+                return serialize(accounts.stream().map(AccountReadBenchmarkTest::toResponse).toList());
+            });
+            return System.nanoTime() - start;
+        };
+        Request projection = () -> {
+            long userId = randomUserId();
+            long start = System.nanoTime();
+            List<AccountResponse> responses = readOnly.execute(status -> accountRepository.findViewsByUserId(userId)
+                    .stream()
+                    .map(view -> AccountResponse.builder()
+                            .id(view.id())
+                            .ownerName(view.ownerName())
+                            .balance(view.balance())
+                            .currency(view.currency())
+                            .active(view.active())
+                            .hotSlots(view.hotSlots())
+                            .build())
+                    .toList());
+            long held = System.nanoTime() - start;
+            serialize(responses);
+            return held;
+        };
+
+        measure(openSessionInView, WARMUP_REQUESTS);
+        measure(projection, WARMUP_REQUESTS);
+        Result entities = measure(openSessionInView, REQUESTS);
+        Result views = measure(projection, REQUESTS);
+        System.out.printf("open session in view: %.1f µs connection held, %d bytes allocated per request%n",
+                entities.heldMicros(), entities.allocatedBytes());
+        System.out.printf("read-only projection: %.1f µs connection held, %d bytes allocated per request%n",
+                views.heldMicros(), views.allocatedBytes());
+
+        assertThat(views.heldMicros()).isLessThan(entities.heldMicros());
+        assertThat(views.allocatedBytes()).isLessThan(entities.allocatedBytes());
+    }
+
+    private Result measure(Request request, int requests) {
+        long held = 0;
+        long allocatedBefore = threads.getCurrentThreadAllocatedBytes();
+        for (int i = 0; i < requests; i++) {
+            held += request.run();
+        }
+        long allocated = threads.getCurrentThreadAllocatedBytes() - allocatedBefore;
+        return new Result(held / 1_000.0 / requests, allocated / requests);
+    }
+
+    private byte[] serialize(List<AccountResponse> responses) {
+        try {
+            return objectMapper.writeValueAsBytes(responses);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static AccountResponse toResponse(Account account) {
+        return AccountResponse.builder()
+                .id(account.getId())
+                .ownerName(account.getOwnerName())
+                .balance(account.getBalance())
+                .currency(account.getCurrency())
+                .active(account.getActive())
+                .hotSlots(account.getHotSlots())
+                .build();
+    }
+
+    private static long randomUserId() {
+        return ThreadLocalRandom.current().nextLong(1, USERS + 1);
+    }
+
+    private interface Request {
+        long run();
+    }
+
+    private record Result(double heldMicros, long allocatedBytes) {
+    }
+}
@@ -0,0 +1,327 @@
+package com.zenvest.devx.repositories;
+
+import com.zenvest.devx.constants.TransactionType;
+import com.zenvest.devx.constants.TransferStatus;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.MySQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static java.util.Map.entry;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Calls every query method declared by the repositories and runs EXPLAIN on each statement Hibernate sent for it,
+ * with the parameters it bound, against a MySQL database migrated by the Flyway scripts and filled with enough
+ * rows that the optimizer prefers an index over a scan when one applies. The statements are captured by wrapping
+ * the DataSource of the JPA slice; a query declared without a call here fails
+ * {@link #everyRepositoryQueryIsExplained()}.
+ */
+@DataJpaTest
+@Testcontainers
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class RepositoryIndexUsageTest {
+
+    @Container
+    private static final MySQLContainer<?> MYSQL = new MySQLContainer<>("mysql:8.0");
+
+    private static final List<Class<?>> REPOSITORIES = List.of(AccountBalanceSlotRepository.class,
+            AccountRepository.class, FxRateSnapshotRepository.class, ScheduledTransferRepository.class,
+            TokenRevocationRepository.class, TransactionRepository.class, TransferRepository.class,
+            UserRepository.class);
+
+    private static final List<Long> ACCOUNT_IDS = List.of(13L, 14L);
+
+    private static final Map<String, Call> CALLS = Map.ofEntries(
+            entry("AccountBalanceSlotRepository.sumBalance", test -> test.slots.sumBalance(11L)),
+            entry("AccountBalanceSlotRepository.lockAndSumBalance", test -> test.slots.lockAndSumBalance(11L)),
+            entry("AccountBalanceSlotRepository.credit", test -> test.slots.credit(11L, 3, 5.0)),
+            entry("AccountBalanceSlotRepository.debitIfSufficient", test -> test.slots.debitIfSufficient(11L, 3, 5.0)),
+            entry("AccountBalanceSlotRepository.consolidate", test -> test.slots.consolidate(11L, 100.0)),
+
+            entry("AccountRepository.findByUserId", test -> test.accounts.findByUserId(7L)),
+            entry("AccountRepository.findViewsByUserId", test -> test.accounts.findViewsByUserId(7L)),
+            entry("AccountRepository.findViewById", test -> test.accounts.findViewById(13L)),
+            entry("AccountRepository.findViewsByIdIn", test -> test.accounts.findViewsByIdIn(List.of(13L, 14L, 900L))),
+            entry("AccountRepository.findIdsByUserId", test -> test.accounts.findIdsByUserId(7L)),
+            entry("AccountRepository.findByIdForUpdate", test -> test.accounts.findByIdForUpdate(13L)),
+            entry("AccountRepository.findAllByIdInForUpdate", test -> test.accounts.findAllByIdInForUpdate(ACCOUNT_IDS)),
+            entry("AccountRepository.findBalanceById", test -> test.accounts.findBalanceById(13L)),
+            entry("AccountRepository.findHotSlotsById", test -> test.accounts.findHotSlotsById(13L)),
+            entry("AccountRepository.creditUnlessHot", test -> test.accounts.creditUnlessHot(13L, 5.0)),
+            entry("AccountRepository.debitIfSufficientUnlessHot",
+                    test -> test.accounts.debitIfSufficientUnlessHot(13L, 5.0)),
+
+            entry("FxRateSnapshotRepository.findTopByOrderByIdDesc", test -> test.fxRateSnapshots.findTopByOrderByIdDesc()),
+
+            entry("ScheduledTransferRepository.findByFromAccountUserIdOrderByNextRunAtAsc",
+                    test -> test.scheduledTransfers.findByFromAccountUserIdOrderByNextRunAtAsc(7L)),
+            entry("ScheduledTransferRepository.findAllByIdInForUpdate",
+                    test -> test.scheduledTransfers.findAllByIdInForUpdate(ACCOUNT_IDS)),
+
+            entry("TokenRevocationRepository.findByIdGreaterThanAndExpiresAtAfterOrderByIdAsc",
+                    test -> test.tokenRevocations.findByIdGreaterThanAndExpiresAtAfterOrderByIdAsc(4990L, Instant.now())),
+            entry("TokenRevocationRepository.deleteExpired", test -> test.tokenRevocations.deleteExpired(Instant.now())),
+
+            entry("TransactionRepository.findByAccountId", test -> test.transactions.findByAccountId(13L)),
+            entry("TransactionRepository.findByAccountIdInRange",
+                    test -> test.transactions.findByAccountIdInRange(13L, LocalDateTime.now().minusDays(30),
+                            LocalDateTime.now())),
+            entry("TransactionRepository.findViewsByAccountIdInRange",
+                    test -> test.transactions.findViewsByAccountIdInRange(13L, LocalDateTime.now().minusDays(30), null)),
+            entry("TransactionRepository.findByTransactionTypeAndTimestampAfterOrderByTimestampAsc",
+                    test -> test.transactions.findByTransactionTypeAndTimestampAfterOrderByTimestampAsc(
+                            TransactionType.WITHDRAWAL, LocalDateTime.now().minusDays(1))),
+
+            entry("TransferRepository.findByFromAccountIn", test -> test.transfers.findByFromAccountIn(
+                    ACCOUNT_IDS.stream().map(test.accounts::getReferenceById).toList())),
+            entry("TransferRepository.findHistoryForAccountsInRange",
+                    test -> test.transfers.findHistoryForAccountsInRange(ACCOUNT_IDS, null, null)),
+            entry("TransferRepository.findStatusViewById", test -> test.transfers.findStatusViewById(500L)),
+            entry("TransferRepository.findByStatusOrderByIdAsc",
+                    test -> test.transfers.findByStatusOrderByIdAsc(TransferStatus.PENDING)),
+            entry("TransferRepository.findByTimestampAfterOrderByTimestampAsc",
+                    test -> test.transfers.findByTimestampAfterOrderByTimestampAsc(LocalDateTime.now().minusDays(1))),
+
+            entry("UserRepository.findByEmail", test -> test.users.findByEmail("user7@example.com")));
+
+    private static final List<String> SEED = List.of(
+            "set session cte_max_recursion_depth = 100000",
+            "create table seq (n int not null primary key)",
+            "insert into seq (n) with recursive s (n) as (select 1 union all select n + 1 from s where n < 40000)"
+                    + " select n from s",
+            "insert into users (id, username, password, email, active)"
+                    + " select n, concat('user', n), 'x', concat('user', n, '@example.com'), 1 from seq where n <= 2000",
+            "insert into accounts (id, owner_name, balance, active, hot_slots, user_id, opening_balance, currency)"
+                    + " select n, concat('user', n), 1000, 1, if(n % 400 = 11, 8, null), (n + 1) div 2, 1000, 'USD'"
+                    + " from seq where n <= 4000",
+            "insert into account_balance_slots (slot, balance, account_id)"
+                    + " select s.n - 1, 100, a.id from accounts a join seq s on s.n <= 8 where a.hot_slots = 8",
+            "insert into transactions (amount, transaction_type, description, timestamp, account_id)"
+                    + " select 10, n % 2, 'seed', now(6) - interval (n % 400) day - interval n second, n % 4000 + 1"
+                    + " from seq",
+            "insert into transfers (amount, credited_amount, fx_rate, description, timestamp, status,"
+                    + " from_account_id, to_account_id)"
+                    + " select 10, 10, 1, 'seed', now(6) - interval (n % 400) day - interval n second,"
+                    + " if(n % 500 = 0, 'PENDING', 'COMPLETED'), n % 4000 + 1, (n * 7) % 4000 + 1"
+                    + " from seq where n <= 20000",
+            "insert into scheduled_transfers (amount, description, frequency, first_run_at, next_run_at, run_count,"
+                    + " status, from_account_id, to_account_id)"
+                    + " select 10, 'seed', 'MONTHLY', now(6), now(6) + interval (n % 30) day, 0, 'ACTIVE',"
+                    + " n % 4000 + 1, (n * 7) % 4000 + 1 from seq where n <= 4000",
+            "insert into token_revocations (jti, subject, not_before, expires_at)"
+                    + " select concat('jti', n), concat('user', n % 2000 + 1, '@example.com'), null,"
+                    + " now(6) + interval if(n % 100 = 0, -1, n % 60 + 1) minute from seq where n <= 5000",
+            "insert into fx_rate_snapshots (base_currency, rates, source, created_at)"
+                    + " select 'USD', '{}', 'seed', now(6) from seq where n <= 100",
+            "analyze table users, accounts, account_balance_slots, transactions, transfers, scheduled_transfers,"
+                    + " token_revocations, fx_rate_snapshots");
+
+    @Autowired
+    private AccountBalanceSlotRepository slots;
+
+    @Autowired
+    private AccountRepository accounts;
+
+    @Autowired
+    private FxRateSnapshotRepository fxRateSnapshots;
+
+    @Autowired
+    private ScheduledTransferRepository scheduledTransfers;
+
+    @Autowired
+    private TokenRevocationRepository tokenRevocations;
+
+    @Autowired
+    private TransactionRepository transactions;
+
+    @Autowired
+    private TransferRepository transfers;
+
+    @Autowired
+    private UserRepository users;
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", MYSQL::getJdbcUrl);
+        registry.add("spring.datasource.username", MYSQL::getUsername);
+        registry.add("spring.datasource.password", MYSQL::getPassword);
+    }
+
+    @BeforeAll
+    static void migrateAndSeed() throws SQLException {
+        Flyway.configure()
+                .dataSource(MYSQL.getJdbcUrl(), MYSQL.getUsername(), MYSQL.getPassword())
+                .locations("classpath:db/migration")
+                .load()
+                .migrate();
+        try (Connection connection = connect(); Statement statement = connection.createStatement()) {
+            for (String sql : SEED) {
+                statement.execute(sql);
+            }
+        }
+    }
+
+    @Test
+    void everyRepositoryQueryIsExplained() {
+        Set<String> declared = REPOSITORIES.stream()
+                .flatMap(repository -> Arrays.stream(repository.getDeclaredMethods())
+                        .filter(method -> !method.isSynthetic())
+                        .map(Method::getName)
+                        .map(name -> repository.getSimpleName() + "." + name))
+                .collect(Collectors.toSet());
+
+        assertThat(CALLS.keySet()).containsExactlyInAnyOrderElementsOf(declared);
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("calls")
+    void queryUsesAnIndex(String query, Call call) throws SQLException {
+        List<CapturedStatement> statements = StatementCapture.during(() -> call.invoke(this));
+        assertThat(statements).as("statements sent by %s", query).isNotEmpty();
+
+        for (CapturedStatement captured : statements) {
+            List<String> scans = new ArrayList<>();
+            try (Connection connection = connect();
+                 PreparedStatement explain = connection.prepareStatement("explain " + captured.sql())) {
+                for (Map.Entry<Integer, Object> parameter : captured.parameters().entrySet()) {
+                    explain.setObject(parameter.getKey(), parameter.getValue());
+                }
+                try (ResultSet plan = explain.executeQuery()) {
+                    while (plan.next()) {
+                        String table = plan.getString("table");
+                        if (table != null && ("ALL".equals(plan.getString("type")) || plan.getString("key") == null)) {
+                            scans.add(table + " (" + plan.getString("type") + ")");
+                        }
+                    }
+                }
+            }
+
+            assertThat(scans).as("tables read without an index by %s: %s %s",
+                    query, captured.sql(), captured.parameters().values()).isEmpty();
+        }
+    }
+
+    static Stream<Arguments> calls() {
+        return CALLS.entrySet().stream()
+                .sorted(Map.Entry.comparingByKey())
+                .map(call -> Arguments.of(call.getKey(), call.getValue()));
+    }
+
+    private static Connection connect() throws SQLException {
+        return DriverManager.getConnection(MYSQL.getJdbcUrl(), MYSQL.getUsername(), MYSQL.getPassword());
+    }
+
+    @FunctionalInterface
+    interface Call {
+        Object invoke(RepositoryIndexUsageTest test);
+    }
+
+    /**
+     * A prepared statement as Hibernate sent it, with its parameters by index.
+     */
+    record CapturedStatement(String sql, Map<Integer, Object> parameters) {
+    }
+
+    /**
+     * Wraps the DataSource of the slice, so the prepared statements executed during a call are recorded.
+     */
+    @TestConfiguration
+    static class StatementCapture {
+
+        private static final List<CapturedStatement> CAPTURED = Collections.synchronizedList(new ArrayList<>());
+        private static volatile boolean capturing;
+
+        @Bean
+        static BeanPostProcessor capturingDataSource() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    return bean instanceof DataSource dataSource ? wrap(DataSource.class, dataSource) : bean;
+                }
+            };
+        }
+
+        static List<CapturedStatement> during(Runnable call) {
+            CAPTURED.clear();
+            capturing = true;
+            try {
+                call.run();
+            } finally {
+                capturing = false;
+            }
+            return List.copyOf(CAPTURED);
+        }
+
+        /**
+         * Proxies a JDBC object: connections and statements it hands out are proxied too, and a prepared statement
+         * keeps its SQL and bound parameters until it is executed.
+         */
+        private static <T> T wrap(Class<T> type, T target) {
+            return wrap(type, target, null, null);
+        }
+
+        private static <T> T wrap(Class<T> type, T target, String sql, Map<Integer, Object> parameters) {
+            return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (proxy, method, args) -> {
+                Object result;
+                try {
+                    result = method.invoke(target, args);
+                } catch (InvocationTargetException e) {
+                    throw e.getCause();
+                }
+                if (result instanceof Connection connection && method.getName().equals("getConnection")) {
+                    return wrap(Connection.class, connection);
+                }
+                if (result instanceof PreparedStatement statement && method.getName().startsWith("prepare")) {
+                    return wrap(PreparedStatement.class, statement, (String) args[0], new TreeMap<>());
+                }
+                if (parameters != null) {
+                    if (method.getName().startsWith("set") && args != null && args.length >= 2
+                            && args[0] instanceof Integer index) {
+                        parameters.put(index, method.getName().equals("setNull") ? null : args[1]);
+                    } else if (method.getName().equals("clearParameters")) {
+                        parameters.clear();
+                    } else if (method.getName().startsWith("execute") && capturing) {
+                        CAPTURED.add(new CapturedStatement(sql, new TreeMap<>(parameters)));
+                    }
+                }
+                return result;
+            }));
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.zenvest.devx.security;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TokenBucketTest {
+
+    private static final long MILLI = TimeUnit.MILLISECONDS.toNanos(1);
+
+    @Test
+    void admitsABurstAndThenReportsTheWait() {
+        TokenBucket bucket = new TokenBucket(10, 5, 0);
+        for (int i = 0; i < 5; i++) {
+            assertThat(bucket.tryAcquire(0)).isZero();
+        }
+
+        assertThat(bucket.tryAcquire(0)).isEqualTo(100 * MILLI);
+        assertThat(bucket.tryAcquire(40 * MILLI)).isEqualTo(60 * MILLI);
+    }
+
+    @Test
+    void refillsOneTokenPerEmissionInterval() {
+        TokenBucket bucket = new TokenBucket(10, 5, 0);
+        for (int i = 0; i < 5; i++) {
+            bucket.tryAcquire(0);
+        }
+
+        assertThat(bucket.tryAcquire(100 * MILLI)).isZero();
+        assertThat(bucket.tryAcquire(100 * MILLI)).isPositive();
+        assertThat(bucket.tryAcquire(200 * MILLI)).isZero();
+    }
+
+    @Test
+    void refillsNoMoreThanTheBurstAfterAnIdlePeriod() {
+        TokenBucket bucket = new TokenBucket(10, 5, 0);
+        long later = TimeUnit.SECONDS.toNanos(60);
+        for (int i = 0; i < 5; i++) {
+            assertThat(bucket.tryAcquire(later)).isZero();
+        }
+
+        assertThat(bucket.tryAcquire(later)).isPositive();
+    }
+
+    @Test
+    @Timeout(10)
+    void admitsExactlyTheBurstToConcurrentCallers() throws Exception {
+        TokenBucket bucket = new TokenBucket(1, 50, 0);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<Integer>> callers = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                callers.add(executor.submit(() -> {
+                    start.await();
+                    int admitted = 0;
+                    for (int i = 0; i < 1_000; i++) {
+                        if (bucket.tryAcquire(0) == 0) {
+                            admitted++;
+                        }
+                    }
+                    return admitted;
+                }));
+            }
+            start.countDown();
+
+            int admitted = 0;
+            for (Future<Integer> caller : callers) {
+                admitted += caller.get();
+            }
+            assertThat(admitted).isEqualTo(50);
+        } finally {
+            executor.shutdown();
+        }
+    }
+}
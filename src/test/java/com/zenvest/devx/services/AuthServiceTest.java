@@ -0,0 +1,91 @@
+package com.zenvest.devx.services;
+
+import com.zenvest.devx.configs.AdminProperties;
+import com.zenvest.devx.configs.PasswordHashingProperties;
+import com.zenvest.devx.dtos.inputs.LoginRequest;
+import com.zenvest.devx.dtos.outputs.TokenResponse;
+import com.zenvest.devx.models.User;
+import com.zenvest.devx.repositories.UserRepository;
+import com.zenvest.devx.utils.JwtService;
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class AuthServiceTest {
+
+    private static final String ADMIN_EMAIL = "admin@example.com";
+    private static final String USER_EMAIL = "user@example.com";
+    private static final String PASSWORD = "secret-password";
+
+    private final UserRepository userRepository = mock(UserRepository.class);
+    private final JwtService jwtService = new JwtService();
+    private PasswordHashingService passwordHashingService;
+    private AuthService authService;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(jwtService, "jwtSecret", "a-test-secret-that-is-long-enough-for-hs256");
+        ReflectionTestUtils.setField(jwtService, "accessTokenExpiry", 60_000L);
+
+        BCryptPasswordEncoder passwordEncoder = new BCryptPasswordEncoder(4);
+        passwordHashingService = new PasswordHashingService(passwordEncoder, new PasswordHashingProperties(),
+                new SimpleMeterRegistry());
+        AdminProperties adminProperties = new AdminProperties();
+        adminProperties.setEmails(List.of(ADMIN_EMAIL));
+        authService = new AuthService(passwordHashingService, userRepository, jwtService, null, adminProperties);
+
+        when(userRepository.findByEmail(ADMIN_EMAIL)).thenReturn(Optional.of(user(ADMIN_EMAIL, passwordEncoder)));
+        when(userRepository.findByEmail(USER_EMAIL)).thenReturn(Optional.of(user(USER_EMAIL, passwordEncoder)));
+    }
+
+    @AfterEach
+    void tearDown() {
+        passwordHashingService.stop();
+    }
+
+    @Test
+    void logsAConfiguredAdminInWithTheAdminRole() {
+        TokenResponse response = authService.authenticateUser(login(ADMIN_EMAIL));
+
+        assertThat(response.getAccessToken()).isNotNull();
+        Claims claims = jwtService.extractClaim(response.getAccessToken(), claim -> claim);
+        assertThat(claims.getSubject()).isEqualTo(ADMIN_EMAIL);
+        assertThat(claims.get(JwtService.ROLES_CLAIM, List.class)).isEqualTo(List.of("ADMIN"));
+    }
+
+    @Test
+    void logsOtherUsersInWithoutRoles() {
+        TokenResponse response = authService.authenticateUser(login(USER_EMAIL));
+
+        assertThat(response.getAccessToken()).isNotNull();
+        Claims claims = jwtService.extractClaim(response.getAccessToken(), claim -> claim);
+        assertThat(claims.getSubject()).isEqualTo(USER_EMAIL);
+        assertThat(jwtService.extractRoles(claims)).isEmpty();
+    }
+
+    private static User user(String email, BCryptPasswordEncoder passwordEncoder) {
+        User user = new User();
+        user.setEmail(email);
+        user.setUsername(email.substring(0, email.indexOf('@')));
+        user.setPassword(passwordEncoder.encode(PASSWORD));
+        return user;
+    }
+
+    private static LoginRequest login(String email) {
+        LoginRequest request = new LoginRequest();
+        request.setEmail(email);
+        request.setPassword(PASSWORD);
+        return request;
+    }
+}
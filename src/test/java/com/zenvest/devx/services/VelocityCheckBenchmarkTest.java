@@ -0,0 +1,80 @@
+package com.zenvest.devx.services;
+
+import com.zenvest.devx.configs.VelocityProperties;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Measures the latency of a velocity check, window lookup included, with several threads checking random accounts
+ * out of a large tracked set. Count and amount limits are high and each account pays a few recurring destinations,
+ * so every check passes and is recorded, the longest path.
+ * Run with {@code -Dzenvest.benchmark=true}.
+ */
+@EnabledIfSystemProperty(named = "zenvest.benchmark", matches = "true")
+class VelocityCheckBenchmarkTest {
+
+    private static final int ACCOUNTS = 20_000;
+    private static final int DESTINATIONS_PER_ACCOUNT = 5;
+    private static final int THREADS = 4;
+    private static final int WARMUP_CHECKS = 200_000;
+    private static final int CHECKS = 500_000;
+    private static final long TARGET_NANOS = TimeUnit.MICROSECONDS.toNanos(20);
+
+    @Test
+    void checksAnOperationInUnderTwentyMicroseconds() throws Exception {
+        VelocityProperties properties = new VelocityProperties();
+        properties.setMaxCount(Integer.MAX_VALUE);
+        properties.setMaxAmount(Double.MAX_VALUE);
+        VelocityService velocityService = new VelocityService(properties, null, null);
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            run(executor, velocityService, WARMUP_CHECKS);
+            long[] latencies = run(executor, velocityService, CHECKS);
+            Arrays.sort(latencies);
+            long p50 = latencies[latencies.length / 2];
+            long p99 = latencies[(int) (latencies.length * 0.99)];
+            System.out.printf("%d threads, %d accounts: p50 %.2f µs, p99 %.2f µs, max %.2f µs per check%n",
+                    THREADS, ACCOUNTS, p50 / 1_000.0, p99 / 1_000.0, latencies[latencies.length - 1] / 1_000.0);
+
+            assertThat(p99).isLessThan(TARGET_NANOS);
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private static long[] run(ExecutorService executor, VelocityService velocityService, int checksPerThread)
+            throws Exception {
+        List<Future<long[]>> threads = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            threads.add(executor.submit(() -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                long[] latencies = new long[checksPerThread];
+                for (int i = 0; i < checksPerThread; i++) {
+                    long accountId = random.nextLong(1, ACCOUNTS + 1);
+                    Long destinationId = i % 2 == 0 ? null : accountId + 1 + i % DESTINATIONS_PER_ACCOUNT;
+                    long start = System.nanoTime();
+                    velocityService.checkOutgoing(accountId, 10, destinationId);
+                    latencies[i] = System.nanoTime() - start;
+                }
+                return latencies;
+            }));
+        }
+        long[] all = new long[THREADS * checksPerThread];
+        for (int t = 0; t < THREADS; t++) {
+            System.arraycopy(threads.get(t).get(), 0, all, t * checksPerThread, checksPerThread);
+        }
+        return all;
+    }
+}
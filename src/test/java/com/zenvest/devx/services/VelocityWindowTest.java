@@ -0,0 +1,91 @@
+package com.zenvest.devx.services;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class VelocityWindowTest {
+
+    private static final long MINUTE = 60_000L;
+    private static final long HOUR = 60 * MINUTE;
+    private static final long NOW = 1_000 * HOUR;
+
+    private final VelocityWindow window = new VelocityWindow(MINUTE, 60, 2);
+
+    @Test
+    void rejectsTheOperationOverTheCountLimit() {
+        for (int i = 0; i < 3; i++) {
+            assertThat(window.checkAndRecord(NOW + i, 10, null, 3, 1_000)).isEqualTo(VelocityWindow.OK);
+        }
+
+        assertThat(window.checkAndRecord(NOW + 3, 10, null, 3, 1_000)).isEqualTo(VelocityWindow.COUNT_EXCEEDED);
+    }
+
+    @Test
+    void rejectsTheOperationOverTheAmountLimitWithoutRecordingIt() {
+        assertThat(window.checkAndRecord(NOW, 900, null, 10, 1_000)).isEqualTo(VelocityWindow.OK);
+
+        assertThat(window.checkAndRecord(NOW, 200, null, 10, 1_000)).isEqualTo(VelocityWindow.AMOUNT_EXCEEDED);
+        assertThat(window.checkAndRecord(NOW, 100, null, 10, 1_000)).isEqualTo(VelocityWindow.OK);
+        assertThat(window.checkAndRecord(NOW, 1, null, 10, 1_000)).isEqualTo(VelocityWindow.AMOUNT_EXCEEDED);
+    }
+
+    @Test
+    void forgetsOperationsThatSlidOutOfTheWindow() {
+        assertThat(window.checkAndRecord(NOW, 1_000, null, 1, 1_000)).isEqualTo(VelocityWindow.OK);
+        assertThat(window.checkAndRecord(NOW + 59 * MINUTE, 1, null, 1, 1_000))
+                .isEqualTo(VelocityWindow.COUNT_EXCEEDED);
+
+        assertThat(window.checkAndRecord(NOW + HOUR, 1_000, null, 1, 1_000)).isEqualTo(VelocityWindow.OK);
+    }
+
+    @Test
+    void limitsTheDistinctDestinationsPerHour() {
+        assertThat(window.checkAndRecord(NOW, 1, 7L, 100, 1_000)).isEqualTo(VelocityWindow.OK_NEW_DESTINATION);
+        assertThat(window.checkAndRecord(NOW + 1, 1, 7L, 100, 1_000)).isEqualTo(VelocityWindow.OK);
+        assertThat(window.checkAndRecord(NOW + 2, 1, 8L, 100, 1_000)).isEqualTo(VelocityWindow.OK_NEW_DESTINATION);
+        assertThat(window.checkAndRecord(NOW + 3, 1, 9L, 100, 1_000))
+                .isEqualTo(VelocityWindow.DESTINATIONS_EXCEEDED);
+
+        assertThat(window.checkAndRecord(NOW + 2 + HOUR, 1, 9L, 100, 1_000))
+                .isEqualTo(VelocityWindow.OK_NEW_DESTINATION);
+    }
+
+    @Test
+    void releasesTheCountOfAnOperationThatDidNotHappen() {
+        assertThat(window.checkAndRecord(NOW, 1_000, null, 1, 1_000)).isEqualTo(VelocityWindow.OK);
+        window.release(NOW, 1_000, null, false);
+
+        assertThat(window.checkAndRecord(NOW + 1, 1_000, null, 1, 1_000)).isEqualTo(VelocityWindow.OK);
+    }
+
+    @Test
+    void releasesTheDestinationAddedByAnOperationThatDidNotHappen() {
+        assertThat(window.checkAndRecord(NOW, 1, 7L, 100, 1_000)).isEqualTo(VelocityWindow.OK_NEW_DESTINATION);
+        assertThat(window.checkAndRecord(NOW + 1, 1, 8L, 100, 1_000)).isEqualTo(VelocityWindow.OK_NEW_DESTINATION);
+        window.release(NOW + 1, 1, 8L, true);
+
+        assertThat(window.checkAndRecord(NOW + 2, 1, 9L, 100, 1_000)).isEqualTo(VelocityWindow.OK_NEW_DESTINATION);
+        assertThat(window.checkAndRecord(NOW + 3, 1, 7L, 100, 1_000)).isEqualTo(VelocityWindow.OK);
+    }
+
+    @Test
+    void leavesABucketReusedForALaterTimeAloneOnRelease() {
+        assertThat(window.checkAndRecord(NOW, 10, null, 1, 1_000)).isEqualTo(VelocityWindow.OK);
+        assertThat(window.checkAndRecord(NOW + HOUR, 10, null, 1, 1_000)).isEqualTo(VelocityWindow.OK);
+
+        window.release(NOW, 10, null, false);
+
+        assertThat(window.checkAndRecord(NOW + HOUR, 10, null, 1, 1_000)).isEqualTo(VelocityWindow.COUNT_EXCEEDED);
+    }
+
+    @Test
+    void countsReplayedHistoryTowardsTheLimits() {
+        window.replay(NOW - 30 * MINUTE, 600, 7L);
+        window.replay(NOW - 10 * MINUTE, 300, 8L);
+
+        assertThat(window.checkAndRecord(NOW, 200, null, 10, 1_000)).isEqualTo(VelocityWindow.AMOUNT_EXCEEDED);
+        assertThat(window.checkAndRecord(NOW, 100, 9L, 10, 1_000)).isEqualTo(VelocityWindow.DESTINATIONS_EXCEEDED);
+        assertThat(window.checkAndRecord(NOW, 100, 8L, 10, 1_000)).isEqualTo(VelocityWindow.OK);
+    }
+}
@@ -0,0 +1,91 @@
+package com.zenvest.devx.utils;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BloomFilterTest {
+
+    private static final int ENTRIES = 10_000;
+
+    @Test
+    void containsNothingWhenEmpty() {
+        BloomFilter filter = new BloomFilter(ENTRIES, 0.01);
+
+        assertThat(filter.mightContain("jti-1")).isFalse();
+        assertThat(filter.mightContain("")).isFalse();
+    }
+
+    @Test
+    void hasNoFalseNegatives() {
+        BloomFilter filter = new BloomFilter(ENTRIES, 0.01);
+        for (int i = 0; i < ENTRIES; i++) {
+            filter.put("jti-" + i);
+        }
+
+        for (int i = 0; i < ENTRIES; i++) {
+            assertThat(filter.mightContain("jti-" + i)).as("jti-%s", i).isTrue();
+        }
+    }
+
+    @Test
+    void keepsTheFalsePositiveRateNearTheTargetAtItsSize() {
+        BloomFilter filter = new BloomFilter(ENTRIES, 0.01);
+        for (int i = 0; i < ENTRIES; i++) {
+            filter.put("jti-" + i);
+        }
+
+        int falsePositives = 0;
+        int lookups = 100_000;
+        for (int i = 0; i < lookups; i++) {
+            if (filter.mightContain("other-" + i)) {
+                falsePositives++;
+            }
+        }
+        assertThat(falsePositives / (double) lookups).isLessThan(0.02);
+    }
+
+    @Test
+    void hashesTheCharactersWhateverTheSequenceType() {
+        BloomFilter filter = new BloomFilter(ENTRIES, 0.01);
+        filter.put(new StringBuilder("jti-").append(42));
+
+        assertThat(filter.mightContain("jti-42")).isTrue();
+    }
+
+    @Test
+    @Timeout(10)
+    void keepsEveryEntryPutConcurrently() throws Exception {
+        BloomFilter filter = new BloomFilter(ENTRIES * 8L, 0.01);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> puts = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                int thread = t;
+                puts.add(executor.submit(() -> {
+                    for (int i = 0; i < ENTRIES; i++) {
+                        filter.put(thread + "-" + i);
+                    }
+                }));
+            }
+            for (Future<?> put : puts) {
+                put.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        for (int t = 0; t < 8; t++) {
+            for (int i = 0; i < ENTRIES; i++) {
+                assertThat(filter.mightContain(t + "-" + i)).as("%s-%s", t, i).isTrue();
+            }
+        }
+    }
+}
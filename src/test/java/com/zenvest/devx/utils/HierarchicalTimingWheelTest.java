@@ -0,0 +1,85 @@
+package com.zenvest.devx.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class HierarchicalTimingWheelTest {
+
+    @Test
+    void firesATimerAtItsExpirationRoundedUpToTheTick() {
+        HierarchicalTimingWheel<String> wheel = new HierarchicalTimingWheel<>(10, 8, 0);
+        wheel.add(25, "a");
+
+        assertThat(wheel.advance(25)).isEmpty();
+        assertThat(wheel.advance(29)).isEmpty();
+        assertThat(wheel.advance(30)).containsExactly("a");
+        assertThat(wheel.size()).isZero();
+    }
+
+    @Test
+    void returnsAnExpiredTimerOnTheNextAdvance() {
+        HierarchicalTimingWheel<String> wheel = new HierarchicalTimingWheel<>(10, 8, 1_000);
+        wheel.add(500, "late");
+
+        assertThat(wheel.size()).isEqualTo(1);
+        assertThat(wheel.advance(1_000)).containsExactly("late");
+        assertThat(wheel.advance(1_000)).isEmpty();
+    }
+
+    @Test
+    void cascadesTimersBeyondTheSpanOfTheFinestRing() {
+        HierarchicalTimingWheel<String> wheel = new HierarchicalTimingWheel<>(10, 8, 0);
+        wheel.add(85, "next ring");
+        wheel.add(1_000, "third ring");
+
+        assertThat(wheel.advance(84)).isEmpty();
+        assertThat(wheel.advance(90)).containsExactly("next ring");
+        assertThat(wheel.advance(999)).isEmpty();
+        assertThat(wheel.size()).isEqualTo(1);
+        assertThat(wheel.advance(1_000)).containsExactly("third ring");
+        assertThat(wheel.size()).isZero();
+    }
+
+    @Test
+    void firesEveryTimerOnceAndNeverEarly() {
+        long tick = 10;
+        HierarchicalTimingWheel<Integer> wheel = new HierarchicalTimingWheel<>(tick, 16, 0);
+        Random random = new Random(42);
+        Map<Integer, Long> deadlines = new HashMap<>();
+        for (int i = 0; i < 10_000; i++) {
+            long expiration = random.nextInt(1_000_000);
+            deadlines.put(i, Math.ceilDiv(expiration, tick) * tick);
+            wheel.add(expiration, i);
+        }
+
+        long now = 0;
+        long previous = 0;
+        while (!deadlines.isEmpty()) {
+            now += 1 + random.nextInt(5_000);
+            List<Integer> fired = wheel.advance(now);
+            for (Integer item : fired) {
+                Long deadline = deadlines.remove(item);
+                assertThat(deadline).as("timer %s fired twice", item).isNotNull();
+                assertThat(deadline).as("timer %s fired early", item).isLessThanOrEqualTo(now);
+                assertThat(deadline).as("timer %s fired late", item).isGreaterThan(previous);
+            }
+            previous = now;
+        }
+        assertThat(wheel.size()).isZero();
+    }
+
+    @Test
+    void rejectsAWheelThatCannotAdvance() {
+        assertThatThrownBy(() -> new HierarchicalTimingWheel<String>(0, 8, 0))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new HierarchicalTimingWheel<String>(10, 1, 0))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
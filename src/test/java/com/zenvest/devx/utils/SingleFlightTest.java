@@ -0,0 +1,130 @@
+package com.zenvest.devx.utils;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SingleFlightTest {
+
+    private static final int FOLLOWERS = 7;
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final SingleFlight<String, String> reads = new SingleFlight<>("test", meterRegistry);
+    private final ExecutorService executor = Executors.newFixedThreadPool(FOLLOWERS + 1);
+
+    @AfterEach
+    void shutDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    @Timeout(10)
+    void followersGetTheResultOfTheComputationInFlight() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger computations = new AtomicInteger();
+        List<Future<String>> callers = startCallers("key", () -> {
+            computations.incrementAndGet();
+            await(release);
+            return "result";
+        });
+        awaitFollowers(FOLLOWERS);
+
+        release.countDown();
+
+        for (Future<String> caller : callers) {
+            assertThat(caller.get()).isEqualTo("result");
+        }
+        assertThat(computations.get()).isEqualTo(1);
+        assertThat(meterRegistry.get("zenvest.read.coalescing.ratio").gauge().value())
+                .isEqualTo(FOLLOWERS / (double) (FOLLOWERS + 1));
+    }
+
+    @Test
+    @Timeout(10)
+    void followersGetTheExceptionOfTheComputationInFlight() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        List<Future<String>> callers = startCallers("key", () -> {
+            await(release);
+            throw new IllegalStateException("read failed");
+        });
+        awaitFollowers(FOLLOWERS);
+
+        release.countDown();
+
+        for (Future<String> caller : callers) {
+            assertThatThrownBy(caller::get)
+                    .isInstanceOf(ExecutionException.class)
+                    .hasMessageContaining("read failed");
+        }
+    }
+
+    @Test
+    void doesNotCacheACompletedComputation() {
+        AtomicInteger computations = new AtomicInteger();
+
+        reads.execute("key", () -> "first " + computations.incrementAndGet());
+        String second = reads.execute("key", () -> "second " + computations.incrementAndGet());
+
+        assertThat(second).isEqualTo("second 2");
+        assertThat(meterRegistry.get("zenvest.read.coalescing.ratio").gauge().value()).isZero();
+    }
+
+    @Test
+    @Timeout(10)
+    void runsTheComputationsOfDifferentKeysSeparately() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        Future<String> first = executor.submit(() -> reads.execute("first", () -> {
+            await(release);
+            return "first";
+        }));
+
+        assertThat(reads.execute("second", () -> "second")).isEqualTo("second");
+
+        release.countDown();
+        assertThat(first.get()).isEqualTo("first");
+    }
+
+    private List<Future<String>> startCallers(String key, java.util.function.Supplier<String> computation)
+            throws InterruptedException {
+        CountDownLatch leaderStarted = new CountDownLatch(1);
+        List<Future<String>> callers = new ArrayList<>();
+        callers.add(executor.submit(() -> reads.execute(key, () -> {
+            leaderStarted.countDown();
+            return computation.get();
+        })));
+        leaderStarted.await();
+        for (int i = 0; i < FOLLOWERS; i++) {
+            callers.add(executor.submit(() -> reads.execute(key, () -> "not coalesced")));
+        }
+        return callers;
+    }
+
+    private void awaitFollowers(int followers) throws InterruptedException {
+        while (meterRegistry.get("zenvest.read.coalescing").tag("role", "follower").counter().count() < followers) {
+            Thread.sleep(1);
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+}